@@ -3,12 +3,14 @@ package br.com.orcagov.api;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-@SpringBootApplication
+// O pool R2DBC da API de leitura reativa é criado em LeituraReativaConfig (ver lá o motivo)
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 
 
 @EnableJpaAuditing
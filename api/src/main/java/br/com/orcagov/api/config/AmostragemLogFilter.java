@@ -0,0 +1,108 @@
+package br.com.orcagov.api.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import ch.qos.logback.core.util.Duration;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Amostragem de mensagens repetitivas nos loggers configurados: cada mensagem
+ * (o mesmo logger e o mesmo texto com {}, independente dos argumentos) é
+ * registrada até "limite" vezes por "intervalo"; as demais são suprimidas e
+ * contadas em {@link #getSuprimidas()}, exposto como orcagov.log.suprimidos.
+ *
+ * Mensagens ERROR nunca são suprimidas. Configurado no logback-spring.xml:
+ * <pre>
+ * &lt;turboFilter class="br.com.orcagov.api.config.AmostragemLogFilter"&gt;
+ *     &lt;loggers&gt;br.com.orcagov.api.config.ContagemConsultasFilter,org.hibernate&lt;/loggers&gt;
+ *     &lt;limite&gt;10&lt;/limite&gt;
+ *     &lt;intervalo&gt;1 minute&lt;/intervalo&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ */
+public class AmostragemLogFilter extends TurboFilter {
+
+    private static final LongAdder SUPRIMIDAS = new LongAdder();
+
+    /** Mensagens distintas acompanhadas; acima disso as janelas recomeçam */
+    private static final int MAXIMO_MENSAGENS = 10_000;
+
+    private String[] loggers = new String[0];
+    private int limite = 10;
+    private long intervaloMs = 60_000;
+
+    private final Map<String, Boolean> amostrados = new ConcurrentHashMap<>();
+    private final Map<String, Janela> janelas = new ConcurrentHashMap<>();
+
+    public static long getSuprimidas() {
+        return SUPRIMIDAS.sum();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // Chamado antes da verificação de nível, para todo log: a saída rápida vem primeiro
+        if (format == null || level == null || level.isGreaterOrEqual(Level.ERROR)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())
+                || !amostrados.computeIfAbsent(logger.getName(), this::amostrado)) {
+            return FilterReply.NEUTRAL;
+        }
+
+        if (janelas.size() > MAXIMO_MENSAGENS) {
+            janelas.clear();
+        }
+        long agora = System.currentTimeMillis();
+        Janela janela = janelas.computeIfAbsent(logger.getName() + '|' + format, chave -> new Janela(agora));
+        if (agora - janela.inicio >= intervaloMs) {
+            janela.inicio = agora;
+            janela.registradas.set(0);
+        }
+        if (janela.registradas.incrementAndGet() > limite) {
+            SUPRIMIDAS.increment();
+            return FilterReply.DENY;
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+    public void setLoggers(String loggers) {
+        this.loggers = loggers.trim().split("\\s*,\\s*");
+        amostrados.clear();
+    }
+
+    public void setLimite(int limite) {
+        this.limite = limite;
+    }
+
+    public void setIntervalo(Duration intervalo) {
+        this.intervaloMs = intervalo.getMilliseconds();
+    }
+
+    // ==========================================
+    // MÉTODOS AUXILIARES
+    // ==========================================
+
+    private boolean amostrado(String nomeLogger) {
+        for (String prefixo : loggers) {
+            if (!prefixo.isEmpty() && (nomeLogger.equals(prefixo) || nomeLogger.startsWith(prefixo + "."))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Janela {
+
+        private volatile long inicio;
+        private final AtomicInteger registradas = new AtomicInteger();
+
+        Janela(long inicio) {
+            this.inicio = inicio;
+        }
+    }
+}
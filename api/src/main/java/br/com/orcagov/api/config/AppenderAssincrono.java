@@ -0,0 +1,37 @@
+package br.com.orcagov.api.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * AsyncAppender do perfil "producao" que conta os eventos descartados.
+ *
+ * Com neverBlock a thread da requisição nunca espera pelo log: com a fila
+ * cheia o evento é descartado, e acima do discardingThreshold os eventos
+ * TRACE, DEBUG e INFO também. O Logback descarta em silêncio; aqui cada
+ * descarte entra em {@link #getDescartados()}, exposto como orcagov.log.descartados.
+ */
+public class AppenderAssincrono extends AsyncAppender {
+
+    private static final LongAdder DESCARTADOS = new LongAdder();
+
+    public static long getDescartados() {
+        return DESCARTADOS.sum();
+    }
+
+    /**
+     * Mesmas regras do AsyncAppenderBase.append, contando os descartes
+     */
+    @Override
+    protected void append(ILoggingEvent evento) {
+        int restante = getRemainingCapacity();
+        if ((restante < getDiscardingThreshold() && isDiscardable(evento))
+                || (isNeverBlock() && restante == 0)) {
+            DESCARTADOS.increment();
+            return;
+        }
+        super.append(evento);
+    }
+}
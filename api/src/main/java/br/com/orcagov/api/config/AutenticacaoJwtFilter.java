@@ -0,0 +1,67 @@
+package br.com.orcagov.api.config;
+
+import br.com.orcagov.api.exception.UnauthorizedException;
+import br.com.orcagov.api.service.TokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Autentica a requisição pelo token do cabeçalho "Authorization: Bearer", sem consultar
+ * o banco. Token ausente ou recusado segue sem autenticação e o ponto de entrada da
+ * cadeia responde 401; os endpoints públicos (login, renovação) continuam acessíveis.
+ *
+ * O contexto vai também para o repositório da requisição, para valer nos despachos
+ * assíncronos (relatórios em streaming, API reativa, long polling de alterações).
+ */
+public class AutenticacaoJwtFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutenticacaoJwtFilter.class);
+
+    private static final String PREFIXO = TokenService.TIPO + " ";
+
+    private final TokenService tokenService;
+    private final SecurityContextRepository repositorioContexto;
+
+    public AutenticacaoJwtFilter(TokenService tokenService, SecurityContextRepository repositorioContexto) {
+        this.tokenService = tokenService;
+        this.repositorioContexto = repositorioContexto;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        String cabecalho = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (cabecalho != null && cabecalho.regionMatches(true, 0, PREFIXO, 0, PREFIXO.length())) {
+            try {
+                TokenService.TokenVerificado token = tokenService.verificarAcesso(
+                        cabecalho.substring(PREFIXO.length()).trim());
+
+                UsernamePasswordAuthenticationToken autenticacao = UsernamePasswordAuthenticationToken.authenticated(
+                        token.usuario(), null, token.autorizacoes());
+                autenticacao.setDetails(token);
+
+                SecurityContext contexto = SecurityContextHolder.createEmptyContext();
+                contexto.setAuthentication(autenticacao);
+                SecurityContextHolder.setContext(contexto);
+                repositorioContexto.saveContext(contexto, request, response);
+            } catch (UnauthorizedException e) {
+                logger.debug("Token recusado em {} {}: {}", request.getMethod(), request.getRequestURI(), e.getMessage());
+            }
+        }
+
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.orcagov.api.config;
+
+import br.com.orcagov.api.service.LimitadorTaxa;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.util.AntPathMatcher;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Grupo de rotas com os mesmos limites: balde de tokens por cliente (taxa) e número
+ * de requisições em andamento na instância (concorrência). Limite 0 desliga cada um.
+ * Os dois são sem lock: o balde é o {@link LimitadorTaxa} e a concorrência um contador
+ * atômico incrementado só enquanto estiver abaixo do limite.
+ */
+final class ClasseEndpoints {
+
+    private static final AntPathMatcher ROTAS = new AntPathMatcher();
+
+    private final String nome;
+    private final List<String> rotas;
+    private final LimitadorTaxa taxa;
+    private final int simultaneas;
+    private final AtomicInteger emAndamento = new AtomicInteger();
+
+    private final Counter recusadasTaxa;
+    private final Counter recusadasConcorrencia;
+
+    ClasseEndpoints(String nome, List<String> rotas, int capacidade, Duration reposicao, int simultaneas,
+                    MeterRegistry meterRegistry) {
+        this.nome = nome;
+        this.rotas = List.copyOf(rotas);
+        this.taxa = capacidade > 0 ? new LimitadorTaxa(capacidade, reposicao) : null;
+        this.simultaneas = simultaneas;
+
+        recusadasTaxa = meterRegistry.counter("orcagov.limite.recusadas", "classe", nome, "motivo", "taxa");
+        recusadasConcorrencia = meterRegistry.counter("orcagov.limite.recusadas", "classe", nome, "motivo", "concorrencia");
+        Gauge.builder("orcagov.limite.em-andamento", emAndamento, AtomicInteger::get)
+                .tag("classe", nome)
+                .register(meterRegistry);
+    }
+
+    String getNome() {
+        return nome;
+    }
+
+    /**
+     * Rotas vazias: a classe vale para qualquer caminho
+     */
+    boolean atende(String caminho) {
+        if (rotas.isEmpty()) {
+            return true;
+        }
+        for (String rota : rotas) {
+            if (ROTAS.match(rota, caminho)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Consome um token do cliente: 0 se havia, senão a espera em nanossegundos
+     */
+    long consumir(String cliente) {
+        long espera = taxa != null ? taxa.consumir(cliente) : 0;
+        if (espera > 0) {
+            recusadasTaxa.increment();
+        }
+        return espera;
+    }
+
+    /**
+     * Reserva uma vaga de execução; quem recebe true deve chamar {@link #liberar()}
+     */
+    boolean admitir() {
+        if (simultaneas <= 0) {
+            return true;
+        }
+        while (true) {
+            int atual = emAndamento.get();
+            if (atual >= simultaneas) {
+                recusadasConcorrencia.increment();
+                return false;
+            }
+            if (emAndamento.compareAndSet(atual, atual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void liberar() {
+        if (simultaneas > 0) {
+            emAndamento.decrementAndGet();
+        }
+    }
+
+    int limpar() {
+        return taxa != null ? taxa.limpar() : 0;
+    }
+}
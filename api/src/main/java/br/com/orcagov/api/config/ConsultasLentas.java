@@ -0,0 +1,156 @@
+package br.com.orcagov.api.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Estatísticas dos comandos SQL desde o início da aplicação, por impressão digital:
+ * o comando normalizado, sem literais e com listas IN reduzidas, para que
+ * variações do mesmo comando caiam no mesmo grupo.
+ *
+ * Comandos acima do limite são registrados no log com o formato dos parâmetros
+ * (tipo e tamanho, nunca os valores). Substitui o logging.level.org.hibernate.SQL=DEBUG
+ * em produção: o custo por comando é uma consulta a um mapa e alguns contadores.
+ */
+public class ConsultasLentas implements ObservadorSql {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConsultasLentas.class);
+
+    /** Grupo dos comandos que chegam depois de atingido o máximo de impressões digitais */
+    static final String OUTROS = "(outros)";
+
+    private static final Pattern COMENTARIOS = Pattern.compile("/\\*.*?\\*/|--[^\\n]*", Pattern.DOTALL);
+    private static final Pattern TEXTOS = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMEROS = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern LISTAS_IN = Pattern.compile("\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    private final long limiteNanos;
+    private final int maximoImpressoes;
+    private final Instant inicio = Instant.now();
+
+    /** Texto do comando → impressão digital, para normalizar cada texto uma vez só */
+    private final Map<String, String> impressoes = new ConcurrentHashMap<>();
+    private final Map<String, Estatistica> estatisticas = new ConcurrentHashMap<>();
+
+    public ConsultasLentas(Duration limite, int maximoImpressoes) {
+        this.limiteNanos = limite.toNanos();
+        this.maximoImpressoes = maximoImpressoes;
+    }
+
+    @Override
+    public void executado(ExecucaoSql execucao) {
+        String impressao = impressaoDigital(execucao.sql());
+        Estatistica estatistica = estatisticas.get(impressao);
+        if (estatistica == null) {
+            if (estatisticas.size() >= maximoImpressoes) {
+                impressao = OUTROS;
+            }
+            estatistica = estatisticas.computeIfAbsent(impressao, chave -> new Estatistica());
+        }
+
+        boolean lenta = execucao.duracaoNanos() >= limiteNanos;
+        estatistica.registrar(execucao, lenta);
+        if (lenta) {
+            logger.warn("Comando SQL lento: {} ms, {} linhas, parâmetros {}: {}",
+                    execucao.duracaoNanos() / 1_000_000, execucao.linhas(),
+                    execucao.formatoParametros(), impressao);
+        }
+    }
+
+    /**
+     * Os comandos com maior tempo total desde o início da aplicação
+     */
+    public List<Resumo> maiores(int limite) {
+        return estatisticas.entrySet().stream()
+                .map(entrada -> entrada.getValue().resumo(entrada.getKey()))
+                .sorted(Comparator.comparingDouble(Resumo::totalMs).reversed())
+                .limit(limite)
+                .toList();
+    }
+
+    public Instant getInicio() {
+        return inicio;
+    }
+
+    public Duration getLimite() {
+        return Duration.ofNanos(limiteNanos);
+    }
+
+    /**
+     * Comando normalizado: minúsculas, sem comentários, literais trocados por ?,
+     * listas IN de qualquer tamanho como "in (?+)" e espaços simplificados
+     */
+    static String normalizar(String sql) {
+        String normalizado = COMENTARIOS.matcher(sql).replaceAll(" ");
+        normalizado = TEXTOS.matcher(normalizado).replaceAll("?");
+        normalizado = normalizado.toLowerCase(Locale.ROOT);
+        normalizado = NUMEROS.matcher(normalizado).replaceAll("?");
+        normalizado = LISTAS_IN.matcher(normalizado).replaceAll("in (?+)");
+        return ESPACOS.matcher(normalizado).replaceAll(" ").trim();
+    }
+
+    // ==========================================
+    // MÉTODOS AUXILIARES
+    // ==========================================
+
+    private String impressaoDigital(String sql) {
+        String impressao = impressoes.get(sql);
+        if (impressao == null) {
+            impressao = normalizar(sql);
+            // Comandos montados com literais geram textos sem fim; o cache para de crescer
+            if (impressoes.size() < maximoImpressoes * 4) {
+                impressoes.put(sql, impressao);
+            }
+        }
+        return impressao;
+    }
+
+    private static final class Estatistica {
+
+        private final LongAdder execucoes = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maximoNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder linhas = new LongAdder();
+        private final LongAccumulator maximoLinhas = new LongAccumulator(Math::max, 0);
+        private final LongAdder lentas = new LongAdder();
+
+        void registrar(ExecucaoSql execucao, boolean lenta) {
+            execucoes.increment();
+            totalNanos.add(execucao.duracaoNanos());
+            maximoNanos.accumulate(execucao.duracaoNanos());
+            linhas.add(Math.max(execucao.linhas(), 0));
+            maximoLinhas.accumulate(execucao.linhas());
+            if (lenta) {
+                lentas.increment();
+            }
+        }
+
+        Resumo resumo(String impressao) {
+            long quantidade = execucoes.sum();
+            double totalMs = totalNanos.sum() / 1_000_000.0;
+            return new Resumo(impressao, quantidade, totalMs,
+                    quantidade == 0 ? 0 : totalMs / quantidade,
+                    maximoNanos.get() / 1_000_000.0,
+                    linhas.sum(), maximoLinhas.get(), lentas.sum());
+        }
+    }
+
+    /**
+     * Estatísticas de uma impressão digital, com tempos em milissegundos
+     */
+    public record Resumo(String sql, long execucoes, double totalMs, double mediaMs, double maximoMs,
+                         long linhas, long maximoLinhas, long lentas) {
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.orcagov.api.config;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * /actuator/slowqueries: os comandos SQL com maior tempo total desde o início
+ * da aplicação. Aceita ?limite=N (padrão 20).
+ */
+@Endpoint(id = "slowqueries")
+public class ConsultasLentasEndpoint {
+
+    private static final int LIMITE_PADRAO = 20;
+
+    private final ConsultasLentas consultasLentas;
+
+    public ConsultasLentasEndpoint(ConsultasLentas consultasLentas) {
+        this.consultasLentas = consultasLentas;
+    }
+
+    @ReadOperation
+    public Relatorio consultas(@Nullable Integer limite) {
+        return new Relatorio(consultasLentas.getInicio(),
+                consultasLentas.getLimite().toMillis(),
+                consultasLentas.maiores(limite != null && limite > 0 ? limite : LIMITE_PADRAO));
+    }
+
+    public record Relatorio(Instant desde, long limiteLentaMs, List<ConsultasLentas.Resumo> consultas) {
+    }
+}
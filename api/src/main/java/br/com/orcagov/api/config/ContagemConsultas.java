@@ -0,0 +1,77 @@
+package br.com.orcagov.api.config;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Comandos SQL executados pela thread atual entre {@link #iniciar()} e
+ * {@link #encerrar()}, no total e por texto do comando.
+ *
+ * Um mesmo comando preparado repetido muitas vezes (só os parâmetros mudam) é o
+ * sinal de N+1: uma consulta por item de uma lista, em geral uma coleção lazy
+ * percorrida por um conversor de DTO.
+ */
+public final class ContagemConsultas {
+
+    private static final ThreadLocal<ContagemConsultas> ATUAL = new ThreadLocal<>();
+
+    private final ContagemConsultas anterior;
+    private final Map<String, Integer> porComando = new HashMap<>();
+    private int total;
+
+    private ContagemConsultas(ContagemConsultas anterior) {
+        this.anterior = anterior;
+    }
+
+    /**
+     * Inicia a contagem na thread atual; contagens podem ser aninhadas
+     */
+    public static ContagemConsultas iniciar() {
+        ContagemConsultas contagem = new ContagemConsultas(ATUAL.get());
+        ATUAL.set(contagem);
+        return contagem;
+    }
+
+    /**
+     * Encerra a contagem mais interna e volta à anterior, se houver
+     */
+    public static void encerrar() {
+        ContagemConsultas contagem = ATUAL.get();
+        if (contagem == null || contagem.anterior == null) {
+            ATUAL.remove();
+        } else {
+            ATUAL.set(contagem.anterior);
+        }
+    }
+
+    /**
+     * Contagem em andamento na thread atual, ou null
+     */
+    public static ContagemConsultas atual() {
+        return ATUAL.get();
+    }
+
+    static void registrar(String sql) {
+        for (ContagemConsultas contagem = ATUAL.get(); contagem != null; contagem = contagem.anterior) {
+            contagem.total++;
+            contagem.porComando.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Comandos executados pelo menos {@code minimo} vezes, do mais repetido ao menos
+     */
+    public Map<String, Integer> repetidos(int minimo) {
+        Map<String, Integer> repetidos = new LinkedHashMap<>();
+        porComando.entrySet().stream()
+                .filter(e -> e.getValue() >= minimo)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(e -> repetidos.put(e.getKey(), e.getValue()));
+        return repetidos;
+    }
+}
@@ -0,0 +1,124 @@
+package br.com.orcagov.api.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+
+/**
+ * Conta os comandos SQL de cada requisição.
+ *
+ * Com o cabeçalho habilitado (fora de produção), a resposta traz a contagem em
+ * X-Consultas-SQL, gravada quando o corpo começa a ser escrito. Comandos
+ * repetidos a partir do limite configurado são registrados no log como suspeitos
+ * de N+1. Só a thread da requisição é contada: trabalho em executores próprios
+ * (relatórios, PDFs) e a API reativa (/v2, R2DBC) ficam de fora.
+ */
+public class ContagemConsultasFilter extends OncePerRequestFilter {
+
+    public static final String CABECALHO = "X-Consultas-SQL";
+
+    private static final Logger logger = LoggerFactory.getLogger(ContagemConsultasFilter.class);
+
+    private final boolean cabecalho;
+    private final int limiteRepeticoes;
+
+    public ContagemConsultasFilter(boolean cabecalho, int limiteRepeticoes) {
+        this.cabecalho = cabecalho;
+        this.limiteRepeticoes = limiteRepeticoes;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        ContagemConsultas contagem = ContagemConsultas.iniciar();
+        RespostaComContagem resposta = cabecalho ? new RespostaComContagem(response, contagem) : null;
+        try {
+            chain.doFilter(request, resposta != null ? resposta : response);
+        } finally {
+            ContagemConsultas.encerrar();
+            if (resposta != null) {
+                resposta.gravarCabecalho();
+            }
+            registrarSuspeitas(request, contagem);
+        }
+    }
+
+    private void registrarSuspeitas(HttpServletRequest request, ContagemConsultas contagem) {
+        Map<String, Integer> repetidos = contagem.repetidos(limiteRepeticoes);
+        if (repetidos.isEmpty()) {
+            return;
+        }
+        String uri = request.getMethod() + " " + request.getRequestURI();
+        repetidos.forEach((sql, vezes) ->
+                logger.warn("Possível N+1 em {}: {} de {} comandos foram [{}]",
+                        uri, vezes, contagem.getTotal(), sql));
+    }
+
+    /**
+     * Grava o cabeçalho antes do primeiro byte do corpo, enquanto ainda é possível
+     */
+    private static class RespostaComContagem extends HttpServletResponseWrapper {
+
+        private final ContagemConsultas contagem;
+        private boolean gravado;
+
+        RespostaComContagem(HttpServletResponse response, ContagemConsultas contagem) {
+            super(response);
+            this.contagem = contagem;
+        }
+
+        void gravarCabecalho() {
+            if (!gravado && !isCommitted()) {
+                gravado = true;
+                setIntHeader(CABECALHO, contagem.getTotal());
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            gravarCabecalho();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            gravarCabecalho();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            gravarCabecalho();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            gravarCabecalho();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            gravarCabecalho();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            gravarCabecalho();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.orcagov.api.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Identificador da requisição no MDC ("requisicao"), para que todo log da
+ * requisição o carregue no JSON do perfil "producao".
+ *
+ * Usa o X-Request-Id recebido (do balanceador ou de outro serviço) quando
+ * válido, ou gera um, e o devolve no mesmo cabeçalho da resposta.
+ */
+public class ContextoLogFilter extends OncePerRequestFilter {
+
+    public static final String CABECALHO = "X-Request-Id";
+    public static final String REQUISICAO = "requisicao";
+
+    private static final Pattern ID_VALIDO = Pattern.compile("[A-Za-z0-9._:-]{1,64}");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        String recebido = request.getHeader(CABECALHO);
+        String requisicao = recebido != null && ID_VALIDO.matcher(recebido).matches()
+                ? recebido : UUID.randomUUID().toString();
+        response.setHeader(CABECALHO, requisicao);
+        MDC.put(REQUISICAO, requisicao);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(REQUISICAO);
+        }
+    }
+}
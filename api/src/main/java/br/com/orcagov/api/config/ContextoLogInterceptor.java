@@ -0,0 +1,86 @@
+package br.com.orcagov.api.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.util.StringUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Usuário autenticado e ids da URL no MDC, depois da segurança e do
+ * mapeamento: /despesas/{id} no DespesaController vira despesaId, e variáveis
+ * que já terminam em Id (/empenhos/despesa/{despesaId}) mantêm o nome.
+ *
+ * Só a thread da requisição: trabalho em executores próprios (relatórios,
+ * streaming da /v2) não herda o MDC.
+ */
+public class ContextoLogInterceptor implements HandlerInterceptor {
+
+    public static final String USUARIO = "usuario";
+
+    private static final String CHAVES = ContextoLogInterceptor.class.getName() + ".chaves";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        List<String> chaves = new ArrayList<>(2);
+        if (request.getRemoteUser() != null) {
+            MDC.put(USUARIO, request.getRemoteUser());
+            chaves.add(USUARIO);
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, String> variaveis = (Map<String, String>)
+                request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variaveis != null) {
+            variaveis.forEach((nome, valor) -> {
+                String chave = chave(nome, handler);
+                if (chave != null) {
+                    MDC.put(chave, valor);
+                    chaves.add(chave);
+                }
+            });
+        }
+        request.setAttribute(CHAVES, chaves);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        @SuppressWarnings("unchecked")
+        List<String> chaves = (List<String>) request.getAttribute(CHAVES);
+        if (chaves != null) {
+            chaves.forEach(MDC::remove);
+        }
+    }
+
+    // ==========================================
+    // MÉTODOS AUXILIARES
+    // ==========================================
+
+    /**
+     * Nome no MDC de uma variável da URL que identifica uma entidade, ou null
+     */
+    private static String chave(String variavel, Object handler) {
+        if (variavel.endsWith("Id")) {
+            return variavel;
+        }
+        if (!"id".equals(variavel)) {
+            return null;
+        }
+        if (handler instanceof HandlerMethod metodo) {
+            String controller = metodo.getBeanType().getSimpleName();
+            if (controller.endsWith("Controller")) {
+                return StringUtils.uncapitalize(controller.substring(0, controller.length() - "Controller".length()))
+                        + "Id";
+            }
+        }
+        return "id";
+    }
+}
@@ -0,0 +1,124 @@
+package br.com.orcagov.api.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource que limita as conexões abertas ao mesmo tempo com um semáforo justo.
+ *
+ * Com threads virtuais o número de requisições simultâneas deixa de ser limitado
+ * pelo pool do Tomcat e milhares de threads podem disputar as poucas conexões do
+ * Hikari. O semáforo, do tamanho do pool, atende as threads em ordem de chegada e
+ * desiste após a espera configurada; a requisição recebe 503 em vez de ficar
+ * presa até o timeout do pool. A permissão é devolvida quando a conexão é fechada.
+ */
+public class DataSourceLimitado extends DelegatingDataSource {
+
+    private final Semaphore permissoes;
+    private final int limite;
+    private final Duration espera;
+
+    public DataSourceLimitado(DataSource dataSource, int limite, Duration espera) {
+        super(dataSource);
+        this.permissoes = new Semaphore(limite, true);
+        this.limite = limite;
+        this.espera = espera;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        adquirir();
+        try {
+            return liberarAoFechar(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permissoes.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        adquirir();
+        try {
+            return liberarAoFechar(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permissoes.release();
+            throw e;
+        }
+    }
+
+    public int getLimite() {
+        return limite;
+    }
+
+    public int getConexoesEmUso() {
+        return limite - permissoes.availablePermits();
+    }
+
+    public int getThreadsAguardando() {
+        return permissoes.getQueueLength();
+    }
+
+    // ==========================================
+    // MÉTODOS AUXILIARES
+    // ==========================================
+
+    private void adquirir() throws SQLException {
+        try {
+            if (!permissoes.tryAcquire(espera.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                    "Nenhuma conexão com o banco disponível após " + espera.toMillis() + " ms ("
+                    + getThreadsAguardando() + " threads aguardando)", "08001");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrompido aguardando conexão com o banco", "08001", e);
+        }
+    }
+
+    private Connection liberarAoFechar(Connection conexao) {
+        AtomicBoolean fechada = new AtomicBoolean();
+        InvocationHandler handler = (proxy, metodo, argumentos) -> {
+            if ("close".equals(metodo.getName()) && metodo.getParameterCount() == 0) {
+                try {
+                    conexao.close();
+                } finally {
+                    // close() pode ser chamado mais de uma vez; a permissão volta uma só
+                    if (fechada.compareAndSet(false, true)) {
+                        permissoes.release();
+                    }
+                }
+                return null;
+            }
+            if ("equals".equals(metodo.getName()) && metodo.getParameterCount() == 1) {
+                return proxy == argumentos[0];
+            }
+            if ("hashCode".equals(metodo.getName()) && metodo.getParameterCount() == 0) {
+                return System.identityHashCode(proxy);
+            }
+            return invocar(conexao, metodo, argumentos);
+        };
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[] { Connection.class }, handler);
+    }
+
+    private static Object invocar(Connection conexao, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(conexao, argumentos);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package br.com.orcagov.api.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * DataSource que informa cada comando SQL executado, com o tempo de execução,
+ * as linhas lidas ou afetadas e os parâmetros, aos {@link ObservadorSql} registrados.
+ *
+ * Fica abaixo do Hibernate e do JdbcTemplate, então enxerga também as consultas
+ * disparadas por coleções lazy e conversores de DTO. Conexões, statements e
+ * result sets são envolvidos por proxies; o restante das chamadas segue direto
+ * para o driver. Uma consulta é informada quando suas linhas terminam de ser
+ * lidas, ou quando o result set ou o statement é fechado.
+ */
+public class DataSourceMonitorado extends DelegatingDataSource {
+
+    private final Supplier<List<ObservadorSql>> observadores;
+
+    public DataSourceMonitorado(DataSource dataSource, Supplier<List<ObservadorSql>> observadores) {
+        super(dataSource);
+        this.observadores = observadores;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return monitorar(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return monitorar(super.getConnection(username, password));
+    }
+
+    // ==========================================
+    // MÉTODOS AUXILIARES
+    // ==========================================
+
+    private Connection monitorar(Connection conexao) {
+        InvocationHandler handler = (proxy, metodo, argumentos) -> {
+            Object identidade = identidade(proxy, metodo, argumentos);
+            if (identidade != null) {
+                return identidade;
+            }
+            Object resultado = invocar(conexao, metodo, argumentos);
+            if (resultado instanceof Statement statement) {
+                // prepareStatement/prepareCall recebem o SQL; createStatement o recebe a cada execute
+                String sql = metodo.getName().startsWith("prepare") ? (String) argumentos[0] : null;
+                return new StatementMonitorado(statement, sql).proxy(metodo.getReturnType());
+            }
+            return resultado;
+        };
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[] { Connection.class }, handler);
+    }
+
+    private void notificar(ExecucaoSql execucao) {
+        for (ObservadorSql observador : observadores.get()) {
+            observador.executado(execucao);
+        }
+    }
+
+    /**
+     * equals/hashCode pela identidade do proxy, como o Hibernate espera ao guardar
+     * statements; null para os demais métodos
+     */
+    private static Object identidade(Object proxy, Method metodo, Object[] argumentos) {
+        if ("equals".equals(metodo.getName()) && metodo.getParameterCount() == 1) {
+            return proxy == argumentos[0];
+        }
+        if ("hashCode".equals(metodo.getName()) && metodo.getParameterCount() == 0) {
+            return System.identityHashCode(proxy);
+        }
+        return null;
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(alvo, argumentos);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * Estado de um statement: parâmetros informados, comandos do lote e a
+     * consulta cujas linhas ainda estão sendo lidas. Usado por uma thread por vez,
+     * como o próprio statement.
+     */
+    private class StatementMonitorado implements InvocationHandler {
+
+        private final Statement statement;
+        private final String sqlPreparado;
+        private final List<Object> parametros = new ArrayList<>();
+        private final List<String> lote = new ArrayList<>();
+        private Leitura leitura;
+
+        StatementMonitorado(Statement statement, String sqlPreparado) {
+            this.statement = statement;
+            this.sqlPreparado = sqlPreparado;
+        }
+
+        Statement proxy(Class<?> tipo) {
+            return (Statement) Proxy.newProxyInstance(
+                    Statement.class.getClassLoader(), new Class<?>[] { tipo }, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] argumentos) throws Throwable {
+            Object identidade = identidade(proxy, metodo, argumentos);
+            if (identidade != null) {
+                return identidade;
+            }
+            String nome = metodo.getName();
+            if (nome.startsWith("execute")) {
+                return executar(metodo, argumentos);
+            }
+            switch (nome) {
+                case "getResultSet" -> {
+                    Object resultado = invocar(statement, metodo, argumentos);
+                    return leitura != null && resultado instanceof ResultSet rs ? leitura.proxy(rs) : resultado;
+                }
+                case "close" -> concluirLeitura();
+                case "clearParameters" -> parametros.clear();
+                case "addBatch" -> {
+                    if (sqlPreparado == null && argumentos != null) {
+                        lote.add((String) argumentos[0]);
+                    }
+                }
+                default -> registrarParametro(nome, argumentos);
+            }
+            return invocar(statement, metodo, argumentos);
+        }
+
+        private Object executar(Method metodo, Object[] argumentos) throws Throwable {
+            concluirLeitura();
+
+            String sql = sqlPreparado;
+            if (sql == null) {
+                sql = argumentos != null && argumentos.length > 0 && argumentos[0] instanceof String comando
+                        ? comando : String.join(";\n", lote);
+            }
+            List<Object> parametrosExecucao = parametros.isEmpty() ? List.of() : new ArrayList<>(parametros);
+            if (metodo.getName().endsWith("Batch")) {
+                lote.clear();
+            }
+
+            long inicio = System.nanoTime();
+            Object resultado;
+            try {
+                resultado = invocar(statement, metodo, argumentos);
+            } catch (Throwable e) {
+                notificar(new ExecucaoSql(sql, System.nanoTime() - inicio, 0, parametrosExecucao));
+                throw e;
+            }
+            long duracao = System.nanoTime() - inicio;
+
+            if (resultado instanceof ResultSet rs) {
+                leitura = new Leitura(sql, duracao, parametrosExecucao);
+                return leitura.proxy(rs);
+            }
+            if (Boolean.TRUE.equals(resultado)) {
+                // execute() com result set: lido depois por getResultSet()
+                leitura = new Leitura(sql, duracao, parametrosExecucao);
+                return resultado;
+            }
+            notificar(new ExecucaoSql(sql, duracao, linhasAfetadas(resultado), parametrosExecucao));
+            return resultado;
+        }
+
+        private void concluirLeitura() {
+            if (leitura != null) {
+                leitura.concluir();
+                leitura = null;
+            }
+        }
+
+        /**
+         * setString(1, valor), setObject(2, valor, tipo), setNull(3, tipo)...
+         */
+        private void registrarParametro(String nome, Object[] argumentos) {
+            if (!nome.startsWith("set") || argumentos == null || argumentos.length < 2
+                    || !(argumentos[0] instanceof Integer posicao) || posicao < 1) {
+                return;
+            }
+            while (parametros.size() < posicao) {
+                parametros.add(null);
+            }
+            parametros.set(posicao - 1, "setNull".equals(nome) ? null : argumentos[1]);
+        }
+
+        private static long linhasAfetadas(Object resultado) {
+            if (resultado instanceof Number afetadas) {
+                return afetadas.longValue();
+            }
+            long total = 0;
+            if (resultado instanceof int[] lote) {
+                for (int afetadas : lote) {
+                    total += Math.max(afetadas, 0);
+                }
+            } else if (resultado instanceof long[] lote) {
+                for (long afetadas : lote) {
+                    total += Math.max(afetadas, 0);
+                }
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Consulta com o result set aberto: acumula o tempo gasto em next() e as linhas lidas
+     */
+    private class Leitura implements InvocationHandler {
+
+        private final String sql;
+        private final List<Object> parametros;
+        private long duracao;
+        private long linhas;
+        private boolean concluida;
+        private ResultSet resultSet;
+
+        Leitura(String sql, long duracaoExecucao, List<Object> parametros) {
+            this.sql = sql;
+            this.duracao = duracaoExecucao;
+            this.parametros = parametros;
+        }
+
+        ResultSet proxy(ResultSet resultSet) {
+            this.resultSet = resultSet;
+            return (ResultSet) Proxy.newProxyInstance(
+                    ResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class }, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] argumentos) throws Throwable {
+            Object identidade = identidade(proxy, metodo, argumentos);
+            if (identidade != null) {
+                return identidade;
+            }
+            if ("next".equals(metodo.getName())) {
+                long inicio = System.nanoTime();
+                Object existe = invocar(resultSet, metodo, argumentos);
+                duracao += System.nanoTime() - inicio;
+                if (Boolean.TRUE.equals(existe)) {
+                    linhas++;
+                } else {
+                    concluir();
+                }
+                return existe;
+            }
+            if ("close".equals(metodo.getName())) {
+                concluir();
+            }
+            return invocar(resultSet, metodo, argumentos);
+        }
+
+        void concluir() {
+            if (!concluida) {
+                concluida = true;
+                notificar(new ExecucaoSql(sql, duracao, linhas, parametros));
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.orcagov.api.config;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Um comando SQL executado.
+ *
+ * Para consultas, a duração soma a execução e a leitura das linhas (next() do
+ * ResultSet), e linhas é o número de linhas lidas; para os demais comandos,
+ * linhas é o total de registros afetados. Os parâmetros guardam os valores
+ * informados ao PreparedStatement por posição; {@link #formatoParametros()}
+ * descreve só o tipo e o tamanho de cada um, sem expor os valores.
+ */
+public record ExecucaoSql(String sql, long duracaoNanos, long linhas, List<Object> parametros) {
+
+    public String formatoParametros() {
+        List<String> formatos = new ArrayList<>(parametros.size());
+        for (Object parametro : parametros) {
+            formatos.add(formato(parametro));
+        }
+        return formatos.toString();
+    }
+
+    private static String formato(Object valor) {
+        if (valor == null) {
+            return "null";
+        }
+        String tipo = valor.getClass().getSimpleName();
+        if (valor instanceof CharSequence texto) {
+            return tipo + "(" + texto.length() + ")";
+        }
+        if (valor instanceof byte[] bytes) {
+            return "byte[" + bytes.length + "]";
+        }
+        if (valor instanceof Object[] itens) {
+            return tipo.replace("[]", "[" + itens.length + "]");
+        }
+        if (valor instanceof Collection<?> itens) {
+            return tipo + "(" + itens.size() + ")";
+        }
+        if (valor instanceof Map<?, ?> itens) {
+            return tipo + "(" + itens.size() + ")";
+        }
+        return tipo;
+    }
+}
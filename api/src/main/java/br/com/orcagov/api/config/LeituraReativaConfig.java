@@ -0,0 +1,112 @@
+package br.com.orcagov.api.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Acesso não bloqueante ao banco para a API de leitura (/v2).
+ *
+ * Usa o mesmo banco e as mesmas credenciais do DataSource JDBC: a URL R2DBC é
+ * derivada de spring.datasource.url quando orcagov.leitura-reativa.url não é
+ * informada. O pool fica dentro desta configuração e apenas o DatabaseClient é
+ * exposto: um bean ConnectionFactory faria o Spring Boot desligar o DataSource
+ * JDBC usado pelo JPA (por isso o R2dbcAutoConfiguration é excluído).
+ *
+ * As listagens em NDJSON são escritas na resposta pelo executor do suporte
+ * assíncrono do Spring MVC; sem ele o MVC cria uma thread nova por item.
+ */
+@Configuration
+public class LeituraReativaConfig implements WebMvcConfigurer {
+
+    @Value("${orcagov.leitura-reativa.streaming.threads:8}")
+    private int threadsStreaming;
+
+    @Value("${orcagov.leitura-reativa.streaming.fila:1000}")
+    private int filaStreaming;
+
+    private ConnectionPool pool;
+
+    @Bean
+    public DatabaseClient databaseClient(
+            DataSourceProperties dataSourceProperties,
+            @Value("${orcagov.leitura-reativa.url:}") String url,
+            @Value("${orcagov.leitura-reativa.pool.inicial:2}") int tamanhoInicial,
+            @Value("${orcagov.leitura-reativa.pool.maximo:10}") int tamanhoMaximo,
+            @Value("${orcagov.leitura-reativa.pool.espera-conexao:5s}") Duration esperaConexao) {
+
+        ConnectionFactoryOptions opcoes = ConnectionFactoryOptions.parse(
+                StringUtils.hasText(url) ? url : converterUrlJdbc(dataSourceProperties.determineUrl()));
+        ConnectionFactoryOptions.Builder builder = opcoes.mutate();
+        if (!opcoes.hasOption(ConnectionFactoryOptions.USER) && dataSourceProperties.determineUsername() != null) {
+            builder.option(ConnectionFactoryOptions.USER, dataSourceProperties.determineUsername());
+        }
+        if (!opcoes.hasOption(ConnectionFactoryOptions.PASSWORD) && dataSourceProperties.determinePassword() != null) {
+            builder.option(ConnectionFactoryOptions.PASSWORD, dataSourceProperties.determinePassword());
+        }
+
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(builder.build()))
+                .name("leitura-reativa")
+                .initialSize(tamanhoInicial)
+                .maxSize(tamanhoMaximo)
+                .maxAcquireTime(esperaConexao)
+                .maxIdleTime(Duration.ofMinutes(30))
+                .validationQuery("SELECT 1")
+                .build());
+
+        return DatabaseClient.create(pool);
+    }
+
+    /**
+     * Escrita dos itens emitidos pelos Flux na resposta (bloqueante, por isso fora
+     * das threads do R2DBC). Com a fila cheia a escrita falha e a requisição é encerrada.
+     */
+    @Bean(name = "streamingExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor streamingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threadsStreaming);
+        executor.setMaxPoolSize(threadsStreaming);
+        executor.setQueueCapacity(filaStreaming);
+        executor.setThreadNamePrefix("streaming-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingExecutor());
+    }
+
+    @PreDestroy
+    public void fecharPool() {
+        if (pool != null) {
+            pool.dispose();
+        }
+    }
+
+    /**
+     * jdbc:postgresql://host:porta/banco?parametros -> r2dbc:postgresql://host:porta/banco?parametros
+     */
+    private static String converterUrlJdbc(String urlJdbc) {
+        if (urlJdbc == null || !urlJdbc.startsWith("jdbc:postgresql:")) {
+            throw new IllegalStateException("Não foi possível derivar a URL R2DBC de '" + urlJdbc
+                    + "'. Informe orcagov.leitura-reativa.url");
+        }
+        return "r2dbc:" + urlJdbc.substring("jdbc:".length());
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.orcagov.api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Limites de requisições por cliente em duas classes de endpoints:
+ *
+ * - pesadas: estatísticas e relatórios, que agregam tabelas inteiras. Além da taxa por
+ *   usuário, o número delas em andamento fica abaixo do pool do Hikari, para que um
+ *   script insistente não tome as conexões das demais rotas;
+ * - demais rotas: só taxa por usuário, desligada por padrão.
+ *
+ * Login e renovação têm limites próprios (AutenticacaoService) e o actuator não é limitado.
+ */
+@Configuration
+@ConditionalOnProperty(name = "orcagov.limite.habilitado", havingValue = "true", matchIfMissing = true)
+public class LimiteRequisicoesConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(LimiteRequisicoesConfig.class);
+
+    private final List<ClasseEndpoints> classes = new ArrayList<>();
+
+    @Bean
+    public FilterRegistrationBean<LimiteRequisicoesFilter> limiteRequisicoesFilter(
+            MeterRegistry meterRegistry,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver resolvedorExcecoes,
+            @Value("${orcagov.limite.pesadas.rotas}") List<String> rotasPesadas,
+            @Value("${orcagov.limite.pesadas.capacidade:5}") int capacidadePesadas,
+            @Value("${orcagov.limite.pesadas.reposicao:3s}") Duration reposicaoPesadas,
+            @Value("${orcagov.limite.pesadas.simultaneas:4}") int simultaneasPesadas,
+            @Value("${orcagov.limite.padrao.capacidade:0}") int capacidadePadrao,
+            @Value("${orcagov.limite.padrao.reposicao:50ms}") Duration reposicaoPadrao,
+            @Value("${orcagov.limite.retry-after:1}") long retryAfterSegundos) {
+
+        classes.add(new ClasseEndpoints("pesadas", rotasPesadas, capacidadePesadas, reposicaoPesadas,
+                simultaneasPesadas, meterRegistry));
+        classes.add(new ClasseEndpoints("padrao", List.of(), capacidadePadrao, reposicaoPadrao, 0, meterRegistry));
+
+        FilterRegistrationBean<LimiteRequisicoesFilter> registro = new FilterRegistrationBean<>(
+                new LimiteRequisicoesFilter(classes, List.of("/auth/", "/actuator/"), retryAfterSegundos,
+                        resolvedorExcecoes));
+        // Logo depois da cadeia do Spring Security, que identifica o usuário
+        registro.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registro;
+    }
+
+    @Scheduled(fixedDelayString = "${orcagov.limite.limpeza-intervalo:1m}")
+    public void limparLimites() {
+        int removidos = classes.stream().mapToInt(ClasseEndpoints::limpar).sum();
+        if (removidos > 0) {
+            logger.debug("{} limites de clientes voltaram ao estado inicial e saíram da memória", removidos);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package br.com.orcagov.api.config;
+
+import br.com.orcagov.api.exception.ServiceUnavailableException;
+import br.com.orcagov.api.exception.TooManyRequestsException;
+import br.com.orcagov.api.service.LimitadorTaxa;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limites por cliente e admissão por classe de endpoints, antes de a requisição chegar
+ * ao controller e pedir uma conexão ao pool. Roda depois da segurança: o cliente é o
+ * usuário do token, ou o endereço quando não há usuário.
+ *
+ * A requisição entra na primeira classe cujas rotas casarem. Taxa excedida responde
+ * 429 e concorrência esgotada responde 503, ambos com Retry-After e pelo
+ * GlobalExceptionHandler, como os erros dos controllers. Nas respostas assíncronas
+ * (streaming, long polling) a vaga só é liberada ao fim da resposta.
+ */
+public class LimiteRequisicoesFilter extends OncePerRequestFilter {
+
+    private final List<ClasseEndpoints> classes;
+    private final List<String> ignoradas;
+    private final long retryAfterSegundos;
+    private final HandlerExceptionResolver resolvedorExcecoes;
+
+    LimiteRequisicoesFilter(List<ClasseEndpoints> classes, List<String> ignoradas, long retryAfterSegundos,
+                            HandlerExceptionResolver resolvedorExcecoes) {
+        this.classes = List.copyOf(classes);
+        this.ignoradas = List.copyOf(ignoradas);
+        this.retryAfterSegundos = retryAfterSegundos;
+        this.resolvedorExcecoes = resolvedorExcecoes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String caminho = caminho(request);
+        return ignoradas.stream().anyMatch(caminho::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        ClasseEndpoints classe = classificar(caminho(request));
+        if (classe == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long espera = classe.consumir(cliente(request));
+        if (espera > 0) {
+            resolvedorExcecoes.resolveException(request, response, null, new TooManyRequestsException(
+                    "Limite de requisições excedido. Tente novamente em instantes", LimitadorTaxa.segundos(espera)));
+            return;
+        }
+        if (!classe.admitir()) {
+            resolvedorExcecoes.resolveException(request, response, null, new ServiceUnavailableException(
+                    "Serviço temporariamente sobrecarregado. Tente novamente em instantes", retryAfterSegundos));
+            return;
+        }
+
+        boolean assincrona = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new LiberarAoConcluir(classe));
+                assincrona = true;
+            }
+        } finally {
+            if (!assincrona) {
+                classe.liberar();
+            }
+        }
+    }
+
+    private ClasseEndpoints classificar(String caminho) {
+        for (ClasseEndpoints classe : classes) {
+            if (classe.atende(caminho)) {
+                return classe;
+            }
+        }
+        return null;
+    }
+
+    private static String caminho(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static String cliente(HttpServletRequest request) {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacao != null && autenticacao.isAuthenticated()
+                && !(autenticacao instanceof AnonymousAuthenticationToken)) {
+            return "usuario:" + autenticacao.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    /**
+     * Libera a vaga uma única vez, no fim da resposta assíncrona (erro e timeout também
+     * terminam em onComplete, mas não em todos os contêineres)
+     */
+    private static final class LiberarAoConcluir implements AsyncListener {
+
+        private final ClasseEndpoints classe;
+        private final AtomicBoolean liberada = new AtomicBoolean();
+
+        LiberarAoConcluir(ClasseEndpoints classe) {
+            this.classe = classe;
+        }
+
+        private void liberar() {
+            if (liberada.compareAndSet(false, true)) {
+                classe.liberar();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            liberar();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            liberar();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            liberar();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Novo ciclo assíncrono da mesma requisição: continua ouvindo
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package br.com.orcagov.api.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Contexto dos logs (requisição, usuário e ids no MDC) e métricas do log
+ * assíncrono do perfil "producao" (logback-spring.xml).
+ */
+@Configuration
+public class LogEstruturadoConfig implements WebMvcConfigurer {
+
+    @Bean
+    public FilterRegistrationBean<ContextoLogFilter> contextoLogFilter() {
+        FilterRegistrationBean<ContextoLogFilter> registro = new FilterRegistrationBean<>(new ContextoLogFilter());
+        // O primeiro filtro: até os logs da segurança e da contagem de SQL levam o id da requisição
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registro;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ContextoLogInterceptor());
+    }
+
+    /**
+     * Eventos descartados pela fila cheia do log assíncrono e mensagens
+     * suprimidas pela amostragem; zero fora do perfil "producao"
+     */
+    @Bean
+    public MeterBinder metricasLog() {
+        return registry -> {
+            FunctionCounter.builder("orcagov.log.descartados", AppenderAssincrono.class,
+                            classe -> AppenderAssincrono.getDescartados())
+                    .register(registry);
+            FunctionCounter.builder("orcagov.log.suprimidos", AmostragemLogFilter.class,
+                            classe -> AmostragemLogFilter.getSuprimidas())
+                    .register(registry);
+        };
+    }
+}
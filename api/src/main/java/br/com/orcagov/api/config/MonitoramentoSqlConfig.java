@@ -0,0 +1,78 @@
+package br.com.orcagov.api.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Monitoramento dos comandos SQL: o DataSource usado pelo JPA e pelo JdbcTemplate
+ * é envolvido por um {@link DataSourceMonitorado}, que repassa cada comando aos
+ * beans {@link ObservadorSql}: a contagem por requisição e as estatísticas de
+ * comandos lentos.
+ */
+@Configuration
+public class MonitoramentoSqlConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonitoramentoSqlConfig.class);
+
+    /**
+     * Envolve o bean "dataSource" (o do Spring Boot ou o roteamento da réplica).
+     * Não implementa Ordered de propósito: roda depois dos BeanPostProcessors
+     * ordenados, como o limitador do perfil virtual, que precisa encontrar o
+     * HikariDataSource sem outro envoltório.
+     */
+    @Bean
+    public static BeanPostProcessor monitoramentoSql(ObjectProvider<ObservadorSql> observadores) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                logger.debug("Comandos SQL monitorados no DataSource {}", bean.getClass().getSimpleName());
+                return new DataSourceMonitorado(dataSource,
+                        SingletonSupplier.of(() -> observadores.orderedStream().toList()));
+            }
+        };
+    }
+
+    @Bean
+    public ObservadorSql contagemConsultas() {
+        return execucao -> ContagemConsultas.registrar(execucao.sql());
+    }
+
+    @Bean
+    public ConsultasLentas consultasLentas(
+            @Value("${orcagov.sql.lentas.limite:500ms}") Duration limite,
+            @Value("${orcagov.sql.lentas.maximo-comandos:500}") int maximoComandos) {
+        return new ConsultasLentas(limite, maximoComandos);
+    }
+
+    @Bean
+    public ConsultasLentasEndpoint consultasLentasEndpoint(ConsultasLentas consultasLentas) {
+        return new ConsultasLentasEndpoint(consultasLentas);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ContagemConsultasFilter> contagemConsultasFilter(
+            @Value("${orcagov.sql.contagem.cabecalho:false}") boolean cabecalho,
+            @Value("${orcagov.sql.contagem.limite-repeticoes:10}") int limiteRepeticoes) {
+
+        FilterRegistrationBean<ContagemConsultasFilter> registro =
+                new FilterRegistrationBean<>(new ContagemConsultasFilter(cabecalho, limiteRepeticoes));
+        // Antes da segurança, para contar também as consultas da autenticação; logo
+        // depois do ContextoLogFilter, para que o aviso de N+1 leve o id da requisição
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registro;
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.orcagov.api.config;
+
+/**
+ * Recebe os comandos SQL executados pelo {@link DataSourceMonitorado}.
+ * Chamado na thread que executou o comando, logo após a execução: deve ser rápido.
+ */
+@FunctionalInterface
+public interface ObservadorSql {
+
+    void executado(ExecucaoSql execucao);
+}
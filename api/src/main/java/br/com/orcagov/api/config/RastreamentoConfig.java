@@ -0,0 +1,65 @@
+package br.com.orcagov.api.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.ObservationFilter;
+import io.micrometer.observation.aop.ObservedAspect;
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.aspectj.lang.reflect.CodeSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Rastreamento com OpenTelemetry (via Micrometer Tracing): requisição HTTP →
+ * service (@Observed) → repositório → comando SQL, um span por nível.
+ *
+ * A amostragem fica em management.tracing.sampling.probability; os spans vão
+ * para o coletor em management.otlp.tracing.endpoint e, sem coletor, para o log
+ * em JSON OTLP com orcagov.tracing.log=true.
+ */
+@Configuration
+public class RastreamentoConfig {
+
+    @Bean
+    public RastreamentoRepositorios rastreamentoRepositorios(Tracer tracer) {
+        return new RastreamentoRepositorios(tracer);
+    }
+
+    @Bean
+    public RastreamentoSql rastreamentoSql(Tracer tracer) {
+        return new RastreamentoSql(tracer);
+    }
+
+    /**
+     * Ids recebidos pelos métodos dos services (id, despesaId, empenhoId...) como
+     * atributos do span. São de alta cardinalidade: não viram tags das métricas.
+     */
+    @Bean
+    public ObservationFilter idsNosServices() {
+        return context -> {
+            if (context instanceof ObservedAspect.ObservedAspectContext aspecto
+                    && aspecto.getProceedingJoinPoint().getSignature() instanceof CodeSignature assinatura) {
+                String[] nomes = assinatura.getParameterNames();
+                Object[] argumentos = aspecto.getProceedingJoinPoint().getArgs();
+                for (int i = 0; i < argumentos.length && nomes != null && i < nomes.length; i++) {
+                    if (argumentos[i] instanceof Number id
+                            && (nomes[i].equals("id") || nomes[i].endsWith("Id"))) {
+                        context.addHighCardinalityKeyValue(KeyValue.of("orcagov." + nomes[i], id.toString()));
+                    }
+                }
+            }
+            return context;
+        };
+    }
+
+    /**
+     * Exportador local, para ambientes sem coletor OTLP: um JSON por lote de spans no log
+     */
+    @Bean
+    @ConditionalOnProperty(name = "orcagov.tracing.log", havingValue = "true")
+    public SpanExporter exportadorSpansLog() {
+        return OtlpJsonLoggingSpanExporter.create();
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.orcagov.api.config;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.Repository;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Um span por chamada de repositório Spring Data (DespesaRepository.findById...),
+ * entre o span do service e os spans dos comandos SQL, com o id informado e o
+ * número de registros devolvidos.
+ *
+ * Só cria spans dentro de um trace amostrado; nos demais casos a chamada segue direto.
+ */
+@Aspect
+public class RastreamentoRepositorios {
+
+    private final Tracer tracer;
+    private final Map<Class<?>, String> nomes = new ConcurrentHashMap<>();
+
+    public RastreamentoRepositorios(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object rastrear(ProceedingJoinPoint chamada) throws Throwable {
+        TraceContext atual = tracer.currentTraceContext().context();
+        if (atual == null || !Boolean.TRUE.equals(atual.sampled())) {
+            return chamada.proceed();
+        }
+
+        Span span = tracer.nextSpan()
+                .name(nomes.computeIfAbsent(chamada.getThis().getClass(), RastreamentoRepositorios::repositorio)
+                        + "." + chamada.getSignature().getName())
+                .start();
+        Object[] argumentos = chamada.getArgs();
+        if (argumentos.length > 0 && argumentos[0] instanceof Number id) {
+            span.tag("orcagov.id", id.longValue());
+        }
+        try (Tracer.SpanInScope escopo = tracer.withSpan(span)) {
+            Object resultado = chamada.proceed();
+            long registros = registros(resultado);
+            if (registros >= 0) {
+                span.tag("orcagov.registros", registros);
+            }
+            return resultado;
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    // ==========================================
+    // MÉTODOS AUXILIARES
+    // ==========================================
+
+    /**
+     * Nome da interface do repositório implementada pelo proxy do Spring Data
+     */
+    private static String repositorio(Class<?> proxy) {
+        for (Class<?> interfaceProxy : proxy.getInterfaces()) {
+            if (Repository.class.isAssignableFrom(interfaceProxy)
+                    && !interfaceProxy.getName().startsWith("org.springframework.")) {
+                return interfaceProxy.getSimpleName();
+            }
+        }
+        return proxy.getSimpleName();
+    }
+
+    /**
+     * Registros devolvidos por consultas; -1 para os demais retornos
+     */
+    private static long registros(Object resultado) {
+        if (resultado instanceof Slice<?> fatia) {
+            // Page também: os registros da página, não o total
+            return fatia.getNumberOfElements();
+        }
+        if (resultado instanceof Collection<?> colecao) {
+            return colecao.size();
+        }
+        if (resultado instanceof Optional<?> opcional) {
+            return opcional.isPresent() ? 1 : 0;
+        }
+        return -1;
+    }
+}
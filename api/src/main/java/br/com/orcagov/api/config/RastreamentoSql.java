@@ -0,0 +1,64 @@
+package br.com.orcagov.api.config;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Um span por comando SQL, filho do span corrente (repositório, service ou
+ * requisição), com o comando, as linhas lidas ou afetadas e o formato dos parâmetros.
+ *
+ * O {@link DataSourceMonitorado} informa o comando depois de executado, então o
+ * span é registrado com início e fim retroativos: o fim é o momento da
+ * notificação e o início, o fim menos a duração medida. Fora de um trace
+ * amostrado não há custo além de consultar o contexto corrente.
+ */
+public class RastreamentoSql implements ObservadorSql {
+
+    private final Tracer tracer;
+
+    public RastreamentoSql(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public void executado(ExecucaoSql execucao) {
+        TraceContext atual = tracer.currentTraceContext().context();
+        if (atual == null || !Boolean.TRUE.equals(atual.sampled())) {
+            return;
+        }
+        Instant agora = Instant.now();
+        long fim = TimeUnit.SECONDS.toNanos(agora.getEpochSecond()) + agora.getNano();
+
+        // Comandos sem parâmetros podem trazer valores literais no texto
+        String sql = execucao.parametros().isEmpty()
+                ? ConsultasLentas.normalizar(execucao.sql()) : execucao.sql();
+        Span span = tracer.spanBuilder()
+                .setParent(atual)
+                .name(operacao(sql))
+                .kind(Span.Kind.CLIENT)
+                .tag("db.system", "postgresql")
+                .tag("db.statement", sql)
+                .tag("db.rows", execucao.linhas())
+                .tag("db.parametros", execucao.formatoParametros())
+                .startTimestamp(fim - execucao.duracaoNanos(), TimeUnit.NANOSECONDS)
+                .start();
+        span.end(fim, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * SELECT, INSERT, UPDATE...: a primeira palavra do comando
+     */
+    private static String operacao(String sql) {
+        String comando = sql.stripLeading();
+        int fim = 0;
+        while (fim < comando.length() && Character.isLetter(comando.charAt(fim))) {
+            fim++;
+        }
+        return fim == 0 ? "SQL" : comando.substring(0, fim).toUpperCase(Locale.ROOT);
+    }
+}
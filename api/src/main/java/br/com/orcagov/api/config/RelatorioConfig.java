@@ -0,0 +1,60 @@
+package br.com.orcagov.api.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executor dedicado à geração assíncrona de relatórios.
+ *
+ * Pool e fila são limitados: cada relatório em execução segura uma conexão do
+ * banco durante a leitura, então o pool não pode competir com as requisições
+ * comuns pelo Hikari. Com a fila cheia a submissão é rejeitada (AbortPolicy) e o
+ * chamador responde 503 em vez de acumular trabalho sem limite.
+ */
+@Configuration
+@EnableScheduling
+public class RelatorioConfig {
+
+    @Bean(name = "relatorioExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor relatorioExecutor(
+            @Value("${orcagov.relatorio.jobs.threads:2}") int threads,
+            @Value("${orcagov.relatorio.jobs.fila:20}") int fila) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(fila);
+        executor.setThreadNamePrefix("relatorio-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        // No desligamento, relatórios pela metade são descartados: o arquivo só é publicado ao final
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Renderização de PDFs: trabalho de CPU, uma thread por núcleo por padrão.
+     * Atende tanto os extratos pedidos pela API quanto os lotes dos jobs.
+     */
+    @Bean(name = "renderizacaoPdfExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor renderizacaoPdfExecutor(
+            @Value("${orcagov.relatorio.pdf.threads:0}") int threads,
+            @Value("${orcagov.relatorio.pdf.fila:200}") int fila) {
+
+        int tamanho = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(tamanho);
+        executor.setMaxPoolSize(tamanho);
+        executor.setQueueCapacity(fila);
+        executor.setThreadNamePrefix("relatorio-pdf-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
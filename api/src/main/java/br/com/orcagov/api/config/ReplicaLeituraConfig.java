@@ -0,0 +1,183 @@
+package br.com.orcagov.api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Réplica de leitura: ligada quando orcagov.replica.url é informada.
+ *
+ * Substitui o DataSource do Spring Boot por dois pools (primário, configurado por
+ * spring.datasource.*, e réplica, por orcagov.replica.*) atrás de um
+ * {@link RoteamentoDataSource}. Métodos @Transactional(readOnly = true) passam a
+ * ler da réplica; escritas, e tudo fora de transação, seguem no primário.
+ *
+ * A verificação periódica da réplica tem thread e conexão próprias, com tempo limite
+ * curto: uma réplica que não responde não ocupa o agendador do Spring, que roda o
+ * publicador do outbox e as limpezas, nem espera o connectionTimeout do pool de leitura.
+ */
+@Configuration
+@ConditionalOnExpression("!'${orcagov.replica.url:}'.isEmpty()")
+public class ReplicaLeituraConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLeituraConfig.class);
+
+    private RoteamentoDataSource roteamento;
+
+    private ScheduledExecutorService verificador;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("orcagov.replica.hikari")
+    public HikariDataSource dataSourceReplica(
+            DataSourceProperties properties,
+            @Value("${orcagov.replica.url}") String url,
+            @Value("${orcagov.replica.usuario:}") String usuario,
+            @Value("${orcagov.replica.senha:}") String senha) {
+
+        HikariDataSource replica = criarPoolReplica(properties, url, usuario, senha);
+        replica.setPoolName("replica");
+        return replica;
+    }
+
+    /**
+     * Uma conexão só para a verificação, com tempos limite curtos na obtenção, no
+     * login e em cada leitura do socket
+     */
+    @Bean
+    public HikariDataSource dataSourceVerificacaoReplica(
+            DataSourceProperties properties,
+            @Value("${orcagov.replica.url}") String url,
+            @Value("${orcagov.replica.usuario:}") String usuario,
+            @Value("${orcagov.replica.senha:}") String senha,
+            @Value("${orcagov.replica.tempo-limite-verificacao:2s}") Duration tempoLimite) {
+
+        HikariDataSource verificacao = criarPoolReplica(properties, url, usuario, senha);
+        String segundos = String.valueOf(Math.max(1, tempoLimite.toSeconds()));
+        verificacao.setPoolName("replica-verificacao");
+        verificacao.setMaximumPoolSize(1);
+        verificacao.setConnectionTimeout(Math.max(250, tempoLimite.toMillis()));
+        verificacao.setValidationTimeout(250);
+        // Réplica fora do ar na partida não impede a subida: a verificação só a marca indisponível
+        verificacao.setInitializationFailTimeout(-1);
+        verificacao.addDataSourceProperty("connectTimeout", segundos);
+        verificacao.addDataSourceProperty("loginTimeout", segundos);
+        verificacao.addDataSourceProperty("socketTimeout", segundos);
+        return verificacao;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("dataSourcePrimario") DataSource primario,
+            @Qualifier("dataSourceReplica") DataSource replica,
+            @Qualifier("dataSourceVerificacaoReplica") DataSource verificacao,
+            @Value("${orcagov.replica.atraso-maximo:5s}") Duration atrasoMaximo,
+            @Value("${orcagov.replica.janela-leitura-propria:5s}") Duration janelaLeituraPropria,
+            @Value("${orcagov.replica.intervalo-verificacao:PT1S}") Duration intervaloVerificacao) {
+
+        if (janelaLeituraPropria.compareTo(atrasoMaximo) < 0) {
+            logger.warn("orcagov.replica.janela-leitura-propria ({}) menor que orcagov.replica.atraso-maximo ({}): "
+                    + "um usuário pode não ver a própria escrita ao ler da réplica", janelaLeituraPropria, atrasoMaximo);
+        }
+
+        roteamento = new RoteamentoDataSource(primario, replica, verificacao, atrasoMaximo, janelaLeituraPropria);
+        roteamento.afterPropertiesSet();
+        roteamento.verificarReplica();
+        iniciarVerificacao(intervaloVerificacao);
+        return new LazyConnectionDataSourceProxy(roteamento);
+    }
+
+    /**
+     * O Hibernate mantém por padrão a conexão até o fim da sessão, que com o
+     * open-in-view dura a requisição inteira: a primeira transação decidiria o
+     * destino das seguintes. Devolvendo a conexão ao fim de cada transação, cada
+     * uma é roteada pelo seu próprio readOnly.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer liberarConexaoAoFimDaTransacao() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    /**
+     * Réplica em uso (1) ou leituras no primário (0), e o último atraso medido
+     */
+    @Bean
+    public MeterBinder metricasReplica() {
+        return registry -> {
+            Gauge.builder("orcagov.replica.disponivel",
+                            () -> roteamento != null && roteamento.isReplicaDisponivel() ? 1 : 0)
+                    .register(registry);
+            Gauge.builder("orcagov.replica.atraso", () -> {
+                        Duration atraso = roteamento != null ? roteamento.getAtrasoReplica() : null;
+                        return atraso != null ? atraso.toMillis() / 1000.0 : Double.NaN;
+                    })
+                    .baseUnit("seconds")
+                    .register(registry);
+        };
+    }
+
+    @PreDestroy
+    public void pararVerificacao() {
+        if (verificador != null) {
+            verificador.shutdownNow();
+        }
+    }
+
+    private void iniciarVerificacao(Duration intervalo) {
+        verificador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "replica-verificacao");
+            thread.setDaemon(true);
+            return thread;
+        });
+        verificador.scheduleWithFixedDelay(() -> {
+            // Uma exceção escapando cancelaria as execuções seguintes
+            try {
+                roteamento.verificarReplica();
+            } catch (RuntimeException e) {
+                logger.error("Falha na verificação da réplica", e);
+            }
+        }, intervalo.toMillis(), intervalo.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static HikariDataSource criarPoolReplica(DataSourceProperties properties, String url,
+                                                     String usuario, String senha) {
+        HikariDataSource pool = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(usuario.isEmpty() ? properties.determineUsername() : usuario)
+                .password(senha.isEmpty() ? properties.determinePassword() : senha)
+                .build();
+        pool.setReadOnly(true);
+        return pool;
+    }
+}
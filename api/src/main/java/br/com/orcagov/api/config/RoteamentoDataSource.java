@@ -0,0 +1,184 @@
+package br.com.orcagov.api.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Envia transações somente leitura para a réplica e o restante para o primário.
+ *
+ * A réplica só é usada enquanto o atraso de replicação medido em
+ * {@link #verificarReplica()}, por uma conexão à parte do pool de leitura, estiver
+ * dentro do tolerado; fora disso, ou se ela não
+ * responder, as leituras voltam para o primário. Depois de uma transação de
+ * escrita confirmada, as leituras do mesmo usuário ficam no primário durante a
+ * janela de leitura própria, para que ele veja o que acabou de gravar.
+ *
+ * Precisa ficar atrás de um LazyConnectionDataSourceProxy: a conexão só pode ser
+ * escolhida depois que a transação marcou se é somente leitura.
+ */
+public class RoteamentoDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoteamentoDataSource.class);
+
+    /**
+     * Atraso da réplica em segundos; zero quando tudo que foi recebido do primário
+     * já foi aplicado (o horário do último replay envelhece com o primário ocioso)
+     */
+    private static final String SQL_ATRASO =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    public enum Destino { PRIMARIO, REPLICA }
+
+    private final DataSource primario;
+    private final DataSource replica;
+    private final DataSource verificacao;
+    private final Duration atrasoMaximo;
+    private final Duration janelaLeituraPropria;
+
+    /** Usuário -> instante (System.nanoTime) até o qual suas leituras ficam no primário */
+    private final Map<String, Long> leituraNoPrimarioAte = new ConcurrentHashMap<>();
+
+    private volatile boolean replicaDisponivel;
+    private volatile Duration atrasoReplica;
+
+    public RoteamentoDataSource(DataSource primario, DataSource replica, DataSource verificacao,
+                                Duration atrasoMaximo, Duration janelaLeituraPropria) {
+        this.primario = primario;
+        this.replica = replica;
+        this.verificacao = verificacao;
+        this.atrasoMaximo = atrasoMaximo;
+        this.janelaLeituraPropria = janelaLeituraPropria;
+        setTargetDataSources(Map.of(Destino.PRIMARIO, primario, Destino.REPLICA, replica));
+        setDefaultTargetDataSource(primario);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Destino.PRIMARIO;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            registrarEscritaAoConfirmar();
+            return Destino.PRIMARIO;
+        }
+        if (!replicaDisponivel || leituraPropriaPendente()) {
+            return Destino.PRIMARIO;
+        }
+        return Destino.REPLICA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource alvo = determineTargetDataSource();
+        if (alvo != replica) {
+            return alvo.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException ex) {
+            // Sem esperar a próxima verificação: a leitura segue no primário
+            marcarReplica(false, null, ex.getMessage());
+            return primario.getConnection();
+        }
+    }
+
+    // ========================================
+    // MONITORAMENTO DA RÉPLICA
+    // ========================================
+
+    /**
+     * Mede o atraso de replicação e libera ou suspende o uso da réplica
+     */
+    public void verificarReplica() {
+        try (Connection conexao = verificacao.getConnection();
+             Statement statement = conexao.createStatement();
+             ResultSet rs = statement.executeQuery(SQL_ATRASO)) {
+
+            rs.next();
+            Duration atraso = Duration.ofMillis(Math.round(rs.getDouble(1) * 1000));
+            boolean dentroDoTolerado = atraso.compareTo(atrasoMaximo) <= 0;
+            marcarReplica(dentroDoTolerado, atraso,
+                    dentroDoTolerado ? null : "atraso de " + atraso.toMillis() + " ms acima do tolerado");
+        } catch (SQLException ex) {
+            marcarReplica(false, null, ex.getMessage());
+        }
+
+        long agora = System.nanoTime();
+        leituraNoPrimarioAte.values().removeIf(ate -> ate - agora <= 0);
+    }
+
+    private void marcarReplica(boolean disponivel, Duration atraso, String motivo) {
+        this.atrasoReplica = atraso;
+        if (disponivel != replicaDisponivel) {
+            if (disponivel) {
+                logger.info("Réplica disponível para leituras (atraso {} ms)", atraso.toMillis());
+            } else {
+                logger.warn("Leituras redirecionadas ao primário: {}", motivo);
+            }
+        }
+        this.replicaDisponivel = disponivel;
+    }
+
+    public boolean isReplicaDisponivel() {
+        return replicaDisponivel;
+    }
+
+    /**
+     * Último atraso medido; null se a réplica não respondeu
+     */
+    public Duration getAtrasoReplica() {
+        return atrasoReplica;
+    }
+
+    // ========================================
+    // LEITURA DAS PRÓPRIAS ESCRITAS
+    // ========================================
+
+    private void registrarEscritaAoConfirmar() {
+        String usuario = usuarioAtual();
+        if (usuario == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                leituraNoPrimarioAte.put(usuario, System.nanoTime() + janelaLeituraPropria.toNanos());
+            }
+        });
+    }
+
+    private boolean leituraPropriaPendente() {
+        String usuario = usuarioAtual();
+        if (usuario == null) {
+            return false;
+        }
+        Long ate = leituraNoPrimarioAte.get(usuario);
+        return ate != null && ate - System.nanoTime() > 0;
+    }
+
+    private static String usuarioAtual() {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacao == null || autenticacao instanceof AnonymousAuthenticationToken || !autenticacao.isAuthenticated()) {
+            return null;
+        }
+        return autenticacao.getName();
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.orcagov.api.config;
+
+import br.com.orcagov.api.entity.enums.TipoUsuario;
+import br.com.orcagov.api.service.TokenService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Duas cadeias, ambas sem sessão e sem CSRF (a API não usa cookies):
+ *
+ * - /actuator/**: autenticação básica com o usuário de spring.security.user, para o
+ *   scrape do Prometheus, que não renova tokens;
+ * - demais rotas: token JWT de /auth/login no cabeçalho Authorization, verificado
+ *   sem consulta ao banco (ver {@link AutenticacaoJwtFilter}).
+ */
+@Configuration
+public class SegurancaConfig {
+
+    /**
+     * Verificação de senhas (BCrypt), trabalho de CPU caro por definição: por padrão
+     * metade dos núcleos, para que uma rajada de logins não tome a API inteira. Com a
+     * fila cheia a submissão é rejeitada e o login responde 503 (ver SenhaService).
+     */
+    @Bean(name = "senhaExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor senhaExecutor(
+            @Value("${orcagov.senha.threads:0}") int threads,
+            @Value("${orcagov.senha.fila:32}") int fila) {
+
+        int tamanho = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(tamanho);
+        executor.setMaxPoolSize(tamanho);
+        executor.setQueueCapacity(fila);
+        executor.setThreadNamePrefix("senha-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    @Order(1)
+    public SecurityFilterChain segurancaActuator(HttpSecurity http) throws Exception {
+        return http
+                .securityMatcher("/actuator/**")
+                .authorizeHttpRequests(requisicoes -> requisicoes.anyRequest().authenticated())
+                .httpBasic(Customizer.withDefaults())
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(sessao -> sessao.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .build();
+    }
+
+    @Bean
+    @Order(2)
+    public SecurityFilterChain segurancaApi(HttpSecurity http, TokenService tokenService) throws Exception {
+        RequestAttributeSecurityContextRepository repositorioContexto = new RequestAttributeSecurityContextRepository();
+        return http
+                .authorizeHttpRequests(requisicoes -> requisicoes
+                        .requestMatchers(HttpMethod.POST, "/auth/login", "/auth/refresh").permitAll()
+                        .requestMatchers("/error").permitAll()
+                        // Auditoria, outbox e carga histórica: só administradores
+                        .requestMatchers("/admin/**").hasRole(TipoUsuario.ADMIN.name())
+                        .anyRequest().authenticated())
+                .csrf(AbstractHttpConfigurer::disable)
+                .httpBasic(AbstractHttpConfigurer::disable)
+                .formLogin(AbstractHttpConfigurer::disable)
+                .logout(AbstractHttpConfigurer::disable)
+                .sessionManagement(sessao -> sessao.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .securityContext(contexto -> contexto.securityContextRepository(repositorioContexto))
+                .exceptionHandling(excecoes -> excecoes.authenticationEntryPoint((request, response, e) -> {
+                    response.setHeader(HttpHeaders.WWW_AUTHENTICATE, TokenService.TIPO);
+                    response.setStatus(401);
+                }))
+                .addFilterBefore(new AutenticacaoJwtFilter(tokenService, repositorioContexto),
+                        UsernamePasswordAuthenticationFilter.class)
+                .build();
+    }
+}
@@ -0,0 +1,99 @@
+package br.com.orcagov.api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Perfil "virtual": requisições atendidas em threads virtuais (Java 21+).
+ *
+ * O Spring Boot liga as threads virtuais no Tomcat, no executor de tarefas e no
+ * agendador por spring.threads.virtual.enabled (application-virtual.properties);
+ * em Java 17 a propriedade é ignorada e tudo segue em threads de plataforma.
+ * Aqui o DataSource é envolvido por um {@link DataSourceLimitado} do tamanho do
+ * pool do Hikari, já que o pool do Tomcat deixa de limitar a concorrência no banco.
+ *
+ * Os executores de relatórios continuam com threads de plataforma: a renderização
+ * de PDFs é trabalho de CPU e guarda as fontes analisadas por thread.
+ */
+@Configuration
+@Profile("virtual")
+public class ThreadsVirtuaisConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadsVirtuaisConfig.class);
+
+    @Bean
+    public static LimitadorConexoes limitadorConexoes(Environment environment) {
+        return new LimitadorConexoes(environment);
+    }
+
+    /**
+     * Conexões em uso e threads aguardando por pool limitado
+     */
+    @Bean
+    public MeterBinder metricasLimitadorConexoes(ObjectProvider<DataSource> dataSources) {
+        return registry -> dataSources.orderedStream()
+                .map(dataSource -> DataSourceUnwrapper.unwrap(dataSource, DataSourceLimitado.class))
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(limitado -> {
+                    String pool = limitado.getTargetDataSource() instanceof HikariDataSource hikari
+                            ? hikari.getPoolName() : "padrao";
+                    Gauge.builder("orcagov.conexoes.limite", limitado, DataSourceLimitado::getLimite)
+                            .tag("pool", pool).register(registry);
+                    Gauge.builder("orcagov.conexoes.em-uso", limitado, DataSourceLimitado::getConexoesEmUso)
+                            .tag("pool", pool).register(registry);
+                    Gauge.builder("orcagov.conexoes.aguardando", limitado, DataSourceLimitado::getThreadsAguardando)
+                            .tag("pool", pool).register(registry);
+                });
+    }
+
+    /**
+     * Ordered para envolver o HikariDataSource antes dos BeanPostProcessors sem
+     * ordem, como o monitoramento de SQL, que envolve o DataSource por fora (o
+     * tipo de retorno do @Bean precisa ser esta classe para o Spring ver a ordem)
+     */
+    static class LimitadorConexoes implements BeanPostProcessor, Ordered {
+
+        private final Environment environment;
+        private final Duration espera;
+
+        LimitadorConexoes(Environment environment) {
+            this.environment = environment;
+            this.espera = environment.getProperty("orcagov.virtual.espera-conexao", Duration.class, Duration.ofSeconds(2));
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof HikariDataSource hikari)) {
+                return bean;
+            }
+            int limite = environment.getProperty("orcagov.virtual.conexoes", Integer.class, 0);
+            if (limite <= 0) {
+                limite = hikari.getMaximumPoolSize();
+            }
+            logger.info("Threads virtuais: conexões com o banco limitadas a {} (espera máxima {} ms)",
+                    limite, espera.toMillis());
+            return new DataSourceLimitado((DataSource) bean, limite, espera);
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
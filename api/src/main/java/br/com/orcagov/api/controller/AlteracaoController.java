@@ -0,0 +1,43 @@
+package br.com.orcagov.api.controller;
+
+import br.com.orcagov.api.dto.Common.ApiResponseDTO;
+import br.com.orcagov.api.dto.Response.AlteracoesResponseDTO;
+import br.com.orcagov.api.service.AlteracaoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/alteracoes")
+@CrossOrigin(origins = "*")
+public class AlteracaoController {
+
+    @Autowired
+    private AlteracaoService alteracaoService;
+
+    /**
+     * Alterações de despesas, empenhos e pagamentos após o cursor informado.
+     * Com aguardar > 0 a resposta espera até esse número de segundos por novas alterações.
+     */
+    @GetMapping
+    public CompletableFuture<ResponseEntity<ApiResponseDTO<AlteracoesResponseDTO>>> buscarAlteracoes(
+            @RequestParam(required = false) Long desde,
+            @RequestParam(defaultValue = "100") int limite,
+            @RequestParam(defaultValue = "0") int aguardar,
+            @RequestParam(defaultValue = "false") boolean completo) {
+
+        return alteracaoService.buscar(desde, limite, completo, Duration.ofSeconds(aguardar))
+                .thenApply(alteracoes -> ResponseEntity.ok(ApiResponseDTO.success(alteracoes)));
+    }
+
+    /**
+     * Cursor da alteração mais recente, ponto de partida de uma nova sincronização
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<ApiResponseDTO<Long>> obterCursorAtual() {
+        return ResponseEntity.ok(ApiResponseDTO.success(alteracaoService.obterCursorAtual()));
+    }
+}
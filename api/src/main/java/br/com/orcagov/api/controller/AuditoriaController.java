@@ -0,0 +1,42 @@
+package br.com.orcagov.api.controller;
+
+import br.com.orcagov.api.dto.Common.ApiResponseDTO;
+import br.com.orcagov.api.dto.Response.AuditoriaMetricasDTO;
+import br.com.orcagov.api.dto.Response.RegistroAuditoriaResponseDTO;
+import br.com.orcagov.api.entity.enums.TipoAgregado;
+import br.com.orcagov.api.service.AuditoriaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin/auditoria")
+@CrossOrigin(origins = "*")
+public class AuditoriaController {
+
+    @Autowired
+    private AuditoriaService auditoriaService;
+
+    /**
+     * Histórico de alterações de uma despesa, empenho ou pagamento
+     */
+    @GetMapping("/{tipoAgregado}/{agregadoId}")
+    public ResponseEntity<ApiResponseDTO<List<RegistroAuditoriaResponseDTO>>> buscarHistorico(
+            @PathVariable TipoAgregado tipoAgregado,
+            @PathVariable Long agregadoId) {
+
+        List<RegistroAuditoriaResponseDTO> historico = auditoriaService.buscarHistorico(tipoAgregado, agregadoId);
+        return ResponseEntity.ok(ApiResponseDTO.success(historico));
+    }
+
+    /**
+     * Ocupação do buffer, registros gravados e gravações fora do lote
+     */
+    @GetMapping("/metricas")
+    public ResponseEntity<ApiResponseDTO<AuditoriaMetricasDTO>> obterMetricas() {
+        return ResponseEntity.ok(ApiResponseDTO.success(auditoriaService.obterMetricas(),
+                "Métricas da auditoria obtidas com sucesso"));
+    }
+}
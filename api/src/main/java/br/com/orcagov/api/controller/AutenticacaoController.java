@@ -0,0 +1,58 @@
+package br.com.orcagov.api.controller;
+
+import br.com.orcagov.api.dto.Common.ApiResponseDTO;
+import br.com.orcagov.api.dto.Request.LoginRequestDTO;
+import br.com.orcagov.api.dto.Request.RenovacaoTokenRequestDTO;
+import br.com.orcagov.api.dto.Response.TokenResponseDTO;
+import br.com.orcagov.api.service.AutenticacaoService;
+import br.com.orcagov.api.service.TokenService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/auth")
+@CrossOrigin(origins = "*")
+public class AutenticacaoController {
+
+    @Autowired
+    private AutenticacaoService autenticacaoService;
+
+    /**
+     * Login com usuário e senha; devolve os tokens de acesso e de renovação
+     */
+    @PostMapping("/login")
+    public ResponseEntity<ApiResponseDTO<TokenResponseDTO>> login(
+            @Valid @RequestBody LoginRequestDTO request, HttpServletRequest requisicao) {
+
+        TokenResponseDTO tokens = autenticacaoService.login(request, requisicao.getRemoteAddr());
+        return ResponseEntity.ok(ApiResponseDTO.success(tokens, "Login realizado com sucesso"));
+    }
+
+    /**
+     * Novo par de tokens a partir do token de renovação, que deixa de valer
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponseDTO<TokenResponseDTO>> renovar(
+            @Valid @RequestBody RenovacaoTokenRequestDTO request) {
+
+        TokenResponseDTO tokens = autenticacaoService.renovar(request.getTokenRenovacao());
+        return ResponseEntity.ok(ApiResponseDTO.success(tokens, "Token renovado com sucesso"));
+    }
+
+    /**
+     * Revoga o token de acesso usado na requisição e, se enviado, o de renovação
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponseDTO<Void>> logout(
+            @RequestBody(required = false) RenovacaoTokenRequestDTO request,
+            Authentication authentication) {
+
+        autenticacaoService.logout((TokenService.TokenVerificado) authentication.getDetails(),
+                request != null ? request.getTokenRenovacao() : null);
+        return ResponseEntity.ok(ApiResponseDTO.success(null, "Logout realizado com sucesso"));
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.orcagov.api.controller;
+
+import br.com.orcagov.api.dto.Common.ApiResponseDTO;
+import br.com.orcagov.api.dto.Response.CargaHistoricaResponseDTO;
+import br.com.orcagov.api.service.CargaHistoricaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+@RestController
+@RequestMapping("/admin/carga-historica")
+@CrossOrigin(origins = "*")
+public class CargaHistoricaController {
+
+    @Autowired
+    private CargaHistoricaService cargaHistoricaService;
+
+    /**
+     * Carga histórica de despesas, empenhos e pagamentos a partir de arquivos CSV
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponseDTO<CargaHistoricaResponseDTO>> executarCarga(
+            @RequestParam(required = false) MultipartFile despesas,
+            @RequestParam(required = false) MultipartFile empenhos,
+            @RequestParam(required = false) MultipartFile pagamentos,
+            Authentication authentication) {
+
+        CargaHistoricaResponseDTO resultado = cargaHistoricaService.executarCarga(
+                despesas, empenhos, pagamentos, authentication.getName());
+
+        return ResponseEntity.ok(ApiResponseDTO.success(resultado, "Carga histórica concluída"));
+    }
+}
@@ -0,0 +1,116 @@
+package br.com.orcagov.api.controller;
+
+import br.com.orcagov.api.dto.Common.ApiResponseDTO;
+import br.com.orcagov.api.dto.Response.DespesaResponseDTO;
+import br.com.orcagov.api.entity.enums.StatusDespesa;
+import br.com.orcagov.api.entity.enums.TipoDespesa;
+import br.com.orcagov.api.service.DespesaReativaService;
+import br.com.orcagov.api.service.DespesaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Leitura de despesas sem bloquear threads do servidor enquanto o banco responde.
+ *
+ * Listagens com Accept: application/x-ndjson são enviadas em streaming, uma
+ * despesa por linha, lendo do banco conforme o cliente consome; com
+ * application/json chegam como um array, e a listagem geral é paginada mesmo
+ * sem size (orcagov.leitura-reativa.pagina.*).
+ */
+@RestController
+@RequestMapping("/v2/despesas")
+@CrossOrigin(origins = "*")
+public class DespesaReativaController {
+
+    @Autowired
+    private DespesaReativaService despesaReativaService;
+
+    /**
+     * Buscar despesa por ID
+     */
+    @GetMapping("/{id}")
+    public Mono<ApiResponseDTO<DespesaResponseDTO>> buscarPorId(@PathVariable Long id) {
+        return despesaReativaService.buscarPorId(id).map(ApiResponseDTO::success);
+    }
+
+    /**
+     * Buscar despesa por número de protocolo
+     */
+    @GetMapping("/protocolo/{numeroProtocolo}")
+    public Mono<ApiResponseDTO<DespesaResponseDTO>> buscarPorProtocolo(@PathVariable String numeroProtocolo) {
+        return despesaReativaService.buscarPorProtocolo(numeroProtocolo).map(ApiResponseDTO::success);
+    }
+
+    /**
+     * Listar despesas; sem size, página padrão em JSON e todas em streaming NDJSON
+     */
+    @GetMapping
+    public Flux<DespesaResponseDTO> listarTodas(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+
+        return despesaReativaService.listarTodas(page, size, NegociacaoListagem.somenteNdjson(accept));
+    }
+
+    /**
+     * Buscar despesas com filtros
+     */
+    @GetMapping("/buscar")
+    public Flux<DespesaResponseDTO> buscarComFiltros(
+            @RequestParam(required = false) String numeroProtocolo,
+            @RequestParam(required = false) TipoDespesa tipoDespesa,
+            @RequestParam(required = false) StatusDespesa status,
+            @RequestParam(required = false) String credor,
+            @RequestParam(required = false) LocalDate dataInicio,
+            @RequestParam(required = false) LocalDate dataFim) {
+
+        return despesaReativaService.buscarComFiltros(
+                numeroProtocolo, tipoDespesa, status, credor, dataInicio, dataFim);
+    }
+
+    /**
+     * Buscar despesas vencidas
+     */
+    @GetMapping("/vencidas")
+    public Flux<DespesaResponseDTO> buscarDespesasVencidas() {
+        return despesaReativaService.buscarDespesasVencidas();
+    }
+
+    /**
+     * Buscar despesas que vencem nos próximos dias
+     */
+    @GetMapping("/vencendo")
+    public Flux<DespesaResponseDTO> buscarDespesasVencendoEm(@RequestParam(defaultValue = "30") int dias) {
+        return despesaReativaService.buscarDespesasVencendoEm(dias);
+    }
+
+    /**
+     * Buscar despesas por tipo
+     */
+    @GetMapping("/tipo/{tipoDespesa}")
+    public Flux<DespesaResponseDTO> buscarPorTipo(@PathVariable TipoDespesa tipoDespesa) {
+        return despesaReativaService.buscarPorTipo(tipoDespesa);
+    }
+
+    /**
+     * Buscar despesas por status
+     */
+    @GetMapping("/status/{status}")
+    public Flux<DespesaResponseDTO> buscarPorStatus(@PathVariable StatusDespesa status) {
+        return despesaReativaService.buscarPorStatus(status);
+    }
+
+    /**
+     * Obter estatísticas das despesas
+     */
+    @GetMapping("/estatisticas")
+    public Mono<ApiResponseDTO<DespesaService.DespesaEstatisticasDTO>> obterEstatisticas() {
+        return despesaReativaService.obterEstatisticas().map(ApiResponseDTO::success);
+    }
+}
@@ -0,0 +1,140 @@
+package br.com.orcagov.api.controller;
+
+import br.com.orcagov.api.dto.Common.ApiResponseDTO;
+import br.com.orcagov.api.dto.Response.EmpenhoResponseDTO;
+import br.com.orcagov.api.service.EmpenhoReativaService;
+import br.com.orcagov.api.service.EmpenhoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Leitura de empenhos sem bloquear threads do servidor (ver DespesaReativaController)
+ */
+@RestController
+@RequestMapping("/v2/empenhos")
+@CrossOrigin(origins = "*")
+public class EmpenhoReativaController {
+
+    @Autowired
+    private EmpenhoReativaService empenhoReativaService;
+
+    /**
+     * Buscar empenho por ID
+     */
+    @GetMapping("/{id}")
+    public Mono<ApiResponseDTO<EmpenhoResponseDTO>> buscarPorId(@PathVariable Long id) {
+        return empenhoReativaService.buscarPorId(id).map(ApiResponseDTO::success);
+    }
+
+    /**
+     * Buscar empenho por número
+     */
+    @GetMapping("/numero/{numeroEmpenho}")
+    public Mono<ApiResponseDTO<EmpenhoResponseDTO>> buscarPorNumero(@PathVariable String numeroEmpenho) {
+        return empenhoReativaService.buscarPorNumero(numeroEmpenho).map(ApiResponseDTO::success);
+    }
+
+    /**
+     * Listar empenhos; sem size, página padrão em JSON e todos em streaming NDJSON
+     */
+    @GetMapping
+    public Flux<EmpenhoResponseDTO> listarTodos(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+
+        return empenhoReativaService.listarTodos(page, size, NegociacaoListagem.somenteNdjson(accept));
+    }
+
+    /**
+     * Listar empenhos de uma despesa
+     */
+    @GetMapping("/despesa/{despesaId}")
+    public Flux<EmpenhoResponseDTO> listarPorDespesa(@PathVariable Long despesaId) {
+        return empenhoReativaService.listarPorDespesa(despesaId);
+    }
+
+    /**
+     * Listar empenhos pelo protocolo da despesa
+     */
+    @GetMapping("/despesa/protocolo/{numeroProtocolo}")
+    public Flux<EmpenhoResponseDTO> listarPorProtocoloDespesa(@PathVariable String numeroProtocolo) {
+        return empenhoReativaService.listarPorProtocoloDespesa(numeroProtocolo);
+    }
+
+    /**
+     * Buscar empenhos com filtros
+     */
+    @GetMapping("/buscar")
+    public Flux<EmpenhoResponseDTO> buscarComFiltros(
+            @RequestParam(required = false) String numeroEmpenho,
+            @RequestParam(required = false) Long despesaId,
+            @RequestParam(required = false) LocalDate dataInicio,
+            @RequestParam(required = false) LocalDate dataFim,
+            @RequestParam(required = false) BigDecimal valorMinimo,
+            @RequestParam(required = false) BigDecimal valorMaximo) {
+
+        return empenhoReativaService.buscarComFiltros(
+                numeroEmpenho, despesaId, dataInicio, dataFim, valorMinimo, valorMaximo);
+    }
+
+    /**
+     * Buscar empenhos por período
+     */
+    @GetMapping("/periodo")
+    public Flux<EmpenhoResponseDTO> buscarPorPeriodo(
+            @RequestParam LocalDate dataInicio,
+            @RequestParam LocalDate dataFim) {
+
+        return empenhoReativaService.buscarPorPeriodo(dataInicio, dataFim);
+    }
+
+    /**
+     * Buscar empenhos por faixa de valor
+     */
+    @GetMapping("/valor")
+    public Flux<EmpenhoResponseDTO> buscarPorFaixaValor(
+            @RequestParam BigDecimal valorMinimo,
+            @RequestParam BigDecimal valorMaximo) {
+
+        return empenhoReativaService.buscarPorFaixaValor(valorMinimo, valorMaximo);
+    }
+
+    /**
+     * Buscar empenhos sem pagamentos
+     */
+    @GetMapping("/sem-pagamentos")
+    public Flux<EmpenhoResponseDTO> buscarSemPagamentos() {
+        return empenhoReativaService.buscarSemPagamentos();
+    }
+
+    /**
+     * Buscar empenhos com pagamentos
+     */
+    @GetMapping("/com-pagamentos")
+    public Flux<EmpenhoResponseDTO> buscarComPagamentos() {
+        return empenhoReativaService.buscarComPagamentos();
+    }
+
+    /**
+     * Obter estatísticas dos empenhos
+     */
+    @GetMapping("/estatisticas")
+    public Mono<ApiResponseDTO<EmpenhoService.EmpenhoEstatisticasDTO>> obterEstatisticas() {
+        return empenhoReativaService.obterEstatisticas().map(ApiResponseDTO::success);
+    }
+
+    /**
+     * Relatório mensal de empenhos
+     */
+    @GetMapping("/relatorio/mensal")
+    public Flux<EmpenhoService.RelatorioMensalDTO> relatorioMensal() {
+        return empenhoReativaService.obterRelatorioMensal();
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.orcagov.api.controller;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * Decide se uma listagem /v2 sai em streaming NDJSON.
+ *
+ * Só quando o cliente pede application/x-ndjson e não aceita JSON: com JSON (ou
+ * *&#47;*) na lista o Spring MVC pode escolher application/json e juntar o Flux
+ * inteiro em memória, então a listagem continua paginada.
+ */
+final class NegociacaoListagem {
+
+    private NegociacaoListagem() {
+    }
+
+    static boolean somenteNdjson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        try {
+            List<MediaType> tipos = MediaType.parseMediaTypes(accept);
+            return tipos.stream().anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype)
+                    && tipos.stream().noneMatch(tipo -> tipo.isCompatibleWith(MediaType.APPLICATION_JSON));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+}
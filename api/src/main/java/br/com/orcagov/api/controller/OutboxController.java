@@ -0,0 +1,26 @@
+package br.com.orcagov.api.controller;
+
+import br.com.orcagov.api.dto.Common.ApiResponseDTO;
+import br.com.orcagov.api.dto.Response.OutboxMetricasDTO;
+import br.com.orcagov.api.service.OutboxService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/admin/outbox")
+@CrossOrigin(origins = "*")
+public class OutboxController {
+
+    @Autowired
+    private OutboxService outboxService;
+
+    /**
+     * Fila de eventos pendentes e atraso de entrega aos assinantes
+     */
+    @GetMapping("/metricas")
+    public ResponseEntity<ApiResponseDTO<OutboxMetricasDTO>> obterMetricas() {
+        OutboxMetricasDTO metricas = outboxService.obterMetricas();
+        return ResponseEntity.ok(ApiResponseDTO.success(metricas, "Métricas do outbox obtidas com sucesso"));
+    }
+}
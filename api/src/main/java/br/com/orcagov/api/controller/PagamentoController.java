@@ -3,17 +3,26 @@ package br.com.orcagov.api.controller;
 import br.com.orcagov.api.dto.Common.ApiResponseDTO;
 import br.com.orcagov.api.dto.Request.PagamentoRequestDTO;
 import br.com.orcagov.api.dto.Response.PagamentoResponseDTO;
+import br.com.orcagov.api.dto.Response.ValidacaoValorDTO;
+import br.com.orcagov.api.entity.enums.FormatoRelatorio;
+import br.com.orcagov.api.exception.BusinessException;
+import br.com.orcagov.api.service.ExportacaoRelatorioService;
 import br.com.orcagov.api.service.PagamentoService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -25,6 +34,9 @@ public class PagamentoController {
     @Autowired
     private PagamentoService pagamentoService;
 
+    @Autowired
+    private ExportacaoRelatorioService exportacaoRelatorioService;
+
     /**
      * Criar novo pagamento
      */
@@ -244,7 +256,12 @@ public class PagamentoController {
     @GetMapping("/relatorio/detalhado")
     public ResponseEntity<ApiResponseDTO<List<PagamentoService.RelatorioPagamentoDTO>>> relatorioDetalhado(
             @RequestParam LocalDate dataInicio,
-            @RequestParam LocalDate dataFim) {
+            @RequestParam LocalDate dataFim,
+            @RequestParam(defaultValue = "JSON") FormatoRelatorio formato) {
+        
+        if (formato != FormatoRelatorio.JSON) {
+            throw new BusinessException("relatorio.formato-nao-suportado", "Formato de relatório não suportado: " + formato);
+        }
         
         List<PagamentoService.RelatorioPagamentoDTO> relatorio = 
             pagamentoService.obterRelatorioDetalhado(dataInicio, dataFim);
@@ -252,15 +269,38 @@ public class PagamentoController {
         return ResponseEntity.ok(ApiResponseDTO.success(relatorio));
     }
 
+    /**
+     * Relatório detalhado por período em CSV, escrito em streaming direto na resposta
+     */
+    @GetMapping(value = "/relatorio/detalhado", params = "formato=CSV")
+    public ResponseEntity<StreamingResponseBody> relatorioDetalhadoCsv(
+            @RequestParam LocalDate dataInicio,
+            @RequestParam LocalDate dataFim) {
+        
+        FormatoRelatorio formato = FormatoRelatorio.CSV;
+        String nomeArquivo = "pagamentos-" + dataInicio + "-" + dataFim + formato.getExtensao();
+        
+        StreamingResponseBody corpo = saida ->
+            exportacaoRelatorioService.exportarPagamentosCsv(dataInicio, dataFim, saida);
+        
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.parseMediaType(formato.getMimeType()), StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(nomeArquivo)
+                        .build()
+                        .toString())
+                .body(corpo);
+    }
+
     /**
      * Validar se é possível adicionar valor ao pagamento
      */
     @GetMapping("/validar-valor/{empenhoId}")
-    public ResponseEntity<ApiResponseDTO<PagamentoService.ValidacaoValorDTO>> validarValorPagamento(
+    public ResponseEntity<ApiResponseDTO<ValidacaoValorDTO>> validarValorPagamento(
             @PathVariable Long empenhoId,
             @RequestParam BigDecimal valorPagamento) {
         
-        PagamentoService.ValidacaoValorDTO validacao = 
+        ValidacaoValorDTO validacao = 
             pagamentoService.validarValorPagamento(empenhoId, valorPagamento);
         
         return ResponseEntity.ok(ApiResponseDTO.success(validacao));
@@ -0,0 +1,183 @@
+package br.com.orcagov.api.controller;
+
+import br.com.orcagov.api.dto.Common.ApiResponseDTO;
+import br.com.orcagov.api.dto.Response.PagamentoResponseDTO;
+import br.com.orcagov.api.service.PagamentoReativaService;
+import br.com.orcagov.api.service.PagamentoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Leitura de pagamentos sem bloquear threads do servidor (ver DespesaReativaController)
+ */
+@RestController
+@RequestMapping("/v2/pagamentos")
+@CrossOrigin(origins = "*")
+public class PagamentoReativaController {
+
+    @Autowired
+    private PagamentoReativaService pagamentoReativaService;
+
+    /**
+     * Buscar pagamento por ID
+     */
+    @GetMapping("/{id}")
+    public Mono<ApiResponseDTO<PagamentoResponseDTO>> buscarPorId(@PathVariable Long id) {
+        return pagamentoReativaService.buscarPorId(id).map(ApiResponseDTO::success);
+    }
+
+    /**
+     * Buscar pagamento por número
+     */
+    @GetMapping("/numero/{numeroPagamento}")
+    public Mono<ApiResponseDTO<PagamentoResponseDTO>> buscarPorNumero(@PathVariable String numeroPagamento) {
+        return pagamentoReativaService.buscarPorNumero(numeroPagamento).map(ApiResponseDTO::success);
+    }
+
+    /**
+     * Listar pagamentos; sem size, página padrão em JSON e todos em streaming NDJSON
+     */
+    @GetMapping
+    public Flux<PagamentoResponseDTO> listarTodos(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+
+        return pagamentoReativaService.listarTodos(page, size, NegociacaoListagem.somenteNdjson(accept));
+    }
+
+    /**
+     * Listar pagamentos de um empenho
+     */
+    @GetMapping("/empenho/{empenhoId}")
+    public Flux<PagamentoResponseDTO> listarPorEmpenho(@PathVariable Long empenhoId) {
+        return pagamentoReativaService.listarPorEmpenho(empenhoId);
+    }
+
+    /**
+     * Listar pagamentos pelo número do empenho
+     */
+    @GetMapping("/empenho/numero/{numeroEmpenho}")
+    public Flux<PagamentoResponseDTO> listarPorNumeroEmpenho(@PathVariable String numeroEmpenho) {
+        return pagamentoReativaService.listarPorNumeroEmpenho(numeroEmpenho);
+    }
+
+    /**
+     * Listar pagamentos de uma despesa
+     */
+    @GetMapping("/despesa/{despesaId}")
+    public Flux<PagamentoResponseDTO> listarPorDespesa(@PathVariable Long despesaId) {
+        return pagamentoReativaService.listarPorDespesa(despesaId);
+    }
+
+    /**
+     * Listar pagamentos pelo protocolo da despesa
+     */
+    @GetMapping("/despesa/protocolo/{numeroProtocolo}")
+    public Flux<PagamentoResponseDTO> listarPorProtocoloDespesa(@PathVariable String numeroProtocolo) {
+        return pagamentoReativaService.listarPorProtocoloDespesa(numeroProtocolo);
+    }
+
+    /**
+     * Buscar pagamentos com filtros
+     */
+    @GetMapping("/buscar")
+    public Flux<PagamentoResponseDTO> buscarComFiltros(
+            @RequestParam(required = false) String numeroPagamento,
+            @RequestParam(required = false) Long empenhoId,
+            @RequestParam(required = false) LocalDate dataInicio,
+            @RequestParam(required = false) LocalDate dataFim,
+            @RequestParam(required = false) BigDecimal valorMinimo,
+            @RequestParam(required = false) BigDecimal valorMaximo) {
+
+        return pagamentoReativaService.buscarComFiltros(
+                numeroPagamento, empenhoId, dataInicio, dataFim, valorMinimo, valorMaximo);
+    }
+
+    /**
+     * Buscar pagamentos por período
+     */
+    @GetMapping("/periodo")
+    public Flux<PagamentoResponseDTO> buscarPorPeriodo(
+            @RequestParam LocalDate dataInicio,
+            @RequestParam LocalDate dataFim) {
+
+        return pagamentoReativaService.buscarPorPeriodo(dataInicio, dataFim);
+    }
+
+    /**
+     * Buscar pagamentos por faixa de valor
+     */
+    @GetMapping("/valor")
+    public Flux<PagamentoResponseDTO> buscarPorFaixaValor(
+            @RequestParam BigDecimal valorMinimo,
+            @RequestParam BigDecimal valorMaximo) {
+
+        return pagamentoReativaService.buscarPorFaixaValor(valorMinimo, valorMaximo);
+    }
+
+    /**
+     * Pagamentos de hoje
+     */
+    @GetMapping("/hoje")
+    public Flux<PagamentoResponseDTO> buscarPagamentosHoje() {
+        return pagamentoReativaService.buscarPagamentosHoje();
+    }
+
+    /**
+     * Pagamentos da semana
+     */
+    @GetMapping("/semana")
+    public Flux<PagamentoResponseDTO> buscarPagamentosSemana() {
+        return pagamentoReativaService.buscarPagamentosSemana();
+    }
+
+    /**
+     * Pagamentos do mês
+     */
+    @GetMapping("/mes")
+    public Flux<PagamentoResponseDTO> buscarPagamentosMes() {
+        return pagamentoReativaService.buscarPagamentosMes();
+    }
+
+    /**
+     * Obter estatísticas dos pagamentos
+     */
+    @GetMapping("/estatisticas")
+    public Mono<ApiResponseDTO<PagamentoService.PagamentoEstatisticasDTO>> obterEstatisticas() {
+        return pagamentoReativaService.obterEstatisticas().map(ApiResponseDTO::success);
+    }
+
+    /**
+     * Relatório mensal de pagamentos
+     */
+    @GetMapping("/relatorio/mensal")
+    public Flux<PagamentoService.RelatorioMensalDTO> relatorioMensal() {
+        return pagamentoReativaService.obterRelatorioMensal();
+    }
+
+    /**
+     * Relatório detalhado por período
+     */
+    @GetMapping("/relatorio/detalhado")
+    public Flux<PagamentoService.RelatorioPagamentoDTO> relatorioDetalhado(
+            @RequestParam LocalDate dataInicio,
+            @RequestParam LocalDate dataFim) {
+
+        return pagamentoReativaService.obterRelatorioDetalhado(dataInicio, dataFim);
+    }
+
+    /**
+     * Resumo financeiro de um empenho
+     */
+    @GetMapping("/resumo-empenho/{empenhoId}")
+    public Mono<ApiResponseDTO<PagamentoService.ResumoFinanceiroDTO>> obterResumoEmpenho(@PathVariable Long empenhoId) {
+        return pagamentoReativaService.obterResumoFinanceiro(empenhoId).map(ApiResponseDTO::success);
+    }
+}
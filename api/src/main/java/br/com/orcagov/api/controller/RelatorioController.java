@@ -0,0 +1,124 @@
+package br.com.orcagov.api.controller;
+
+import br.com.orcagov.api.dto.Common.ApiResponseDTO;
+import br.com.orcagov.api.dto.Request.RelatorioRequestDTO;
+import br.com.orcagov.api.dto.Response.RelatorioJobResponseDTO;
+import br.com.orcagov.api.entity.enums.FormatoRelatorio;
+import br.com.orcagov.api.exception.BusinessException;
+import br.com.orcagov.api.service.ExportacaoRelatorioService;
+import br.com.orcagov.api.service.RelatorioJobService;
+import br.com.orcagov.api.service.RelatorioPdfService;
+import br.com.orcagov.api.service.RelatorioJobService.RelatorioJob;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/relatorios")
+@CrossOrigin(origins = "*")
+public class RelatorioController {
+
+    @Autowired
+    private ExportacaoRelatorioService exportacaoRelatorioService;
+
+    @Autowired
+    private RelatorioJobService relatorioJobService;
+
+    @Autowired
+    private RelatorioPdfService relatorioPdfService;
+
+    /**
+     * Solicitar geração assíncrona de relatório. O arquivo é baixado depois em
+     * /relatorios/{id}/arquivo, quando o status for CONCLUIDO.
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponseDTO<RelatorioJobResponseDTO>> solicitarRelatorio(
+            @Valid @RequestBody RelatorioRequestDTO request) {
+
+        RelatorioJobResponseDTO job = relatorioJobService.solicitar(request);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponseDTO.success(job, "Relatório solicitado com sucesso"));
+    }
+
+    /**
+     * Consultar status e progresso do relatório
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponseDTO<RelatorioJobResponseDTO>> buscarRelatorio(@PathVariable String id) {
+        RelatorioJobResponseDTO job = relatorioJobService.buscarPorId(id);
+        return ResponseEntity.ok(ApiResponseDTO.success(job));
+    }
+
+    /**
+     * Baixar o arquivo do relatório concluído
+     */
+    @GetMapping("/{id}/arquivo")
+    public ResponseEntity<Resource> baixarRelatorio(@PathVariable String id) {
+        RelatorioJob job = relatorioJobService.obterConcluido(id);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(job.getFormato().getMimeType()))
+                .contentLength(job.getTamanhoArquivo())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(job.getNomeArquivo())
+                        .build()
+                        .toString())
+                .body(new FileSystemResource(job.getArquivo()));
+    }
+
+    /**
+     * Relatório de execução do período (despesas, empenhos e pagamentos),
+     * uma aba por entidade
+     */
+    @GetMapping("/execucao")
+    public ResponseEntity<StreamingResponseBody> relatorioExecucao(
+            @RequestParam LocalDate dataInicio,
+            @RequestParam LocalDate dataFim,
+            @RequestParam(defaultValue = "EXCEL") FormatoRelatorio formato) {
+
+        if (formato != FormatoRelatorio.EXCEL) {
+            throw new BusinessException("relatorio.formato-nao-suportado", "Formato de relatório não suportado: " + formato);
+        }
+
+        String nomeArquivo = "execucao-" + dataInicio + "-" + dataFim + formato.getExtensao();
+
+        StreamingResponseBody corpo = saida ->
+            exportacaoRelatorioService.exportarExcel(dataInicio, dataFim, saida);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formato.getMimeType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(nomeArquivo)
+                        .build()
+                        .toString())
+                .body(corpo);
+    }
+
+    /**
+     * Extrato de execução da despesa em PDF. A renderização acontece no executor
+     * de PDF e a thread da requisição é liberada enquanto isso.
+     */
+    @GetMapping("/despesas/{despesaId}/extrato")
+    public CompletableFuture<ResponseEntity<byte[]>> extratoDespesa(@PathVariable Long despesaId) {
+        return relatorioPdfService.gerarExtrato(despesaId)
+                .thenApply(pdf -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_PDF)
+                        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                                .filename("extrato-despesa-" + despesaId + FormatoRelatorio.PDF.getExtensao())
+                                .build()
+                                .toString())
+                        .body(pdf));
+    }
+}
@@ -5,13 +5,21 @@ import br.com.orcagov.api.dto.Common.ErrorResponseDTO;
 import br.com.orcagov.api.exception.BusinessException;
 import br.com.orcagov.api.exception.DuplicateResourceException;
 import br.com.orcagov.api.exception.ResourceNotFoundException;
+import br.com.orcagov.api.exception.ServiceUnavailableException;
+import br.com.orcagov.api.exception.TooManyRequestsException;
 import br.com.orcagov.api.exception.UnauthorizedException;
 import br.com.orcagov.api.exception.ValidationException;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -29,6 +37,12 @@ public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    // Espera sugerida quando não há conexão com o banco disponível
+    private static final long RETRY_AFTER_BANCO_SEGUNDOS = 2;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     /**
      * Recurso não encontrado
      */
@@ -63,6 +77,7 @@ public class GlobalExceptionHandler {
             BusinessException ex, WebRequest request) {
         
         logger.warn("Regra de negócio violada: {}", ex.getMessage());
+        meterRegistry.counter("orcagov.negocio.rejeicoes", "regra", ex.getRegra()).increment();
         
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(ApiResponseDTO.error(ex.getMessage()));
@@ -81,6 +96,49 @@ public class GlobalExceptionHandler {
                 .body(ApiResponseDTO.error(ex.getMessage()));
     }
 
+    /**
+     * Serviço temporariamente indisponível
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiResponseDTO<Void>> handleServiceUnavailableException(
+            ServiceUnavailableException ex, WebRequest request) {
+        
+        logger.warn("Serviço indisponível: {}", ex.getMessage());
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSegundos()))
+                .body(ApiResponseDTO.error(ex.getMessage()));
+    }
+
+    /**
+     * Limite de requisições do cliente excedido
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiResponseDTO<Void>> handleTooManyRequestsException(
+            TooManyRequestsException ex, WebRequest request) {
+        
+        logger.warn("Limite de requisições excedido: {}", ex.getMessage());
+        
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSegundos()))
+                .body(ApiResponseDTO.error(ex.getMessage()));
+    }
+
+    /**
+     * Nenhuma conexão com o banco obtida a tempo (pool esgotado ou banco fora do ar)
+     */
+    @ExceptionHandler({ CannotCreateTransactionException.class, DataAccessResourceFailureException.class })
+    public ResponseEntity<ApiResponseDTO<Void>> handleConexaoIndisponivelException(
+            Exception ex, WebRequest request) {
+        
+        logger.warn("Conexão com o banco indisponível: {}",
+                NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER_BANCO_SEGUNDOS))
+                .body(ApiResponseDTO.error("Serviço temporariamente sobrecarregado. Tente novamente em instantes"));
+    }
+
     /**
      * Erro de validação customizado
      */
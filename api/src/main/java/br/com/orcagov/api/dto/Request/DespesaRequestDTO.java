@@ -33,5 +33,6 @@ public class DespesaRequestDTO {
     @Positive(message = "Valor da despesa deve ser positivo")
     @DecimalMin(value = "0.01", message = "Valor mínimo é R$ 0,01")
     @DecimalMax(value = "999999999.99", message = "Valor máximo é R$ 999.999.999,99")
+    @Digits(integer = 13, fraction = 2, message = "Valor da despesa deve ter no máximo 2 casas decimais")
     private BigDecimal valorDespesas;
 }
\ No newline at end of file
@@ -19,6 +19,7 @@ public class EmpenhoRequestDTO {
     @NotNull(message = "Valor do empenho é obrigatório")
     @Positive(message = "Valor do empenho deve ser positivo")
     @DecimalMin(value = "0.01", message = "Valor mínimo é R$ 0,01")
+    @Digits(integer = 13, fraction = 2, message = "Valor do empenho deve ter no máximo 2 casas decimais")
     private BigDecimal valor;
 
     @Size(max = 1000, message = "Observação deve ter no máximo 1000 caracteres")
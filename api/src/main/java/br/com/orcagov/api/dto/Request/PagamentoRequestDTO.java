@@ -19,6 +19,7 @@ public class PagamentoRequestDTO {
     @NotNull(message = "Valor do pagamento é obrigatório")
     @Positive(message = "Valor do pagamento deve ser positivo")
     @DecimalMin(value = "0.01", message = "Valor mínimo é R$ 0,01")
+    @Digits(integer = 13, fraction = 2, message = "Valor do pagamento deve ter no máximo 2 casas decimais")
     private BigDecimal valorPagamento;
 
     @Size(max = 1000, message = "Observação deve ter no máximo 1000 caracteres")
@@ -0,0 +1,28 @@
+package br.com.orcagov.api.dto.Request;
+
+import br.com.orcagov.api.entity.enums.FormatoRelatorio;
+import br.com.orcagov.api.entity.enums.TipoRelatorio;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelatorioRequestDTO {
+
+    @NotNull(message = "Tipo de relatório é obrigatório")
+    private TipoRelatorio tipo;
+
+    @NotNull(message = "Formato do relatório é obrigatório")
+    private FormatoRelatorio formato;
+
+    @NotNull(message = "Data inicial é obrigatória")
+    private LocalDate dataInicio;
+
+    @NotNull(message = "Data final é obrigatória")
+    private LocalDate dataFim;
+}
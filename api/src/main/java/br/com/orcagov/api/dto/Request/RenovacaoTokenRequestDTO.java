@@ -0,0 +1,15 @@
+package br.com.orcagov.api.dto.Request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RenovacaoTokenRequestDTO {
+
+    @NotBlank(message = "Token de renovação é obrigatório")
+    private String tokenRenovacao;
+}
@@ -0,0 +1,30 @@
+package br.com.orcagov.api.dto.Response;
+
+import br.com.orcagov.api.entity.enums.TipoAgregado;
+import br.com.orcagov.api.entity.enums.TipoEventoOutbox;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlteracaoDTO {
+
+    private Long posicao;
+    private TipoAgregado tipoAgregado;
+    private Long agregadoId;
+    private TipoEventoOutbox tipoEvento;
+    private LocalDateTime dataAlteracao;
+
+    // Estado do registro após a alteração (JSON), apenas quando solicitado
+    @JsonRawValue
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String dados;
+}
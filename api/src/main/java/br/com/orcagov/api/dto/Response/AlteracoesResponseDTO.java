@@ -0,0 +1,19 @@
+package br.com.orcagov.api.dto.Response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlteracoesResponseDTO {
+
+    private List<AlteracaoDTO> alteracoes;
+    private Long proximoCursor;
+    private Boolean temMais;
+}
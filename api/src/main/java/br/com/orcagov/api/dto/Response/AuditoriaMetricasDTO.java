@@ -0,0 +1,23 @@
+package br.com.orcagov.api.dto.Response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditoriaMetricasDTO {
+
+    private Integer capacidade;
+    private Integer ocupacao;
+    private Long registrosEnfileirados;
+    private Long registrosGravados;
+    private Long lotesGravados;
+    private Long gravacoesDuraveis;
+    private Long gravacoesDiretas;
+    private Long esperasBufferCheio;
+    private Long falhasGravacao;
+}
@@ -0,0 +1,28 @@
+package br.com.orcagov.api.dto.Response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CargaHistoricaResponseDTO {
+
+    private Long despesasRecebidas;
+    private Long despesasImportadas;
+    private Long despesasRejeitadas;
+    private Long empenhosRecebidos;
+    private Long empenhosImportados;
+    private Long empenhosRejeitados;
+    private Long pagamentosRecebidos;
+    private Long pagamentosImportados;
+    private Long pagamentosRejeitados;
+    private String arquivoRejeicoes;
+    private Long duracaoMs;
+    private LocalDateTime dataCarga;
+}
@@ -0,0 +1,55 @@
+package br.com.orcagov.api.dto.Response;
+
+import br.com.orcagov.api.entity.enums.StatusDespesa;
+import br.com.orcagov.api.entity.enums.TipoDespesa;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Extrato de execução de uma despesa: empenhos e seus pagamentos
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExtratoDespesaDTO {
+
+    private Long id;
+    private String numeroProtocolo;
+    private TipoDespesa tipoDespesa;
+    private StatusDespesa status;
+    private LocalDateTime dataProtocolo;
+    private LocalDate dataVencimento;
+    private String credorDespesas;
+    private String descricaoDespesas;
+    private BigDecimal valorDespesas;
+    private BigDecimal valorTotalEmpenhado;
+    private BigDecimal valorTotalPago;
+    private BigDecimal saldoAEmpenhar;
+
+    @Builder.Default
+    private List<EmpenhoExtratoDTO> empenhos = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class EmpenhoExtratoDTO {
+        private String numeroEmpenho;
+        private LocalDate dataEmpenho;
+        private BigDecimal valor;
+        private BigDecimal valorPago;
+        private String observacao;
+
+        @Builder.Default
+        private List<PagamentoResumoDTO> pagamentos = new ArrayList<>();
+    }
+}
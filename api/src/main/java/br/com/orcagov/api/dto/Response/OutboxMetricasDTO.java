@@ -0,0 +1,26 @@
+package br.com.orcagov.api.dto.Response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxMetricasDTO {
+
+    private Long eventosPendentes;
+    private Long atrasoPendenteMaisAntigoMs;
+    private Long ultimoAtrasoEntregaMs;
+    private Long maiorAtrasoEntregaMs;
+    private Long eventosEntregues;
+    private Long falhasEntrega;
+    private Long eventosDescartados;
+    private List<String> assinantes;
+    private LocalDateTime ultimaPublicacao;
+}
@@ -20,7 +20,9 @@ public class PagamentoResponseDTO {
     private LocalDate dataPagamento;
     private BigDecimal valorPagamento;
     private String observacao;
+    private String status;
     private EmpenhoResumoDTO empenho;
+    private String usuarioCriador;
     private LocalDateTime dataCriacao;
     private LocalDateTime dataAtualizacao;
 }
\ No newline at end of file
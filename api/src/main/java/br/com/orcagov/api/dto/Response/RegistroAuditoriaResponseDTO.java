@@ -0,0 +1,28 @@
+package br.com.orcagov.api.dto.Response;
+
+import br.com.orcagov.api.entity.enums.TipoAgregado;
+import br.com.orcagov.api.entity.enums.TipoEventoOutbox;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RegistroAuditoriaResponseDTO {
+
+    private Long id;
+    private TipoAgregado tipoAgregado;
+    private Long agregadoId;
+    private TipoEventoOutbox operacao;
+    private String usuario;
+    private LocalDateTime dataHora;
+
+    @JsonRawValue
+    private String diferencas;
+}
@@ -0,0 +1,32 @@
+package br.com.orcagov.api.dto.Response;
+
+import br.com.orcagov.api.entity.enums.FormatoRelatorio;
+import br.com.orcagov.api.entity.enums.StatusRelatorio;
+import br.com.orcagov.api.entity.enums.TipoRelatorio;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RelatorioJobResponseDTO {
+
+    private String id;
+    private TipoRelatorio tipo;
+    private FormatoRelatorio formato;
+    private LocalDate dataInicio;
+    private LocalDate dataFim;
+    private StatusRelatorio status;
+    private Long linhasProcessadas;
+    private Long tamanhoArquivo;
+    private String mensagemErro;
+    private LocalDateTime dataSolicitacao;
+    private LocalDateTime dataConclusao;
+    private LocalDateTime dataExpiracao;
+}
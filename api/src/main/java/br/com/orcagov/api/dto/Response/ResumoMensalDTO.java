@@ -0,0 +1,50 @@
+package br.com.orcagov.api.dto.Response;
+
+import br.com.orcagov.api.entity.enums.TipoDespesa;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resumo da execução orçamentária de um mês
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResumoMensalDTO {
+
+    private Integer ano;
+    private Integer mes;
+
+    @Builder.Default
+    private List<DespesasPorTipoDTO> despesasPorTipo = new ArrayList<>();
+
+    @Builder.Default
+    private Long quantidadeDespesas = 0L;
+    @Builder.Default
+    private BigDecimal valorDespesas = BigDecimal.ZERO;
+    @Builder.Default
+    private Long quantidadeEmpenhos = 0L;
+    @Builder.Default
+    private BigDecimal valorEmpenhado = BigDecimal.ZERO;
+    @Builder.Default
+    private Long quantidadePagamentos = 0L;
+    @Builder.Default
+    private BigDecimal valorPago = BigDecimal.ZERO;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class DespesasPorTipoDTO {
+        private TipoDespesa tipoDespesa;
+        private Long quantidade;
+        private BigDecimal valor;
+    }
+}
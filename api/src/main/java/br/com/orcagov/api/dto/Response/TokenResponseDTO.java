@@ -0,0 +1,19 @@
+package br.com.orcagov.api.dto.Response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TokenResponseDTO {
+
+    private String tokenAcesso;
+    private String tokenRenovacao;
+    private String tipo;
+    // Validade do token de acesso, em segundos
+    private Long expiraEm;
+}
@@ -0,0 +1,20 @@
+package br.com.orcagov.api.dto.Response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ValidacaoValorDTO {
+
+    private Boolean valido;
+    private BigDecimal valorSolicitado;
+    private BigDecimal valorDisponivel;
+    private BigDecimal valorEmpenho;
+    private BigDecimal valorTotalPago;
+    private String mensagem;
+}
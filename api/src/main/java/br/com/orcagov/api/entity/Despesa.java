@@ -70,6 +70,8 @@ public class Despesa {
     @Column(name = "valor_despesas", nullable = false, precision = 15, scale = 2)
     private BigDecimal valorDespesas;
 
+    private transient Money.Conversao montante;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status")
     private StatusDespesa status;
@@ -110,21 +112,36 @@ public class Despesa {
         this.status = calculateStatus();
     }
 
+    /**
+     * Valor da despesa em centavos, para totais e validações
+     */
+    public Money montante() {
+        montante = Money.Conversao.de(montante, valorDespesas);
+        return montante.valor();
+    }
+
+    public Money totalEmpenhado() {
+        return Money.somar(empenhos, Empenho::montante);
+    }
+
+    public Money totalPago() {
+        long total = 0;
+        for (Empenho empenho : empenhos) {
+            total = Math.addExact(total, empenho.totalPago().getCentavos());
+        }
+        return Money.centavos(total);
+    }
+
     public BigDecimal getValorTotalEmpenhado() {
-        return empenhos.stream()
-                .map(Empenho::getValor)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return totalEmpenhado().toBigDecimal();
     }
 
     public BigDecimal getValorTotalPago() {
-        return empenhos.stream()
-                .flatMap(empenho -> empenho.getPagamentos().stream())
-                .map(Pagamento::getValorPagamento)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return totalPago().toBigDecimal();
     }
 
     public boolean validarValores() {
-        return getValorTotalEmpenhado().compareTo(valorDespesas) <= 0;
+        return !totalEmpenhado().isMaiorQue(montante());
     }
 
     public StatusDespesa calculateStatus() {
@@ -132,21 +149,22 @@ public class Despesa {
             return StatusDespesa.AGUARDANDO_EMPENHO;
         }
 
-        BigDecimal totalEmpenhado = getValorTotalEmpenhado();
-        BigDecimal totalPago = getValorTotalPago();
+        Money valor = montante();
+        Money totalEmpenhado = totalEmpenhado();
+        Money totalPago = totalPago();
 
-        if (totalPago.compareTo(valorDespesas) == 0) {
+        if (totalPago.equals(valor)) {
             return StatusDespesa.PAGA;
         }
 
-        if (totalEmpenhado.compareTo(valorDespesas) < 0) {
+        if (totalEmpenhado.isMenorQue(valor)) {
             return StatusDespesa.PARCIALMENTE_EMPENHADA;
         }
 
-        if (totalEmpenhado.compareTo(valorDespesas) == 0) {
-            if (totalPago.compareTo(BigDecimal.ZERO) == 0) {
+        if (totalEmpenhado.equals(valor)) {
+            if (totalPago.isZero()) {
                 return StatusDespesa.AGUARDANDO_PAGAMENTO;
-            } else if (totalPago.compareTo(valorDespesas) < 0) {
+            } else if (totalPago.isMenorQue(valor)) {
                 return StatusDespesa.PARCIALMENTE_PAGA;
             }
         }
@@ -7,9 +7,13 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -47,6 +51,11 @@ public class Empenho {
     @Column(name = "valor", nullable = false, precision = 15, scale = 2)
     private BigDecimal valor;
 
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private transient Money.Conversao montante;
+
     @Column(name = "observacao", columnDefinition = "TEXT")
     private String observacao;
 
@@ -83,14 +92,24 @@ public class Empenho {
         pagamento.setEmpenho(null);
     }
 
+    /**
+     * Valor do empenho em centavos, para totais e validações
+     */
+    public Money montante() {
+        montante = Money.Conversao.de(montante, valor);
+        return montante.valor();
+    }
+
+    public Money totalPago() {
+        return Money.somar(pagamentos, Pagamento::montante);
+    }
+
     public BigDecimal getValorTotalPago() {
-        return pagamentos.stream()
-                .map(Pagamento::getValorPagamento)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return totalPago().toBigDecimal();
     }
 
     public boolean validarValores() {
-        return getValorTotalPago().compareTo(valor) <= 0;
+        return !totalPago().isMaiorQue(montante());
     }
 
     public boolean temPagamentos() {
@@ -0,0 +1,73 @@
+package br.com.orcagov.api.entity;
+
+import br.com.orcagov.api.entity.enums.TipoAgregado;
+import br.com.orcagov.api.entity.enums.TipoEventoOutbox;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de alteração do razão gravado na mesma transação da alteração.
+ *
+ * O publicador lê os eventos pendentes em ordem de id e os entrega aos assinantes;
+ * só depois da entrega o evento recebe a data de processamento e a posição no
+ * feed de alterações. O evento que esgota as tentativas recebe a data de descarte e
+ * sai da fila sem entrar no feed.
+ */
+@Entity
+@Table(name = "outbox_eventos", indexes = {
+        @Index(name = "idx_outbox_pendentes", columnList = "data_processamento, id"),
+        @Index(name = "idx_outbox_agregado", columnList = "tipo_agregado, agregado_id, id"),
+        @Index(name = "idx_outbox_posicao", columnList = "posicao", unique = true)
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo_agregado", nullable = false, length = 20)
+    private TipoAgregado tipoAgregado;
+
+    @Column(name = "agregado_id", nullable = false)
+    private Long agregadoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo_evento", nullable = false, length = 20)
+    private TipoEventoOutbox tipoEvento;
+
+    // Estado do agregado após a alteração, em JSON; nas exclusões, apenas a identificação
+    @Column(name = "payload", columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "data_criacao", nullable = false)
+    private LocalDateTime dataCriacao;
+
+    @Column(name = "data_processamento")
+    private LocalDateTime dataProcessamento;
+
+    // Sequência densa e crescente na ordem de entrega; cursor do feed de alterações
+    @Column(name = "posicao")
+    private Long posicao;
+
+    @Column(name = "tentativas", nullable = false)
+    private Integer tentativas = 0;
+
+    // Após uma falha o evento (e os seguintes do mesmo agregado) aguarda até esta data
+    @Column(name = "proxima_tentativa")
+    private LocalDateTime proximaTentativa;
+
+    @Column(name = "ultimo_erro", length = 1000)
+    private String ultimoErro;
+
+    // Preenchida quando as tentativas se esgotam; o evento fica gravado para análise
+    @Column(name = "data_descarte")
+    private LocalDateTime dataDescarte;
+}
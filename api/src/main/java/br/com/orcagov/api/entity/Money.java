@@ -0,0 +1,121 @@
+package br.com.orcagov.api.entity;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Valor monetário imutável em centavos, para somas e comparações sem criar um
+ * BigDecimal por operação. As colunas e os DTOs continuam em BigDecimal: a conversão
+ * nas duas direções é exata e recusa frações de centavo, e as operações falham com
+ * ArithmeticException em vez de transbordar o long.
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0);
+
+    private final long centavos;
+
+    private Money(long centavos) {
+        this.centavos = centavos;
+    }
+
+    public static Money centavos(long centavos) {
+        return centavos == 0 ? ZERO : new Money(centavos);
+    }
+
+    /**
+     * Valor em reais; recusa mais de duas casas decimais diferentes de zero
+     */
+    @JsonCreator
+    public static Money of(BigDecimal valor) {
+        Objects.requireNonNull(valor, "valor");
+        try {
+            return centavos(valor.movePointRight(2).longValueExact());
+        } catch (ArithmeticException e) {
+            throw new ArithmeticException("Valor não representável em centavos: " + valor.toPlainString());
+        }
+    }
+
+    /**
+     * Soma os valores dos itens num long, sem objetos intermediários
+     */
+    public static <T> Money somar(Iterable<T> itens, Function<? super T, Money> valor) {
+        long total = 0;
+        for (T item : itens) {
+            total = Math.addExact(total, valor.apply(item).centavos);
+        }
+        return centavos(total);
+    }
+
+    public long getCentavos() {
+        return centavos;
+    }
+
+    public Money plus(Money outro) {
+        return centavos(Math.addExact(centavos, outro.centavos));
+    }
+
+    public Money minus(Money outro) {
+        return centavos(Math.subtractExact(centavos, outro.centavos));
+    }
+
+    public boolean isZero() {
+        return centavos == 0;
+    }
+
+    public boolean isMaiorQue(Money outro) {
+        return centavos > outro.centavos;
+    }
+
+    public boolean isMenorQue(Money outro) {
+        return centavos < outro.centavos;
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    @Override
+    public int compareTo(Money outro) {
+        return Long.compare(centavos, outro.centavos);
+    }
+
+    @Override
+    public boolean equals(Object outro) {
+        return this == outro || outro instanceof Money money && money.centavos == centavos;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(centavos);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    /**
+     * Conversão guardada de um campo BigDecimal de entidade. É refeita só quando o campo
+     * passa a apontar para outro objeto, o que também cobre o Hibernate, que atribui o
+     * campo sem passar pelo setter. Guarda o long e não o Money: nas somas sobre muitas
+     * entidades cada indireção a menos conta.
+     */
+    public record Conversao(BigDecimal origem, long centavos) {
+
+        public static Conversao de(Conversao anterior, BigDecimal origem) {
+            return anterior != null && anterior.origem == origem
+                    ? anterior
+                    : new Conversao(origem, Money.of(origem).centavos);
+        }
+
+        public Money valor() {
+            return Money.centavos(centavos);
+        }
+    }
+}
@@ -6,9 +6,13 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -44,9 +48,18 @@ public class Pagamento {
     @Column(name = "valor_pagamento", nullable = false, precision = 15, scale = 2)
     private BigDecimal valorPagamento;
 
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private transient Money.Conversao montante;
+
     @Column(name = "observacao", columnDefinition = "TEXT")
     private String observacao;
 
+    // CANCELADO ou ESTORNADO; nulo para pagamentos ativos
+    @Column(name = "status")
+    private String status;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "empenho_id", nullable = false)
     @NotNull(message = "Pagamento deve estar associado a um empenho")
@@ -71,11 +84,21 @@ public class Pagamento {
             return false;
         }
         
-        BigDecimal totalPagoOutros = empenho.getPagamentos().stream()
-                .filter(p -> !p.getId().equals(this.getId()))
-                .map(Pagamento::getValorPagamento)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        return totalPagoOutros.add(valorPagamento).compareTo(empenho.getValor()) <= 0;
+        long totalPagoOutros = 0;
+        for (Pagamento pagamento : empenho.getPagamentos()) {
+            if (!pagamento.getId().equals(this.getId())) {
+                totalPagoOutros = Math.addExact(totalPagoOutros, pagamento.montante().getCentavos());
+            }
+        }
+
+        return !Money.centavos(totalPagoOutros).plus(montante()).isMaiorQue(empenho.montante());
+    }
+
+    /**
+     * Valor do pagamento em centavos, para totais e validações
+     */
+    public Money montante() {
+        montante = Money.Conversao.de(montante, valorPagamento);
+        return montante.valor();
     }
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package br.com.orcagov.api.entity;
+
+import br.com.orcagov.api.entity.enums.TipoAgregado;
+import br.com.orcagov.api.entity.enums.TipoEventoOutbox;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Trilha de auditoria das alterações do razão: quem alterou o quê e quando.
+ *
+ * A tabela é apenas de inserção. Os registros são gravados em lote pelo
+ * AuditoriaService e nunca alterados ou excluídos pela aplicação.
+ */
+@Entity
+@Table(name = "auditoria", indexes = {
+        @Index(name = "idx_auditoria_agregado", columnList = "tipo_agregado, agregado_id, data_hora")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistroAuditoria {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo_agregado", nullable = false, length = 20, updatable = false)
+    private TipoAgregado tipoAgregado;
+
+    @Column(name = "agregado_id", nullable = false, updatable = false)
+    private Long agregadoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operacao", nullable = false, length = 20, updatable = false)
+    private TipoEventoOutbox operacao;
+
+    @Column(name = "usuario", nullable = false, updatable = false)
+    private String usuario;
+
+    @Column(name = "data_hora", nullable = false, updatable = false)
+    private LocalDateTime dataHora;
+
+    // Campos alterados em JSON: {"campo": {"antes": ..., "depois": ...}}
+    @Column(name = "diferencas", columnDefinition = "TEXT", updatable = false)
+    private String diferencas;
+}
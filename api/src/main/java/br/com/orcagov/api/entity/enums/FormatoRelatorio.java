@@ -4,7 +4,8 @@ public enum FormatoRelatorio {
     PDF("Portable Document Format", "application/pdf", ".pdf"),
     EXCEL("Microsoft Excel", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", ".xlsx"),
     CSV("Comma Separated Values", "text/csv", ".csv"),
-    JSON("JavaScript Object Notation", "application/json", ".json");
+    JSON("JavaScript Object Notation", "application/json", ".json"),
+    ZIP("Arquivo compactado", "application/zip", ".zip");
     
     private final String descricao;
     private final String mimeType;
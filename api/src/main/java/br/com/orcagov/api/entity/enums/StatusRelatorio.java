@@ -0,0 +1,23 @@
+package br.com.orcagov.api.entity.enums;
+
+public enum StatusRelatorio {
+    PENDENTE("Pendente"),
+    PROCESSANDO("Processando"),
+    CONCLUIDO("Concluído"),
+    ERRO("Erro");
+    
+    private final String descricao;
+    
+    StatusRelatorio(String descricao) {
+        this.descricao = descricao;
+    }
+    
+    public String getDescricao() {
+        return descricao;
+    }
+    
+    // Método para verificar se o processamento terminou
+    public boolean isFinalizado() {
+        return this == CONCLUIDO || this == ERRO;
+    }
+}
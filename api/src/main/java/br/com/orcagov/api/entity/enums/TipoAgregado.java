@@ -0,0 +1,17 @@
+package br.com.orcagov.api.entity.enums;
+
+public enum TipoAgregado {
+    DESPESA("Despesa"),
+    EMPENHO("Empenho"),
+    PAGAMENTO("Pagamento");
+    
+    private final String descricao;
+    
+    TipoAgregado(String descricao) {
+        this.descricao = descricao;
+    }
+    
+    public String getDescricao() {
+        return descricao;
+    }
+}
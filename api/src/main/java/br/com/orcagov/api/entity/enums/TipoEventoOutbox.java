@@ -0,0 +1,19 @@
+package br.com.orcagov.api.entity.enums;
+
+public enum TipoEventoOutbox {
+    CRIADO("Criado"),
+    ATUALIZADO("Atualizado"),
+    EXCLUIDO("Excluído"),
+    CANCELADO("Cancelado"),
+    ESTORNADO("Estornado");
+    
+    private final String descricao;
+    
+    TipoEventoOutbox(String descricao) {
+        this.descricao = descricao;
+    }
+    
+    public String getDescricao() {
+        return descricao;
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.orcagov.api.entity.enums;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+public enum TipoRelatorio {
+    EXECUCAO("Execução de despesas, empenhos e pagamentos", EnumSet.of(FormatoRelatorio.EXCEL)),
+    PAGAMENTOS("Pagamentos detalhados", EnumSet.of(FormatoRelatorio.CSV)),
+    RESUMO_MENSAL("Resumo mensal da execução", EnumSet.of(FormatoRelatorio.PDF)),
+    EXTRATOS_DESPESAS("Extratos de execução das despesas protocoladas", EnumSet.of(FormatoRelatorio.ZIP));
+    
+    private final String descricao;
+    private final Set<FormatoRelatorio> formatos;
+    
+    TipoRelatorio(String descricao, Set<FormatoRelatorio> formatos) {
+        this.descricao = descricao;
+        this.formatos = formatos;
+    }
+    
+    public String getDescricao() {
+        return descricao;
+    }
+    
+    public Set<FormatoRelatorio> getFormatos() {
+        return formatos;
+    }
+    
+    // Método para verificar se o relatório pode ser gerado no formato
+    public boolean suporta(FormatoRelatorio formato) {
+        return formatos.contains(formato);
+    }
+}
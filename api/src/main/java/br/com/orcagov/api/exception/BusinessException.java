@@ -5,11 +5,23 @@ package br.com.orcagov.api.exception;
  */
 public class BusinessException extends RuntimeException {
     
-    public BusinessException(String message) {
+    /**
+     * Regra violada (ex.: "empenho.excede-despesa"). Ao contrário da mensagem, não
+     * carrega valores da requisição, então serve para agrupar rejeições em métricas.
+     */
+    private final String regra;
+    
+    public BusinessException(String regra, String message) {
         super(message);
+        this.regra = regra;
     }
     
-    public BusinessException(String message, Throwable cause) {
+    public BusinessException(String regra, String message, Throwable cause) {
         super(message, cause);
+        this.regra = regra;
+    }
+
+    public String getRegra() {
+        return regra;
     }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package br.com.orcagov.api.exception;
+
+/**
+ * Exceção para recursos temporariamente indisponíveis (ex: fila de processamento cheia)
+ */
+public class ServiceUnavailableException extends RuntimeException {
+    
+    // Sugestão de espera, em segundos, enviada no cabeçalho Retry-After
+    private final long retryAfterSegundos;
+    
+    public ServiceUnavailableException(String message, long retryAfterSegundos) {
+        super(message);
+        this.retryAfterSegundos = retryAfterSegundos;
+    }
+    
+    public long getRetryAfterSegundos() {
+        return retryAfterSegundos;
+    }
+}
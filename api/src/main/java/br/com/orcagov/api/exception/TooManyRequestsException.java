@@ -0,0 +1,19 @@
+package br.com.orcagov.api.exception;
+
+/**
+ * Exceção para limite de requisições excedido (ex: tentativas de login em sequência)
+ */
+public class TooManyRequestsException extends RuntimeException {
+    
+    // Sugestão de espera, em segundos, enviada no cabeçalho Retry-After
+    private final long retryAfterSegundos;
+    
+    public TooManyRequestsException(String message, long retryAfterSegundos) {
+        super(message);
+        this.retryAfterSegundos = retryAfterSegundos;
+    }
+    
+    public long getRetryAfterSegundos() {
+        return retryAfterSegundos;
+    }
+}
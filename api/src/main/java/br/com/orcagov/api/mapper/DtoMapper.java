@@ -0,0 +1,91 @@
+package br.com.orcagov.api.mapper;
+
+import br.com.orcagov.api.dto.Response.DespesaResponseDTO;
+import br.com.orcagov.api.dto.Response.DespesaResumoDTO;
+import br.com.orcagov.api.dto.Response.EmpenhoResponseDTO;
+import br.com.orcagov.api.dto.Response.EmpenhoResumoDTO;
+import br.com.orcagov.api.dto.Response.PagamentoResponseDTO;
+import br.com.orcagov.api.dto.Response.PagamentoResumoDTO;
+import br.com.orcagov.api.entity.Despesa;
+import br.com.orcagov.api.entity.Empenho;
+import br.com.orcagov.api.entity.Money;
+import br.com.orcagov.api.entity.Pagamento;
+import org.mapstruct.AfterMapping;
+import org.mapstruct.Builder;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
+import org.mapstruct.ReportingPolicy;
+
+import java.time.LocalDate;
+
+/**
+ * Conversão das entidades nos DTOs de resposta, gerada na compilação pelo MapStruct:
+ * chamadas diretas a getters e setters, sem reflexão. Os DTOs são criados pelo construtor
+ * vazio (sem o builder do Lombok) e as listas de resumos já nascem com o tamanho da coleção
+ * de origem. Campo novo num DTO sem mapeamento quebra o build.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING,
+        builder = @Builder(disableBuilder = true),
+        unmappedTargetPolicy = ReportingPolicy.ERROR)
+public abstract class DtoMapper {
+
+    // ==========================================
+    // DESPESA
+    // ==========================================
+
+    @Mapping(target = "valorTotalEmpenhado", ignore = true)
+    @Mapping(target = "valorRestante", ignore = true)
+    @Mapping(target = "vencida", ignore = true)
+    public abstract DespesaResponseDTO paraResponseDTO(Despesa despesa);
+
+    public abstract DespesaResumoDTO paraResumoDTO(Despesa despesa);
+
+    /**
+     * Total empenhado somado uma vez só, para o próprio total e para o restante
+     */
+    @AfterMapping
+    protected void completarTotais(Despesa despesa, @MappingTarget DespesaResponseDTO dto) {
+        Money valorTotalEmpenhado = despesa.totalEmpenhado();
+        dto.setValorTotalEmpenhado(valorTotalEmpenhado.toBigDecimal());
+        dto.setValorRestante(despesa.montante().minus(valorTotalEmpenhado).toBigDecimal());
+        dto.setVencida(despesa.getDataVencimento().isBefore(LocalDate.now()));
+    }
+
+    // ==========================================
+    // EMPENHO
+    // ==========================================
+
+    @Mapping(target = "valorTotalPago", ignore = true)
+    @Mapping(target = "valorRestante", ignore = true)
+    public abstract EmpenhoResponseDTO paraResponseDTO(Empenho empenho);
+
+    @Mapping(target = "valorPago", source = "valorTotalPago")
+    public abstract EmpenhoResumoDTO paraResumoDTO(Empenho empenho);
+
+    /**
+     * Resumo dentro do pagamento: sem o total pago, que carregaria os demais pagamentos do empenho
+     */
+    @Named("empenhoSemTotais")
+    @Mapping(target = "valorPago", ignore = true)
+    public abstract EmpenhoResumoDTO paraResumoSemTotaisDTO(Empenho empenho);
+
+    @AfterMapping
+    protected void completarTotais(Empenho empenho, @MappingTarget EmpenhoResponseDTO dto) {
+        Money valorTotalPago = empenho.totalPago();
+        dto.setValorTotalPago(valorTotalPago.toBigDecimal());
+        dto.setValorRestante(empenho.montante().minus(valorTotalPago).toBigDecimal());
+    }
+
+    // ==========================================
+    // PAGAMENTO
+    // ==========================================
+
+    @Mapping(target = "empenho", qualifiedByName = "empenhoSemTotais")
+    @Mapping(target = "usuarioCriador", source = "usuarioCriador.username")
+    public abstract PagamentoResponseDTO paraResponseDTO(Pagamento pagamento);
+
+    public abstract PagamentoResumoDTO paraResumoDTO(Pagamento pagamento);
+}
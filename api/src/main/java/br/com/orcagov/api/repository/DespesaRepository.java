@@ -11,6 +11,7 @@ import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -81,8 +82,28 @@ public interface DespesaRepository extends JpaRepository<Despesa, Long> {
             @Param("dataInicio") LocalDate dataInicio,
             @Param("dataFim") LocalDate dataFim);
 
-        // Contar número de protocolos em um ano específico
-    @Query("SELECT COUNT(d) FROM Despesa d WHERE d.numeroProtocolo LIKE CONCAT('%/', :ano, '%')")
-    Long contarProtocolosPorAno(@Param("ano") String ano);
+    // Maior sequencial dos protocolos de um ano (43022.000001/2025-07 -> 1)
+    @Query(value = "SELECT MAX(CAST(substring(numero_protocolo from 7 for 6) AS bigint)) FROM despesas " +
+           "WHERE numero_protocolo ~ '^\\d{5}\\.\\d{6}/\\d{4}-\\d{2}$' " +
+           "AND substring(numero_protocolo from 14 for 4) = :ano", nativeQuery = true)
+    Long findMaiorSequencialProtocolo(@Param("ano") String ano);
+    
+    // Relatório: IDs das despesas protocoladas no período (extratos em lote)
+    @Query("SELECT d.id FROM Despesa d WHERE d.dataProtocolo >= :dataInicio AND d.dataProtocolo < :dataFim " +
+           "ORDER BY d.dataProtocolo, d.id")
+    List<Long> findIdsPorPeriodoProtocolo(@Param("dataInicio") LocalDateTime dataInicio,
+                                          @Param("dataFim") LocalDateTime dataFim);
+    
+    // Relatório: Despesas com os empenhos já carregados (extratos)
+    @Query("SELECT DISTINCT d FROM Despesa d LEFT JOIN FETCH d.empenhos WHERE d.id IN :ids")
+    List<Despesa> findComEmpenhosByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Relatório: Quantidade e soma das despesas protocoladas por mês e tipo no período
+    @Query("SELECT EXTRACT(YEAR FROM d.dataProtocolo), EXTRACT(MONTH FROM d.dataProtocolo), d.tipoDespesa, " +
+           "COUNT(d), SUM(d.valorDespesas) " +
+           "FROM Despesa d WHERE d.dataProtocolo >= :dataInicio AND d.dataProtocolo < :dataFim " +
+           "GROUP BY EXTRACT(YEAR FROM d.dataProtocolo), EXTRACT(MONTH FROM d.dataProtocolo), d.tipoDespesa")
+    List<Object[]> resumirPorMesETipo(@Param("dataInicio") LocalDateTime dataInicio,
+                                      @Param("dataFim") LocalDateTime dataFim);
 }
 
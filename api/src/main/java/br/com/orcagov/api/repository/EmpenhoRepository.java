@@ -55,6 +55,13 @@ public interface EmpenhoRepository extends JpaRepository<Empenho, Long> {
            "ORDER BY EXTRACT(YEAR FROM e.dataEmpenho), EXTRACT(MONTH FROM e.dataEmpenho)")
     List<Object[]> totalEmpenhadoPorMes();
     
+    // Relatório: Quantidade e soma dos empenhos por mês no período
+    @Query("SELECT EXTRACT(YEAR FROM e.dataEmpenho), EXTRACT(MONTH FROM e.dataEmpenho), COUNT(e), SUM(e.valor) " +
+           "FROM Empenho e WHERE e.dataEmpenho BETWEEN :dataInicio AND :dataFim " +
+           "GROUP BY EXTRACT(YEAR FROM e.dataEmpenho), EXTRACT(MONTH FROM e.dataEmpenho)")
+    List<Object[]> resumirPorMes(@Param("dataInicio") LocalDate dataInicio,
+                                 @Param("dataFim") LocalDate dataFim);
+    
     // Validar se soma dos empenhos não ultrapassa valor da despesa
     @Query("SELECT CASE WHEN SUM(e.valor) <= e.despesa.valorDespesas THEN true ELSE false END " +
            "FROM Empenho e WHERE e.despesa.id = :despesaId")
@@ -0,0 +1,66 @@
+package br.com.orcagov.api.repository;
+
+import br.com.orcagov.api.entity.EventoOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EventoOutboxRepository extends JpaRepository<EventoOutbox, Long> {
+    
+    // Lote de eventos pendentes em ordem de gravação; linhas já bloqueadas por outro publicador são puladas
+    @Query(value = "SELECT * FROM outbox_eventos " +
+           "WHERE data_processamento IS NULL AND data_descarte IS NULL " +
+           "AND (proxima_tentativa IS NULL OR proxima_tentativa <= :agora) " +
+           "ORDER BY id LIMIT :limite FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EventoOutbox> bloquearPendentes(@Param("agora") LocalDateTime agora, @Param("limite") int limite);
+    
+    // Ids pendentes dos agregados do lote, inclusive os bloqueados por outro publicador ou em espera
+    @Query("SELECT e.tipoAgregado, e.agregadoId, e.id FROM EventoOutbox e " +
+           "WHERE e.dataProcessamento IS NULL AND e.dataDescarte IS NULL AND e.agregadoId IN :agregadoIds AND e.id <= :ateId " +
+           "ORDER BY e.id")
+    List<Object[]> findPendentesPorAgregado(@Param("agregadoIds") Collection<Long> agregadoIds,
+                                            @Param("ateId") Long ateId);
+    
+    // Quantidade de eventos aguardando entrega
+    long countByDataProcessamentoIsNullAndDataDescarteIsNull();
+    
+    // Quantidade de eventos descartados após esgotar as tentativas
+    long countByDataDescarteIsNotNull();
+    
+    // Data do evento pendente mais antigo
+    @Query("SELECT MIN(e.dataCriacao) FROM EventoOutbox e WHERE e.dataProcessamento IS NULL AND e.dataDescarte IS NULL")
+    LocalDateTime findDataCriacaoPendenteMaisAntigo();
+    
+    // Remover eventos já entregues há mais tempo que a retenção; o último é mantido
+    // para que a numeração do feed continue de onde parou
+    @Modifying
+    @Query("DELETE FROM EventoOutbox e WHERE e.dataProcessamento < :limite " +
+           "AND e.posicao < (SELECT MAX(o.posicao) FROM EventoOutbox o)")
+    int deleteProcessadosAntesDe(@Param("limite") LocalDateTime limite);
+    
+    // ==========================================
+    // FEED DE ALTERAÇÕES
+    // ==========================================
+    
+    // Serializa a atribuição de posições até o fim da transação
+    @Query(value = "SELECT COUNT(*) FROM (SELECT pg_advisory_xact_lock(:chave)) bloqueio", nativeQuery = true)
+    long bloquearPosicoesFeed(@Param("chave") long chave);
+    
+    @Query("SELECT MAX(e.posicao) FROM EventoOutbox e")
+    Long findUltimaPosicao();
+    
+    @Query("SELECT MIN(e.posicao) FROM EventoOutbox e")
+    Long findPrimeiraPosicao();
+    
+    // Alterações após o cursor, em ordem de posição
+    @Query("SELECT e FROM EventoOutbox e WHERE e.posicao > :desde ORDER BY e.posicao")
+    List<EventoOutbox> findAlteracoesDesde(@Param("desde") Long desde, Pageable pageable);
+}
@@ -8,6 +8,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -59,17 +60,32 @@ public interface PagamentoRepository extends JpaRepository<Pagamento, Long> {
            "ORDER BY EXTRACT(YEAR FROM p.dataPagamento), EXTRACT(MONTH FROM p.dataPagamento)")
     List<Object[]> totalPagoPorMes();
     
+    // Relatório: Quantidade e soma dos pagamentos por mês no período
+    @Query("SELECT EXTRACT(YEAR FROM p.dataPagamento), EXTRACT(MONTH FROM p.dataPagamento), COUNT(p), SUM(p.valorPagamento) " +
+           "FROM Pagamento p WHERE p.dataPagamento BETWEEN :dataInicio AND :dataFim " +
+           "GROUP BY EXTRACT(YEAR FROM p.dataPagamento), EXTRACT(MONTH FROM p.dataPagamento)")
+    List<Object[]> resumirPorMes(@Param("dataInicio") LocalDate dataInicio,
+                                 @Param("dataFim") LocalDate dataFim);
+    
+    // Relatório: Pagamentos das despesas informadas (extratos)
+    @Query("SELECT p FROM Pagamento p WHERE p.empenho.despesa.id IN :despesaIds ORDER BY p.dataPagamento, p.id")
+    List<Pagamento> findByDespesaIdIn(@Param("despesaIds") Collection<Long> despesaIds);
+    
     // Validar se soma dos pagamentos não ultrapassa valor do empenho
     @Query("SELECT CASE WHEN SUM(p.valorPagamento) <= p.empenho.valor THEN true ELSE false END " +
            "FROM Pagamento p WHERE p.empenho.id = :empenhoId")
     Boolean validarSomaPagamentosEmpenho(@Param("empenhoId") Long empenhoId);
     
     // Relatório: Pagamentos por período com detalhes
-    @Query("SELECT p.numeroPagamento, p.dataPagamento, p.valorPagamento, " +
+    // (também usada pela exportação em streaming, ver ExportacaoRelatorioService)
+    String RELATORIO_PAGAMENTOS_POR_PERIODO =
+           "SELECT p.numeroPagamento, p.dataPagamento, p.valorPagamento, " +
            "p.empenho.numeroEmpenho, p.empenho.despesa.numeroProtocolo, " +
            "p.empenho.despesa.credorDespesas " +
            "FROM Pagamento p WHERE p.dataPagamento BETWEEN :dataInicio AND :dataFim " +
-           "ORDER BY p.dataPagamento DESC")
+           "ORDER BY p.dataPagamento DESC";
+
+    @Query(RELATORIO_PAGAMENTOS_POR_PERIODO)
     List<Object[]> relatorioPagamentosPorPeriodo(@Param("dataInicio") LocalDate dataInicio, 
                                                 @Param("dataFim") LocalDate dataFim);
     
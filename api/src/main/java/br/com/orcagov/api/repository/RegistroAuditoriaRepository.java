@@ -0,0 +1,21 @@
+package br.com.orcagov.api.repository;
+
+import br.com.orcagov.api.entity.RegistroAuditoria;
+import br.com.orcagov.api.entity.enums.TipoAgregado;
+import org.springframework.data.repository.Repository;
+
+import java.util.List;
+
+/**
+ * Somente leitura: a gravação é feita em lote pelo AuditoriaService e a tabela
+ * não admite alteração nem exclusão.
+ */
+@org.springframework.stereotype.Repository
+public interface RegistroAuditoriaRepository extends Repository<RegistroAuditoria, Long> {
+    
+    // Histórico de um registro, do mais antigo ao mais recente
+    List<RegistroAuditoria> findByTipoAgregadoAndAgregadoIdOrderByDataHoraAsc(TipoAgregado tipoAgregado, Long agregadoId);
+    
+    // Alterações feitas por um usuário
+    List<RegistroAuditoria> findByUsuarioOrderByDataHoraDesc(String usuario);
+}
@@ -3,9 +3,11 @@ package br.com.orcagov.api.repository;
 import br.com.orcagov.api.entity.Usuario;
 import br.com.orcagov.api.entity.enums.TipoUsuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -19,9 +21,6 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     // Buscar por email
     Optional<Usuario> findByEmail(String email);
     
-    // Buscar por username e senha (para login)
-    Optional<Usuario> findByUserNameAndPassword(String userName, String password);
-    
     // Buscar usuários ativos
     List<Usuario> findByAtivoTrue();
     
@@ -43,4 +42,11 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
            "LOWER(u.userName) LIKE LOWER(CONCAT('%', :termo, '%')) OR " +
            "LOWER(u.email) LIKE LOWER(CONCAT('%', :termo, '%')))")
     List<Usuario> buscarPorTermo(@Param("termo") String termo);
+    
+    // Troca o hash da senha só se ele não mudou desde a leitura (recodificação no login)
+    @Modifying
+    @Transactional
+    @Query("UPDATE Usuario u SET u.password = :novaSenha WHERE u.id = :id AND u.password = :senhaAnterior")
+    int atualizarSenha(@Param("id") Long id, @Param("senhaAnterior") String senhaAnterior,
+                       @Param("novaSenha") String novaSenha);
 }
\ No newline at end of file
@@ -0,0 +1,181 @@
+package br.com.orcagov.api.service;
+
+import br.com.orcagov.api.dto.Response.AlteracaoDTO;
+import br.com.orcagov.api.dto.Response.AlteracoesResponseDTO;
+import br.com.orcagov.api.entity.EventoOutbox;
+import br.com.orcagov.api.exception.BusinessException;
+import br.com.orcagov.api.exception.ServiceUnavailableException;
+import br.com.orcagov.api.repository.EventoOutboxRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Feed incremental de alterações de despesas, empenhos e pagamentos.
+ *
+ * Lê os eventos já entregues do outbox em ordem de posição. Exclusões aparecem
+ * como eventos EXCLUIDO com apenas a identificação do registro. O consumidor
+ * guarda o último cursor recebido e pede as alterações seguintes; com espera, a
+ * requisição fica pendente sem ocupar thread até surgir uma alteração ou o prazo
+ * acabar.
+ */
+@Service
+public class AlteracaoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlteracaoService.class);
+
+    @Autowired
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Value("${orcagov.alteracoes.limite-maximo:1000}")
+    private int limiteMaximo;
+
+    @Value("${orcagov.alteracoes.espera-maxima:30s}")
+    private Duration esperaMaxima;
+
+    @Value("${orcagov.alteracoes.max-aguardando:100}")
+    private int maxAguardando;
+
+    @Value("${orcagov.alteracoes.retry-after:5}")
+    private long retryAfterSegundos;
+
+    private final Set<Espera> esperas = ConcurrentHashMap.newKeySet();
+
+    // ==========================================
+    // CONSULTA
+    // ==========================================
+
+    /**
+     * Alterações posteriores ao cursor, aguardando até {@code espera} quando não há nenhuma
+     */
+    public CompletableFuture<AlteracoesResponseDTO> buscar(Long desde, int limite, boolean completo, Duration espera) {
+        long cursor = desde != null ? desde : 0L;
+        validarCursor(cursor);
+
+        int limiteEfetivo = Math.max(1, Math.min(limite, limiteMaximo));
+        AlteracoesResponseDTO resultado = consultar(cursor, limiteEfetivo, completo);
+
+        if (!resultado.getAlteracoes().isEmpty() || espera.isZero() || espera.isNegative()) {
+            return CompletableFuture.completedFuture(resultado);
+        }
+
+        if (esperas.size() >= maxAguardando) {
+            throw new ServiceUnavailableException(
+                "Limite de consumidores aguardando alterações atingido", retryAfterSegundos);
+        }
+
+        Duration prazo = espera.compareTo(esperaMaxima) > 0 ? esperaMaxima : espera;
+        Espera novaEspera = new Espera(cursor, limiteEfetivo, completo, new CompletableFuture<>());
+        esperas.add(novaEspera);
+
+        // Sem alterações no prazo, responde vazio com o mesmo cursor
+        novaEspera.resultado()
+                .completeOnTimeout(resultado, prazo.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((r, e) -> esperas.remove(novaEspera));
+        return novaEspera.resultado();
+    }
+
+    /**
+     * Posição da alteração mais recente. Uma sincronização nova guarda este cursor
+     * antes da carga completa e depois segue o feed a partir dele.
+     */
+    public Long obterCursorAtual() {
+        Long ultimaPosicao = eventoOutboxRepository.findUltimaPosicao();
+        return ultimaPosicao != null ? ultimaPosicao : 0L;
+    }
+
+    /**
+     * Verifica periodicamente se surgiram alterações para os consumidores em espera.
+     * Uma única consulta pela última posição atende todas as esperas.
+     */
+    @Scheduled(fixedDelayString = "${orcagov.alteracoes.intervalo-verificacao:PT0.5S}")
+    public void verificarEsperas() {
+        if (esperas.isEmpty()) {
+            return;
+        }
+
+        try {
+            Long ultimaPosicao = eventoOutboxRepository.findUltimaPosicao();
+            if (ultimaPosicao == null) {
+                return;
+            }
+
+            for (Espera espera : esperas) {
+                if (espera.desde() < ultimaPosicao && !espera.resultado().isDone()) {
+                    espera.resultado().complete(consultar(espera.desde(), espera.limite(), espera.completo()));
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Erro ao verificar alterações para consumidores em espera: {}", e.getMessage());
+        }
+    }
+
+    // ==========================================
+    // MÉTODOS AUXILIARES
+    // ==========================================
+
+    private AlteracoesResponseDTO consultar(long desde, int limite, boolean completo) {
+        // Um registro a mais indica se há outra página disponível
+        List<EventoOutbox> eventos = eventoOutboxRepository.findAlteracoesDesde(desde, PageRequest.of(0, limite + 1));
+        boolean temMais = eventos.size() > limite;
+        if (temMais) {
+            eventos = eventos.subList(0, limite);
+        }
+
+        List<AlteracaoDTO> alteracoes = eventos.stream()
+                .map(evento -> converterParaDTO(evento, completo))
+                .collect(Collectors.toList());
+
+        return AlteracoesResponseDTO.builder()
+                .alteracoes(alteracoes)
+                .proximoCursor(alteracoes.isEmpty() ? desde : alteracoes.get(alteracoes.size() - 1).getPosicao())
+                .temMais(temMais)
+                .build();
+    }
+
+    /**
+     * Eventos entregues são removidos após a retenção do outbox. Um cursor anterior
+     * ao evento mais antigo ainda disponível perderia alterações sem perceber; vale
+     * também para o cursor 0 (ou omitido), que só traz o histórico inteiro enquanto a
+     * posição 1 não tiver sido removida.
+     */
+    private void validarCursor(long cursor) {
+        if (cursor < 0) {
+            throw new BusinessException("alteracoes.cursor-invalido", "Cursor inválido: " + cursor);
+        }
+
+        Long primeiraPosicao = eventoOutboxRepository.findPrimeiraPosicao();
+        if (primeiraPosicao != null && cursor < primeiraPosicao - 1) {
+            throw new BusinessException("alteracoes.cursor-expirado",
+                "Cursor " + cursor + " anterior às alterações disponíveis (a partir de " + primeiraPosicao
+                + "). Refaça a carga completa e continue a partir de /alteracoes/cursor");
+        }
+    }
+
+    private AlteracaoDTO converterParaDTO(EventoOutbox evento, boolean completo) {
+        return AlteracaoDTO.builder()
+                .posicao(evento.getPosicao())
+                .tipoAgregado(evento.getTipoAgregado())
+                .agregadoId(evento.getAgregadoId())
+                .tipoEvento(evento.getTipoEvento())
+                .dataAlteracao(evento.getDataCriacao())
+                .dados(completo ? evento.getPayload() : null)
+                .build();
+    }
+
+    private record Espera(long desde, int limite, boolean completo, CompletableFuture<AlteracoesResponseDTO> resultado) {
+    }
+}
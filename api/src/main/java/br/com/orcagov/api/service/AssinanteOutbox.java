@@ -0,0 +1,23 @@
+package br.com.orcagov.api.service;
+
+import br.com.orcagov.api.entity.EventoOutbox;
+
+/**
+ * Assinante dos eventos de alteração do razão publicados pelo outbox.
+ *
+ * A entrega é "pelo menos uma vez": se qualquer assinante falhar, o evento é
+ * reentregue a todos na próxima tentativa, então o processamento precisa ser
+ * idempotente. Eventos de um mesmo agregado chegam na ordem em que foram gravados.
+ *
+ * A entrega acontece dentro da transação do publicador. Assinantes que gravam no
+ * banco devem usar uma transação própria (REQUIRES_NEW) para que uma falha não
+ * desfaça o lote inteiro.
+ */
+public interface AssinanteOutbox {
+
+    void processar(EventoOutbox evento) throws Exception;
+
+    default String getNome() {
+        return getClass().getSimpleName();
+    }
+}
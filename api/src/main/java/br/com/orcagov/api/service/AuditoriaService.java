@@ -0,0 +1,376 @@
+package br.com.orcagov.api.service;
+
+import br.com.orcagov.api.dto.Response.AuditoriaMetricasDTO;
+import br.com.orcagov.api.dto.Response.RegistroAuditoriaResponseDTO;
+import br.com.orcagov.api.entity.Despesa;
+import br.com.orcagov.api.entity.Empenho;
+import br.com.orcagov.api.entity.Pagamento;
+import br.com.orcagov.api.entity.RegistroAuditoria;
+import br.com.orcagov.api.entity.enums.TipoAgregado;
+import br.com.orcagov.api.entity.enums.TipoEventoOutbox;
+import br.com.orcagov.api.repository.RegistroAuditoriaRepository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Trilha de auditoria das alterações de despesas, empenhos e pagamentos.
+ *
+ * Os serviços informam o estado antes e depois da alteração e aqui só os campos
+ * que mudaram são registrados. Para não acrescentar INSERTs à transação de
+ * escrita, o registro entra em um buffer circular depois do commit e uma thread
+ * dedicada grava os registros em lote. As operações configuradas como duráveis
+ * (exclusões, cancelamentos e estornos, por padrão) são gravadas na própria
+ * transação, antes do commit, e são desfeitas junto com ela.
+ *
+ * Com o buffer cheio o produtor aguarda um pouco a thread de gravação e, se ainda
+ * não houver espaço, grava o registro diretamente: a fila cheia deixa a escrita
+ * mais lenta, mas nenhum registro é descartado.
+ */
+@Service
+public class AuditoriaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditoriaService.class);
+
+    private static final String SQL_INSERIR =
+            "INSERT INTO auditoria (tipo_agregado, agregado_id, operacao, usuario, data_hora, diferencas) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final long ESPERA_APOS_FALHA_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RegistroAuditoriaRepository registroAuditoriaRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${orcagov.auditoria.capacidade:8192}")
+    private int capacidade;
+
+    @Value("${orcagov.auditoria.lote:500}")
+    private int tamanhoLote;
+
+    @Value("${orcagov.auditoria.intervalo:100ms}")
+    private Duration intervalo;
+
+    @Value("${orcagov.auditoria.espera-buffer-cheio:50ms}")
+    private Duration esperaBufferCheio;
+
+    @Value("${orcagov.auditoria.operacoes-duraveis:EXCLUIDO,CANCELADO,ESTORNADO}")
+    private Set<TipoEventoOutbox> operacoesDuraveis;
+
+    private BufferCircular<RegistroAuditoria> buffer;
+    private TransactionTemplate transacaoPropria;
+    private Thread gravador;
+    private volatile boolean ativo;
+
+    private final AtomicLong registrosEnfileirados = new AtomicLong();
+    private final AtomicLong registrosGravados = new AtomicLong();
+    private final AtomicLong lotesGravados = new AtomicLong();
+    private final AtomicLong gravacoesDuraveis = new AtomicLong();
+    private final AtomicLong gravacoesDiretas = new AtomicLong();
+    private final AtomicLong esperasBufferCheio = new AtomicLong();
+    private final AtomicLong falhasGravacao = new AtomicLong();
+
+    @PostConstruct
+    public void iniciar() {
+        buffer = new BufferCircular<>(capacidade);
+
+        // Após o commit a transação do chamador não aceita mais escrita
+        transacaoPropria = new TransactionTemplate(transactionManager);
+        transacaoPropria.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        ativo = true;
+        gravador = new Thread(this::executarGravador, "auditoria-gravador");
+        gravador.setDaemon(true);
+        gravador.start();
+    }
+
+    @PreDestroy
+    public void parar() throws InterruptedException {
+        // O gravador esvazia o buffer antes de terminar
+        ativo = false;
+        LockSupport.unpark(gravador);
+        gravador.join(TimeUnit.SECONDS.toMillis(10));
+        if (buffer.tamanho() > 0) {
+            logger.error("Auditoria encerrada com {} registros não gravados", buffer.tamanho());
+        }
+    }
+
+    // ==========================================
+    // REGISTRO
+    // ==========================================
+
+    /**
+     * Registra a alteração do agregado. {@code antes} é nulo na criação e
+     * {@code depois} é nulo na exclusão; atualizações sem campos alterados são ignoradas.
+     */
+    public void registrar(TipoAgregado tipoAgregado, Long agregadoId, TipoEventoOutbox operacao,
+                          Map<String, Object> antes, Map<String, Object> depois, String usuario) {
+
+        Map<String, Object> diferencas = calcularDiferencas(antes, depois);
+        if (diferencas.isEmpty()) {
+            return;
+        }
+
+        RegistroAuditoria registro = new RegistroAuditoria(
+                null, tipoAgregado, agregadoId, operacao, usuario, LocalDateTime.now(), serializar(diferencas));
+
+        if (operacoesDuraveis.contains(operacao)) {
+            // Mesma conexão da transação corrente: o registro é confirmado ou desfeito com a alteração
+            inserir(List.of(registro));
+            gravacoesDuraveis.incrementAndGet();
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Só entra na fila se a alteração for confirmada
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enfileirar(registro);
+                }
+            });
+        } else {
+            enfileirar(registro);
+        }
+    }
+
+    /**
+     * Estado auditado da despesa
+     */
+    public Map<String, Object> estado(Despesa despesa) {
+        Map<String, Object> estado = new LinkedHashMap<>();
+        estado.put("numeroProtocolo", despesa.getNumeroProtocolo());
+        estado.put("tipoDespesa", despesa.getTipoDespesa());
+        estado.put("dataVencimento", despesa.getDataVencimento());
+        estado.put("credorDespesas", despesa.getCredorDespesas());
+        estado.put("descricaoDespesas", despesa.getDescricaoDespesas());
+        estado.put("valorDespesas", despesa.getValorDespesas());
+        estado.put("status", despesa.getStatus());
+        return estado;
+    }
+
+    /**
+     * Estado auditado do empenho
+     */
+    public Map<String, Object> estado(Empenho empenho) {
+        Map<String, Object> estado = new LinkedHashMap<>();
+        estado.put("numeroEmpenho", empenho.getNumeroEmpenho());
+        estado.put("dataEmpenho", empenho.getDataEmpenho());
+        estado.put("valor", empenho.getValor());
+        estado.put("observacao", empenho.getObservacao());
+        estado.put("despesaId", empenho.getDespesa() != null ? empenho.getDespesa().getId() : null);
+        return estado;
+    }
+
+    /**
+     * Estado auditado do pagamento
+     */
+    public Map<String, Object> estado(Pagamento pagamento) {
+        Map<String, Object> estado = new LinkedHashMap<>();
+        estado.put("numeroPagamento", pagamento.getNumeroPagamento());
+        estado.put("dataPagamento", pagamento.getDataPagamento());
+        estado.put("valorPagamento", pagamento.getValorPagamento());
+        estado.put("observacao", pagamento.getObservacao());
+        estado.put("status", pagamento.getStatus());
+        estado.put("empenhoId", pagamento.getEmpenho() != null ? pagamento.getEmpenho().getId() : null);
+        return estado;
+    }
+
+    // ==========================================
+    // CONSULTA E MÉTRICAS
+    // ==========================================
+
+    /**
+     * Histórico de alterações de um registro. Registros ainda no buffer aparecem
+     * assim que o gravador os processa.
+     */
+    public List<RegistroAuditoriaResponseDTO> buscarHistorico(TipoAgregado tipoAgregado, Long agregadoId) {
+        return registroAuditoriaRepository.findByTipoAgregadoAndAgregadoIdOrderByDataHoraAsc(tipoAgregado, agregadoId)
+                .stream()
+                .map(this::converterParaResponseDTO)
+                .collect(Collectors.toList());
+    }
+
+    public AuditoriaMetricasDTO obterMetricas() {
+        return AuditoriaMetricasDTO.builder()
+                .capacidade(buffer.capacidade())
+                .ocupacao(buffer.tamanho())
+                .registrosEnfileirados(registrosEnfileirados.get())
+                .registrosGravados(registrosGravados.get())
+                .lotesGravados(lotesGravados.get())
+                .gravacoesDuraveis(gravacoesDuraveis.get())
+                .gravacoesDiretas(gravacoesDiretas.get())
+                .esperasBufferCheio(esperasBufferCheio.get())
+                .falhasGravacao(falhasGravacao.get())
+                .build();
+    }
+
+    // ==========================================
+    // FILA E GRAVAÇÃO EM LOTE
+    // ==========================================
+
+    private void enfileirar(RegistroAuditoria registro) {
+        if (oferecer(registro)) {
+            return;
+        }
+
+        // Buffer cheio: espera o gravador liberar espaço
+        esperasBufferCheio.incrementAndGet();
+        LockSupport.unpark(gravador);
+        long limite = System.nanoTime() + esperaBufferCheio.toNanos();
+        while (System.nanoTime() < limite) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+            if (oferecer(registro)) {
+                return;
+            }
+        }
+
+        try {
+            transacaoPropria.executeWithoutResult(status -> inserir(List.of(registro)));
+            gravacoesDiretas.incrementAndGet();
+            registrosGravados.incrementAndGet();
+        } catch (Exception e) {
+            falhasGravacao.incrementAndGet();
+            logger.error("Registro de auditoria não gravado: {} {} {} por {} em {}: {}",
+                    registro.getOperacao(), registro.getTipoAgregado(), registro.getAgregadoId(),
+                    registro.getUsuario(), registro.getDataHora(), registro.getDiferencas(), e);
+        }
+    }
+
+    private boolean oferecer(RegistroAuditoria registro) {
+        if (!buffer.oferecer(registro)) {
+            return false;
+        }
+        registrosEnfileirados.incrementAndGet();
+        // Lote completo: acorda o gravador sem esperar o intervalo
+        if (buffer.tamanho() >= tamanhoLote) {
+            LockSupport.unpark(gravador);
+        }
+        return true;
+    }
+
+    private void executarGravador() {
+        List<RegistroAuditoria> lote = new ArrayList<>(tamanhoLote);
+
+        while (ativo || buffer.tamanho() > 0 || !lote.isEmpty()) {
+            if (lote.isEmpty() && buffer.drenar(lote, tamanhoLote) == 0) {
+                LockSupport.parkNanos(intervalo.toNanos());
+                continue;
+            }
+
+            try {
+                transacaoPropria.executeWithoutResult(status -> inserir(lote));
+                lotesGravados.incrementAndGet();
+                registrosGravados.addAndGet(lote.size());
+                lote.clear();
+            } catch (Exception e) {
+                // O lote é mantido e gravado de novo; enquanto isso o buffer absorve os novos registros
+                falhasGravacao.incrementAndGet();
+                logger.warn("Erro ao gravar lote de {} registros de auditoria: {}", lote.size(), e.getMessage());
+                LockSupport.parkNanos(ESPERA_APOS_FALHA_NANOS);
+            }
+        }
+    }
+
+    private void inserir(List<RegistroAuditoria> registros) {
+        jdbcTemplate.batchUpdate(SQL_INSERIR, registros, registros.size(), (ps, registro) -> {
+            ps.setString(1, registro.getTipoAgregado().name());
+            ps.setLong(2, registro.getAgregadoId());
+            ps.setString(3, registro.getOperacao().name());
+            ps.setString(4, registro.getUsuario());
+            ps.setObject(5, registro.getDataHora());
+            ps.setString(6, registro.getDiferencas());
+        });
+    }
+
+    // ==========================================
+    // MÉTODOS AUXILIARES
+    // ==========================================
+
+    private static Map<String, Object> calcularDiferencas(Map<String, Object> antes, Map<String, Object> depois) {
+        Set<String> campos = new LinkedHashSet<>();
+        if (antes != null) {
+            campos.addAll(antes.keySet());
+        }
+        if (depois != null) {
+            campos.addAll(depois.keySet());
+        }
+
+        Map<String, Object> diferencas = new LinkedHashMap<>();
+        for (String campo : campos) {
+            Object valorAntes = antes != null ? antes.get(campo) : null;
+            Object valorDepois = depois != null ? depois.get(campo) : null;
+            if (!iguais(valorAntes, valorDepois)) {
+                Map<String, Object> diferenca = new LinkedHashMap<>();
+                diferenca.put("antes", valorAntes);
+                diferenca.put("depois", valorDepois);
+                diferencas.put(campo, diferenca);
+            }
+        }
+        return diferencas;
+    }
+
+    private static boolean iguais(Object a, Object b) {
+        // 1000 e 1000.00 são o mesmo valor
+        if (a instanceof BigDecimal x && b instanceof BigDecimal y) {
+            return x.compareTo(y) == 0;
+        }
+        return Objects.equals(a, b);
+    }
+
+    private String serializar(Map<String, Object> diferencas) {
+        try {
+            return objectMapper.writeValueAsString(diferencas);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Erro ao serializar o registro de auditoria", e);
+        }
+    }
+
+    private RegistroAuditoriaResponseDTO converterParaResponseDTO(RegistroAuditoria registro) {
+        return RegistroAuditoriaResponseDTO.builder()
+                .id(registro.getId())
+                .tipoAgregado(registro.getTipoAgregado())
+                .agregadoId(registro.getAgregadoId())
+                .operacao(registro.getOperacao())
+                .usuario(registro.getUsuario())
+                .dataHora(registro.getDataHora())
+                .diferencas(registro.getDiferencas())
+                .build();
+    }
+}
@@ -0,0 +1,162 @@
+package br.com.orcagov.api.service;
+
+import br.com.orcagov.api.dto.Request.LoginRequestDTO;
+import br.com.orcagov.api.dto.Response.TokenResponseDTO;
+import br.com.orcagov.api.entity.Usuario;
+import br.com.orcagov.api.exception.TooManyRequestsException;
+import br.com.orcagov.api.exception.UnauthorizedException;
+import br.com.orcagov.api.repository.UsuarioRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Login, renovação e logout com tokens JWT. Só estes fluxos consultam o usuário no
+ * banco; as demais requisições são autenticadas pelo token (ver {@link TokenService}).
+ *
+ * As tentativas de login são limitadas por endereço e por usuário antes de qualquer
+ * consulta ou verificação de senha, que roda no pool do {@link SenhaService}.
+ */
+@Service
+public class AutenticacaoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutenticacaoService.class);
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private SenhaService senhaService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${orcagov.login.limite.ip.capacidade:30}")
+    private int capacidadePorIp;
+
+    @Value("${orcagov.login.limite.ip.reposicao:2s}")
+    private Duration reposicaoPorIp;
+
+    @Value("${orcagov.login.limite.usuario.capacidade:5}")
+    private int capacidadePorUsuario;
+
+    @Value("${orcagov.login.limite.usuario.reposicao:12s}")
+    private Duration reposicaoPorUsuario;
+
+    private LimitadorTaxa limitePorIp;
+    private LimitadorTaxa limitePorUsuario;
+
+    private Counter loginsAceitos;
+    private Counter loginsRecusados;
+    private Counter loginsLimitados;
+
+    @PostConstruct
+    public void iniciar() {
+        limitePorIp = new LimitadorTaxa(capacidadePorIp, reposicaoPorIp);
+        limitePorUsuario = new LimitadorTaxa(capacidadePorUsuario, reposicaoPorUsuario);
+
+        loginsAceitos = meterRegistry.counter("orcagov.autenticacao.logins", "resultado", "aceito");
+        loginsRecusados = meterRegistry.counter("orcagov.autenticacao.logins", "resultado", "recusado");
+        loginsLimitados = meterRegistry.counter("orcagov.autenticacao.logins", "resultado", "limitado");
+    }
+
+    // ==========================================
+    // LOGIN
+    // ==========================================
+
+    /**
+     * Valida usuário e senha e emite o par de tokens. Senha em texto puro ou com custo
+     * menor que o configurado é regravada com o hash atual.
+     */
+    public TokenResponseDTO login(LoginRequestDTO request, String ip) {
+        limitar(limitePorIp, ip, "Muitas tentativas de login deste endereço");
+        limitar(limitePorUsuario, request.getUserName().toLowerCase(Locale.ROOT),
+                "Muitas tentativas de login para este usuário");
+
+        Optional<Usuario> encontrado = usuarioRepository.findByUserName(request.getUserName());
+        SenhaService.Verificacao verificacao = senhaService.verificar(request.getPassword(),
+                encontrado.map(Usuario::getPassword).orElse(null));
+
+        if (!verificacao.valida() || !encontrado.get().isEnabled()) {
+            loginsRecusados.increment();
+            logger.info("Login recusado para {}", request.getUserName());
+            throw new UnauthorizedException("Usuário ou senha inválidos");
+        }
+
+        Usuario usuario = encontrado.get();
+        if (verificacao.novoHash() != null
+                && usuarioRepository.atualizarSenha(usuario.getId(), usuario.getPassword(), verificacao.novoHash()) > 0) {
+            logger.info("Senha de {} regravada com o hash atual", usuario.getUsername());
+        }
+        loginsAceitos.increment();
+        return tokenService.emitir(usuario);
+    }
+
+    private void limitar(LimitadorTaxa limite, String chave, String mensagem) {
+        long espera = limite.consumir(chave);
+        if (espera > 0) {
+            loginsLimitados.increment();
+            throw new TooManyRequestsException(mensagem + ". Tente novamente em instantes",
+                    LimitadorTaxa.segundos(espera));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orcagov.login.limite.limpeza-intervalo:1m}")
+    public void limparLimites() {
+        int removidos = limitePorIp.limpar() + limitePorUsuario.limpar();
+        if (removidos > 0) {
+            logger.debug("{} limites de login voltaram ao estado inicial e saíram da memória", removidos);
+        }
+    }
+
+    // ==========================================
+    // RENOVAÇÃO E LOGOUT
+    // ==========================================
+
+    /**
+     * Troca um token de renovação por um par novo. O usuário é relido do banco, para que
+     * um usuário desativado ou com outro perfil não continue renovando o acesso antigo.
+     */
+    @Transactional(readOnly = true)
+    public TokenResponseDTO renovar(String tokenRenovacao) {
+        TokenService.TokenVerificado renovacao = tokenService.verificarRenovacao(tokenRenovacao);
+
+        Usuario usuario = usuarioRepository.findByUserName(renovacao.usuario())
+                .filter(Usuario::isEnabled)
+                .orElseThrow(() -> new UnauthorizedException("Usuário inexistente ou inativo"));
+
+        // Duas renovações simultâneas com o mesmo token: só a primeira leva
+        if (!tokenService.revogar(renovacao)) {
+            throw new UnauthorizedException("Token de renovação já utilizado ou revogado");
+        }
+        return tokenService.emitir(usuario);
+    }
+
+    /**
+     * Revoga o token de acesso da requisição e, se informado, o de renovação
+     */
+    public void logout(TokenService.TokenVerificado acesso, String tokenRenovacao) {
+        tokenService.revogar(acesso);
+        if (tokenRenovacao != null && !tokenRenovacao.isBlank()) {
+            TokenService.TokenVerificado renovacao = tokenService.verificarRenovacao(tokenRenovacao);
+            if (!renovacao.usuario().equals(acesso.usuario())) {
+                throw new UnauthorizedException("Token de renovação de outro usuário");
+            }
+            tokenService.revogar(renovacao);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.orcagov.api.service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Buffer circular limitado e sem bloqueios para vários produtores e consumidores.
+ *
+ * Cada posição guarda um número de sequência que indica se ela está livre para a
+ * volta corrente do produtor ou preenchida para a do consumidor; produtores e
+ * consumidores só disputam os contadores de início e fim via CAS. Com o buffer
+ * cheio a inserção falha imediatamente, e quem chamou decide o que fazer.
+ */
+public class BufferCircular<T> {
+
+    private final int mascara;
+    private final AtomicReferenceArray<T> elementos;
+    private final AtomicLongArray sequencias;
+    private final AtomicLong fim = new AtomicLong();
+    private final AtomicLong inicio = new AtomicLong();
+
+    /**
+     * @param capacidade arredondada para a próxima potência de 2
+     */
+    public BufferCircular(int capacidade) {
+        if (capacidade < 2) {
+            throw new IllegalArgumentException("Capacidade mínima do buffer é 2");
+        }
+        int tamanho = Integer.highestOneBit(capacidade - 1) << 1;
+        this.mascara = tamanho - 1;
+        this.elementos = new AtomicReferenceArray<>(tamanho);
+        this.sequencias = new AtomicLongArray(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            sequencias.set(i, i);
+        }
+    }
+
+    /**
+     * Insere o elemento; retorna false se o buffer estiver cheio
+     */
+    public boolean oferecer(T elemento) {
+        long posicao = fim.get();
+        while (true) {
+            int indice = (int) (posicao & mascara);
+            long diferenca = sequencias.get(indice) - posicao;
+
+            if (diferenca == 0) {
+                if (fim.compareAndSet(posicao, posicao + 1)) {
+                    elementos.lazySet(indice, elemento);
+                    // Publica a posição para o consumidor depois de gravar o elemento
+                    sequencias.set(indice, posicao + 1);
+                    return true;
+                }
+                posicao = fim.get();
+            } else if (diferenca < 0) {
+                return false;
+            } else {
+                posicao = fim.get();
+            }
+        }
+    }
+
+    /**
+     * Remove o elemento mais antigo; retorna null se o buffer estiver vazio
+     */
+    public T retirar() {
+        long posicao = inicio.get();
+        while (true) {
+            int indice = (int) (posicao & mascara);
+            long diferenca = sequencias.get(indice) - (posicao + 1);
+
+            if (diferenca == 0) {
+                if (inicio.compareAndSet(posicao, posicao + 1)) {
+                    T elemento = elementos.get(indice);
+                    elementos.lazySet(indice, null);
+                    // Libera a posição para a próxima volta dos produtores
+                    sequencias.set(indice, posicao + mascara + 1);
+                    return elemento;
+                }
+                posicao = inicio.get();
+            } else if (diferenca < 0) {
+                return null;
+            } else {
+                posicao = inicio.get();
+            }
+        }
+    }
+
+    /**
+     * Move até {@code maximo} elementos para a lista e retorna quantos foram movidos
+     */
+    public int drenar(List<T> destino, int maximo) {
+        int movidos = 0;
+        T elemento;
+        while (movidos < maximo && (elemento = retirar()) != null) {
+            destino.add(elemento);
+            movidos++;
+        }
+        return movidos;
+    }
+
+    /**
+     * Quantidade aproximada de elementos; exata apenas sem operações concorrentes
+     */
+    public int tamanho() {
+        long tamanho = fim.get() - inicio.get();
+        return (int) Math.max(0, Math.min(tamanho, capacidade()));
+    }
+
+    public int capacidade() {
+        return mascara + 1;
+    }
+}
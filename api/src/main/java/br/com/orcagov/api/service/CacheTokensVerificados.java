@@ -0,0 +1,53 @@
+package br.com.orcagov.api.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Tokens cuja assinatura já foi verificada, para não refazer o HMAC a cada requisição
+ * do mesmo cliente. Mapeamento direto: a posição vem do hash da assinatura e um token
+ * novo substitui o que estiver lá, sem lock nem lista de despejo. O acerto exige o token
+ * inteiro igual, e não só a assinatura: um payload trocado com assinatura reaproveitada
+ * cai na verificação completa e é recusado. A comparação é em tempo constante, para o
+ * tempo de resposta não revelar quanto do token confere com o guardado.
+ */
+final class CacheTokensVerificados {
+
+    private record Entrada(byte[] token, TokenService.TokenVerificado verificado) {
+    }
+
+    private final AtomicReferenceArray<Entrada> entradas;
+    private final int mascara;
+
+    CacheTokensVerificados(int capacidade) {
+        int tamanho = Integer.highestOneBit(Math.max(capacidade - 1, 1)) << 1;
+        entradas = new AtomicReferenceArray<>(tamanho);
+        mascara = tamanho - 1;
+    }
+
+    TokenService.TokenVerificado buscar(String token) {
+        Entrada entrada = entradas.get(indice(token));
+        return entrada != null && MessageDigest.isEqual(entrada.token(), bytes(token)) ? entrada.verificado() : null;
+    }
+
+    void guardar(String token, TokenService.TokenVerificado verificado) {
+        entradas.set(indice(token), new Entrada(bytes(token), verificado));
+    }
+
+    int capacidade() {
+        return entradas.length();
+    }
+
+    private static byte[] bytes(String token) {
+        return token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private int indice(String token) {
+        int hash = 0;
+        for (int i = token.lastIndexOf('.') + 1; i < token.length(); i++) {
+            hash = 31 * hash + token.charAt(i);
+        }
+        return (hash ^ (hash >>> 16)) & mascara;
+    }
+}
@@ -0,0 +1,469 @@
+package br.com.orcagov.api.service;
+
+import br.com.orcagov.api.dto.Response.CargaHistoricaResponseDTO;
+import br.com.orcagov.api.entity.Usuario;
+import br.com.orcagov.api.entity.enums.TipoDespesa;
+import br.com.orcagov.api.entity.enums.TipoUsuario;
+import br.com.orcagov.api.exception.BusinessException;
+import br.com.orcagov.api.exception.ResourceNotFoundException;
+import br.com.orcagov.api.exception.UnauthorizedException;
+import br.com.orcagov.api.repository.UsuarioRepository;
+
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Carga histórica de despesas, empenhos e pagamentos via COPY do PostgreSQL.
+ *
+ * Os arquivos CSV são copiados como texto para tabelas temporárias de staging,
+ * validados com SQL orientado a conjuntos e só então mesclados nas tabelas
+ * definitivas, tudo dentro de uma única transação.
+ *
+ * Layout dos arquivos (CSV com cabeçalho, datas ISO, valores com ponto decimal):
+ * despesas:   numero_protocolo, tipo_despesa, data_protocolo, data_vencimento, credor, descricao, valor
+ * empenhos:   numero_empenho, numero_protocolo, data_empenho, valor, observacao
+ * pagamentos: numero_pagamento, numero_empenho, data_pagamento, valor, observacao
+ */
+@Service
+public class CargaHistoricaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CargaHistoricaService.class);
+
+    private static final DateTimeFormatter FORMATO_ARQUIVO = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static final String REGEX_DATA = "'^\\d{4}-\\d{2}-\\d{2}$'";
+    private static final String REGEX_DATA_HORA = "'^\\d{4}-\\d{2}-\\d{2}([ T]\\d{2}:\\d{2}(:\\d{2})?)?$'";
+    private static final String REGEX_PROTOCOLO = "'^\\d{5}\\.\\d{6}/\\d{4}-\\d{2}$'";
+    private static final String REGEX_VALOR = "'^\\d{1,13}(\\.\\d{1,2})?$'";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Value("${orcagov.carga.diretorio-rejeicoes:${java.io.tmpdir}/orcagov-carga}")
+    private String diretorioRejeicoes;
+
+    // ==========================================
+    // CARGA PRINCIPAL
+    // ==========================================
+
+    /**
+     * Executa a carga histórica a partir dos arquivos CSV informados.
+     * Qualquer um dos arquivos pode ser omitido.
+     */
+    @Transactional
+    public CargaHistoricaResponseDTO executarCarga(
+            MultipartFile despesas,
+            MultipartFile empenhos,
+            MultipartFile pagamentos,
+            String userName) {
+
+        Usuario usuario = buscarAdministrador(userName);
+        long inicio = System.currentTimeMillis();
+
+        criarTabelasStaging();
+
+        copiarArquivo(despesas, "COPY stg_despesas (numero_protocolo, tipo_despesa, data_protocolo, " +
+                "data_vencimento, credor_despesas, descricao_despesas, valor_despesas) " +
+                "FROM STDIN WITH (FORMAT csv, HEADER true)");
+        copiarArquivo(empenhos, "COPY stg_empenhos (numero_empenho, numero_protocolo, data_empenho, " +
+                "valor, observacao) FROM STDIN WITH (FORMAT csv, HEADER true)");
+        copiarArquivo(pagamentos, "COPY stg_pagamentos (numero_pagamento, numero_empenho, data_pagamento, " +
+                "valor_pagamento, observacao) FROM STDIN WITH (FORMAT csv, HEADER true)");
+
+        indexarTabelasStaging();
+
+        validarDespesas();
+        validarEmpenhos();
+        validarPagamentos();
+
+        Map<String, Long[]> contagens = contarLinhas();
+        String arquivoRejeicoes = exportarRejeicoes();
+
+        mesclarDespesas(usuario.getId());
+        mesclarEmpenhos(usuario.getId());
+        mesclarPagamentos(usuario.getId());
+        recalcularStatusDespesas();
+
+        long duracao = System.currentTimeMillis() - inicio;
+        logger.info("Carga histórica concluída em {} ms por {}", duracao, userName);
+
+        return CargaHistoricaResponseDTO.builder()
+                .despesasRecebidas(contagens.get("stg_despesas")[0])
+                .despesasImportadas(contagens.get("stg_despesas")[1])
+                .despesasRejeitadas(contagens.get("stg_despesas")[0] - contagens.get("stg_despesas")[1])
+                .empenhosRecebidos(contagens.get("stg_empenhos")[0])
+                .empenhosImportados(contagens.get("stg_empenhos")[1])
+                .empenhosRejeitados(contagens.get("stg_empenhos")[0] - contagens.get("stg_empenhos")[1])
+                .pagamentosRecebidos(contagens.get("stg_pagamentos")[0])
+                .pagamentosImportados(contagens.get("stg_pagamentos")[1])
+                .pagamentosRejeitados(contagens.get("stg_pagamentos")[0] - contagens.get("stg_pagamentos")[1])
+                .arquivoRejeicoes(arquivoRejeicoes)
+                .duracaoMs(duracao)
+                .dataCarga(LocalDateTime.now())
+                .build();
+    }
+
+    // ==========================================
+    // STAGING
+    // ==========================================
+
+    private void criarTabelasStaging() {
+        // Todas as colunas são texto para que linhas malformadas sejam rejeitadas
+        // na validação em vez de abortar o COPY inteiro
+        jdbcTemplate.execute("CREATE TEMP TABLE stg_despesas (" +
+                "linha bigserial, numero_protocolo text, tipo_despesa text, data_protocolo text, " +
+                "data_vencimento text, credor_despesas text, descricao_despesas text, " +
+                "valor_despesas text, motivo text) ON COMMIT DROP");
+        jdbcTemplate.execute("CREATE TEMP TABLE stg_empenhos (" +
+                "linha bigserial, numero_empenho text, numero_protocolo text, data_empenho text, " +
+                "valor text, observacao text, motivo text) ON COMMIT DROP");
+        jdbcTemplate.execute("CREATE TEMP TABLE stg_pagamentos (" +
+                "linha bigserial, numero_pagamento text, numero_empenho text, data_pagamento text, " +
+                "valor_pagamento text, observacao text, motivo text) ON COMMIT DROP");
+
+        // Confirma que uma data bem formada também é uma data existente (ex: 2024-02-30)
+        jdbcTemplate.execute("CREATE OR REPLACE FUNCTION pg_temp.data_valida(valor text) RETURNS boolean AS $$ " +
+                "BEGIN PERFORM valor::timestamp; RETURN true; " +
+                "EXCEPTION WHEN others THEN RETURN false; END; $$ LANGUAGE plpgsql IMMUTABLE");
+
+        // Dígito verificador do protocolo, o mesmo do ProtocoloGeneratorService: módulo 11
+        // com pesos de 2 a 9 da direita para a esquerda sobre órgão, sequencial e ano
+        jdbcTemplate.execute("CREATE OR REPLACE FUNCTION pg_temp.digito_protocolo(numero text) RETURNS text AS $$ " +
+                "SELECT lpad((CASE WHEN d >= 10 THEN 0 ELSE d END)::text, 2, '0') FROM (" +
+                "  SELECT 11 - SUM(substr(numero, length(numero) - i, 1)::int * (2 + i % 8)) % 11 AS d " +
+                "  FROM generate_series(0, length(numero) - 1) i) s $$ LANGUAGE sql IMMUTABLE");
+    }
+
+    private void copiarArquivo(MultipartFile arquivo, String sql) {
+        if (arquivo == null || arquivo.isEmpty()) {
+            return;
+        }
+
+        Long linhas = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try (InputStream entrada = arquivo.getInputStream()) {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, entrada);
+            } catch (IOException e) {
+                throw new BusinessException("carga.leitura-arquivo", "Falha ao ler o arquivo " + arquivo.getOriginalFilename(), e);
+            }
+        });
+
+        logger.info("Arquivo {} copiado para staging: {} linhas", arquivo.getOriginalFilename(), linhas);
+    }
+
+    private void indexarTabelasStaging() {
+        jdbcTemplate.execute("CREATE INDEX ON stg_despesas (numero_protocolo)");
+        jdbcTemplate.execute("CREATE INDEX ON stg_empenhos (numero_empenho)");
+        jdbcTemplate.execute("CREATE INDEX ON stg_empenhos (numero_protocolo)");
+        jdbcTemplate.execute("CREATE INDEX ON stg_pagamentos (numero_pagamento)");
+        jdbcTemplate.execute("CREATE INDEX ON stg_pagamentos (numero_empenho)");
+
+        // Tabelas temporárias não são analisadas pelo autovacuum
+        jdbcTemplate.execute("ANALYZE stg_despesas");
+        jdbcTemplate.execute("ANALYZE stg_empenhos");
+        jdbcTemplate.execute("ANALYZE stg_pagamentos");
+    }
+
+    // ==========================================
+    // MÉTODOS DE VALIDAÇÃO
+    // ==========================================
+
+    private void validarDespesas() {
+        String tiposValidos = Arrays.stream(TipoDespesa.values())
+                .map(tipo -> "'" + tipo.name() + "'")
+                .collect(Collectors.joining(", "));
+
+        rejeitar("stg_despesas", "Número de protocolo ausente",
+                "NULLIF(btrim(numero_protocolo), '') IS NULL");
+        rejeitar("stg_despesas", "Número de protocolo fora do formato orgao.sequencial/ano-digito",
+                "numero_protocolo !~ " + REGEX_PROTOCOLO);
+        rejeitar("stg_despesas", "Dígito verificador do protocolo inválido",
+                "right(numero_protocolo, 2) <> pg_temp.digito_protocolo(substr(numero_protocolo, 1, 5) " +
+                "|| substr(numero_protocolo, 7, 6) || substr(numero_protocolo, 14, 4))");
+        rejeitar("stg_despesas", "Número de protocolo duplicado no arquivo",
+                "numero_protocolo IN (SELECT numero_protocolo FROM stg_despesas " +
+                "GROUP BY numero_protocolo HAVING COUNT(*) > 1)");
+        rejeitar("stg_despesas", "Número de protocolo já cadastrado",
+                "EXISTS (SELECT 1 FROM despesas d WHERE d.numero_protocolo = stg_despesas.numero_protocolo)");
+        rejeitar("stg_despesas", "Tipo de despesa inválido",
+                "tipo_despesa IS NULL OR tipo_despesa NOT IN (" + tiposValidos + ")");
+        rejeitar("stg_despesas", "Data do protocolo inválida",
+                "data_protocolo IS NULL OR data_protocolo !~ " + REGEX_DATA_HORA +
+                " OR NOT pg_temp.data_valida(data_protocolo)");
+        rejeitar("stg_despesas", "Data de vencimento inválida",
+                "data_vencimento IS NULL OR data_vencimento !~ " + REGEX_DATA +
+                " OR NOT pg_temp.data_valida(data_vencimento)");
+        rejeitar("stg_despesas", "Credor da despesa ausente",
+                "NULLIF(btrim(credor_despesas), '') IS NULL");
+        rejeitar("stg_despesas", "Descrição da despesa ausente",
+                "NULLIF(btrim(descricao_despesas), '') IS NULL");
+        rejeitar("stg_despesas", "Valor da despesa inválido",
+                valorInvalido("valor_despesas"));
+    }
+
+    private void validarEmpenhos() {
+        rejeitar("stg_empenhos", "Número do empenho fora do formato anoNEsequencial",
+                "numero_empenho IS NULL OR numero_empenho !~ '^\\d{4}NE\\d{4}$'");
+        rejeitar("stg_empenhos", "Número do empenho duplicado no arquivo",
+                "numero_empenho IN (SELECT numero_empenho FROM stg_empenhos " +
+                "GROUP BY numero_empenho HAVING COUNT(*) > 1)");
+        rejeitar("stg_empenhos", "Número do empenho já cadastrado",
+                "EXISTS (SELECT 1 FROM empenhos e WHERE e.numero_empenho = stg_empenhos.numero_empenho)");
+        rejeitar("stg_empenhos", "Data do empenho inválida",
+                "data_empenho IS NULL OR data_empenho !~ " + REGEX_DATA +
+                " OR NOT pg_temp.data_valida(data_empenho)");
+        rejeitar("stg_empenhos", "Valor do empenho inválido",
+                valorInvalido("valor"));
+        rejeitar("stg_empenhos", "Despesa não encontrada",
+                "NOT EXISTS (SELECT 1 FROM stg_despesas d WHERE d.motivo IS NULL " +
+                "AND d.numero_protocolo = stg_empenhos.numero_protocolo) " +
+                "AND NOT EXISTS (SELECT 1 FROM despesas d WHERE d.numero_protocolo = stg_empenhos.numero_protocolo)");
+
+        // Soma dos empenhos (já cadastrados + carga) não pode ultrapassar o valor da despesa
+        int rejeitados = jdbcTemplate.update(
+                "WITH alvo AS (" +
+                "  SELECT d.numero_protocolo, d.valor_despesas::numeric AS valor, 0::numeric AS ja_empenhado " +
+                "  FROM stg_despesas d WHERE d.motivo IS NULL " +
+                "  UNION ALL " +
+                "  SELECT d.numero_protocolo, d.valor_despesas, " +
+                "         COALESCE((SELECT SUM(e.valor) FROM empenhos e WHERE e.despesa_id = d.id), 0) " +
+                "  FROM despesas d " +
+                "  WHERE d.numero_protocolo IN (SELECT numero_protocolo FROM stg_empenhos WHERE motivo IS NULL)" +
+                "), excedidas AS (" +
+                "  SELECT a.numero_protocolo FROM alvo a " +
+                "  JOIN stg_empenhos s ON s.numero_protocolo = a.numero_protocolo AND s.motivo IS NULL " +
+                "  GROUP BY a.numero_protocolo, a.valor, a.ja_empenhado " +
+                "  HAVING a.ja_empenhado + SUM(s.valor::numeric) > a.valor" +
+                ") " +
+                "UPDATE stg_empenhos s SET motivo = 'Soma dos empenhos excede o valor da despesa' " +
+                "FROM excedidas x WHERE s.numero_protocolo = x.numero_protocolo AND s.motivo IS NULL");
+        logRejeicoes("stg_empenhos", "Soma dos empenhos excede o valor da despesa", rejeitados);
+    }
+
+    private void validarPagamentos() {
+        rejeitar("stg_pagamentos", "Número do pagamento fora do formato anoNPsequencial",
+                "numero_pagamento IS NULL OR numero_pagamento !~ '^\\d{4}NP\\d{4}$'");
+        rejeitar("stg_pagamentos", "Número do pagamento duplicado no arquivo",
+                "numero_pagamento IN (SELECT numero_pagamento FROM stg_pagamentos " +
+                "GROUP BY numero_pagamento HAVING COUNT(*) > 1)");
+        rejeitar("stg_pagamentos", "Número do pagamento já cadastrado",
+                "EXISTS (SELECT 1 FROM pagamentos p WHERE p.numero_pagamento = stg_pagamentos.numero_pagamento)");
+        rejeitar("stg_pagamentos", "Data do pagamento inválida",
+                "data_pagamento IS NULL OR data_pagamento !~ " + REGEX_DATA +
+                " OR NOT pg_temp.data_valida(data_pagamento)");
+        rejeitar("stg_pagamentos", "Valor do pagamento inválido",
+                valorInvalido("valor_pagamento"));
+        rejeitar("stg_pagamentos", "Empenho não encontrado",
+                "NOT EXISTS (SELECT 1 FROM stg_empenhos e WHERE e.motivo IS NULL " +
+                "AND e.numero_empenho = stg_pagamentos.numero_empenho) " +
+                "AND NOT EXISTS (SELECT 1 FROM empenhos e WHERE e.numero_empenho = stg_pagamentos.numero_empenho)");
+
+        // Soma dos pagamentos (já cadastrados + carga) não pode ultrapassar o valor do empenho
+        int rejeitados = jdbcTemplate.update(
+                "WITH alvo AS (" +
+                "  SELECT e.numero_empenho, e.valor::numeric AS valor, 0::numeric AS ja_pago " +
+                "  FROM stg_empenhos e WHERE e.motivo IS NULL " +
+                "  UNION ALL " +
+                "  SELECT e.numero_empenho, e.valor, " +
+                "         COALESCE((SELECT SUM(p.valor_pagamento) FROM pagamentos p WHERE p.empenho_id = e.id), 0) " +
+                "  FROM empenhos e " +
+                "  WHERE e.numero_empenho IN (SELECT numero_empenho FROM stg_pagamentos WHERE motivo IS NULL)" +
+                "), excedidos AS (" +
+                "  SELECT a.numero_empenho FROM alvo a " +
+                "  JOIN stg_pagamentos s ON s.numero_empenho = a.numero_empenho AND s.motivo IS NULL " +
+                "  GROUP BY a.numero_empenho, a.valor, a.ja_pago " +
+                "  HAVING a.ja_pago + SUM(s.valor_pagamento::numeric) > a.valor" +
+                ") " +
+                "UPDATE stg_pagamentos s SET motivo = 'Soma dos pagamentos excede o valor do empenho' " +
+                "FROM excedidos x WHERE s.numero_empenho = x.numero_empenho AND s.motivo IS NULL");
+        logRejeicoes("stg_pagamentos", "Soma dos pagamentos excede o valor do empenho", rejeitados);
+    }
+
+    /**
+     * Marca com o motivo informado as linhas ainda válidas que satisfazem a condição
+     */
+    private void rejeitar(String tabela, String motivo, String condicao) {
+        int rejeitados = jdbcTemplate.update(
+                "UPDATE " + tabela + " SET motivo = ? WHERE motivo IS NULL AND (" + condicao + ")", motivo);
+        logRejeicoes(tabela, motivo, rejeitados);
+    }
+
+    /**
+     * O CASE garante que o cast só é avaliado em textos já validados pela expressão regular
+     */
+    private String valorInvalido(String coluna) {
+        return "CASE WHEN " + coluna + " ~ " + REGEX_VALOR + " THEN " + coluna + "::numeric <= 0 ELSE true END";
+    }
+
+    private void logRejeicoes(String tabela, String motivo, int quantidade) {
+        if (quantidade > 0) {
+            logger.warn("Carga histórica: {} linhas rejeitadas em {} ({})", quantidade, tabela, motivo);
+        }
+    }
+
+    // ==========================================
+    // MESCLAGEM NAS TABELAS DEFINITIVAS
+    // ==========================================
+
+    private void mesclarDespesas(Long usuarioId) {
+        jdbcTemplate.update(
+                "INSERT INTO despesas (numero_protocolo, tipo_despesa, data_protocolo, data_vencimento, " +
+                "credor_despesas, descricao_despesas, valor_despesas, status, usuario_criador_id, " +
+                "data_criacao, data_atualizacao) " +
+                "SELECT numero_protocolo, tipo_despesa, data_protocolo::timestamp, data_vencimento::date, " +
+                "credor_despesas, descricao_despesas, valor_despesas::numeric, 'AGUARDANDO_EMPENHO', ?, " +
+                "now(), now() " +
+                "FROM stg_despesas WHERE motivo IS NULL ORDER BY linha", usuarioId);
+    }
+
+    private void mesclarEmpenhos(Long usuarioId) {
+        jdbcTemplate.update(
+                "INSERT INTO empenhos (numero_empenho, data_empenho, valor, observacao, despesa_id, " +
+                "usuario_criador_id, data_criacao, data_atualizacao) " +
+                "SELECT s.numero_empenho, s.data_empenho::date, s.valor::numeric, s.observacao, d.id, ?, " +
+                "now(), now() " +
+                "FROM stg_empenhos s JOIN despesas d ON d.numero_protocolo = s.numero_protocolo " +
+                "WHERE s.motivo IS NULL ORDER BY s.linha", usuarioId);
+    }
+
+    private void mesclarPagamentos(Long usuarioId) {
+        jdbcTemplate.update(
+                "INSERT INTO pagamentos (numero_pagamento, data_pagamento, valor_pagamento, observacao, " +
+                "empenho_id, usuario_criador_id, data_criacao, data_atualizacao) " +
+                "SELECT s.numero_pagamento, s.data_pagamento::date, s.valor_pagamento::numeric, s.observacao, " +
+                "e.id, ?, now(), now() " +
+                "FROM stg_pagamentos s JOIN empenhos e ON e.numero_empenho = s.numero_empenho " +
+                "WHERE s.motivo IS NULL ORDER BY s.linha", usuarioId);
+    }
+
+    /**
+     * Recalcula o status das despesas afetadas com as mesmas regras de Despesa.calculateStatus()
+     */
+    private void recalcularStatusDespesas() {
+        jdbcTemplate.update(
+                "WITH afetadas AS (" +
+                "  SELECT d.id FROM despesas d JOIN stg_despesas s ON s.numero_protocolo = d.numero_protocolo " +
+                "  WHERE s.motivo IS NULL " +
+                "  UNION " +
+                "  SELECT d.id FROM despesas d JOIN stg_empenhos s ON s.numero_protocolo = d.numero_protocolo " +
+                "  WHERE s.motivo IS NULL " +
+                "  UNION " +
+                "  SELECT e.despesa_id FROM empenhos e JOIN stg_pagamentos s ON s.numero_empenho = e.numero_empenho " +
+                "  WHERE s.motivo IS NULL" +
+                "), totais AS (" +
+                "  SELECT d.id, d.valor_despesas AS valor, COUNT(e.id) AS quantidade_empenhos, " +
+                "         COALESCE(SUM(e.valor), 0) AS empenhado, COALESCE(SUM(p.total), 0) AS pago " +
+                "  FROM despesas d JOIN afetadas a ON a.id = d.id " +
+                "  LEFT JOIN empenhos e ON e.despesa_id = d.id " +
+                "  LEFT JOIN (SELECT empenho_id, SUM(valor_pagamento) AS total FROM pagamentos " +
+                "             GROUP BY empenho_id) p ON p.empenho_id = e.id " +
+                "  GROUP BY d.id, d.valor_despesas" +
+                ") " +
+                "UPDATE despesas d SET status = CASE " +
+                "  WHEN t.quantidade_empenhos = 0 THEN 'AGUARDANDO_EMPENHO' " +
+                "  WHEN t.pago = t.valor THEN 'PAGA' " +
+                "  WHEN t.empenhado < t.valor THEN 'PARCIALMENTE_EMPENHADA' " +
+                "  WHEN t.empenhado = t.valor AND t.pago = 0 THEN 'AGUARDANDO_PAGAMENTO' " +
+                "  WHEN t.empenhado = t.valor AND t.pago < t.valor THEN 'PARCIALMENTE_PAGA' " +
+                "  ELSE 'AGUARDANDO_EMPENHO' END, " +
+                "data_atualizacao = now() " +
+                "FROM totais t WHERE d.id = t.id");
+    }
+
+    // ==========================================
+    // MÉTODOS AUXILIARES
+    // ==========================================
+
+    /**
+     * Retorna, por tabela de staging, [linhas recebidas, linhas válidas]
+     */
+    private Map<String, Long[]> contarLinhas() {
+        return Map.of(
+                "stg_despesas", contarLinhas("stg_despesas"),
+                "stg_empenhos", contarLinhas("stg_empenhos"),
+                "stg_pagamentos", contarLinhas("stg_pagamentos"));
+    }
+
+    private Long[] contarLinhas(String tabela) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*), COUNT(*) FILTER (WHERE motivo IS NULL) FROM " + tabela,
+                (rs, rowNum) -> new Long[] { rs.getLong(1), rs.getLong(2) });
+    }
+
+    /**
+     * Grava as linhas rejeitadas em CSV (entidade, linha do arquivo, chave, motivo).
+     * Retorna o caminho do arquivo ou null se não houve rejeições.
+     */
+    private String exportarRejeicoes() {
+        Integer rejeicoes = jdbcTemplate.queryForObject(
+                "SELECT (SELECT COUNT(*) FROM stg_despesas WHERE motivo IS NOT NULL) + " +
+                "(SELECT COUNT(*) FROM stg_empenhos WHERE motivo IS NOT NULL) + " +
+                "(SELECT COUNT(*) FROM stg_pagamentos WHERE motivo IS NOT NULL)", Integer.class);
+
+        if (rejeicoes == null || rejeicoes == 0) {
+            return null;
+        }
+
+        // linha + 1 para compensar o cabeçalho do CSV
+        String sql = "COPY (" +
+                "SELECT 'DESPESA' AS entidade, linha + 1 AS linha, numero_protocolo AS chave, motivo " +
+                "FROM stg_despesas WHERE motivo IS NOT NULL " +
+                "UNION ALL " +
+                "SELECT 'EMPENHO', linha + 1, numero_empenho, motivo FROM stg_empenhos WHERE motivo IS NOT NULL " +
+                "UNION ALL " +
+                "SELECT 'PAGAMENTO', linha + 1, numero_pagamento, motivo FROM stg_pagamentos WHERE motivo IS NOT NULL " +
+                "ORDER BY entidade, linha" +
+                ") TO STDOUT WITH (FORMAT csv, HEADER true)";
+
+        Path arquivo = Paths.get(diretorioRejeicoes,
+                "rejeicoes-" + LocalDateTime.now().format(FORMATO_ARQUIVO) + ".csv");
+
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                Files.createDirectories(arquivo.getParent());
+                try (OutputStream saida = new BufferedOutputStream(Files.newOutputStream(arquivo))) {
+                    return connection.unwrap(PGConnection.class).getCopyAPI().copyOut(sql, saida);
+                }
+            } catch (IOException e) {
+                throw new BusinessException("carga.gravacao-rejeicoes", "Falha ao gravar o arquivo de rejeições " + arquivo, e);
+            }
+        });
+
+        logger.warn("Carga histórica: {} linhas rejeitadas, detalhes em {}", rejeicoes, arquivo);
+        return arquivo.toString();
+    }
+
+    private Usuario buscarAdministrador(String userName) {
+        Usuario usuario = usuarioRepository.findByUserName(userName)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                    "Usuário não encontrado: " + userName));
+
+        if (usuario.getTipoUser() != TipoUsuario.ADMIN) {
+            throw new UnauthorizedException("Apenas administradores podem executar a carga histórica");
+        }
+        return usuario;
+    }
+}
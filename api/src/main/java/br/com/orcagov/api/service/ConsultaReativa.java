@@ -0,0 +1,108 @@
+package br.com.orcagov.api.service;
+
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Consulta SQL da API de leitura reativa, com filtros opcionais.
+ *
+ * Cada filtro só entra no WHERE quando o valor foi informado, evitando o padrão
+ * "(:x IS NULL OR ...)" que impede o PostgreSQL de inferir o tipo do parâmetro
+ * nulo e de usar índices.
+ */
+class ConsultaReativa {
+
+    private final String select;
+    private final List<String> condicoes = new ArrayList<>();
+    private final Map<String, Object> parametros = new LinkedHashMap<>();
+    private String ordenacao = "";
+    private String paginacao = "";
+
+    private ConsultaReativa(String select) {
+        this.select = select;
+    }
+
+    static ConsultaReativa de(String select) {
+        return new ConsultaReativa(select);
+    }
+
+    /**
+     * Adiciona a condição se o valor foi informado; a condição referencia o parâmetro como :nome
+     */
+    ConsultaReativa onde(String condicao, String nome, Object valor) {
+        if (valor != null) {
+            condicoes.add(condicao);
+            parametros.put(nome, valor instanceof Enum<?> constante ? constante.name() : valor);
+        }
+        return this;
+    }
+
+    ConsultaReativa onde(String condicao) {
+        condicoes.add(condicao);
+        return this;
+    }
+
+    ConsultaReativa ordenarPor(String ordenacao) {
+        this.ordenacao = " ORDER BY " + ordenacao;
+        return this;
+    }
+
+    /**
+     * Página opcional: sem tamanho, a consulta devolve todas as linhas. Só para o
+     * streaming NDJSON; respostas JSON usam {@link #paginarLimitado}.
+     */
+    ConsultaReativa paginar(Integer pagina, Integer tamanho) {
+        if (tamanho != null && tamanho > 0) {
+            int numeroPagina = pagina != null && pagina > 0 ? pagina : 0;
+            this.paginacao = " LIMIT " + tamanho + " OFFSET " + ((long) numeroPagina * tamanho);
+        }
+        return this;
+    }
+
+    /**
+     * Página sempre limitada: em application/json o Spring MVC junta o Flux numa
+     * lista antes de responder, então sem tamanho vale o padrão (como na v1) e
+     * nenhum tamanho passa do máximo.
+     */
+    ConsultaReativa paginarLimitado(Integer pagina, Integer tamanho, int tamanhoPadrao, int tamanhoMaximo) {
+        int tamanhoPagina = tamanho != null && tamanho > 0 ? tamanho : tamanhoPadrao;
+        return paginar(pagina, Math.min(tamanhoPagina, tamanhoMaximo));
+    }
+
+    /**
+     * Executa a consulta buscando {@code fetchSize} linhas por vez: o driver só lê
+     * o próximo bloco quando o assinante pede mais elementos.
+     */
+    <T> Flux<T> listar(DatabaseClient databaseClient, int fetchSize, Function<Row, T> mapeador) {
+        StringBuilder sql = new StringBuilder(select);
+        if (!condicoes.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", condicoes));
+        }
+        sql.append(ordenacao).append(paginacao);
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .filter(statement -> statement.fetchSize(fetchSize));
+        for (Map.Entry<String, Object> parametro : parametros.entrySet()) {
+            spec = spec.bind(parametro.getKey(), parametro.getValue());
+        }
+        return spec.map((row, metadata) -> mapeador.apply(row)).all();
+    }
+
+    /**
+     * Completa os itens em lotes (ex.: filhos de cada registro em uma única consulta
+     * por lote), preservando a ordem. Um lote só é lido depois que o anterior foi
+     * consumido, então a demanda do cliente continua controlando a leitura.
+     */
+    static <T> Flux<T> completarEmLotes(Flux<T> itens, int lote, Function<List<T>, Mono<Void>> completar) {
+        return itens.buffer(lote)
+                .concatMap(grupo -> completar.apply(grupo).thenMany(Flux.fromIterable(grupo)), 1);
+    }
+}
@@ -0,0 +1,227 @@
+package br.com.orcagov.api.service;
+
+import br.com.orcagov.api.dto.Response.DespesaResponseDTO;
+import br.com.orcagov.api.dto.Response.EmpenhoResumoDTO;
+import br.com.orcagov.api.entity.enums.StatusDespesa;
+import br.com.orcagov.api.entity.enums.TipoDespesa;
+import br.com.orcagov.api.exception.ResourceNotFoundException;
+
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Consultas de despesas da API de leitura reativa (/v2).
+ *
+ * Devolve os mesmos DTOs do DespesaService. Os totais empenhado e pago vêm na
+ * própria consulta e os empenhos de cada despesa são lidos em uma consulta por
+ * lote, sem o N+1 das coleções lazy do JPA.
+ */
+@Service
+public class DespesaReativaService {
+
+    private static final String SELECT_DESPESAS =
+            "SELECT d.id, d.numero_protocolo, d.tipo_despesa, d.data_protocolo, d.data_vencimento, " +
+            "d.credor_despesas, d.descricao_despesas, d.valor_despesas, d.status, d.data_criacao, d.data_atualizacao, " +
+            "COALESCE((SELECT SUM(e.valor) FROM empenhos e WHERE e.despesa_id = d.id), 0) AS valor_total_empenhado, " +
+            "COALESCE((SELECT SUM(p.valor_pagamento) FROM pagamentos p JOIN empenhos e ON e.id = p.empenho_id " +
+            "WHERE e.despesa_id = d.id), 0) AS valor_total_pago " +
+            "FROM despesas d";
+
+    private static final String SELECT_EMPENHOS_DAS_DESPESAS =
+            "SELECT e.despesa_id, e.id, e.numero_empenho, e.data_empenho, e.valor, " +
+            "COALESCE(SUM(p.valor_pagamento), 0) AS valor_pago " +
+            "FROM empenhos e LEFT JOIN pagamentos p ON p.empenho_id = e.id " +
+            "WHERE e.despesa_id = ANY(:ids) GROUP BY e.id ORDER BY e.id";
+
+    private static final String SELECT_ESTATISTICAS =
+            "SELECT COUNT(*) AS total_despesas, COALESCE(SUM(d.valor_despesas), 0) AS valor_total_despesas, " +
+            "(SELECT COALESCE(SUM(e.valor), 0) FROM empenhos e) AS valor_total_empenhado, " +
+            "(SELECT COALESCE(SUM(p.valor_pagamento), 0) FROM pagamentos p) AS valor_total_pago, " +
+            "COUNT(*) FILTER (WHERE d.data_vencimento < :hoje) AS despesas_vencidas " +
+            "FROM despesas d";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Value("${orcagov.leitura-reativa.lote:100}")
+    private int tamanhoLote;
+
+    @Value("${orcagov.leitura-reativa.fetch-size:200}")
+    private int fetchSize;
+
+    @Value("${orcagov.leitura-reativa.pagina.tamanho-padrao:20}")
+    private int tamanhoPaginaPadrao;
+
+    @Value("${orcagov.leitura-reativa.pagina.tamanho-maximo:2000}")
+    private int tamanhoPaginaMaximo;
+
+    // ==========================================
+    // CONSULTAS INDIVIDUAIS
+    // ==========================================
+
+    public Mono<DespesaResponseDTO> buscarPorId(Long id) {
+        return listar(ConsultaReativa.de(SELECT_DESPESAS).onde("d.id = :id", "id", id))
+                .next()
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Despesa não encontrada com ID: " + id)));
+    }
+
+    public Mono<DespesaResponseDTO> buscarPorProtocolo(String numeroProtocolo) {
+        return listar(ConsultaReativa.de(SELECT_DESPESAS)
+                        .onde("d.numero_protocolo = :numeroProtocolo", "numeroProtocolo", numeroProtocolo))
+                .next()
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(
+                    "Despesa não encontrada com o protocolo: " + numeroProtocolo)));
+    }
+
+    // ==========================================
+    // LISTAGENS
+    // ==========================================
+
+    /**
+     * Todas as despesas em ordem de id. Em streaming, sem tamanho de página, todas;
+     * fora dele a página é limitada
+     */
+    public Flux<DespesaResponseDTO> listarTodas(Integer pagina, Integer tamanho, boolean streaming) {
+        ConsultaReativa consulta = ConsultaReativa.de(SELECT_DESPESAS).ordenarPor("d.id");
+        return listar(streaming
+                ? consulta.paginar(pagina, tamanho)
+                : consulta.paginarLimitado(pagina, tamanho, tamanhoPaginaPadrao, tamanhoPaginaMaximo));
+    }
+
+    public Flux<DespesaResponseDTO> buscarComFiltros(
+            String numeroProtocolo,
+            TipoDespesa tipoDespesa,
+            StatusDespesa status,
+            String credor,
+            LocalDate dataInicio,
+            LocalDate dataFim) {
+
+        return listar(ConsultaReativa.de(SELECT_DESPESAS)
+                .onde("d.numero_protocolo = :numeroProtocolo", "numeroProtocolo", numeroProtocolo)
+                .onde("d.tipo_despesa = :tipoDespesa", "tipoDespesa", tipoDespesa)
+                .onde("d.status = :status", "status", status)
+                .onde("LOWER(d.credor_despesas) LIKE LOWER('%' || :credor || '%')", "credor", credor)
+                .onde("d.data_vencimento >= :dataInicio", "dataInicio", dataInicio)
+                .onde("d.data_vencimento <= :dataFim", "dataFim", dataFim)
+                .ordenarPor("d.id"));
+    }
+
+    public Flux<DespesaResponseDTO> buscarDespesasVencidas() {
+        return listar(ConsultaReativa.de(SELECT_DESPESAS)
+                .onde("d.data_vencimento < :hoje", "hoje", LocalDate.now())
+                .ordenarPor("d.data_vencimento, d.id"));
+    }
+
+    public Flux<DespesaResponseDTO> buscarDespesasVencendoEm(int dias) {
+        LocalDate hoje = LocalDate.now();
+        return listar(ConsultaReativa.de(SELECT_DESPESAS)
+                .onde("d.data_vencimento >= :hoje", "hoje", hoje)
+                .onde("d.data_vencimento <= :dataLimite", "dataLimite", hoje.plusDays(dias))
+                .ordenarPor("d.data_vencimento, d.id"));
+    }
+
+    public Flux<DespesaResponseDTO> buscarPorTipo(TipoDespesa tipoDespesa) {
+        return listar(ConsultaReativa.de(SELECT_DESPESAS)
+                .onde("d.tipo_despesa = :tipoDespesa", "tipoDespesa", tipoDespesa)
+                .ordenarPor("d.id"));
+    }
+
+    public Flux<DespesaResponseDTO> buscarPorStatus(StatusDespesa status) {
+        return listar(ConsultaReativa.de(SELECT_DESPESAS)
+                .onde("d.status = :status", "status", status)
+                .ordenarPor("d.id"));
+    }
+
+    // ==========================================
+    // ESTATÍSTICAS
+    // ==========================================
+
+    public Mono<DespesaService.DespesaEstatisticasDTO> obterEstatisticas() {
+        return databaseClient.sql(SELECT_ESTATISTICAS)
+                .bind("hoje", LocalDate.now())
+                .map((row, metadata) -> {
+                    BigDecimal valorTotal = row.get("valor_total_despesas", BigDecimal.class);
+                    BigDecimal valorEmpenhado = row.get("valor_total_empenhado", BigDecimal.class);
+                    return DespesaService.DespesaEstatisticasDTO.builder()
+                            .totalDespesas(row.get("total_despesas", Long.class))
+                            .valorTotalDespesas(valorTotal)
+                            .valorTotalEmpenhado(valorEmpenhado)
+                            .valorTotalPago(row.get("valor_total_pago", BigDecimal.class))
+                            .valorRestante(valorTotal.subtract(valorEmpenhado))
+                            .despesasVencidas(row.get("despesas_vencidas", Long.class))
+                            .build();
+                })
+                .one();
+    }
+
+    // ==========================================
+    // MÉTODOS AUXILIARES
+    // ==========================================
+
+    private Flux<DespesaResponseDTO> listar(ConsultaReativa consulta) {
+        return ConsultaReativa.completarEmLotes(
+                consulta.listar(databaseClient, fetchSize, this::converterParaResponseDTO),
+                tamanhoLote,
+                this::carregarEmpenhos);
+    }
+
+    private Mono<Void> carregarEmpenhos(List<DespesaResponseDTO> despesas) {
+        Map<Long, DespesaResponseDTO> porId = despesas.stream()
+                .collect(Collectors.toMap(DespesaResponseDTO::getId, Function.identity()));
+
+        return databaseClient.sql(SELECT_EMPENHOS_DAS_DESPESAS)
+                .bind("ids", porId.keySet().toArray(new Long[0]))
+                .map((row, metadata) -> {
+                    porId.get(row.get("despesa_id", Long.class)).getEmpenhos().add(EmpenhoResumoDTO.builder()
+                            .id(row.get("id", Long.class))
+                            .numeroEmpenho(row.get("numero_empenho", String.class))
+                            .dataEmpenho(row.get("data_empenho", LocalDate.class))
+                            .valor(row.get("valor", BigDecimal.class))
+                            .valorPago(row.get("valor_pago", BigDecimal.class))
+                            .build());
+                    return Boolean.TRUE;
+                })
+                .all()
+                .then();
+    }
+
+    private DespesaResponseDTO converterParaResponseDTO(Row row) {
+        BigDecimal valorDespesas = row.get("valor_despesas", BigDecimal.class);
+        BigDecimal valorTotalEmpenhado = row.get("valor_total_empenhado", BigDecimal.class);
+        LocalDate dataVencimento = row.get("data_vencimento", LocalDate.class);
+        String status = row.get("status", String.class);
+
+        return DespesaResponseDTO.builder()
+                .id(row.get("id", Long.class))
+                .numeroProtocolo(row.get("numero_protocolo", String.class))
+                .tipoDespesa(TipoDespesa.valueOf(row.get("tipo_despesa", String.class)))
+                .dataProtocolo(row.get("data_protocolo", LocalDateTime.class))
+                .dataVencimento(dataVencimento)
+                .credorDespesas(row.get("credor_despesas", String.class))
+                .descricaoDespesas(row.get("descricao_despesas", String.class))
+                .valorDespesas(valorDespesas)
+                .status(status != null ? StatusDespesa.valueOf(status) : null)
+                .valorTotalEmpenhado(valorTotalEmpenhado)
+                .valorTotalPago(row.get("valor_total_pago", BigDecimal.class))
+                .valorRestante(valorDespesas.subtract(valorTotalEmpenhado))
+                .vencida(dataVencimento.isBefore(LocalDate.now()))
+                .empenhos(new ArrayList<>())
+                .dataCriacao(row.get("data_criacao", LocalDateTime.class))
+                .dataAtualizacao(row.get("data_atualizacao", LocalDateTime.class))
+                .build();
+    }
+}
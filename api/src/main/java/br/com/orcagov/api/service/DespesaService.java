@@ -2,18 +2,21 @@ package br.com.orcagov.api.service;
 
 import br.com.orcagov.api.dto.Request.DespesaRequestDTO;
 import br.com.orcagov.api.dto.Response.DespesaResponseDTO;
-import br.com.orcagov.api.dto.Response.DespesaResumoDTO;
-import br.com.orcagov.api.dto.Response.EmpenhoResumoDTO;
 import br.com.orcagov.api.entity.Despesa;
+import br.com.orcagov.api.entity.Money;
 import br.com.orcagov.api.entity.Usuario;
 import br.com.orcagov.api.entity.enums.StatusDespesa;
+import br.com.orcagov.api.entity.enums.TipoAgregado;
 import br.com.orcagov.api.entity.enums.TipoDespesa;
+import br.com.orcagov.api.entity.enums.TipoEventoOutbox;
 import br.com.orcagov.api.repository.DespesaRepository;
 import br.com.orcagov.api.repository.UsuarioRepository;
 import br.com.orcagov.api.exception.BusinessException;
 import br.com.orcagov.api.exception.ResourceNotFoundException;
+import br.com.orcagov.api.mapper.DtoMapper;
 
 
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -24,10 +27,12 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Observed(name = "orcagov.servico")
 public class DespesaService {
 
     @Autowired
@@ -39,6 +44,15 @@ public class DespesaService {
     @Autowired
     private ProtocoloGeneratorService protocoloGeneratorService;
 
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private AuditoriaService auditoriaService;
+
+    @Autowired
+    private DtoMapper dtoMapper;
+
     // ==========================================
     // MÉTODOS CRUD PRINCIPAIS
     // ==========================================
@@ -68,7 +82,11 @@ public class DespesaService {
         Despesa despesaSalva = despesaRepository.save(despesa);
         
         // Converter para DTO de resposta
-        return converterParaResponseDTO(despesaSalva);
+        DespesaResponseDTO response = dtoMapper.paraResponseDTO(despesaSalva);
+        outboxService.registrar(TipoAgregado.DESPESA, despesaSalva.getId(), TipoEventoOutbox.CRIADO, response);
+        auditoriaService.registrar(TipoAgregado.DESPESA, despesaSalva.getId(), TipoEventoOutbox.CRIADO,
+                null, auditoriaService.estado(despesaSalva), userName);
+        return response;
     }
 
     /**
@@ -77,7 +95,7 @@ public class DespesaService {
     @Transactional(readOnly = true)
     public DespesaResponseDTO buscarPorId(Long id) {
         Despesa despesa = buscarDespesaPorId(id);
-        return converterParaResponseDTO(despesa);
+        return dtoMapper.paraResponseDTO(despesa);
     }
 
     /**
@@ -89,7 +107,7 @@ public class DespesaService {
                 .orElseThrow(() -> new ResourceNotFoundException(
                     "Despesa não encontrada com o protocolo: " + numeroProtocolo));
         
-        return converterParaResponseDTO(despesa);
+        return dtoMapper.paraResponseDTO(despesa);
     }
 
     /**
@@ -98,7 +116,7 @@ public class DespesaService {
     @Transactional(readOnly = true)
     public Page<DespesaResponseDTO> listarTodas(Pageable pageable) {
         Page<Despesa> despesas = despesaRepository.findAll(pageable);
-        return despesas.map(this::converterParaResponseDTO);
+        return despesas.map(dtoMapper::paraResponseDTO);
     }
 
     /**
@@ -107,13 +125,15 @@ public class DespesaService {
     public DespesaResponseDTO atualizarDespesa(Long id, DespesaRequestDTO request, String userName) {
         // Buscar despesa existente
         Despesa despesa = buscarDespesaPorId(id);
+        Map<String, Object> estadoAnterior = auditoriaService.estado(despesa);
         
         // Validar se pode ser alterada
         validarSePermiteAlteracao(despesa);
         
         // Validar se mudança de valor não afeta empenhos
-        if (request.getValorDespesas().compareTo(despesa.getValorDespesas()) != 0) {
-            validarAlteracaoValor(despesa, request.getValorDespesas());
+        Money novoValor = Money.of(request.getValorDespesas());
+        if (!novoValor.equals(despesa.montante())) {
+            validarAlteracaoValor(despesa, novoValor);
         }
         
         // Atualizar campos
@@ -130,7 +150,11 @@ public class DespesaService {
         // Salvar alterações
         Despesa despesaAtualizada = despesaRepository.save(despesa);
         
-        return converterParaResponseDTO(despesaAtualizada);
+        DespesaResponseDTO response = dtoMapper.paraResponseDTO(despesaAtualizada);
+        outboxService.registrar(TipoAgregado.DESPESA, id, TipoEventoOutbox.ATUALIZADO, response);
+        auditoriaService.registrar(TipoAgregado.DESPESA, id, TipoEventoOutbox.ATUALIZADO,
+                estadoAnterior, auditoriaService.estado(despesaAtualizada), userName);
+        return response;
     }
 
     /**
@@ -143,6 +167,25 @@ public class DespesaService {
         validarSePermiteExclusao(despesa);
         
         despesaRepository.delete(despesa);
+        
+        outboxService.registrar(TipoAgregado.DESPESA, id, TipoEventoOutbox.EXCLUIDO,
+                Map.of("id", id, "numeroProtocolo", despesa.getNumeroProtocolo()));
+        auditoriaService.registrar(TipoAgregado.DESPESA, id, TipoEventoOutbox.EXCLUIDO,
+                auditoriaService.estado(despesa), null, userName);
+    }
+
+    /**
+     * Recalcular o status da despesa após alterações em seus empenhos ou pagamentos
+     */
+    public void atualizarStatus(Despesa despesa) {
+        StatusDespesa statusAnterior = despesa.getStatus();
+        despesa.setStatus(despesa.calculateStatus());
+        despesaRepository.save(despesa);
+        
+        if (despesa.getStatus() != statusAnterior) {
+            outboxService.registrar(TipoAgregado.DESPESA, despesa.getId(), TipoEventoOutbox.ATUALIZADO,
+                    dtoMapper.paraResponseDTO(despesa));
+        }
     }
 
     // ==========================================
@@ -165,7 +208,7 @@ public class DespesaService {
                 numeroProtocolo, tipoDespesa, status, credor, dataInicio, dataFim);
         
         return despesas.stream()
-                .map(this::converterParaResponseDTO)
+                .map(dtoMapper::paraResponseDTO)
                 .collect(Collectors.toList());
     }
 
@@ -178,7 +221,7 @@ public class DespesaService {
                 .findByDataVencimentoBeforeOrderByDataVencimentoAsc(LocalDate.now());
         
         return despesas.stream()
-                .map(this::converterParaResponseDTO)
+                .map(dtoMapper::paraResponseDTO)
                 .collect(Collectors.toList());
     }
 
@@ -194,7 +237,7 @@ public class DespesaService {
                 .findDespesasVencendoEm(hoje, dataLimite);
         
         return despesas.stream()
-                .map(this::converterParaResponseDTO)
+                .map(dtoMapper::paraResponseDTO)
                 .collect(Collectors.toList());
     }
 
@@ -206,7 +249,7 @@ public class DespesaService {
         List<Despesa> despesas = despesaRepository.findByTipoDespesa(tipoDespesa);
         
         return despesas.stream()
-                .map(this::converterParaResponseDTO)
+                .map(dtoMapper::paraResponseDTO)
                 .collect(Collectors.toList());
     }
 
@@ -218,7 +261,7 @@ public class DespesaService {
         List<Despesa> despesas = despesaRepository.findByStatus(status);
         
         return despesas.stream()
-                .map(this::converterParaResponseDTO)
+                .map(dtoMapper::paraResponseDTO)
                 .collect(Collectors.toList());
     }
 
@@ -228,23 +271,23 @@ public class DespesaService {
 
     private void validarSePermiteAlteracao(Despesa despesa) {
         if (despesa.getStatus() == StatusDespesa.PAGA) {
-            throw new BusinessException("Não é possível alterar despesa já paga");
+            throw new BusinessException("despesa.alteracao-paga", "Não é possível alterar despesa já paga");
         }
     }
 
     private void validarSePermiteExclusao(Despesa despesa) {
         if (!despesa.getEmpenhos().isEmpty()) {
-            throw new BusinessException("Não é possível excluir despesa que possui empenhos");
+            throw new BusinessException("despesa.exclusao-com-empenhos", "Não é possível excluir despesa que possui empenhos");
         }
     }
 
-    private void validarAlteracaoValor(Despesa despesa, BigDecimal novoValor) {
-        BigDecimal valorTotalEmpenhado = despesa.getValorTotalEmpenhado();
+    private void validarAlteracaoValor(Despesa despesa, Money novoValor) {
+        Money valorTotalEmpenhado = despesa.totalEmpenhado();
         
-        if (novoValor.compareTo(valorTotalEmpenhado) < 0) {
-            throw new BusinessException(
+        if (novoValor.isMenorQue(valorTotalEmpenhado)) {
+            throw new BusinessException("despesa.valor-abaixo-empenhado",
                 String.format("Novo valor (R$ %.2f) não pode ser menor que o valor já empenhado (R$ %.2f)",
-                    novoValor, valorTotalEmpenhado));
+                    novoValor.toBigDecimal(), valorTotalEmpenhado.toBigDecimal()));
         }
     }
 
@@ -264,55 +307,6 @@ public class DespesaService {
                     "Usuário não encontrado: " + userName));
     }
 
-    // ==========================================
-    // MÉTODOS DE CONVERSÃO DTO
-    // ==========================================
-
-    private DespesaResponseDTO converterParaResponseDTO(Despesa despesa) {
-        return DespesaResponseDTO.builder()
-                .id(despesa.getId())
-                .numeroProtocolo(despesa.getNumeroProtocolo())
-                .tipoDespesa(despesa.getTipoDespesa())
-                .dataProtocolo(despesa.getDataProtocolo())
-                .dataVencimento(despesa.getDataVencimento())
-                .credorDespesas(despesa.getCredorDespesas())
-                .descricaoDespesas(despesa.getDescricaoDespesas())
-                .valorDespesas(despesa.getValorDespesas())
-                .status(despesa.getStatus())
-                .valorTotalEmpenhado(despesa.getValorTotalEmpenhado())
-                .valorTotalPago(despesa.getValorTotalPago())
-                .valorRestante(despesa.getValorDespesas().subtract(despesa.getValorTotalEmpenhado()))
-                .vencida(despesa.getDataVencimento().isBefore(LocalDate.now()))
-                .empenhos(converterEmpenhosParaResumo(despesa))
-                .dataCriacao(despesa.getDataCriacao())
-                .dataAtualizacao(despesa.getDataAtualizacao())
-                .build();
-    }
-
-    private List<EmpenhoResumoDTO> converterEmpenhosParaResumo(Despesa despesa) {
-        return despesa.getEmpenhos().stream()
-                .map(empenho -> EmpenhoResumoDTO.builder()
-                        .id(empenho.getId())
-                        .numeroEmpenho(empenho.getNumeroEmpenho())
-                        .dataEmpenho(empenho.getDataEmpenho())
-                        .valor(empenho.getValor())
-                        .valorPago(empenho.getValorTotalPago())
-                        .build())
-                .collect(Collectors.toList());
-    }
-
-    public DespesaResumoDTO converterParaResumoDTO(Despesa despesa) {
-        return DespesaResumoDTO.builder()
-                .id(despesa.getId())
-                .numeroProtocolo(despesa.getNumeroProtocolo())
-                .tipoDespesa(despesa.getTipoDespesa())
-                .dataVencimento(despesa.getDataVencimento())
-                .credorDespesas(despesa.getCredorDespesas())
-                .valorDespesas(despesa.getValorDespesas())
-                .status(despesa.getStatus())
-                .build();
-    }
-
     // ==========================================
     // MÉTODOS PARA RELATÓRIOS E ESTATÍSTICAS
     // ==========================================
@@ -324,17 +318,9 @@ public class DespesaService {
     public DespesaEstatisticasDTO obterEstatisticas() {
         List<Despesa> todasDespesas = despesaRepository.findAll();
         
-        BigDecimal valorTotal = todasDespesas.stream()
-                .map(Despesa::getValorDespesas)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        BigDecimal valorEmpenhado = todasDespesas.stream()
-                .map(Despesa::getValorTotalEmpenhado)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        BigDecimal valorPago = todasDespesas.stream()
-                .map(Despesa::getValorTotalPago)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        Money valorTotal = Money.somar(todasDespesas, Despesa::montante);
+        Money valorEmpenhado = Money.somar(todasDespesas, Despesa::totalEmpenhado);
+        Money valorPago = Money.somar(todasDespesas, Despesa::totalPago);
         
         long despesasVencidas = todasDespesas.stream()
                 .filter(d -> d.getDataVencimento().isBefore(LocalDate.now()))
@@ -342,10 +328,10 @@ public class DespesaService {
         
         return DespesaEstatisticasDTO.builder()
                 .totalDespesas((long) todasDespesas.size())
-                .valorTotalDespesas(valorTotal)
-                .valorTotalEmpenhado(valorEmpenhado)
-                .valorTotalPago(valorPago)
-                .valorRestante(valorTotal.subtract(valorEmpenhado))
+                .valorTotalDespesas(valorTotal.toBigDecimal())
+                .valorTotalEmpenhado(valorEmpenhado.toBigDecimal())
+                .valorTotalPago(valorPago.toBigDecimal())
+                .valorRestante(valorTotal.minus(valorEmpenhado).toBigDecimal())
                 .despesasVencidas(despesasVencidas)
                 .build();
     }
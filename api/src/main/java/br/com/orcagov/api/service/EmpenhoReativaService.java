@@ -0,0 +1,252 @@
+package br.com.orcagov.api.service;
+
+import br.com.orcagov.api.dto.Response.DespesaResumoDTO;
+import br.com.orcagov.api.dto.Response.EmpenhoResponseDTO;
+import br.com.orcagov.api.dto.Response.PagamentoResumoDTO;
+import br.com.orcagov.api.entity.enums.StatusDespesa;
+import br.com.orcagov.api.entity.enums.TipoDespesa;
+import br.com.orcagov.api.exception.ResourceNotFoundException;
+
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Consultas de empenhos da API de leitura reativa (/v2).
+ *
+ * Devolve os mesmos DTOs do EmpenhoService; a despesa vem junto na consulta
+ * principal e os pagamentos de cada empenho são lidos em uma consulta por lote.
+ */
+@Service
+public class EmpenhoReativaService {
+
+    private static final String SELECT_EMPENHOS =
+            "SELECT e.id, e.numero_empenho, e.data_empenho, e.valor, e.observacao, e.data_criacao, e.data_atualizacao, " +
+            "d.id AS despesa_id, d.numero_protocolo, d.tipo_despesa, d.data_vencimento, d.credor_despesas, " +
+            "d.valor_despesas, d.status AS status_despesa, " +
+            "COALESCE((SELECT SUM(p.valor_pagamento) FROM pagamentos p WHERE p.empenho_id = e.id), 0) AS valor_total_pago " +
+            "FROM empenhos e JOIN despesas d ON d.id = e.despesa_id";
+
+    private static final String SELECT_PAGAMENTOS_DOS_EMPENHOS =
+            "SELECT p.empenho_id, p.id, p.numero_pagamento, p.data_pagamento, p.valor_pagamento " +
+            "FROM pagamentos p WHERE p.empenho_id = ANY(:ids) ORDER BY p.id";
+
+    private static final String SELECT_ESTATISTICAS =
+            "SELECT COUNT(*) AS total_empenhos, COALESCE(SUM(e.valor), 0) AS valor_total_empenhado, " +
+            "(SELECT COALESCE(SUM(p.valor_pagamento), 0) FROM pagamentos p) AS valor_total_pago, " +
+            "COUNT(*) FILTER (WHERE NOT EXISTS (SELECT 1 FROM pagamentos p WHERE p.empenho_id = e.id)) " +
+            "AS empenhos_sem_pagamentos " +
+            "FROM empenhos e";
+
+    private static final String SELECT_RELATORIO_MENSAL =
+            "SELECT CAST(EXTRACT(YEAR FROM e.data_empenho) AS INTEGER) AS ano, " +
+            "CAST(EXTRACT(MONTH FROM e.data_empenho) AS INTEGER) AS mes, SUM(e.valor) AS valor_total " +
+            "FROM empenhos e GROUP BY 1, 2 ORDER BY 1, 2";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Value("${orcagov.leitura-reativa.lote:100}")
+    private int tamanhoLote;
+
+    @Value("${orcagov.leitura-reativa.fetch-size:200}")
+    private int fetchSize;
+
+    @Value("${orcagov.leitura-reativa.pagina.tamanho-padrao:20}")
+    private int tamanhoPaginaPadrao;
+
+    @Value("${orcagov.leitura-reativa.pagina.tamanho-maximo:2000}")
+    private int tamanhoPaginaMaximo;
+
+    // ==========================================
+    // CONSULTAS INDIVIDUAIS
+    // ==========================================
+
+    public Mono<EmpenhoResponseDTO> buscarPorId(Long id) {
+        return listar(ConsultaReativa.de(SELECT_EMPENHOS).onde("e.id = :id", "id", id))
+                .next()
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Empenho não encontrado com ID: " + id)));
+    }
+
+    public Mono<EmpenhoResponseDTO> buscarPorNumero(String numeroEmpenho) {
+        return listar(ConsultaReativa.de(SELECT_EMPENHOS)
+                        .onde("e.numero_empenho = :numeroEmpenho", "numeroEmpenho", numeroEmpenho))
+                .next()
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(
+                    "Empenho não encontrado com o número: " + numeroEmpenho)));
+    }
+
+    // ==========================================
+    // LISTAGENS
+    // ==========================================
+
+    /**
+     * Todos os empenhos em ordem de id. Em streaming, sem tamanho de página, todos;
+     * fora dele a página é limitada
+     */
+    public Flux<EmpenhoResponseDTO> listarTodos(Integer pagina, Integer tamanho, boolean streaming) {
+        ConsultaReativa consulta = ConsultaReativa.de(SELECT_EMPENHOS).ordenarPor("e.id");
+        return listar(streaming
+                ? consulta.paginar(pagina, tamanho)
+                : consulta.paginarLimitado(pagina, tamanho, tamanhoPaginaPadrao, tamanhoPaginaMaximo));
+    }
+
+    public Flux<EmpenhoResponseDTO> listarPorDespesa(Long despesaId) {
+        return listar(ConsultaReativa.de(SELECT_EMPENHOS)
+                .onde("e.despesa_id = :despesaId", "despesaId", despesaId)
+                .ordenarPor("e.id"));
+    }
+
+    public Flux<EmpenhoResponseDTO> listarPorProtocoloDespesa(String numeroProtocolo) {
+        return listar(ConsultaReativa.de(SELECT_EMPENHOS)
+                .onde("d.numero_protocolo = :numeroProtocolo", "numeroProtocolo", numeroProtocolo)
+                .ordenarPor("e.id"));
+    }
+
+    public Flux<EmpenhoResponseDTO> buscarComFiltros(
+            String numeroEmpenho,
+            Long despesaId,
+            LocalDate dataInicio,
+            LocalDate dataFim,
+            BigDecimal valorMinimo,
+            BigDecimal valorMaximo) {
+
+        return listar(ConsultaReativa.de(SELECT_EMPENHOS)
+                .onde("e.numero_empenho = :numeroEmpenho", "numeroEmpenho", numeroEmpenho)
+                .onde("e.despesa_id = :despesaId", "despesaId", despesaId)
+                .onde("e.data_empenho >= :dataInicio", "dataInicio", dataInicio)
+                .onde("e.data_empenho <= :dataFim", "dataFim", dataFim)
+                .onde("e.valor >= :valorMinimo", "valorMinimo", valorMinimo)
+                .onde("e.valor <= :valorMaximo", "valorMaximo", valorMaximo)
+                .ordenarPor("e.id"));
+    }
+
+    public Flux<EmpenhoResponseDTO> buscarPorPeriodo(LocalDate dataInicio, LocalDate dataFim) {
+        return listar(ConsultaReativa.de(SELECT_EMPENHOS)
+                .onde("e.data_empenho >= :dataInicio", "dataInicio", dataInicio)
+                .onde("e.data_empenho <= :dataFim", "dataFim", dataFim)
+                .ordenarPor("e.data_empenho, e.id"));
+    }
+
+    public Flux<EmpenhoResponseDTO> buscarPorFaixaValor(BigDecimal valorMinimo, BigDecimal valorMaximo) {
+        return listar(ConsultaReativa.de(SELECT_EMPENHOS)
+                .onde("e.valor >= :valorMinimo", "valorMinimo", valorMinimo)
+                .onde("e.valor <= :valorMaximo", "valorMaximo", valorMaximo)
+                .ordenarPor("e.id"));
+    }
+
+    public Flux<EmpenhoResponseDTO> buscarSemPagamentos() {
+        return listar(ConsultaReativa.de(SELECT_EMPENHOS)
+                .onde("NOT EXISTS (SELECT 1 FROM pagamentos p WHERE p.empenho_id = e.id)")
+                .ordenarPor("e.id"));
+    }
+
+    public Flux<EmpenhoResponseDTO> buscarComPagamentos() {
+        return listar(ConsultaReativa.de(SELECT_EMPENHOS)
+                .onde("EXISTS (SELECT 1 FROM pagamentos p WHERE p.empenho_id = e.id)")
+                .ordenarPor("e.id"));
+    }
+
+    // ==========================================
+    // ESTATÍSTICAS E RELATÓRIOS
+    // ==========================================
+
+    public Mono<EmpenhoService.EmpenhoEstatisticasDTO> obterEstatisticas() {
+        return databaseClient.sql(SELECT_ESTATISTICAS)
+                .map((row, metadata) -> {
+                    BigDecimal valorTotal = row.get("valor_total_empenhado", BigDecimal.class);
+                    BigDecimal valorPago = row.get("valor_total_pago", BigDecimal.class);
+                    return EmpenhoService.EmpenhoEstatisticasDTO.builder()
+                            .totalEmpenhos(row.get("total_empenhos", Long.class))
+                            .valorTotalEmpenhado(valorTotal)
+                            .valorTotalPago(valorPago)
+                            .valorRestante(valorTotal.subtract(valorPago))
+                            .empenhosSemPagamentos(row.get("empenhos_sem_pagamentos", Long.class))
+                            .build();
+                })
+                .one();
+    }
+
+    public Flux<EmpenhoService.RelatorioMensalDTO> obterRelatorioMensal() {
+        return databaseClient.sql(SELECT_RELATORIO_MENSAL)
+                .map((row, metadata) -> EmpenhoService.RelatorioMensalDTO.builder()
+                        .ano(row.get("ano", Integer.class))
+                        .mes(row.get("mes", Integer.class))
+                        .valorTotal(row.get("valor_total", BigDecimal.class))
+                        .build())
+                .all();
+    }
+
+    // ==========================================
+    // MÉTODOS AUXILIARES
+    // ==========================================
+
+    private Flux<EmpenhoResponseDTO> listar(ConsultaReativa consulta) {
+        return ConsultaReativa.completarEmLotes(
+                consulta.listar(databaseClient, fetchSize, this::converterParaResponseDTO),
+                tamanhoLote,
+                this::carregarPagamentos);
+    }
+
+    private Mono<Void> carregarPagamentos(List<EmpenhoResponseDTO> empenhos) {
+        Map<Long, EmpenhoResponseDTO> porId = empenhos.stream()
+                .collect(Collectors.toMap(EmpenhoResponseDTO::getId, Function.identity()));
+
+        return databaseClient.sql(SELECT_PAGAMENTOS_DOS_EMPENHOS)
+                .bind("ids", porId.keySet().toArray(new Long[0]))
+                .map((row, metadata) -> {
+                    porId.get(row.get("empenho_id", Long.class)).getPagamentos().add(PagamentoResumoDTO.builder()
+                            .id(row.get("id", Long.class))
+                            .numeroPagamento(row.get("numero_pagamento", String.class))
+                            .dataPagamento(row.get("data_pagamento", LocalDate.class))
+                            .valorPagamento(row.get("valor_pagamento", BigDecimal.class))
+                            .build());
+                    return Boolean.TRUE;
+                })
+                .all()
+                .then();
+    }
+
+    private EmpenhoResponseDTO converterParaResponseDTO(Row row) {
+        BigDecimal valor = row.get("valor", BigDecimal.class);
+        BigDecimal valorTotalPago = row.get("valor_total_pago", BigDecimal.class);
+        String statusDespesa = row.get("status_despesa", String.class);
+
+        DespesaResumoDTO despesa = DespesaResumoDTO.builder()
+                .id(row.get("despesa_id", Long.class))
+                .numeroProtocolo(row.get("numero_protocolo", String.class))
+                .tipoDespesa(TipoDespesa.valueOf(row.get("tipo_despesa", String.class)))
+                .dataVencimento(row.get("data_vencimento", LocalDate.class))
+                .credorDespesas(row.get("credor_despesas", String.class))
+                .valorDespesas(row.get("valor_despesas", BigDecimal.class))
+                .status(statusDespesa != null ? StatusDespesa.valueOf(statusDespesa) : null)
+                .build();
+
+        return EmpenhoResponseDTO.builder()
+                .id(row.get("id", Long.class))
+                .numeroEmpenho(row.get("numero_empenho", String.class))
+                .dataEmpenho(row.get("data_empenho", LocalDate.class))
+                .valor(valor)
+                .observacao(row.get("observacao", String.class))
+                .valorTotalPago(valorTotalPago)
+                .valorRestante(valor.subtract(valorTotalPago))
+                .despesa(despesa)
+                .pagamentos(new ArrayList<>())
+                .dataCriacao(row.get("data_criacao", LocalDateTime.class))
+                .dataAtualizacao(row.get("data_atualizacao", LocalDateTime.class))
+                .build();
+    }
+}
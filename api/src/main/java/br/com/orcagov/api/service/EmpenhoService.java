@@ -1,20 +1,23 @@
 package br.com.orcagov.api.service;
 
 import br.com.orcagov.api.dto.Request.EmpenhoRequestDTO;
-import br.com.orcagov.api.dto.Response.DespesaResumoDTO;
 import br.com.orcagov.api.dto.Response.EmpenhoResponseDTO;
-import br.com.orcagov.api.dto.Response.PagamentoResumoDTO;
 import br.com.orcagov.api.entity.Despesa;
 import br.com.orcagov.api.entity.Empenho;
+import br.com.orcagov.api.entity.Money;
 import br.com.orcagov.api.entity.Usuario;
 import br.com.orcagov.api.entity.enums.StatusDespesa;
+import br.com.orcagov.api.entity.enums.TipoAgregado;
+import br.com.orcagov.api.entity.enums.TipoEventoOutbox;
 import br.com.orcagov.api.repository.DespesaRepository;
 import br.com.orcagov.api.repository.EmpenhoRepository;
 import br.com.orcagov.api.repository.UsuarioRepository;
 import br.com.orcagov.api.exception.BusinessException;
 import br.com.orcagov.api.exception.ResourceNotFoundException;
+import br.com.orcagov.api.mapper.DtoMapper;
 
 
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -25,10 +28,12 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Observed(name = "orcagov.servico")
 public class EmpenhoService {
 
     @Autowired
@@ -43,6 +48,18 @@ public class EmpenhoService {
     @Autowired
     private SequenceGeneratorService sequenceGeneratorService;
 
+    @Autowired
+    private DespesaService despesaService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private AuditoriaService auditoriaService;
+
+    @Autowired
+    private DtoMapper dtoMapper;
+
     // ==========================================
     // MÉTODOS CRUD PRINCIPAIS
     // ==========================================
@@ -58,7 +75,7 @@ public class EmpenhoService {
         Despesa despesa = buscarDespesaPorId(request.getDespesaId());
         
         // Validar se pode adicionar empenho à despesa
-        validarEmpenhoParaDespesa(despesa, request.getValor());
+        validarEmpenhoParaDespesa(despesa, Money.of(request.getValor()));
         
         // Criar entidade Empenho
         Empenho empenho = new Empenho();
@@ -78,7 +95,11 @@ public class EmpenhoService {
         atualizarStatusDespesa(despesa);
         
         // Converter para DTO de resposta
-        return converterParaResponseDTO(empenhoSalvo);
+        EmpenhoResponseDTO response = dtoMapper.paraResponseDTO(empenhoSalvo);
+        outboxService.registrar(TipoAgregado.EMPENHO, empenhoSalvo.getId(), TipoEventoOutbox.CRIADO, response);
+        auditoriaService.registrar(TipoAgregado.EMPENHO, empenhoSalvo.getId(), TipoEventoOutbox.CRIADO,
+                null, auditoriaService.estado(empenhoSalvo), userName);
+        return response;
     }
 
     /**
@@ -87,7 +108,7 @@ public class EmpenhoService {
     @Transactional(readOnly = true)
     public EmpenhoResponseDTO buscarPorId(Long id) {
         Empenho empenho = buscarEmpenhoPorId(id);
-        return converterParaResponseDTO(empenho);
+        return dtoMapper.paraResponseDTO(empenho);
     }
 
     /**
@@ -99,7 +120,7 @@ public class EmpenhoService {
                 .orElseThrow(() -> new ResourceNotFoundException(
                     "Empenho não encontrado com o número: " + numeroEmpenho));
         
-        return converterParaResponseDTO(empenho);
+        return dtoMapper.paraResponseDTO(empenho);
     }
 
     /**
@@ -108,7 +129,7 @@ public class EmpenhoService {
     @Transactional(readOnly = true)
     public Page<EmpenhoResponseDTO> listarTodos(Pageable pageable) {
         Page<Empenho> empenhos = empenhoRepository.findAll(pageable);
-        return empenhos.map(this::converterParaResponseDTO);
+        return empenhos.map(dtoMapper::paraResponseDTO);
     }
 
     /**
@@ -117,13 +138,15 @@ public class EmpenhoService {
     public EmpenhoResponseDTO atualizarEmpenho(Long id, EmpenhoRequestDTO request, String userName) {
         // Buscar empenho existente
         Empenho empenho = buscarEmpenhoPorId(id);
+        Map<String, Object> estadoAnterior = auditoriaService.estado(empenho);
         
         // Validar se pode ser alterado
         validarSePermiteAlteracao(empenho);
         
         // Se mudou o valor, validar
-        if (request.getValor().compareTo(empenho.getValor()) != 0) {
-            validarAlteracaoValor(empenho, request.getValor());
+        Money novoValor = Money.of(request.getValor());
+        if (!novoValor.equals(empenho.montante())) {
+            validarAlteracaoValor(empenho, novoValor);
         }
         
         // Atualizar campos
@@ -138,7 +161,11 @@ public class EmpenhoService {
         // Atualizar status da despesa
         atualizarStatusDespesa(empenho.getDespesa());
         
-        return converterParaResponseDTO(empenhoAtualizado);
+        EmpenhoResponseDTO response = dtoMapper.paraResponseDTO(empenhoAtualizado);
+        outboxService.registrar(TipoAgregado.EMPENHO, id, TipoEventoOutbox.ATUALIZADO, response);
+        auditoriaService.registrar(TipoAgregado.EMPENHO, id, TipoEventoOutbox.ATUALIZADO,
+                estadoAnterior, auditoriaService.estado(empenhoAtualizado), userName);
+        return response;
     }
 
     /**
@@ -154,6 +181,11 @@ public class EmpenhoService {
         
         empenhoRepository.delete(empenho);
         
+        outboxService.registrar(TipoAgregado.EMPENHO, id, TipoEventoOutbox.EXCLUIDO,
+                Map.of("id", id, "numeroEmpenho", empenho.getNumeroEmpenho(), "despesaId", despesa.getId()));
+        auditoriaService.registrar(TipoAgregado.EMPENHO, id, TipoEventoOutbox.EXCLUIDO,
+                auditoriaService.estado(empenho), null, userName);
+        
         // Atualizar status da despesa
         atualizarStatusDespesa(despesa);
     }
@@ -170,7 +202,7 @@ public class EmpenhoService {
         List<Empenho> empenhos = empenhoRepository.findByDespesaId(despesaId);
         
         return empenhos.stream()
-                .map(this::converterParaResponseDTO)
+                .map(dtoMapper::paraResponseDTO)
                 .collect(Collectors.toList());
     }
 
@@ -182,7 +214,7 @@ public class EmpenhoService {
         List<Empenho> empenhos = empenhoRepository.findByDespesaNumeroProtocolo(numeroProtocolo);
         
         return empenhos.stream()
-                .map(this::converterParaResponseDTO)
+                .map(dtoMapper::paraResponseDTO)
                 .collect(Collectors.toList());
     }
 
@@ -206,7 +238,7 @@ public class EmpenhoService {
                 numeroEmpenho, despesaId, dataInicio, dataFim, valorMinimo, valorMaximo);
         
         return empenhos.stream()
-                .map(this::converterParaResponseDTO)
+                .map(dtoMapper::paraResponseDTO)
                 .collect(Collectors.toList());
     }
 
@@ -218,7 +250,7 @@ public class EmpenhoService {
         List<Empenho> empenhos = empenhoRepository.findByDataEmpenhoBetween(dataInicio, dataFim);
         
         return empenhos.stream()
-                .map(this::converterParaResponseDTO)
+                .map(dtoMapper::paraResponseDTO)
                 .collect(Collectors.toList());
     }
 
@@ -230,7 +262,7 @@ public class EmpenhoService {
         List<Empenho> empenhos = empenhoRepository.findByValorBetween(valorMinimo, valorMaximo);
         
         return empenhos.stream()
-                .map(this::converterParaResponseDTO)
+                .map(dtoMapper::paraResponseDTO)
                 .collect(Collectors.toList());
     }
 
@@ -242,7 +274,7 @@ public class EmpenhoService {
         List<Empenho> empenhos = empenhoRepository.findEmpenhosSemPagamentos();
         
         return empenhos.stream()
-                .map(this::converterParaResponseDTO)
+                .map(dtoMapper::paraResponseDTO)
                 .collect(Collectors.toList());
     }
 
@@ -254,7 +286,7 @@ public class EmpenhoService {
         List<Empenho> empenhos = empenhoRepository.findEmpenhosComPagamentos();
         
         return empenhos.stream()
-                .map(this::converterParaResponseDTO)
+                .map(dtoMapper::paraResponseDTO)
                 .collect(Collectors.toList());
     }
 
@@ -262,54 +294,54 @@ public class EmpenhoService {
     // MÉTODOS DE VALIDAÇÃO
     // ==========================================
 
-    private void validarEmpenhoParaDespesa(Despesa despesa, BigDecimal valorEmpenho) {
+    private void validarEmpenhoParaDespesa(Despesa despesa, Money valorEmpenho) {
         // Verificar se despesa permite empenho
         if (despesa.getStatus() == StatusDespesa.PAGA) {
-            throw new BusinessException("Não é possível adicionar empenho a despesa já paga");
+            throw new BusinessException("empenho.despesa-paga", "Não é possível adicionar empenho a despesa já paga");
         }
         
         // Verificar se soma dos empenhos não ultrapassa valor da despesa
-        BigDecimal valorTotalEmpenhado = despesa.getValorTotalEmpenhado();
-        BigDecimal novoTotal = valorTotalEmpenhado.add(valorEmpenho);
+        Money valorTotalEmpenhado = despesa.totalEmpenhado();
+        Money novoTotal = valorTotalEmpenhado.plus(valorEmpenho);
         
-        if (novoTotal.compareTo(despesa.getValorDespesas()) > 0) {
-            throw new BusinessException(
+        if (novoTotal.isMaiorQue(despesa.montante())) {
+            throw new BusinessException("empenho.excede-despesa",
                 String.format("Valor do empenho (R$ %.2f) excede o valor disponível da despesa (R$ %.2f). " +
                              "Valor já empenhado: R$ %.2f",
-                    valorEmpenho, 
-                    despesa.getValorDespesas().subtract(valorTotalEmpenhado),
-                    valorTotalEmpenhado));
+                    valorEmpenho.toBigDecimal(), 
+                    despesa.montante().minus(valorTotalEmpenhado).toBigDecimal(),
+                    valorTotalEmpenhado.toBigDecimal()));
         }
     }
 
     private void validarSePermiteAlteracao(Empenho empenho) {
         if (empenho.temPagamentos()) {
-            throw new BusinessException("Não é possível alterar empenho que possui pagamentos");
+            throw new BusinessException("empenho.alteracao-com-pagamentos", "Não é possível alterar empenho que possui pagamentos");
         }
     }
 
     private void validarSePermiteExclusao(Empenho empenho) {
         if (empenho.temPagamentos()) {
-            throw new BusinessException("Não é possível excluir empenho que possui pagamentos");
+            throw new BusinessException("empenho.exclusao-com-pagamentos", "Não é possível excluir empenho que possui pagamentos");
         }
     }
 
-    private void validarAlteracaoValor(Empenho empenho, BigDecimal novoValor) {
+    private void validarAlteracaoValor(Empenho empenho, Money novoValor) {
         // Verificar se novo valor não é menor que o já pago
-        BigDecimal valorPago = empenho.getValorTotalPago();
-        if (novoValor.compareTo(valorPago) < 0) {
-            throw new BusinessException(
+        Money valorPago = empenho.totalPago();
+        if (novoValor.isMenorQue(valorPago)) {
+            throw new BusinessException("empenho.valor-abaixo-pago",
                 String.format("Novo valor (R$ %.2f) não pode ser menor que o valor já pago (R$ %.2f)",
-                    novoValor, valorPago));
+                    novoValor.toBigDecimal(), valorPago.toBigDecimal()));
         }
         
         // Verificar se não excede valor disponível da despesa
         Despesa despesa = empenho.getDespesa();
-        BigDecimal valorOutrosEmpenhos = despesa.getValorTotalEmpenhado().subtract(empenho.getValor());
-        BigDecimal novoTotalEmpenhos = valorOutrosEmpenhos.add(novoValor);
+        Money valorOutrosEmpenhos = despesa.totalEmpenhado().minus(empenho.montante());
+        Money novoTotalEmpenhos = valorOutrosEmpenhos.plus(novoValor);
         
-        if (novoTotalEmpenhos.compareTo(despesa.getValorDespesas()) > 0) {
-            throw new BusinessException(
+        if (novoTotalEmpenhos.isMaiorQue(despesa.montante())) {
+            throw new BusinessException("empenho.excede-despesa",
                 String.format("Novo valor excede o valor disponível da despesa"));
         }
     }
@@ -337,8 +369,7 @@ public class EmpenhoService {
     }
 
     private void atualizarStatusDespesa(Despesa despesa) {
-        despesa.setStatus(despesa.calculateStatus());
-        despesaRepository.save(despesa);
+        despesaService.atualizarStatus(despesa);
     }
 
     // ==========================================
@@ -347,12 +378,12 @@ public class EmpenhoService {
 
     public EmpenhoResponseDTO cancelarEmpenho(Long id, String motivo, String userName) {
         // Implementar lógica de cancelamento se necessário
-        throw new BusinessException("Funcionalidade de cancelamento não implementada");
+        throw new BusinessException("empenho.cancelamento-nao-implementado", "Funcionalidade de cancelamento não implementada");
     }
 
     public EmpenhoResponseDTO reativarEmpenho(Long id, String userName) {
         // Implementar lógica de reativação se necessário
-        throw new BusinessException("Funcionalidade de reativação não implementada");
+        throw new BusinessException("empenho.reativacao-nao-implementada", "Funcionalidade de reativação não implementada");
     }
 
     public String obterProximoNumero() {
@@ -366,64 +397,20 @@ public class EmpenhoService {
     public ValidacaoValorDTO validarValorEmpenho(Long despesaId, BigDecimal valorEmpenho) {
         Despesa despesa = buscarDespesaPorId(despesaId);
         
-        BigDecimal valorTotalEmpenhado = despesa.getValorTotalEmpenhado();
-        BigDecimal valorDisponivel = despesa.getValorDespesas().subtract(valorTotalEmpenhado);
+        Money valorDisponivel = despesa.montante().minus(despesa.totalEmpenhado());
         
-        boolean valido = valorEmpenho.compareTo(valorDisponivel) <= 0;
+        boolean valido = !Money.of(valorEmpenho).isMaiorQue(valorDisponivel);
         String mensagem = valido ? "Valor válido" : 
-            String.format("Valor excede o disponível (R$ %.2f)", valorDisponivel);
+            String.format("Valor excede o disponível (R$ %.2f)", valorDisponivel.toBigDecimal());
         
         return ValidacaoValorDTO.builder()
                 .valido(valido)
-                .valorDisponivel(valorDisponivel)
+                .valorDisponivel(valorDisponivel.toBigDecimal())
                 .valorSolicitado(valorEmpenho)
                 .mensagem(mensagem)
                 .build();
     }
 
-    // ==========================================
-    // MÉTODOS DE CONVERSÃO DTO
-    // ==========================================
-
-    private EmpenhoResponseDTO converterParaResponseDTO(Empenho empenho) {
-        return EmpenhoResponseDTO.builder()
-                .id(empenho.getId())
-                .numeroEmpenho(empenho.getNumeroEmpenho())
-                .dataEmpenho(empenho.getDataEmpenho())
-                .valor(empenho.getValor())
-                .observacao(empenho.getObservacao())
-                .valorTotalPago(empenho.getValorTotalPago())
-                .valorRestante(empenho.getValor().subtract(empenho.getValorTotalPago()))
-                .despesa(converterDespesaParaResumo(empenho.getDespesa()))
-                .pagamentos(converterPagamentosParaResumo(empenho))
-                .dataCriacao(empenho.getDataCriacao())
-                .dataAtualizacao(empenho.getDataAtualizacao())
-                .build();
-    }
-
-    private DespesaResumoDTO converterDespesaParaResumo(Despesa despesa) {
-        return DespesaResumoDTO.builder()
-                .id(despesa.getId())
-                .numeroProtocolo(despesa.getNumeroProtocolo())
-                .tipoDespesa(despesa.getTipoDespesa())
-                .dataVencimento(despesa.getDataVencimento())
-                .credorDespesas(despesa.getCredorDespesas())
-                .valorDespesas(despesa.getValorDespesas())
-                .status(despesa.getStatus())
-                .build();
-    }
-
-    private List<PagamentoResumoDTO> converterPagamentosParaResumo(Empenho empenho) {
-        return empenho.getPagamentos().stream()
-                .map(pagamento -> PagamentoResumoDTO.builder()
-                        .id(pagamento.getId())
-                        .numeroPagamento(pagamento.getNumeroPagamento())
-                        .dataPagamento(pagamento.getDataPagamento())
-                        .valorPagamento(pagamento.getValorPagamento())
-                        .build())
-                .collect(Collectors.toList());
-    }
-
     // ==========================================
     // MÉTODOS PARA RELATÓRIOS E ESTATÍSTICAS
     // ==========================================
@@ -435,13 +422,8 @@ public class EmpenhoService {
     public EmpenhoEstatisticasDTO obterEstatisticas() {
         List<Empenho> todosEmpenhos = empenhoRepository.findAll();
         
-        BigDecimal valorTotal = todosEmpenhos.stream()
-                .map(Empenho::getValor)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        BigDecimal valorPago = todosEmpenhos.stream()
-                .map(Empenho::getValorTotalPago)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        Money valorTotal = Money.somar(todosEmpenhos, Empenho::montante);
+        Money valorPago = Money.somar(todosEmpenhos, Empenho::totalPago);
         
         long empenhosSemPagamentos = todosEmpenhos.stream()
                 .filter(e -> e.getPagamentos().isEmpty())
@@ -449,9 +431,9 @@ public class EmpenhoService {
         
         return EmpenhoEstatisticasDTO.builder()
                 .totalEmpenhos((long) todosEmpenhos.size())
-                .valorTotalEmpenhado(valorTotal)
-                .valorTotalPago(valorPago)
-                .valorRestante(valorTotal.subtract(valorPago))
+                .valorTotalEmpenhado(valorTotal.toBigDecimal())
+                .valorTotalPago(valorPago.toBigDecimal())
+                .valorRestante(valorTotal.minus(valorPago).toBigDecimal())
                 .empenhosSemPagamentos(empenhosSemPagamentos)
                 .build();
     }
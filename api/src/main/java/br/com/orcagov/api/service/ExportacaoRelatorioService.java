@@ -0,0 +1,227 @@
+package br.com.orcagov.api.service;
+
+import br.com.orcagov.api.entity.enums.StatusDespesa;
+import br.com.orcagov.api.entity.enums.TipoDespesa;
+import br.com.orcagov.api.repository.PagamentoRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exportação de relatórios em streaming.
+ *
+ * As linhas são lidas de um cursor somente-leitura (StatelessSession + scroll
+ * FORWARD_ONLY) e escritas direto no stream de saída, sem materializar o
+ * resultado em memória. Propositalmente não é @Transactional: a sessão stateless
+ * controla a própria transação somente-leitura, necessária para o driver do
+ * PostgreSQL respeitar o fetch size.
+ */
+@Service
+public class ExportacaoRelatorioService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportacaoRelatorioService.class);
+
+    private static final String SEPARADOR = ",";
+    private static final String QUEBRA_LINHA = "\r\n";
+
+    private static final String CONSULTA_DESPESAS =
+            "SELECT d.numeroProtocolo, d.tipoDespesa, d.dataProtocolo, d.dataVencimento, " +
+            "d.credorDespesas, d.descricaoDespesas, d.valorDespesas, d.status " +
+            "FROM Despesa d WHERE d.dataProtocolo >= :dataInicio AND d.dataProtocolo < :dataFim " +
+            "ORDER BY d.dataProtocolo";
+
+    private static final String CONSULTA_EMPENHOS =
+            "SELECT e.numeroEmpenho, e.despesa.numeroProtocolo, e.dataEmpenho, e.valor, e.observacao " +
+            "FROM Empenho e WHERE e.dataEmpenho BETWEEN :dataInicio AND :dataFim " +
+            "ORDER BY e.dataEmpenho";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${orcagov.relatorio.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${orcagov.relatorio.excel.janela:" + PlanilhaExcel.JANELA_PADRAO + "}")
+    private int janelaExcel;
+
+    // ==========================================
+    // EXPORTAÇÃO CSV
+    // ==========================================
+
+    /**
+     * Exporta o relatório detalhado de pagamentos do período em CSV
+     */
+    public long exportarPagamentosCsv(LocalDate dataInicio, LocalDate dataFim, OutputStream saida) throws IOException {
+        return exportarPagamentosCsv(dataInicio, dataFim, saida, new AtomicLong());
+    }
+
+    /**
+     * Mesma exportação, acumulando em {@code progresso} as linhas já escritas
+     */
+    public long exportarPagamentosCsv(LocalDate dataInicio, LocalDate dataFim, OutputStream saida,
+                                      AtomicLong progresso) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        escreverLinha(writer, "numero_pagamento", "data_pagamento", "valor_pagamento",
+                "numero_empenho", "numero_protocolo", "credor");
+
+        long linhas = percorrer(PagamentoRepository.RELATORIO_PAGAMENTOS_POR_PERIODO, dataInicio, dataFim,
+                progresso,
+                linha -> escreverLinha(writer,
+                        (String) linha[0],
+                        String.valueOf(linha[1]),
+                        ((BigDecimal) linha[2]).toPlainString(),
+                        (String) linha[3],
+                        (String) linha[4],
+                        (String) linha[5]));
+
+        writer.flush();
+        logger.info("Relatório de pagamentos exportado em CSV: {} linhas ({} a {})", linhas, dataInicio, dataFim);
+        return linhas;
+    }
+
+    // ==========================================
+    // EXPORTAÇÃO EXCEL
+    // ==========================================
+
+    /**
+     * Exporta despesas, empenhos e pagamentos do período em uma planilha XLSX,
+     * uma aba por entidade
+     */
+    public long exportarExcel(LocalDate dataInicio, LocalDate dataFim, OutputStream saida) throws IOException {
+        return exportarExcel(dataInicio, dataFim, saida, new AtomicLong());
+    }
+
+    /**
+     * Mesma exportação, acumulando em {@code progresso} as linhas já escritas
+     */
+    public long exportarExcel(LocalDate dataInicio, LocalDate dataFim, OutputStream saida,
+                              AtomicLong progresso) throws IOException {
+        long linhas = 0;
+
+        try (PlanilhaExcel planilha = new PlanilhaExcel(janelaExcel)) {
+            planilha.novaAba("Despesas", "Protocolo", "Tipo", "Data do protocolo", "Vencimento",
+                    "Credor", "Descrição", "Valor", "Status");
+            linhas += percorrer(CONSULTA_DESPESAS, dataInicio.atStartOfDay(), dataFim.plusDays(1).atStartOfDay(),
+                    progresso,
+                    linha -> planilha.adicionarLinha(
+                            linha[0],
+                            ((TipoDespesa) linha[1]).getDescricao(),
+                            linha[2],
+                            linha[3],
+                            linha[4],
+                            linha[5],
+                            linha[6],
+                            linha[7] != null ? ((StatusDespesa) linha[7]).getDescricao() : null));
+
+            planilha.novaAba("Empenhos", "Número", "Protocolo da despesa", "Data", "Valor", "Observação");
+            linhas += percorrer(CONSULTA_EMPENHOS, dataInicio, dataFim, progresso,
+                    linha -> planilha.adicionarLinha(linha));
+
+            planilha.novaAba("Pagamentos", "Número", "Data", "Valor", "Empenho", "Protocolo da despesa", "Credor");
+            linhas += percorrer(PagamentoRepository.RELATORIO_PAGAMENTOS_POR_PERIODO, dataInicio, dataFim,
+                    progresso,
+                    linha -> planilha.adicionarLinha(linha));
+
+            planilha.escrever(saida);
+        }
+
+        saida.flush();
+        logger.info("Relatório de execução exportado em Excel: {} linhas ({} a {})", linhas, dataInicio, dataFim);
+        return linhas;
+    }
+
+    // ==========================================
+    // CURSOR SOMENTE-LEITURA
+    // ==========================================
+
+    /**
+     * Percorre o resultado da consulta (parâmetros :dataInicio e :dataFim) linha a
+     * linha, sem manter as linhas já processadas em memória. Retorna a quantidade
+     * de linhas lidas, também somadas a {@code progresso} à medida que avançam.
+     */
+    private long percorrer(String hql, Object dataInicio, Object dataFim, AtomicLong progresso,
+                           ProcessadorLinha processador) throws IOException {
+        long linhas = 0;
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            Transaction transaction = session.beginTransaction();
+            session.doWork(connection -> connection.setReadOnly(true));
+
+            try (ScrollableResults<Object[]> resultados = session
+                    .createSelectionQuery(hql, Object[].class)
+                    .setParameter("dataInicio", dataInicio)
+                    .setParameter("dataFim", dataFim)
+                    .setReadOnly(true)
+                    .setFetchSize(fetchSize)
+                    .scroll(ScrollMode.FORWARD_ONLY)) {
+
+                while (resultados.next()) {
+                    processador.processar(resultados.get());
+                    linhas++;
+                    progresso.incrementAndGet();
+                }
+            } finally {
+                // Nada foi alterado: rollback encerra a transação somente-leitura sem custo de commit
+                transaction.rollback();
+            }
+        }
+        return linhas;
+    }
+
+    @FunctionalInterface
+    private interface ProcessadorLinha {
+        void processar(Object[] linha) throws IOException;
+    }
+
+    // ==========================================
+    // MÉTODOS AUXILIARES
+    // ==========================================
+
+    private void escreverLinha(Writer writer, String... campos) throws IOException {
+        for (int i = 0; i < campos.length; i++) {
+            if (i > 0) {
+                writer.write(SEPARADOR);
+            }
+            escreverCampo(writer, campos[i]);
+        }
+        writer.write(QUEBRA_LINHA);
+    }
+
+    /**
+     * Escreve o campo seguindo a RFC 4180: aspas apenas quando necessário
+     */
+    private void escreverCampo(Writer writer, String campo) throws IOException {
+        if (campo == null) {
+            return;
+        }
+        boolean precisaAspas = campo.indexOf(',') >= 0 || campo.indexOf('"') >= 0
+                || campo.indexOf('\n') >= 0 || campo.indexOf('\r') >= 0;
+        if (!precisaAspas) {
+            writer.write(campo);
+            return;
+        }
+        writer.write('"');
+        writer.write(campo.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
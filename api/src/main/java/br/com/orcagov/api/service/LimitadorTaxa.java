@@ -0,0 +1,79 @@
+package br.com.orcagov.api.service;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Balde de tokens por chave (endereço, usuário), sem lock. Cada balde é um único
+ * AtomicLong com o instante em que ele volta a ficar cheio (GCRA): consumir um token
+ * adia esse instante em um intervalo de reposição, e o consumo é recusado quando ele
+ * passaria de capacidade × reposição à frente de agora. O resultado é o de um balde
+ * com reposição contínua, atualizado com um compareAndSet.
+ *
+ * Baldes cheios são removidos em {@link #limpar()}. Um consumo concorrente com a
+ * remoção pode ganhar um token a mais, o que não muda o limite na prática.
+ */
+public final class LimitadorTaxa {
+
+    private final ConcurrentHashMap<String, AtomicLong> baldes = new ConcurrentHashMap<>();
+    private final long reposicaoNs;
+    private final long toleranciaNs;
+    private final LongSupplier relogio;
+
+    public LimitadorTaxa(int capacidade, Duration reposicao) {
+        this(capacidade, reposicao, System::nanoTime);
+    }
+
+    LimitadorTaxa(int capacidade, Duration reposicao, LongSupplier relogio) {
+        if (capacidade < 1 || reposicao.isNegative() || reposicao.isZero()) {
+            throw new IllegalArgumentException("Capacidade e reposição do limite devem ser positivas");
+        }
+        this.reposicaoNs = reposicao.toNanos();
+        this.toleranciaNs = Math.multiplyExact(reposicaoNs, (long) capacidade);
+        this.relogio = relogio;
+    }
+
+    /**
+     * Consome um token da chave: 0 se havia token, senão a espera em nanossegundos até o
+     * próximo
+     */
+    public long consumir(String chave) {
+        long agora = relogio.getAsLong();
+        AtomicLong balde = baldes.computeIfAbsent(chave, c -> new AtomicLong(agora));
+        while (true) {
+            long cheio = balde.get();
+            long novo = (cheio - agora > 0 ? cheio : agora) + reposicaoNs;
+            long espera = novo - agora - toleranciaNs;
+            if (espera > 0) {
+                return espera;
+            }
+            if (balde.compareAndSet(cheio, novo)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Remove os baldes cheios, que se comportam como um balde novo; devolve quantos saíram
+     */
+    public int limpar() {
+        long agora = relogio.getAsLong();
+        int antes = baldes.size();
+        baldes.values().removeIf(balde -> balde.get() - agora <= 0);
+        return Math.max(0, antes - baldes.size());
+    }
+
+    public int tamanho() {
+        return baldes.size();
+    }
+
+    /**
+     * Espera devolvida por {@link #consumir} em segundos inteiros, para o Retry-After
+     */
+    public static long segundos(long esperaNs) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNs + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.orcagov.api.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Identificadores (jti) de tokens revogados antes de expirar, com o instante de expiração
+ * em segundos. O jti é um long, e não o token, e cada entrada sai assim que o token
+ * expiraria de qualquer forma: a lista fica do tamanho dos logouts recentes. Vale só
+ * para esta instância.
+ */
+final class ListaRevogacao {
+
+    private final ConcurrentHashMap<Long, Long> expiracaoPorId = new ConcurrentHashMap<>();
+
+    /**
+     * Falso se o token já estava revogado
+     */
+    boolean revogar(long id, long expiraEm) {
+        return expiracaoPorId.putIfAbsent(id, expiraEm) == null;
+    }
+
+    boolean revogado(long id) {
+        // Caminho comum: ninguém saiu nos últimos minutos
+        return !expiracaoPorId.isEmpty() && expiracaoPorId.containsKey(id);
+    }
+
+    int limpar(long agora) {
+        int antes = expiracaoPorId.size();
+        expiracaoPorId.values().removeIf(expiraEm -> expiraEm <= agora);
+        return antes - expiracaoPorId.size();
+    }
+
+    int tamanho() {
+        return expiracaoPorId.size();
+    }
+}
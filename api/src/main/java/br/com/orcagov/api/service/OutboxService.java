@@ -0,0 +1,287 @@
+package br.com.orcagov.api.service;
+
+import br.com.orcagov.api.dto.Response.OutboxMetricasDTO;
+import br.com.orcagov.api.entity.EventoOutbox;
+import br.com.orcagov.api.entity.enums.TipoAgregado;
+import br.com.orcagov.api.entity.enums.TipoEventoOutbox;
+import br.com.orcagov.api.repository.EventoOutboxRepository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Outbox transacional das alterações de despesas, empenhos e pagamentos.
+ *
+ * Cada alteração grava seu evento na mesma transação, então o evento existe se e
+ * somente se a alteração foi confirmada. O publicador lê lotes com
+ * FOR UPDATE SKIP LOCKED, o que permite várias instâncias publicando ao mesmo
+ * tempo sem entregar o mesmo evento duas vezes em paralelo.
+ *
+ * Os eventos entregues recebem a posição do feed de alterações. A numeração é
+ * feita sob um advisory lock mantido até o commit, então um lote só numera depois
+ * que o anterior foi confirmado e um leitor nunca vê uma posição maior antes de
+ * uma menor.
+ *
+ * Um evento que falha orcagov.outbox.max-tentativas vezes é descartado: fica gravado
+ * com o último erro, fora do feed, e os eventos seguintes do agregado voltam a andar.
+ */
+@Service
+@Transactional
+public class OutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxService.class);
+
+    private static final int TAMANHO_MAXIMO_ERRO = 1000;
+
+    private static final long CHAVE_BLOQUEIO_FEED = 0x6F726361L;
+
+    @Autowired
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired(required = false)
+    private List<AssinanteOutbox> assinantes = new ArrayList<>();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${orcagov.outbox.lote:200}")
+    private int tamanhoLote;
+
+    @Value("${orcagov.outbox.espera-maxima:5m}")
+    private Duration esperaMaxima;
+
+    @Value("${orcagov.outbox.max-tentativas:10}")
+    private int maxTentativas;
+
+    @Value("${orcagov.outbox.retencao:7d}")
+    private Duration retencao;
+
+    private final AtomicLong eventosEntregues = new AtomicLong();
+    private final AtomicLong falhasEntrega = new AtomicLong();
+    private final AtomicLong maiorAtrasoEntregaMs = new AtomicLong();
+    private volatile long ultimoAtrasoEntregaMs;
+    private volatile LocalDateTime ultimaPublicacao;
+
+    // ==========================================
+    // REGISTRO DE EVENTOS
+    // ==========================================
+
+    /**
+     * Registra o evento na transação corrente, que precisa existir: um evento
+     * gravado fora da transação da alteração poderia sobreviver a um rollback.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(TipoAgregado tipoAgregado, Long agregadoId, TipoEventoOutbox tipoEvento, Object payload) {
+        // Envia antes a alteração do agregado: o bloqueio da linha é obtido antes do id
+        // do evento, então eventos do mesmo agregado recebem ids na ordem de confirmação
+        entityManager.flush();
+
+        EventoOutbox evento = new EventoOutbox();
+        evento.setTipoAgregado(tipoAgregado);
+        evento.setAgregadoId(agregadoId);
+        evento.setTipoEvento(tipoEvento);
+        evento.setPayload(serializar(payload));
+        evento.setDataCriacao(LocalDateTime.now());
+        evento.setTentativas(0);
+
+        eventoOutboxRepository.save(evento);
+    }
+
+    // ==========================================
+    // PUBLICAÇÃO
+    // ==========================================
+
+    /**
+     * Entrega um lote de eventos pendentes aos assinantes e retorna quantos foram entregues.
+     *
+     * Um evento só é entregue quando todos os eventos anteriores do mesmo agregado já
+     * foram: se um deles está bloqueado por outro publicador, aguardando nova tentativa
+     * ou falhou neste lote, os seguintes ficam para a próxima execução. Um evento
+     * descartado não segura os seguintes.
+     */
+    public int publicarLote() {
+        LocalDateTime agora = LocalDateTime.now();
+        List<EventoOutbox> lote = eventoOutboxRepository.bloquearPendentes(agora, tamanhoLote);
+        if (lote.isEmpty()) {
+            return 0;
+        }
+
+        Set<Long> agregadoIds = lote.stream().map(EventoOutbox::getAgregadoId).collect(Collectors.toSet());
+        Long ultimoId = lote.get(lote.size() - 1).getId();
+
+        Map<String, Deque<Long>> pendentesPorAgregado = new HashMap<>();
+        for (Object[] linha : eventoOutboxRepository.findPendentesPorAgregado(agregadoIds, ultimoId)) {
+            pendentesPorAgregado
+                    .computeIfAbsent(chave((TipoAgregado) linha[0], (Long) linha[1]), k -> new ArrayDeque<>())
+                    .addLast((Long) linha[2]);
+        }
+
+        Set<String> retidos = new HashSet<>();
+        List<EventoOutbox> entregues = new ArrayList<>();
+
+        for (EventoOutbox evento : lote) {
+            String chave = chave(evento.getTipoAgregado(), evento.getAgregadoId());
+            Deque<Long> pendentes = pendentesPorAgregado.get(chave);
+
+            if (retidos.contains(chave) || pendentes == null || !evento.getId().equals(pendentes.peekFirst())) {
+                retidos.add(chave);
+                continue;
+            }
+
+            try {
+                entregar(evento);
+            } catch (Exception e) {
+                if (registrarFalha(evento, e, agora)) {
+                    pendentes.removeFirst();
+                } else {
+                    retidos.add(chave);
+                }
+                continue;
+            }
+
+            pendentes.removeFirst();
+            evento.setDataProcessamento(LocalDateTime.now());
+            evento.setProximaTentativa(null);
+            registrarAtraso(evento);
+            entregues.add(evento);
+        }
+
+        if (!entregues.isEmpty()) {
+            numerarParaFeed(entregues);
+        }
+
+        ultimaPublicacao = LocalDateTime.now();
+        return entregues.size();
+    }
+
+    /**
+     * Remove os eventos entregues há mais tempo que a retenção configurada
+     */
+    public int limparProcessados() {
+        return eventoOutboxRepository.deleteProcessadosAntesDe(LocalDateTime.now().minus(retencao));
+    }
+
+    public int getTamanhoLote() {
+        return tamanhoLote;
+    }
+
+    // ==========================================
+    // MÉTRICAS
+    // ==========================================
+
+    @Transactional(readOnly = true)
+    public OutboxMetricasDTO obterMetricas() {
+        LocalDateTime maisAntigo = eventoOutboxRepository.findDataCriacaoPendenteMaisAntigo();
+
+        return OutboxMetricasDTO.builder()
+                .eventosPendentes(eventoOutboxRepository.countByDataProcessamentoIsNullAndDataDescarteIsNull())
+                .atrasoPendenteMaisAntigoMs(maisAntigo != null
+                        ? Duration.between(maisAntigo, LocalDateTime.now()).toMillis() : 0L)
+                .ultimoAtrasoEntregaMs(ultimoAtrasoEntregaMs)
+                .maiorAtrasoEntregaMs(maiorAtrasoEntregaMs.get())
+                .eventosEntregues(eventosEntregues.get())
+                .falhasEntrega(falhasEntrega.get())
+                .eventosDescartados(eventoOutboxRepository.countByDataDescarteIsNotNull())
+                .assinantes(assinantes.stream().map(AssinanteOutbox::getNome).collect(Collectors.toList()))
+                .ultimaPublicacao(ultimaPublicacao)
+                .build();
+    }
+
+    // ==========================================
+    // MÉTODOS AUXILIARES
+    // ==========================================
+
+    private void entregar(EventoOutbox evento) throws Exception {
+        for (AssinanteOutbox assinante : assinantes) {
+            assinante.processar(evento);
+        }
+    }
+
+    private void numerarParaFeed(List<EventoOutbox> entregues) {
+        eventoOutboxRepository.bloquearPosicoesFeed(CHAVE_BLOQUEIO_FEED);
+
+        Long ultimaPosicao = eventoOutboxRepository.findUltimaPosicao();
+        long posicao = ultimaPosicao != null ? ultimaPosicao : 0L;
+        for (EventoOutbox evento : entregues) {
+            evento.setPosicao(++posicao);
+        }
+    }
+
+    /**
+     * Agenda a nova tentativa ou, com as tentativas esgotadas, descarta o evento.
+     * Retorna true quando o evento foi descartado.
+     */
+    private boolean registrarFalha(EventoOutbox evento, Exception e, LocalDateTime agora) {
+        int tentativas = evento.getTentativas() + 1;
+
+        evento.setTentativas(tentativas);
+        evento.setUltimoErro(truncar(e.getClass().getSimpleName() + ": " + e.getMessage()));
+        falhasEntrega.incrementAndGet();
+
+        if (maxTentativas > 0 && tentativas >= maxTentativas) {
+            evento.setProximaTentativa(null);
+            evento.setDataDescarte(agora);
+            logger.error("Evento {} ({} {} {}) descartado após {} tentativas",
+                    evento.getId(), evento.getTipoEvento(), evento.getTipoAgregado(), evento.getAgregadoId(),
+                    tentativas, e);
+            return true;
+        }
+
+        // Espera exponencial a partir de 1 segundo, limitada à espera máxima
+        long esperaSegundos = Math.min(1L << Math.min(tentativas - 1, 20), esperaMaxima.toSeconds());
+        evento.setProximaTentativa(agora.plusSeconds(esperaSegundos));
+
+        logger.warn("Falha ao entregar o evento {} ({} {} {}), tentativa {}; nova tentativa em {} s",
+                evento.getId(), evento.getTipoEvento(), evento.getTipoAgregado(), evento.getAgregadoId(),
+                tentativas, esperaSegundos, e);
+        return false;
+    }
+
+    private void registrarAtraso(EventoOutbox evento) {
+        long atrasoMs = Duration.between(evento.getDataCriacao(), evento.getDataProcessamento()).toMillis();
+        ultimoAtrasoEntregaMs = atrasoMs;
+        maiorAtrasoEntregaMs.accumulateAndGet(atrasoMs, Math::max);
+        eventosEntregues.incrementAndGet();
+    }
+
+    private String serializar(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Erro ao serializar o evento do outbox", e);
+        }
+    }
+
+    private static String chave(TipoAgregado tipoAgregado, Long agregadoId) {
+        return tipoAgregado + ":" + agregadoId;
+    }
+
+    private static String truncar(String mensagem) {
+        return mensagem.length() > TAMANHO_MAXIMO_ERRO ? mensagem.substring(0, TAMANHO_MAXIMO_ERRO) : mensagem;
+    }
+}
@@ -0,0 +1,269 @@
+package br.com.orcagov.api.service;
+
+import br.com.orcagov.api.dto.Response.EmpenhoResumoDTO;
+import br.com.orcagov.api.dto.Response.PagamentoResponseDTO;
+import br.com.orcagov.api.exception.ResourceNotFoundException;
+
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Consultas de pagamentos da API de leitura reativa (/v2).
+ *
+ * Devolve os mesmos DTOs do PagamentoService, com empenho e usuário criador lidos
+ * na mesma consulta.
+ */
+@Service
+public class PagamentoReativaService {
+
+    private static final String SELECT_PAGAMENTOS =
+            "SELECT p.id, p.numero_pagamento, p.data_pagamento, p.valor_pagamento, p.observacao, p.status, " +
+            "p.data_criacao, p.data_atualizacao, e.id AS empenho_id, e.numero_empenho, e.data_empenho, " +
+            "e.valor AS valor_empenho, u.user_name " +
+            "FROM pagamentos p JOIN empenhos e ON e.id = p.empenho_id " +
+            "JOIN despesas d ON d.id = e.despesa_id " +
+            "LEFT JOIN usuario u ON u.id = p.usuario_criador_id";
+
+    private static final String SELECT_ESTATISTICAS =
+            "SELECT COUNT(*) AS total_pagamentos, COALESCE(SUM(p.valor_pagamento), 0) AS valor_total_pago, " +
+            "COUNT(*) FILTER (WHERE p.status = 'CANCELADO') AS pagamentos_cancelados, " +
+            "COUNT(*) FILTER (WHERE p.status = 'ESTORNADO') AS pagamentos_estornados " +
+            "FROM pagamentos p";
+
+    private static final String SELECT_RELATORIO_MENSAL =
+            "SELECT CAST(EXTRACT(YEAR FROM p.data_pagamento) AS INTEGER) AS ano, " +
+            "CAST(EXTRACT(MONTH FROM p.data_pagamento) AS INTEGER) AS mes, SUM(p.valor_pagamento) AS valor_total " +
+            "FROM pagamentos p GROUP BY 1, 2 ORDER BY 1, 2";
+
+    private static final String SELECT_RELATORIO_DETALHADO =
+            "SELECT p.numero_pagamento, p.data_pagamento, p.valor_pagamento, e.numero_empenho, " +
+            "d.numero_protocolo, d.credor_despesas " +
+            "FROM pagamentos p JOIN empenhos e ON e.id = p.empenho_id JOIN despesas d ON d.id = e.despesa_id";
+
+    private static final String SELECT_RESUMO_FINANCEIRO =
+            "SELECT e.id, e.numero_empenho, e.valor, COALESCE(SUM(p.valor_pagamento), 0) AS valor_total_pago, " +
+            "COUNT(p.id) AS quantidade_pagamentos " +
+            "FROM empenhos e LEFT JOIN pagamentos p ON p.empenho_id = e.id WHERE e.id = :empenhoId GROUP BY e.id";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Value("${orcagov.leitura-reativa.fetch-size:200}")
+    private int fetchSize;
+
+    @Value("${orcagov.leitura-reativa.pagina.tamanho-padrao:20}")
+    private int tamanhoPaginaPadrao;
+
+    @Value("${orcagov.leitura-reativa.pagina.tamanho-maximo:2000}")
+    private int tamanhoPaginaMaximo;
+
+    // ==========================================
+    // CONSULTAS INDIVIDUAIS
+    // ==========================================
+
+    public Mono<PagamentoResponseDTO> buscarPorId(Long id) {
+        return listar(ConsultaReativa.de(SELECT_PAGAMENTOS).onde("p.id = :id", "id", id))
+                .next()
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Pagamento não encontrado com ID: " + id)));
+    }
+
+    public Mono<PagamentoResponseDTO> buscarPorNumero(String numeroPagamento) {
+        return listar(ConsultaReativa.de(SELECT_PAGAMENTOS)
+                        .onde("p.numero_pagamento = :numeroPagamento", "numeroPagamento", numeroPagamento))
+                .next()
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(
+                    "Pagamento não encontrado com o número: " + numeroPagamento)));
+    }
+
+    // ==========================================
+    // LISTAGENS
+    // ==========================================
+
+    /**
+     * Todos os pagamentos em ordem de id. Em streaming, sem tamanho de página, todos;
+     * fora dele a página é limitada
+     */
+    public Flux<PagamentoResponseDTO> listarTodos(Integer pagina, Integer tamanho, boolean streaming) {
+        ConsultaReativa consulta = ConsultaReativa.de(SELECT_PAGAMENTOS).ordenarPor("p.id");
+        return listar(streaming
+                ? consulta.paginar(pagina, tamanho)
+                : consulta.paginarLimitado(pagina, tamanho, tamanhoPaginaPadrao, tamanhoPaginaMaximo));
+    }
+
+    public Flux<PagamentoResponseDTO> listarPorEmpenho(Long empenhoId) {
+        return listar(ConsultaReativa.de(SELECT_PAGAMENTOS)
+                .onde("p.empenho_id = :empenhoId", "empenhoId", empenhoId)
+                .ordenarPor("p.id"));
+    }
+
+    public Flux<PagamentoResponseDTO> listarPorNumeroEmpenho(String numeroEmpenho) {
+        return listar(ConsultaReativa.de(SELECT_PAGAMENTOS)
+                .onde("e.numero_empenho = :numeroEmpenho", "numeroEmpenho", numeroEmpenho)
+                .ordenarPor("p.id"));
+    }
+
+    public Flux<PagamentoResponseDTO> listarPorDespesa(Long despesaId) {
+        return listar(ConsultaReativa.de(SELECT_PAGAMENTOS)
+                .onde("e.despesa_id = :despesaId", "despesaId", despesaId)
+                .ordenarPor("p.id"));
+    }
+
+    public Flux<PagamentoResponseDTO> listarPorProtocoloDespesa(String numeroProtocolo) {
+        return listar(ConsultaReativa.de(SELECT_PAGAMENTOS)
+                .onde("d.numero_protocolo = :numeroProtocolo", "numeroProtocolo", numeroProtocolo)
+                .ordenarPor("p.id"));
+    }
+
+    public Flux<PagamentoResponseDTO> buscarComFiltros(
+            String numeroPagamento,
+            Long empenhoId,
+            LocalDate dataInicio,
+            LocalDate dataFim,
+            BigDecimal valorMinimo,
+            BigDecimal valorMaximo) {
+
+        return listar(ConsultaReativa.de(SELECT_PAGAMENTOS)
+                .onde("p.numero_pagamento = :numeroPagamento", "numeroPagamento", numeroPagamento)
+                .onde("p.empenho_id = :empenhoId", "empenhoId", empenhoId)
+                .onde("p.data_pagamento >= :dataInicio", "dataInicio", dataInicio)
+                .onde("p.data_pagamento <= :dataFim", "dataFim", dataFim)
+                .onde("p.valor_pagamento >= :valorMinimo", "valorMinimo", valorMinimo)
+                .onde("p.valor_pagamento <= :valorMaximo", "valorMaximo", valorMaximo)
+                .ordenarPor("p.id"));
+    }
+
+    public Flux<PagamentoResponseDTO> buscarPorPeriodo(LocalDate dataInicio, LocalDate dataFim) {
+        return listar(ConsultaReativa.de(SELECT_PAGAMENTOS)
+                .onde("p.data_pagamento >= :dataInicio", "dataInicio", dataInicio)
+                .onde("p.data_pagamento <= :dataFim", "dataFim", dataFim)
+                .ordenarPor("p.data_pagamento, p.id"));
+    }
+
+    public Flux<PagamentoResponseDTO> buscarPorFaixaValor(BigDecimal valorMinimo, BigDecimal valorMaximo) {
+        return listar(ConsultaReativa.de(SELECT_PAGAMENTOS)
+                .onde("p.valor_pagamento >= :valorMinimo", "valorMinimo", valorMinimo)
+                .onde("p.valor_pagamento <= :valorMaximo", "valorMaximo", valorMaximo)
+                .ordenarPor("p.id"));
+    }
+
+    public Flux<PagamentoResponseDTO> buscarPagamentosHoje() {
+        LocalDate hoje = LocalDate.now();
+        return buscarPorPeriodo(hoje, hoje);
+    }
+
+    public Flux<PagamentoResponseDTO> buscarPagamentosSemana() {
+        LocalDate hoje = LocalDate.now();
+        return buscarPorPeriodo(hoje.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)),
+                hoje.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY)));
+    }
+
+    public Flux<PagamentoResponseDTO> buscarPagamentosMes() {
+        LocalDate hoje = LocalDate.now();
+        return buscarPorPeriodo(hoje.with(TemporalAdjusters.firstDayOfMonth()),
+                hoje.with(TemporalAdjusters.lastDayOfMonth()));
+    }
+
+    // ==========================================
+    // ESTATÍSTICAS E RELATÓRIOS
+    // ==========================================
+
+    public Mono<PagamentoService.PagamentoEstatisticasDTO> obterEstatisticas() {
+        return databaseClient.sql(SELECT_ESTATISTICAS)
+                .map((row, metadata) -> PagamentoService.PagamentoEstatisticasDTO.builder()
+                        .totalPagamentos(row.get("total_pagamentos", Long.class))
+                        .valorTotalPago(row.get("valor_total_pago", BigDecimal.class))
+                        .pagamentosCancelados(row.get("pagamentos_cancelados", Long.class))
+                        .pagamentosEstornados(row.get("pagamentos_estornados", Long.class))
+                        .build())
+                .one();
+    }
+
+    public Flux<PagamentoService.RelatorioMensalDTO> obterRelatorioMensal() {
+        return databaseClient.sql(SELECT_RELATORIO_MENSAL)
+                .map((row, metadata) -> PagamentoService.RelatorioMensalDTO.builder()
+                        .ano(row.get("ano", Integer.class))
+                        .mes(row.get("mes", Integer.class))
+                        .valorTotal(row.get("valor_total", BigDecimal.class))
+                        .build())
+                .all();
+    }
+
+    /**
+     * Pagamentos do período, do mais recente para o mais antigo, em streaming
+     */
+    public Flux<PagamentoService.RelatorioPagamentoDTO> obterRelatorioDetalhado(LocalDate dataInicio, LocalDate dataFim) {
+        return ConsultaReativa.de(SELECT_RELATORIO_DETALHADO)
+                .onde("p.data_pagamento >= :dataInicio", "dataInicio", dataInicio)
+                .onde("p.data_pagamento <= :dataFim", "dataFim", dataFim)
+                .ordenarPor("p.data_pagamento DESC, p.id DESC")
+                .listar(databaseClient, fetchSize, row -> PagamentoService.RelatorioPagamentoDTO.builder()
+                        .numeroPagamento(row.get("numero_pagamento", String.class))
+                        .dataPagamento(row.get("data_pagamento", LocalDate.class))
+                        .valorPagamento(row.get("valor_pagamento", BigDecimal.class))
+                        .numeroEmpenho(row.get("numero_empenho", String.class))
+                        .numeroProtocolo(row.get("numero_protocolo", String.class))
+                        .credorDespesas(row.get("credor_despesas", String.class))
+                        .build());
+    }
+
+    public Mono<PagamentoService.ResumoFinanceiroDTO> obterResumoFinanceiro(Long empenhoId) {
+        return databaseClient.sql(SELECT_RESUMO_FINANCEIRO)
+                .bind("empenhoId", empenhoId)
+                .map((row, metadata) -> {
+                    BigDecimal valorEmpenho = row.get("valor", BigDecimal.class);
+                    BigDecimal valorTotalPago = row.get("valor_total_pago", BigDecimal.class);
+                    return PagamentoService.ResumoFinanceiroDTO.builder()
+                            .empenhoId(row.get("id", Long.class))
+                            .numeroEmpenho(row.get("numero_empenho", String.class))
+                            .valorEmpenho(valorEmpenho)
+                            .valorTotalPago(valorTotalPago)
+                            .valorDisponivel(valorEmpenho.subtract(valorTotalPago))
+                            .quantidadePagamentos(row.get("quantidade_pagamentos", Long.class))
+                            .build();
+                })
+                .one()
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(
+                    "Empenho não encontrado com ID: " + empenhoId)));
+    }
+
+    // ==========================================
+    // MÉTODOS AUXILIARES
+    // ==========================================
+
+    private Flux<PagamentoResponseDTO> listar(ConsultaReativa consulta) {
+        return consulta.listar(databaseClient, fetchSize, this::converterParaResponseDTO);
+    }
+
+    private PagamentoResponseDTO converterParaResponseDTO(Row row) {
+        PagamentoResponseDTO dto = new PagamentoResponseDTO();
+        dto.setId(row.get("id", Long.class));
+        dto.setNumeroPagamento(row.get("numero_pagamento", String.class));
+        dto.setDataPagamento(row.get("data_pagamento", LocalDate.class));
+        dto.setValorPagamento(row.get("valor_pagamento", BigDecimal.class));
+        dto.setObservacao(row.get("observacao", String.class));
+        dto.setStatus(row.get("status", String.class));
+        dto.setDataCriacao(row.get("data_criacao", LocalDateTime.class));
+        dto.setDataAtualizacao(row.get("data_atualizacao", LocalDateTime.class));
+
+        EmpenhoResumoDTO empenhoResumo = new EmpenhoResumoDTO();
+        empenhoResumo.setId(row.get("empenho_id", Long.class));
+        empenhoResumo.setNumeroEmpenho(row.get("numero_empenho", String.class));
+        empenhoResumo.setValor(row.get("valor_empenho", BigDecimal.class));
+        empenhoResumo.setDataEmpenho(row.get("data_empenho", LocalDate.class));
+        dto.setEmpenho(empenhoResumo);
+
+        dto.setUsuarioCriador(row.get("user_name", String.class));
+        return dto;
+    }
+}
@@ -1,19 +1,23 @@
 package br.com.orcagov.api.service;
 
 import br.com.orcagov.api.dto.Request.PagamentoRequestDTO;
-import br.com.orcagov.api.dto.Response.EmpenhoResumoDTO;
 import br.com.orcagov.api.dto.Response.PagamentoResponseDTO;
 import br.com.orcagov.api.dto.Response.ValidacaoValorDTO;
 import br.com.orcagov.api.entity.Empenho;
+import br.com.orcagov.api.entity.Money;
 import br.com.orcagov.api.entity.Pagamento;
 import br.com.orcagov.api.entity.Usuario;
+import br.com.orcagov.api.entity.enums.TipoAgregado;
+import br.com.orcagov.api.entity.enums.TipoEventoOutbox;
 import br.com.orcagov.api.repository.EmpenhoRepository;
 import br.com.orcagov.api.repository.PagamentoRepository;
 import br.com.orcagov.api.repository.UsuarioRepository;
 import br.com.orcagov.api.repository.DespesaRepository;
 import br.com.orcagov.api.exception.BusinessException;
 import br.com.orcagov.api.exception.ResourceNotFoundException;
+import br.com.orcagov.api.mapper.DtoMapper;
 
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -25,10 +29,12 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.TemporalAdjusters;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Observed(name = "orcagov.servico")
 public class PagamentoService {
 
     @Autowired
@@ -46,6 +52,18 @@ public class PagamentoService {
     @Autowired
     private SequenceGeneratorService sequenceGeneratorService;
 
+    @Autowired
+    private DespesaService despesaService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private AuditoriaService auditoriaService;
+
+    @Autowired
+    private DtoMapper dtoMapper;
+
     // ==========================================
     // MÉTODOS CRUD PRINCIPAIS
     // ==========================================
@@ -61,7 +79,7 @@ public class PagamentoService {
         Empenho empenho = buscarEmpenhoPorId(request.getEmpenhoId());
         
         // Validar se pode adicionar pagamento ao empenho
-        validarPagamentoParaEmpenho(empenho, request.getValorPagamento());
+        validarPagamentoParaEmpenho(empenho, Money.of(request.getValorPagamento()));
         
         // Criar entidade Pagamento
         Pagamento pagamento = new Pagamento();
@@ -81,7 +99,11 @@ public class PagamentoService {
         atualizarStatusDespesa(empenho);
         
         // Converter para DTO de resposta
-        return converterParaResponseDTO(pagamentoSalvo);
+        PagamentoResponseDTO response = dtoMapper.paraResponseDTO(pagamentoSalvo);
+        outboxService.registrar(TipoAgregado.PAGAMENTO, pagamentoSalvo.getId(), TipoEventoOutbox.CRIADO, response);
+        auditoriaService.registrar(TipoAgregado.PAGAMENTO, pagamentoSalvo.getId(), TipoEventoOutbox.CRIADO,
+                null, auditoriaService.estado(pagamentoSalvo), userName);
+        return response;
     }
 
     /**
@@ -90,7 +112,7 @@ public class PagamentoService {
     @Transactional(readOnly = true)
     public PagamentoResponseDTO buscarPorId(Long id) {
         Pagamento pagamento = buscarPagamentoPorId(id);
-        return converterParaResponseDTO(pagamento);
+        return dtoMapper.paraResponseDTO(pagamento);
     }
 
     /**
@@ -102,7 +124,7 @@ public class PagamentoService {
                 .orElseThrow(() -> new ResourceNotFoundException(
                     "Pagamento não encontrado com o número: " + numeroPagamento));
         
-        return converterParaResponseDTO(pagamento);
+        return dtoMapper.paraResponseDTO(pagamento);
     }
 
     /**
@@ -111,7 +133,7 @@ public class PagamentoService {
     @Transactional(readOnly = true)
     public Page<PagamentoResponseDTO> listarTodos(Pageable pageable) {
         Page<Pagamento> pagamentos = pagamentoRepository.findAll(pageable);
-        return pagamentos.map(this::converterParaResponseDTO);
+        return pagamentos.map(dtoMapper::paraResponseDTO);
     }
 
     /**
@@ -120,13 +142,15 @@ public class PagamentoService {
     public PagamentoResponseDTO atualizarPagamento(Long id, PagamentoRequestDTO request, String userName) {
         // Buscar pagamento existente
         Pagamento pagamento = buscarPagamentoPorId(id);
+        Map<String, Object> estadoAnterior = auditoriaService.estado(pagamento);
         
         // Validar se pode ser alterado
         validarSePermiteAlteracao(pagamento);
         
         // Se mudou o valor, validar
-        if (request.getValorPagamento().compareTo(pagamento.getValorPagamento()) != 0) {
-            validarAlteracaoValor(pagamento, request.getValorPagamento());
+        Money novoValor = Money.of(request.getValorPagamento());
+        if (!novoValor.equals(pagamento.montante())) {
+            validarAlteracaoValor(pagamento, novoValor);
         }
         
         // Atualizar campos
@@ -141,7 +165,11 @@ public class PagamentoService {
         // Atualizar status da despesa
         atualizarStatusDespesa(pagamento.getEmpenho());
         
-        return converterParaResponseDTO(pagamentoAtualizado);
+        PagamentoResponseDTO response = dtoMapper.paraResponseDTO(pagamentoAtualizado);
+        outboxService.registrar(TipoAgregado.PAGAMENTO, id, TipoEventoOutbox.ATUALIZADO, response);
+        auditoriaService.registrar(TipoAgregado.PAGAMENTO, id, TipoEventoOutbox.ATUALIZADO,
+                estadoAnterior, auditoriaService.estado(pagamentoAtualizado), userName);
+        return response;
     }
 
     /**
@@ -157,6 +185,11 @@ public class PagamentoService {
         
         pagamentoRepository.delete(pagamento);
         
+        outboxService.registrar(TipoAgregado.PAGAMENTO, id, TipoEventoOutbox.EXCLUIDO,
+                Map.of("id", id, "numeroPagamento", pagamento.getNumeroPagamento(), "empenhoId", empenho.getId()));
+        auditoriaService.registrar(TipoAgregado.PAGAMENTO, id, TipoEventoOutbox.EXCLUIDO,
+                auditoriaService.estado(pagamento), null, userName);
+        
         // Atualizar status da despesa
         atualizarStatusDespesa(empenho);
     }
@@ -173,7 +206,7 @@ public class PagamentoService {
         List<Pagamento> pagamentos = pagamentoRepository.findByEmpenhoId(empenhoId);
         
         return pagamentos.stream()
-                .map(this::converterParaResponseDTO)
+                .map(dtoMapper::paraResponseDTO)
                 .collect(Collectors.toList());
     }
 
@@ -185,7 +218,7 @@ public class PagamentoService {
         List<Pagamento> pagamentos = pagamentoRepository.findByEmpenhoNumeroEmpenho(numeroEmpenho);
         
         return pagamentos.stream()
-                .map(this::converterParaResponseDTO)
+                .map(dtoMapper::paraResponseDTO)
                 .collect(Collectors.toList());
     }
 
@@ -197,7 +230,7 @@ public class PagamentoService {
         List<Pagamento> pagamentos = pagamentoRepository.findByDespesaId(despesaId);
         
         return pagamentos.stream()
-                .map(this::converterParaResponseDTO)
+                .map(dtoMapper::paraResponseDTO)
                 .collect(Collectors.toList());
     }
 
@@ -209,7 +242,7 @@ public class PagamentoService {
         List<Pagamento> pagamentos = pagamentoRepository.findByDespesaNumeroProtocolo(numeroProtocolo);
         
         return pagamentos.stream()
-                .map(this::converterParaResponseDTO)
+                .map(dtoMapper::paraResponseDTO)
                 .collect(Collectors.toList());
     }
 
@@ -233,7 +266,7 @@ public class PagamentoService {
                 numeroPagamento, empenhoId, dataInicio, dataFim, valorMinimo, valorMaximo);
         
         return pagamentos.stream()
-                .map(this::converterParaResponseDTO)
+                .map(dtoMapper::paraResponseDTO)
                 .collect(Collectors.toList());
     }
 
@@ -245,7 +278,7 @@ public class PagamentoService {
         List<Pagamento> pagamentos = pagamentoRepository.findByDataPagamentoBetween(dataInicio, dataFim);
         
         return pagamentos.stream()
-                .map(this::converterParaResponseDTO)
+                .map(dtoMapper::paraResponseDTO)
                 .collect(Collectors.toList());
     }
 
@@ -257,7 +290,7 @@ public class PagamentoService {
         List<Pagamento> pagamentos = pagamentoRepository.findByValorPagamentoBetween(valorMinimo, valorMaximo);
         
         return pagamentos.stream()
-                .map(this::converterParaResponseDTO)
+                .map(dtoMapper::paraResponseDTO)
                 .collect(Collectors.toList());
     }
 
@@ -303,6 +336,7 @@ public class PagamentoService {
         
         // Validar se pode ser cancelado
         validarSePermiteCancelamento(pagamento);
+        Map<String, Object> estadoAnterior = auditoriaService.estado(pagamento);
         
         // Implementar lógica de cancelamento
         pagamento.setStatus("CANCELADO");
@@ -314,7 +348,11 @@ public class PagamentoService {
         // Atualizar status da despesa
         atualizarStatusDespesa(pagamento.getEmpenho());
         
-        return converterParaResponseDTO(pagamentoCancelado);
+        PagamentoResponseDTO response = dtoMapper.paraResponseDTO(pagamentoCancelado);
+        outboxService.registrar(TipoAgregado.PAGAMENTO, id, TipoEventoOutbox.CANCELADO, response);
+        auditoriaService.registrar(TipoAgregado.PAGAMENTO, id, TipoEventoOutbox.CANCELADO,
+                estadoAnterior, auditoriaService.estado(pagamentoCancelado), userName);
+        return response;
     }
 
     public PagamentoResponseDTO estornarPagamento(Long id, String motivo, String userName) {
@@ -322,6 +360,7 @@ public class PagamentoService {
         
         // Validar se pode ser estornado
         validarSePermiteEstorno(pagamento);
+        Map<String, Object> estadoAnterior = auditoriaService.estado(pagamento);
         
         // Implementar lógica de estorno
         pagamento.setStatus("ESTORNADO");
@@ -333,7 +372,11 @@ public class PagamentoService {
         // Atualizar status da despesa
         atualizarStatusDespesa(pagamento.getEmpenho());
         
-        return converterParaResponseDTO(pagamentoEstornado);
+        PagamentoResponseDTO response = dtoMapper.paraResponseDTO(pagamentoEstornado);
+        outboxService.registrar(TipoAgregado.PAGAMENTO, id, TipoEventoOutbox.ESTORNADO, response);
+        auditoriaService.registrar(TipoAgregado.PAGAMENTO, id, TipoEventoOutbox.ESTORNADO,
+                estadoAnterior, auditoriaService.estado(pagamentoEstornado), userName);
+        return response;
     }
 
     public String obterProximoNumero() {
@@ -347,22 +390,22 @@ public class PagamentoService {
     public ValidacaoValorDTO validarValorPagamento(Long empenhoId, BigDecimal valorPagamento) {
         Empenho empenho = buscarEmpenhoPorId(empenhoId);
         
-        BigDecimal valorTotalPago = empenho.getValorTotalPago();
-        BigDecimal valorDisponivel = empenho.getValor().subtract(valorTotalPago);
+        Money valorTotalPago = empenho.totalPago();
+        Money valorDisponivel = empenho.montante().minus(valorTotalPago);
         
-        boolean valido = valorPagamento.compareTo(valorDisponivel) <= 0;
+        boolean valido = !Money.of(valorPagamento).isMaiorQue(valorDisponivel);
         
         ValidacaoValorDTO validacao = new ValidacaoValorDTO();
         validacao.setValido(valido);
         validacao.setValorSolicitado(valorPagamento);
-        validacao.setValorDisponivel(valorDisponivel);
+        validacao.setValorDisponivel(valorDisponivel.toBigDecimal());
         validacao.setValorEmpenho(empenho.getValor());
-        validacao.setValorTotalPago(valorTotalPago);
+        validacao.setValorTotalPago(valorTotalPago.toBigDecimal());
         
         if (!valido) {
             validacao.setMensagem(String.format(
                 "Valor solicitado (R$ %.2f) excede o valor disponível (R$ %.2f)",
-                valorPagamento, valorDisponivel));
+                valorPagamento, valorDisponivel.toBigDecimal()));
         }
         
         return validacao;
@@ -372,59 +415,59 @@ public class PagamentoService {
     // MÉTODOS DE VALIDAÇÃO
     // ==========================================
 
-    private void validarPagamentoParaEmpenho(Empenho empenho, BigDecimal valorPagamento) {
+    private void validarPagamentoParaEmpenho(Empenho empenho, Money valorPagamento) {
         // Verificar se soma dos pagamentos não ultrapassa valor do empenho
-        BigDecimal valorTotalPago = empenho.getValorTotalPago();
-        BigDecimal novoTotal = valorTotalPago.add(valorPagamento);
+        Money valorTotalPago = empenho.totalPago();
+        Money novoTotal = valorTotalPago.plus(valorPagamento);
         
-        if (novoTotal.compareTo(empenho.getValor()) > 0) {
-            throw new BusinessException(
+        if (novoTotal.isMaiorQue(empenho.montante())) {
+            throw new BusinessException("pagamento.excede-empenho",
                 String.format("Valor do pagamento (R$ %.2f) excede o valor disponível do empenho (R$ %.2f). " +
                              "Valor já pago: R$ %.2f",
-                    valorPagamento, 
-                    empenho.getValor().subtract(valorTotalPago),
-                    valorTotalPago));
+                    valorPagamento.toBigDecimal(), 
+                    empenho.montante().minus(valorTotalPago).toBigDecimal(),
+                    valorTotalPago.toBigDecimal()));
         }
     }
 
     private void validarSePermiteAlteracao(Pagamento pagamento) {
         if ("CANCELADO".equals(pagamento.getStatus()) || "ESTORNADO".equals(pagamento.getStatus())) {
-            throw new BusinessException("Não é possível alterar um pagamento cancelado ou estornado");
+            throw new BusinessException("pagamento.alteracao-encerrado", "Não é possível alterar um pagamento cancelado ou estornado");
         }
     }
 
     private void validarSePermiteExclusao(Pagamento pagamento) {
         if ("CANCELADO".equals(pagamento.getStatus()) || "ESTORNADO".equals(pagamento.getStatus())) {
-            throw new BusinessException("Não é possível excluir um pagamento cancelado ou estornado");
+            throw new BusinessException("pagamento.exclusao-encerrado", "Não é possível excluir um pagamento cancelado ou estornado");
         }
     }
 
     private void validarSePermiteCancelamento(Pagamento pagamento) {
         if ("CANCELADO".equals(pagamento.getStatus())) {
-            throw new BusinessException("Pagamento já está cancelado");
+            throw new BusinessException("pagamento.ja-cancelado", "Pagamento já está cancelado");
         }
         if ("ESTORNADO".equals(pagamento.getStatus())) {
-            throw new BusinessException("Pagamento estornado não pode ser cancelado");
+            throw new BusinessException("pagamento.cancelamento-estornado", "Pagamento estornado não pode ser cancelado");
         }
     }
 
     private void validarSePermiteEstorno(Pagamento pagamento) {
         if ("ESTORNADO".equals(pagamento.getStatus())) {
-            throw new BusinessException("Pagamento já está estornado");
+            throw new BusinessException("pagamento.ja-estornado", "Pagamento já está estornado");
         }
         if ("CANCELADO".equals(pagamento.getStatus())) {
-            throw new BusinessException("Pagamento cancelado não pode ser estornado");
+            throw new BusinessException("pagamento.estorno-cancelado", "Pagamento cancelado não pode ser estornado");
         }
     }
 
-    private void validarAlteracaoValor(Pagamento pagamento, BigDecimal novoValor) {
+    private void validarAlteracaoValor(Pagamento pagamento, Money novoValor) {
         // Verificar se não excede valor disponível do empenho
         Empenho empenho = pagamento.getEmpenho();
-        BigDecimal valorOutrosPagamentos = empenho.getValorTotalPago().subtract(pagamento.getValorPagamento());
-        BigDecimal novoTotalPagamentos = valorOutrosPagamentos.add(novoValor);
+        Money valorOutrosPagamentos = empenho.totalPago().minus(pagamento.montante());
+        Money novoTotalPagamentos = valorOutrosPagamentos.plus(novoValor);
         
-        if (novoTotalPagamentos.compareTo(empenho.getValor()) > 0) {
-            throw new BusinessException(
+        if (novoTotalPagamentos.isMaiorQue(empenho.montante())) {
+            throw new BusinessException("pagamento.excede-empenho",
                 String.format("Novo valor excede o valor disponível do empenho"));
         }
     }
@@ -452,36 +495,294 @@ public class PagamentoService {
     }
 
     private void atualizarStatusDespesa(Empenho empenho) {
-        empenho.getDespesa().setStatus(empenho.getDespesa().calculateStatus());
-        despesaRepository.save(empenho.getDespesa());
-    }
-
-    private PagamentoResponseDTO converterParaResponseDTO(Pagamento pagamento) {
-        PagamentoResponseDTO dto = new PagamentoResponseDTO();
-        dto.setId(pagamento.getId());
-        dto.setNumeroPagamento(pagamento.getNumeroPagamento());
-        dto.setDataPagamento(pagamento.getDataPagamento());
-        dto.setValorPagamento(pagamento.getValorPagamento());
-        dto.setObservacao(pagamento.getObservacao());
-        dto.setStatus(pagamento.getStatus());
-        dto.setDataCriacao(pagamento.getDataCriacao());
-        dto.setDataAtualizacao(pagamento.getDataAtualizacao());
-        
-        // Dados do empenho
-        if (pagamento.getEmpenho() != null) {
-            EmpenhoResumoDTO empenhoResumo = new EmpenhoResumoDTO();
-            empenhoResumo.setId(pagamento.getEmpenho().getId());
-            empenhoResumo.setNumeroEmpenho(pagamento.getEmpenho().getNumeroEmpenho());
-            empenhoResumo.setValor(pagamento.getEmpenho().getValor());
-            empenhoResumo.setDataEmpenho(pagamento.getEmpenho().getDataEmpenho());
-            dto.setEmpenho(empenhoResumo);
+        despesaService.atualizarStatus(empenho.getDespesa());
+    }
+
+    // ==========================================
+    // MÉTODOS PARA RELATÓRIOS E ESTATÍSTICAS
+    // ==========================================
+
+    /**
+     * Obter estatísticas gerais dos pagamentos
+     */
+    @Transactional(readOnly = true)
+    public PagamentoEstatisticasDTO obterEstatisticas() {
+        List<Pagamento> todosPagamentos = pagamentoRepository.findAll();
+        
+        Money valorTotal = Money.somar(todosPagamentos, Pagamento::montante);
+        
+        long pagamentosCancelados = todosPagamentos.stream()
+                .filter(p -> "CANCELADO".equals(p.getStatus()))
+                .count();
+        
+        long pagamentosEstornados = todosPagamentos.stream()
+                .filter(p -> "ESTORNADO".equals(p.getStatus()))
+                .count();
+        
+        return PagamentoEstatisticasDTO.builder()
+                .totalPagamentos((long) todosPagamentos.size())
+                .valorTotalPago(valorTotal.toBigDecimal())
+                .pagamentosCancelados(pagamentosCancelados)
+                .pagamentosEstornados(pagamentosEstornados)
+                .build();
+    }
+
+    /**
+     * Relatório mensal de pagamentos
+     */
+    @Transactional(readOnly = true)
+    public List<RelatorioMensalDTO> obterRelatorioMensal() {
+        List<Object[]> resultados = pagamentoRepository.totalPagoPorMes();
+        
+        return resultados.stream()
+                .map(resultado -> RelatorioMensalDTO.builder()
+                        .ano(((Number) resultado[0]).intValue())
+                        .mes(((Number) resultado[1]).intValue())
+                        .valorTotal((BigDecimal) resultado[2])
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Relatório detalhado de pagamentos por período
+     */
+    @Transactional(readOnly = true)
+    public List<RelatorioPagamentoDTO> obterRelatorioDetalhado(LocalDate dataInicio, LocalDate dataFim) {
+        List<Object[]> resultados = pagamentoRepository.relatorioPagamentosPorPeriodo(dataInicio, dataFim);
+        
+        return resultados.stream()
+                .map(resultado -> RelatorioPagamentoDTO.builder()
+                        .numeroPagamento((String) resultado[0])
+                        .dataPagamento((LocalDate) resultado[1])
+                        .valorPagamento((BigDecimal) resultado[2])
+                        .numeroEmpenho((String) resultado[3])
+                        .numeroProtocolo((String) resultado[4])
+                        .credorDespesas((String) resultado[5])
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Resumo financeiro de um empenho
+     */
+    @Transactional(readOnly = true)
+    public ResumoFinanceiroDTO obterResumoFinanceiro(Long empenhoId) {
+        Empenho empenho = buscarEmpenhoPorId(empenhoId);
+        
+        Money valorTotalPago = empenho.totalPago();
+        
+        return ResumoFinanceiroDTO.builder()
+                .empenhoId(empenho.getId())
+                .numeroEmpenho(empenho.getNumeroEmpenho())
+                .valorEmpenho(empenho.getValor())
+                .valorTotalPago(valorTotalPago.toBigDecimal())
+                .valorDisponivel(empenho.montante().minus(valorTotalPago).toBigDecimal())
+                .quantidadePagamentos((long) empenho.getPagamentos().size())
+                .build();
+    }
+
+    // ==========================================
+    // DTOs PARA ESTATÍSTICAS E RELATÓRIOS
+    // ==========================================
+
+    public static class PagamentoEstatisticasDTO {
+        private Long totalPagamentos;
+        private BigDecimal valorTotalPago;
+        private Long pagamentosCancelados;
+        private Long pagamentosEstornados;
+        
+        public static PagamentoEstatisticasDTOBuilder builder() {
+            return new PagamentoEstatisticasDTOBuilder();
+        }
+        
+        public static class PagamentoEstatisticasDTOBuilder {
+            private PagamentoEstatisticasDTO dto = new PagamentoEstatisticasDTO();
+            
+            public PagamentoEstatisticasDTOBuilder totalPagamentos(Long total) {
+                dto.totalPagamentos = total;
+                return this;
+            }
+            
+            public PagamentoEstatisticasDTOBuilder valorTotalPago(BigDecimal valor) {
+                dto.valorTotalPago = valor;
+                return this;
+            }
+            
+            public PagamentoEstatisticasDTOBuilder pagamentosCancelados(Long count) {
+                dto.pagamentosCancelados = count;
+                return this;
+            }
+            
+            public PagamentoEstatisticasDTOBuilder pagamentosEstornados(Long count) {
+                dto.pagamentosEstornados = count;
+                return this;
+            }
+            
+            public PagamentoEstatisticasDTO build() {
+                return dto;
+            }
+        }
+        
+        // Getters
+        public Long getTotalPagamentos() { return totalPagamentos; }
+        public BigDecimal getValorTotalPago() { return valorTotalPago; }
+        public Long getPagamentosCancelados() { return pagamentosCancelados; }
+        public Long getPagamentosEstornados() { return pagamentosEstornados; }
+    }
+
+    public static class RelatorioMensalDTO {
+        private Integer ano;
+        private Integer mes;
+        private BigDecimal valorTotal;
+        
+        public static RelatorioMensalDTOBuilder builder() {
+            return new RelatorioMensalDTOBuilder();
+        }
+        
+        public static class RelatorioMensalDTOBuilder {
+            private RelatorioMensalDTO dto = new RelatorioMensalDTO();
+            
+            public RelatorioMensalDTOBuilder ano(Integer ano) {
+                dto.ano = ano;
+                return this;
+            }
+            
+            public RelatorioMensalDTOBuilder mes(Integer mes) {
+                dto.mes = mes;
+                return this;
+            }
+            
+            public RelatorioMensalDTOBuilder valorTotal(BigDecimal valor) {
+                dto.valorTotal = valor;
+                return this;
+            }
+            
+            public RelatorioMensalDTO build() {
+                return dto;
+            }
+        }
+        
+        // Getters
+        public Integer getAno() { return ano; }
+        public Integer getMes() { return mes; }
+        public BigDecimal getValorTotal() { return valorTotal; }
+    }
+
+    public static class RelatorioPagamentoDTO {
+        private String numeroPagamento;
+        private LocalDate dataPagamento;
+        private BigDecimal valorPagamento;
+        private String numeroEmpenho;
+        private String numeroProtocolo;
+        private String credorDespesas;
+        
+        public static RelatorioPagamentoDTOBuilder builder() {
+            return new RelatorioPagamentoDTOBuilder();
+        }
+        
+        public static class RelatorioPagamentoDTOBuilder {
+            private RelatorioPagamentoDTO dto = new RelatorioPagamentoDTO();
+            
+            public RelatorioPagamentoDTOBuilder numeroPagamento(String numero) {
+                dto.numeroPagamento = numero;
+                return this;
+            }
+            
+            public RelatorioPagamentoDTOBuilder dataPagamento(LocalDate data) {
+                dto.dataPagamento = data;
+                return this;
+            }
+            
+            public RelatorioPagamentoDTOBuilder valorPagamento(BigDecimal valor) {
+                dto.valorPagamento = valor;
+                return this;
+            }
+            
+            public RelatorioPagamentoDTOBuilder numeroEmpenho(String numero) {
+                dto.numeroEmpenho = numero;
+                return this;
+            }
+            
+            public RelatorioPagamentoDTOBuilder numeroProtocolo(String protocolo) {
+                dto.numeroProtocolo = protocolo;
+                return this;
+            }
+            
+            public RelatorioPagamentoDTOBuilder credorDespesas(String credor) {
+                dto.credorDespesas = credor;
+                return this;
+            }
+            
+            public RelatorioPagamentoDTO build() {
+                return dto;
+            }
+        }
+        
+        // Getters
+        public String getNumeroPagamento() { return numeroPagamento; }
+        public LocalDate getDataPagamento() { return dataPagamento; }
+        public BigDecimal getValorPagamento() { return valorPagamento; }
+        public String getNumeroEmpenho() { return numeroEmpenho; }
+        public String getNumeroProtocolo() { return numeroProtocolo; }
+        public String getCredorDespesas() { return credorDespesas; }
+    }
+
+    public static class ResumoFinanceiroDTO {
+        private Long empenhoId;
+        private String numeroEmpenho;
+        private BigDecimal valorEmpenho;
+        private BigDecimal valorTotalPago;
+        private BigDecimal valorDisponivel;
+        private Long quantidadePagamentos;
+        
+        public static ResumoFinanceiroDTOBuilder builder() {
+            return new ResumoFinanceiroDTOBuilder();
         }
         
-        // Dados do usuário criador
-        if (pagamento.getUsuarioCriador() != null) {
-            dto.setUsuarioCriador(pagamento.getUsuarioCriador().getUserName());
+        public static class ResumoFinanceiroDTOBuilder {
+            private ResumoFinanceiroDTO dto = new ResumoFinanceiroDTO();
+            
+            public ResumoFinanceiroDTOBuilder empenhoId(Long id) {
+                dto.empenhoId = id;
+                return this;
+            }
+            
+            public ResumoFinanceiroDTOBuilder numeroEmpenho(String numero) {
+                dto.numeroEmpenho = numero;
+                return this;
+            }
+            
+            public ResumoFinanceiroDTOBuilder valorEmpenho(BigDecimal valor) {
+                dto.valorEmpenho = valor;
+                return this;
+            }
+            
+            public ResumoFinanceiroDTOBuilder valorTotalPago(BigDecimal valor) {
+                dto.valorTotalPago = valor;
+                return this;
+            }
+            
+            public ResumoFinanceiroDTOBuilder valorDisponivel(BigDecimal valor) {
+                dto.valorDisponivel = valor;
+                return this;
+            }
+            
+            public ResumoFinanceiroDTOBuilder quantidadePagamentos(Long quantidade) {
+                dto.quantidadePagamentos = quantidade;
+                return this;
+            }
+            
+            public ResumoFinanceiroDTO build() {
+                return dto;
+            }
         }
         
-        return dto;
+        // Getters
+        public Long getEmpenhoId() { return empenhoId; }
+        public String getNumeroEmpenho() { return numeroEmpenho; }
+        public BigDecimal getValorEmpenho() { return valorEmpenho; }
+        public BigDecimal getValorTotalPago() { return valorTotalPago; }
+        public BigDecimal getValorDisponivel() { return valorDisponivel; }
+        public Long getQuantidadePagamentos() { return quantidadePagamentos; }
     }
-}
\ No newline at end of file
+}
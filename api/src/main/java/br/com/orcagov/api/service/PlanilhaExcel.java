@@ -0,0 +1,155 @@
+package br.com.orcagov.api.service;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Planilha XLSX escrita em streaming (SXSSF).
+ *
+ * Apenas as últimas {@code janela} linhas de cada aba ficam em memória; as
+ * anteriores são descarregadas em arquivo temporário compactado. Os estilos são
+ * criados uma única vez por planilha, já que o formato limita a quantidade deles.
+ *
+ * Uma aba do XLSX tem no máximo 1.048.576 linhas; ao chegar ao limite, as
+ * linhas seguintes vão para uma aba de continuação ("Pagamentos (2)", ...) com
+ * o mesmo cabeçalho.
+ */
+public class PlanilhaExcel implements AutoCloseable {
+
+    public static final int JANELA_PADRAO = 200;
+
+    /** Linhas por aba no XLSX, cabeçalho incluído */
+    public static final int LINHAS_POR_ABA = SpreadsheetVersion.EXCEL2007.getMaxRows();
+
+    private static final String FORMATO_DATA = "dd/mm/yyyy";
+    private static final String FORMATO_DATA_HORA = "dd/mm/yyyy hh:mm";
+    private static final String FORMATO_MONETARIO = "\"R$\" #,##0.00";
+
+    // Largura em unidades de 1/256 de caractere
+    private static final int LARGURA_COLUNA = 20 * 256;
+
+    private final SXSSFWorkbook workbook;
+    private final CellStyle estiloCabecalho;
+    private final CellStyle estiloData;
+    private final CellStyle estiloDataHora;
+    private final CellStyle estiloMonetario;
+    private final int linhasPorAba;
+
+    private SXSSFSheet abaAtual;
+    private int proximaLinha;
+    private String nomeAba;
+    private String[] colunasAba;
+    private int continuacoes;
+
+    public PlanilhaExcel() {
+        this(JANELA_PADRAO);
+    }
+
+    public PlanilhaExcel(int janela) {
+        this(janela, LINHAS_POR_ABA);
+    }
+
+    PlanilhaExcel(int janela, int linhasPorAba) {
+        this.linhasPorAba = linhasPorAba;
+        this.workbook = new SXSSFWorkbook(janela);
+        this.workbook.setCompressTempFiles(true);
+
+        Font negrito = workbook.createFont();
+        negrito.setBold(true);
+        this.estiloCabecalho = workbook.createCellStyle();
+        this.estiloCabecalho.setFont(negrito);
+
+        this.estiloData = criarEstiloFormatado(FORMATO_DATA);
+        this.estiloDataHora = criarEstiloFormatado(FORMATO_DATA_HORA);
+        this.estiloMonetario = criarEstiloFormatado(FORMATO_MONETARIO);
+    }
+
+    /**
+     * Cria uma nova aba com a linha de cabeçalho e a torna a aba corrente
+     */
+    public void novaAba(String nome, String... colunas) {
+        nomeAba = nome;
+        colunasAba = colunas;
+        continuacoes = 0;
+        criarAba(nome, colunas);
+    }
+
+    private void criarAba(String nome, String... colunas) {
+        abaAtual = workbook.createSheet(nome);
+        proximaLinha = 0;
+
+        Row cabecalho = abaAtual.createRow(proximaLinha++);
+        for (int i = 0; i < colunas.length; i++) {
+            abaAtual.setColumnWidth(i, LARGURA_COLUNA);
+            Cell cell = cabecalho.createCell(i);
+            cell.setCellValue(colunas[i]);
+            cell.setCellStyle(estiloCabecalho);
+        }
+        abaAtual.createFreezePane(0, 1);
+    }
+
+    /**
+     * Adiciona uma linha à aba corrente. O tipo da célula segue o tipo do valor:
+     * BigDecimal vira número com formato monetário, datas viram datas do Excel.
+     */
+    public void adicionarLinha(Object... valores) {
+        if (abaAtual == null) {
+            throw new IllegalStateException("Nenhuma aba criada na planilha");
+        }
+        if (proximaLinha >= linhasPorAba) {
+            continuacoes++;
+            criarAba(nomeAba + " (" + (continuacoes + 1) + ")", colunasAba);
+        }
+
+        Row row = abaAtual.createRow(proximaLinha++);
+        for (int i = 0; i < valores.length; i++) {
+            Object valor = valores[i];
+            if (valor == null) {
+                continue;
+            }
+
+            Cell cell = row.createCell(i);
+            if (valor instanceof BigDecimal numero) {
+                cell.setCellValue(numero.doubleValue());
+                cell.setCellStyle(estiloMonetario);
+            } else if (valor instanceof LocalDateTime dataHora) {
+                cell.setCellValue(dataHora);
+                cell.setCellStyle(estiloDataHora);
+            } else if (valor instanceof LocalDate data) {
+                cell.setCellValue(data);
+                cell.setCellStyle(estiloData);
+            } else if (valor instanceof Number numero) {
+                cell.setCellValue(numero.doubleValue());
+            } else {
+                cell.setCellValue(valor.toString());
+            }
+        }
+    }
+
+    public void escrever(OutputStream saida) throws IOException {
+        workbook.write(saida);
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Também remove os arquivos temporários das linhas já descarregadas
+        workbook.close();
+    }
+
+    private CellStyle criarEstiloFormatado(String formato) {
+        CellStyle estilo = workbook.createCellStyle();
+        estilo.setDataFormat(workbook.createDataFormat().getFormat(formato));
+        return estilo;
+    }
+}
@@ -1,6 +1,7 @@
 package br.com.orcagov.api.service;
 
 import br.com.orcagov.api.repository.DespesaRepository;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -8,6 +9,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 
 @Service
+@Observed(name = "orcagov.servico")
 public class ProtocoloGeneratorService {
     
     @Autowired
@@ -21,12 +23,29 @@ public class ProtocoloGeneratorService {
         LocalDateTime agora = LocalDateTime.now();
         int ano = agora.getYear();
         
-        // Busca quantos protocolos já existem no ano atual
-        Long count = despesaRepository.contarProtocolosPorAno(String.valueOf(ano));
-        long proximoSequencial = (count != null ? count : 0) + 1;
+        // Parte do maior sequencial do ano, e não da contagem: protocolos vindos da
+        // carga histórica não precisam ser contíguos
+        Long maior = despesaRepository.findMaiorSequencialProtocolo(String.valueOf(ano));
+        long proximoSequencial = (maior != null ? maior : 0) + 1;
         
+        String numeroGerado;
+        boolean numeroExiste;
+        
+        // Garantir que o número não existe (double-check)
+        do {
+            numeroGerado = formatar(proximoSequencial, ano);
+            numeroExiste = despesaRepository.existsByNumeroProtocolo(numeroGerado);
+            if (numeroExiste) {
+                proximoSequencial++;
+            }
+        } while (numeroExiste);
+        
+        return numeroGerado;
+    }
+    
+    private String formatar(long sequencial, int ano) {
         String codigoOrgao = "43022";
-        String sequencialFormatado = String.format("%06d", proximoSequencial);
+        String sequencialFormatado = String.format("%06d", sequencial);
         String digitoVerificador = calcularDigitoVerificador(codigoOrgao + sequencialFormatado + ano);
         
         return String.format("%s.%s/%d-%s", 
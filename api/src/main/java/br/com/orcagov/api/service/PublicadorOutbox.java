@@ -0,0 +1,43 @@
+package br.com.orcagov.api.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Execução periódica do outbox. Cada lote roda na sua própria transação; enquanto
+ * os lotes vierem cheios e totalmente entregues o publicador segue sem esperar o
+ * próximo intervalo.
+ */
+@Component
+public class PublicadorOutbox {
+
+    private static final Logger logger = LoggerFactory.getLogger(PublicadorOutbox.class);
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Scheduled(fixedDelayString = "${orcagov.outbox.intervalo:PT1S}",
+               initialDelayString = "${orcagov.outbox.intervalo:PT1S}")
+    public void publicar() {
+        try {
+            int entregues;
+            do {
+                entregues = outboxService.publicarLote();
+            } while (entregues >= outboxService.getTamanhoLote());
+        } catch (Exception e) {
+            // Sem banco ou com o lote desfeito: os eventos continuam pendentes para a próxima execução
+            logger.error("Erro ao publicar eventos do outbox", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orcagov.outbox.limpeza-intervalo:PT1H}")
+    public void limpar() {
+        int removidos = outboxService.limparProcessados();
+        if (removidos > 0) {
+            logger.info("Outbox: {} eventos entregues removidos", removidos);
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package br.com.orcagov.api.service;
+
+import br.com.orcagov.api.dto.Request.RelatorioRequestDTO;
+import br.com.orcagov.api.dto.Response.RelatorioJobResponseDTO;
+import br.com.orcagov.api.entity.EventoOutbox;
+import br.com.orcagov.api.entity.enums.FormatoRelatorio;
+import br.com.orcagov.api.entity.enums.StatusRelatorio;
+import br.com.orcagov.api.entity.enums.TipoRelatorio;
+import br.com.orcagov.api.exception.BusinessException;
+import br.com.orcagov.api.exception.ResourceNotFoundException;
+import br.com.orcagov.api.exception.ServiceUnavailableException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Geração assíncrona de relatórios.
+ *
+ * A solicitação apenas registra o job e o entrega ao executor dedicado; o
+ * arquivo é gerado em disco local e baixado depois pelo id. Solicitações com os
+ * mesmos parâmetros reaproveitam o job em andamento ou o arquivo já gerado
+ * enquanto ele não expira e nenhuma alteração do razão for publicada pelo outbox.
+ * Os jobs ficam em memória: após reiniciar a aplicação os arquivos antigos são
+ * removidos pela limpeza periódica.
+ */
+@Service
+public class RelatorioJobService implements AssinanteOutbox {
+
+    private static final Logger logger = LoggerFactory.getLogger(RelatorioJobService.class);
+
+    private static final String EXTENSAO_TEMPORARIA = ".tmp";
+
+    @Autowired
+    private ExportacaoRelatorioService exportacaoRelatorioService;
+
+    @Autowired
+    private RelatorioPdfService relatorioPdfService;
+
+    @Autowired
+    @Qualifier("relatorioExecutor")
+    private ThreadPoolTaskExecutor relatorioExecutor;
+
+    @Value("${orcagov.relatorio.jobs.diretorio:./relatorios}")
+    private String diretorio;
+
+    @Value("${orcagov.relatorio.jobs.ttl:PT24H}")
+    private Duration ttl;
+
+    @Value("${orcagov.relatorio.jobs.retry-after:30}")
+    private long retryAfterSegundos;
+
+    private final Map<String, RelatorioJob> jobs = new ConcurrentHashMap<>();
+
+    // Parâmetros da solicitação -> id do job que os atende
+    private final Map<String, String> jobsPorChave = new ConcurrentHashMap<>();
+
+    // ==========================================
+    // SOLICITAÇÃO E CONSULTA
+    // ==========================================
+
+    /**
+     * Solicitar a geração de um relatório. Retorna o job existente quando há um
+     * com os mesmos parâmetros em andamento ou concluído e ainda válido.
+     */
+    public RelatorioJobResponseDTO solicitar(RelatorioRequestDTO request) {
+        validarSolicitacao(request);
+
+        String chave = request.getTipo() + "|" + request.getFormato() + "|"
+                + request.getDataInicio() + "|" + request.getDataFim();
+
+        // compute serializa solicitações concorrentes com a mesma chave
+        String id = jobsPorChave.compute(chave, (k, idExistente) -> {
+            RelatorioJob existente = idExistente != null ? jobs.get(idExistente) : null;
+            if (existente != null && existente.isReaproveitavel()) {
+                logger.debug("Reaproveitando relatório {} para {}", existente.getId(), chave);
+                return existente.getId();
+            }
+
+            RelatorioJob job = new RelatorioJob(chave, request);
+            jobs.put(job.getId(), job);
+            try {
+                relatorioExecutor.execute(() -> gerar(job));
+            } catch (TaskRejectedException e) {
+                jobs.remove(job.getId());
+                throw new ServiceUnavailableException(
+                    "Fila de relatórios cheia. Tente novamente em instantes", retryAfterSegundos);
+            }
+            return job.getId();
+        });
+
+        return converterParaResponseDTO(jobs.get(id));
+    }
+
+    /**
+     * Buscar situação do relatório
+     */
+    public RelatorioJobResponseDTO buscarPorId(String id) {
+        return converterParaResponseDTO(buscarJob(id));
+    }
+
+    /**
+     * Obter o job concluído cujo arquivo será baixado
+     */
+    public RelatorioJob obterConcluido(String id) {
+        RelatorioJob job = buscarJob(id);
+
+        if (job.getStatus() != StatusRelatorio.CONCLUIDO) {
+            throw new BusinessException("relatorio.nao-concluido",
+                "Relatório ainda não está disponível. Status atual: " + job.getStatus().getDescricao());
+        }
+        if (!Files.exists(job.getArquivo())) {
+            throw new ResourceNotFoundException("Arquivo do relatório expirado: " + id);
+        }
+        return job;
+    }
+
+    /**
+     * Qualquer alteração de despesa, empenho ou pagamento pode mudar o conteúdo dos
+     * relatórios já gerados ou em geração: as próximas solicitações geram novos
+     * arquivos, e os jobs existentes continuam disponíveis pelo id até expirarem.
+     */
+    @Override
+    public void processar(EventoOutbox evento) {
+        jobsPorChave.clear();
+    }
+
+    // ==========================================
+    // GERAÇÃO
+    // ==========================================
+
+    private void gerar(RelatorioJob job) {
+        job.setStatus(StatusRelatorio.PROCESSANDO);
+
+        Path pasta = Paths.get(diretorio);
+        Path temporario = pasta.resolve(job.getId() + EXTENSAO_TEMPORARIA);
+        Path destino = pasta.resolve(job.getId() + job.getFormato().getExtensao());
+
+        try {
+            Files.createDirectories(pasta);
+            try (OutputStream saida = new BufferedOutputStream(Files.newOutputStream(temporario))) {
+                switch (job.getTipo()) {
+                    case EXECUCAO -> exportacaoRelatorioService.exportarExcel(
+                            job.getDataInicio(), job.getDataFim(), saida, job.getLinhasProcessadas());
+                    case PAGAMENTOS -> exportacaoRelatorioService.exportarPagamentosCsv(
+                            job.getDataInicio(), job.getDataFim(), saida, job.getLinhasProcessadas());
+                    case RESUMO_MENSAL -> relatorioPdfService.exportarResumoMensal(
+                            job.getDataInicio(), job.getDataFim(), saida, job.getLinhasProcessadas());
+                    case EXTRATOS_DESPESAS -> relatorioPdfService.exportarExtratos(
+                            job.getDataInicio(), job.getDataFim(), saida, job.getLinhasProcessadas());
+                }
+            }
+            // O arquivo só fica visível para download depois de completo
+            Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            job.concluir(destino, Files.size(destino), ttl);
+            logger.info("Relatório {} ({}) gerado: {} linhas, {} bytes",
+                    job.getId(), job.getTipo(), job.getLinhasProcessadas().get(), job.getTamanhoArquivo());
+        } catch (Exception e) {
+            logger.error("Erro ao gerar relatório {} ({})", job.getId(), job.getTipo(), e);
+            excluirArquivo(temporario);
+            job.falhar(e.getMessage(), ttl);
+        }
+    }
+
+    // ==========================================
+    // LIMPEZA DE ARQUIVOS EXPIRADOS
+    // ==========================================
+
+    /**
+     * Remove jobs finalizados e arquivos cujo prazo de validade venceu, inclusive
+     * arquivos órfãos de execuções anteriores da aplicação
+     */
+    @Scheduled(fixedDelayString = "${orcagov.relatorio.jobs.limpeza-intervalo:PT10M}")
+    public void limparExpirados() {
+        LocalDateTime agora = LocalDateTime.now();
+        int removidos = 0;
+
+        for (RelatorioJob job : jobs.values()) {
+            if (job.getStatus().isFinalizado() && job.getDataExpiracao().isBefore(agora)) {
+                jobs.remove(job.getId());
+                jobsPorChave.remove(job.getChave(), job.getId());
+                if (job.getArquivo() != null) {
+                    excluirArquivo(job.getArquivo());
+                }
+                removidos++;
+            }
+        }
+
+        Path pasta = Paths.get(diretorio);
+        if (Files.isDirectory(pasta)) {
+            Instant limite = Instant.now().minus(ttl);
+            try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(pasta)) {
+                for (Path arquivo : arquivos) {
+                    if (!pertenceAJobAtivo(arquivo)
+                            && Files.getLastModifiedTime(arquivo).toInstant().isBefore(limite)) {
+                        excluirArquivo(arquivo);
+                        removidos++;
+                    }
+                }
+            } catch (IOException e) {
+                logger.warn("Erro ao listar diretório de relatórios {}: {}", pasta, e.getMessage());
+            }
+        }
+
+        if (removidos > 0) {
+            logger.info("Limpeza de relatórios: {} itens expirados removidos", removidos);
+        }
+    }
+
+    // ==========================================
+    // MÉTODOS AUXILIARES
+    // ==========================================
+
+    private void validarSolicitacao(RelatorioRequestDTO request) {
+        if (request.getDataFim().isBefore(request.getDataInicio())) {
+            throw new BusinessException("relatorio.periodo-invalido", "Data final não pode ser anterior à data inicial");
+        }
+        if (!request.getTipo().suporta(request.getFormato())) {
+            throw new BusinessException("relatorio.formato-nao-suportado", String.format(
+                "Relatório %s não disponível no formato %s. Formatos suportados: %s",
+                request.getTipo(), request.getFormato(), request.getTipo().getFormatos()));
+        }
+    }
+
+    private RelatorioJob buscarJob(String id) {
+        RelatorioJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Relatório não encontrado com ID: " + id);
+        }
+        return job;
+    }
+
+    private boolean pertenceAJobAtivo(Path arquivo) {
+        String nome = arquivo.getFileName().toString();
+        int ponto = nome.indexOf('.');
+        return jobs.containsKey(ponto >= 0 ? nome.substring(0, ponto) : nome);
+    }
+
+    private void excluirArquivo(Path arquivo) {
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException e) {
+            logger.warn("Não foi possível excluir o arquivo de relatório {}: {}", arquivo, e.getMessage());
+        }
+    }
+
+    private RelatorioJobResponseDTO converterParaResponseDTO(RelatorioJob job) {
+        return RelatorioJobResponseDTO.builder()
+                .id(job.getId())
+                .tipo(job.getTipo())
+                .formato(job.getFormato())
+                .dataInicio(job.getDataInicio())
+                .dataFim(job.getDataFim())
+                .status(job.getStatus())
+                .linhasProcessadas(job.getLinhasProcessadas().get())
+                .tamanhoArquivo(job.getTamanhoArquivo())
+                .mensagemErro(job.getMensagemErro())
+                .dataSolicitacao(job.getDataSolicitacao())
+                .dataConclusao(job.getDataConclusao())
+                .dataExpiracao(job.getDataExpiracao())
+                .build();
+    }
+
+    // ==========================================
+    // JOB DE RELATÓRIO
+    // ==========================================
+
+    /**
+     * Estado de uma geração de relatório. Os campos mutáveis são voláteis: são
+     * escritos pela thread do executor e lidos pelas requisições de consulta.
+     */
+    public static class RelatorioJob {
+        private final String id = UUID.randomUUID().toString();
+        private final String chave;
+        private final TipoRelatorio tipo;
+        private final FormatoRelatorio formato;
+        private final LocalDate dataInicio;
+        private final LocalDate dataFim;
+        private final LocalDateTime dataSolicitacao = LocalDateTime.now();
+        private final AtomicLong linhasProcessadas = new AtomicLong();
+
+        private volatile StatusRelatorio status = StatusRelatorio.PENDENTE;
+        private volatile Path arquivo;
+        private volatile Long tamanhoArquivo;
+        private volatile String mensagemErro;
+        private volatile LocalDateTime dataConclusao;
+        private volatile LocalDateTime dataExpiracao;
+
+        RelatorioJob(String chave, RelatorioRequestDTO request) {
+            this.chave = chave;
+            this.tipo = request.getTipo();
+            this.formato = request.getFormato();
+            this.dataInicio = request.getDataInicio();
+            this.dataFim = request.getDataFim();
+        }
+
+        void concluir(Path arquivo, long tamanho, Duration ttl) {
+            this.arquivo = arquivo;
+            this.tamanhoArquivo = tamanho;
+            this.dataConclusao = LocalDateTime.now();
+            this.dataExpiracao = dataConclusao.plus(ttl);
+            // Status por último: quem o vê CONCLUIDO já enxerga o arquivo
+            this.status = StatusRelatorio.CONCLUIDO;
+        }
+
+        void falhar(String mensagem, Duration ttl) {
+            this.mensagemErro = mensagem;
+            this.dataConclusao = LocalDateTime.now();
+            this.dataExpiracao = dataConclusao.plus(ttl);
+            this.status = StatusRelatorio.ERRO;
+        }
+
+        // Em andamento, ou concluído com arquivo ainda válido
+        boolean isReaproveitavel() {
+            return switch (status) {
+                case PENDENTE, PROCESSANDO -> true;
+                case CONCLUIDO -> dataExpiracao.isAfter(LocalDateTime.now()) && Files.exists(arquivo);
+                case ERRO -> false;
+            };
+        }
+
+        /**
+         * Nome sugerido para o download
+         */
+        public String getNomeArquivo() {
+            return tipo.name().toLowerCase() + "-" + dataInicio + "-" + dataFim + formato.getExtensao();
+        }
+
+        public String getId() { return id; }
+        public String getChave() { return chave; }
+        public TipoRelatorio getTipo() { return tipo; }
+        public FormatoRelatorio getFormato() { return formato; }
+        public LocalDate getDataInicio() { return dataInicio; }
+        public LocalDate getDataFim() { return dataFim; }
+        public LocalDateTime getDataSolicitacao() { return dataSolicitacao; }
+        public AtomicLong getLinhasProcessadas() { return linhasProcessadas; }
+        public StatusRelatorio getStatus() { return status; }
+        public Path getArquivo() { return arquivo; }
+        public Long getTamanhoArquivo() { return tamanhoArquivo; }
+        public String getMensagemErro() { return mensagemErro; }
+        public LocalDateTime getDataConclusao() { return dataConclusao; }
+        public LocalDateTime getDataExpiracao() { return dataExpiracao; }
+
+        void setStatus(StatusRelatorio status) { this.status = status; }
+    }
+}
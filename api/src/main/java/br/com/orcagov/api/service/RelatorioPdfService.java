@@ -0,0 +1,344 @@
+package br.com.orcagov.api.service;
+
+import br.com.orcagov.api.dto.Response.ExtratoDespesaDTO;
+import br.com.orcagov.api.dto.Response.ExtratoDespesaDTO.EmpenhoExtratoDTO;
+import br.com.orcagov.api.dto.Response.PagamentoResumoDTO;
+import br.com.orcagov.api.dto.Response.ResumoMensalDTO;
+import br.com.orcagov.api.dto.Response.ResumoMensalDTO.DespesasPorTipoDTO;
+import br.com.orcagov.api.entity.Despesa;
+import br.com.orcagov.api.entity.Empenho;
+import br.com.orcagov.api.entity.Pagamento;
+import br.com.orcagov.api.entity.enums.StatusDespesa;
+import br.com.orcagov.api.entity.enums.TipoDespesa;
+import br.com.orcagov.api.exception.ResourceNotFoundException;
+import br.com.orcagov.api.exception.ServiceUnavailableException;
+import br.com.orcagov.api.repository.DespesaRepository;
+import br.com.orcagov.api.repository.EmpenhoRepository;
+import br.com.orcagov.api.repository.PagamentoRepository;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Relatórios em PDF: extrato de execução da despesa e resumo mensal.
+ *
+ * Os dados são lidos antes da renderização, para não segurar conexão com o
+ * banco enquanto o PDF é montado. A renderização roda no executor dedicado
+ * (renderizacaoPdfExecutor), nunca na thread da requisição.
+ */
+@Service
+public class RelatorioPdfService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RelatorioPdfService.class);
+
+    @Autowired
+    private DespesaRepository despesaRepository;
+
+    @Autowired
+    private EmpenhoRepository empenhoRepository;
+
+    @Autowired
+    private PagamentoRepository pagamentoRepository;
+
+    @Autowired
+    @Qualifier("renderizacaoPdfExecutor")
+    private ThreadPoolTaskExecutor renderizacaoPdfExecutor;
+
+    @Value("${orcagov.relatorio.pdf.lote:100}")
+    private int tamanhoLote;
+
+    @Value("${orcagov.relatorio.jobs.retry-after:30}")
+    private long retryAfterSegundos;
+
+    private final RenderizadorPdf renderizador = new RenderizadorPdf();
+
+    /**
+     * Renderiza os templates uma vez na subida: o Thymeleaf guarda os templates
+     * analisados e o cache de métricas das fontes já fica preenchido
+     */
+    @PostConstruct
+    void aquecerTemplates() {
+        long inicio = System.nanoTime();
+        ExtratoDespesaDTO exemplo = ExtratoDespesaDTO.builder()
+                .numeroProtocolo("00000.000000/0000-00")
+                .tipoDespesa(TipoDespesa.OUTROS)
+                .status(StatusDespesa.AGUARDANDO_EMPENHO)
+                .dataProtocolo(LocalDateTime.now())
+                .valorDespesas(BigDecimal.ZERO)
+                .valorTotalEmpenhado(BigDecimal.ZERO)
+                .valorTotalPago(BigDecimal.ZERO)
+                .saldoAEmpenhar(BigDecimal.ZERO)
+                .build();
+        renderizarExtrato(exemplo);
+        renderizarResumo(List.of(ResumoMensalDTO.builder().ano(2000).mes(1).build()),
+                LocalDate.now(), LocalDate.now(), OutputStream.nullOutputStream());
+        logger.info("Templates de relatórios PDF carregados em {} ms", (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    // ==========================================
+    // EXTRATO DA DESPESA
+    // ==========================================
+
+    /**
+     * Extrato de execução da despesa: lido na thread da chamada e renderizado no
+     * executor de PDF, que só recebe o DTO (as threads dele não abrem conexão)
+     */
+    @Transactional(readOnly = true)
+    public CompletableFuture<byte[]> gerarExtrato(Long despesaId) {
+        ExtratoDespesaDTO extrato = montarExtratos(List.of(despesaId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException(
+                    "Despesa não encontrada com ID: " + despesaId));
+        try {
+            return CompletableFuture.supplyAsync(() -> renderizarExtrato(extrato), renderizacaoPdfExecutor);
+        } catch (TaskRejectedException e) {
+            throw new ServiceUnavailableException(
+                "Muitos relatórios em renderização. Tente novamente em instantes", retryAfterSegundos);
+        }
+    }
+
+    /**
+     * Extratos das despesas protocoladas no período, um PDF por despesa em um
+     * arquivo ZIP. Cada lote é lido do banco de uma vez e renderizado em paralelo.
+     */
+    public long exportarExtratos(LocalDate dataInicio, LocalDate dataFim, OutputStream saida,
+                                 AtomicLong progresso) throws IOException {
+        long inicio = System.nanoTime();
+        List<Long> ids = despesaRepository.findIdsPorPeriodoProtocolo(
+                dataInicio.atStartOfDay(), dataFim.plusDays(1).atStartOfDay());
+
+        ZipOutputStream zip = new ZipOutputStream(saida);
+        // PDF já é comprimido: compressão máxima só gastaria CPU
+        zip.setLevel(Deflater.BEST_SPEED);
+
+        for (int i = 0; i < ids.size(); i += tamanhoLote) {
+            List<ExtratoDespesaDTO> extratos = montarExtratos(ids.subList(i, Math.min(i + tamanhoLote, ids.size())));
+
+            List<CompletableFuture<byte[]>> pdfs = extratos.stream()
+                    .map(extrato -> renderizarEmParalelo(() -> renderizarExtrato(extrato)))
+                    .collect(Collectors.toList());
+
+            // Mantém a ordem dos protocolos no arquivo, independente de qual PDF terminou primeiro
+            for (int j = 0; j < extratos.size(); j++) {
+                byte[] pdf = pdfs.get(j).join();
+                zip.putNextEntry(new ZipEntry(nomeArquivoExtrato(extratos.get(j))));
+                zip.write(pdf);
+                zip.closeEntry();
+                progresso.incrementAndGet();
+            }
+        }
+        zip.finish();
+        saida.flush();
+
+        double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+        logger.info("Extratos exportados: {} PDFs em {} s ({} relatórios/s, {} a {})",
+                ids.size(), String.format("%.1f", segundos),
+                String.format("%.1f", segundos > 0 ? ids.size() / segundos : 0), dataInicio, dataFim);
+        return ids.size();
+    }
+
+    // ==========================================
+    // RESUMO MENSAL
+    // ==========================================
+
+    /**
+     * Resumo da execução de cada mês do período em um único PDF
+     */
+    public long exportarResumoMensal(LocalDate dataInicio, LocalDate dataFim, OutputStream saida,
+                                     AtomicLong progresso) throws IOException {
+        List<ResumoMensalDTO> resumos = montarResumosMensais(dataInicio, dataFim);
+
+        // Documento único: renderiza na própria thread do job
+        renderizarResumo(resumos, dataInicio, dataFim, saida);
+        progresso.addAndGet(resumos.size());
+        saida.flush();
+
+        logger.info("Resumo mensal exportado em PDF: {} meses ({} a {})", resumos.size(), dataInicio, dataFim);
+        return resumos.size();
+    }
+
+    // ==========================================
+    // MONTAGEM DOS DADOS
+    // ==========================================
+
+    private List<ExtratoDespesaDTO> montarExtratos(List<Long> despesaIds) {
+        // Duas consultas por lote: despesas com empenhos, depois todos os pagamentos
+        List<Despesa> despesas = despesaRepository.findComEmpenhosByIdIn(despesaIds);
+        Map<Long, List<Pagamento>> pagamentosPorEmpenho = pagamentoRepository.findByDespesaIdIn(despesaIds).stream()
+                .collect(Collectors.groupingBy(p -> p.getEmpenho().getId()));
+
+        Map<Long, Despesa> despesasPorId = despesas.stream()
+                .collect(Collectors.toMap(Despesa::getId, Function.identity()));
+
+        List<ExtratoDespesaDTO> extratos = new ArrayList<>(despesaIds.size());
+        for (Long id : despesaIds) {
+            Despesa despesa = despesasPorId.get(id);
+            if (despesa != null) {
+                extratos.add(converterParaExtratoDTO(despesa, pagamentosPorEmpenho));
+            }
+        }
+        return extratos;
+    }
+
+    private ExtratoDespesaDTO converterParaExtratoDTO(Despesa despesa, Map<Long, List<Pagamento>> pagamentosPorEmpenho) {
+        List<EmpenhoExtratoDTO> empenhos = despesa.getEmpenhos().stream()
+                .sorted(Comparator.comparing(Empenho::getDataEmpenho).thenComparing(Empenho::getId))
+                .map(empenho -> {
+                    List<Pagamento> pagamentos = pagamentosPorEmpenho.getOrDefault(empenho.getId(), List.of());
+                    return EmpenhoExtratoDTO.builder()
+                            .numeroEmpenho(empenho.getNumeroEmpenho())
+                            .dataEmpenho(empenho.getDataEmpenho())
+                            .valor(empenho.getValor())
+                            .valorPago(somar(pagamentos, Pagamento::getValorPagamento))
+                            .observacao(empenho.getObservacao())
+                            .pagamentos(pagamentos.stream()
+                                    .map(p -> PagamentoResumoDTO.builder()
+                                            .id(p.getId())
+                                            .numeroPagamento(p.getNumeroPagamento())
+                                            .dataPagamento(p.getDataPagamento())
+                                            .valorPagamento(p.getValorPagamento())
+                                            .build())
+                                    .collect(Collectors.toList()))
+                            .build();
+                })
+                .collect(Collectors.toList());
+
+        BigDecimal valorTotalEmpenhado = somar(empenhos, EmpenhoExtratoDTO::getValor);
+
+        return ExtratoDespesaDTO.builder()
+                .id(despesa.getId())
+                .numeroProtocolo(despesa.getNumeroProtocolo())
+                .tipoDespesa(despesa.getTipoDespesa())
+                .status(despesa.getStatus())
+                .dataProtocolo(despesa.getDataProtocolo())
+                .dataVencimento(despesa.getDataVencimento())
+                .credorDespesas(despesa.getCredorDespesas())
+                .descricaoDespesas(despesa.getDescricaoDespesas())
+                .valorDespesas(despesa.getValorDespesas())
+                .valorTotalEmpenhado(valorTotalEmpenhado)
+                .valorTotalPago(somar(empenhos, EmpenhoExtratoDTO::getValorPago))
+                .saldoAEmpenhar(despesa.getValorDespesas().subtract(valorTotalEmpenhado))
+                .empenhos(empenhos)
+                .build();
+    }
+
+    private List<ResumoMensalDTO> montarResumosMensais(LocalDate dataInicio, LocalDate dataFim) {
+        // Um resumo por mês do período, mesmo sem movimento
+        Map<YearMonth, ResumoMensalDTO> resumos = new LinkedHashMap<>();
+        for (YearMonth mes = YearMonth.from(dataInicio); !mes.isAfter(YearMonth.from(dataFim)); mes = mes.plusMonths(1)) {
+            resumos.put(mes, ResumoMensalDTO.builder().ano(mes.getYear()).mes(mes.getMonthValue()).build());
+        }
+
+        for (Object[] linha : despesaRepository.resumirPorMesETipo(
+                dataInicio.atStartOfDay(), dataFim.plusDays(1).atStartOfDay())) {
+            ResumoMensalDTO resumo = resumos.get(mesDaLinha(linha));
+            Long quantidade = ((Number) linha[3]).longValue();
+            BigDecimal valor = (BigDecimal) linha[4];
+
+            resumo.getDespesasPorTipo().add(DespesasPorTipoDTO.builder()
+                    .tipoDespesa((TipoDespesa) linha[2])
+                    .quantidade(quantidade)
+                    .valor(valor)
+                    .build());
+            resumo.setQuantidadeDespesas(resumo.getQuantidadeDespesas() + quantidade);
+            resumo.setValorDespesas(resumo.getValorDespesas().add(valor));
+        }
+
+        for (Object[] linha : empenhoRepository.resumirPorMes(dataInicio, dataFim)) {
+            ResumoMensalDTO resumo = resumos.get(mesDaLinha(linha));
+            resumo.setQuantidadeEmpenhos(((Number) linha[2]).longValue());
+            resumo.setValorEmpenhado((BigDecimal) linha[3]);
+        }
+
+        for (Object[] linha : pagamentoRepository.resumirPorMes(dataInicio, dataFim)) {
+            ResumoMensalDTO resumo = resumos.get(mesDaLinha(linha));
+            resumo.setQuantidadePagamentos(((Number) linha[2]).longValue());
+            resumo.setValorPago((BigDecimal) linha[3]);
+        }
+
+        resumos.values().forEach(resumo ->
+                resumo.getDespesasPorTipo().sort(Comparator.comparing(DespesasPorTipoDTO::getTipoDespesa)));
+        return new ArrayList<>(resumos.values());
+    }
+
+    // ==========================================
+    // RENDERIZAÇÃO
+    // ==========================================
+
+    private byte[] renderizarExtrato(ExtratoDespesaDTO extrato) {
+        Map<String, Object> variaveis = Map.of(
+                "extrato", extrato,
+                "dataGeracao", LocalDateTime.now());
+        return renderizador.renderizar(RenderizadorPdf.TEMPLATE_EXTRATO_DESPESA, variaveis);
+    }
+
+    private void renderizarResumo(List<ResumoMensalDTO> resumos, LocalDate dataInicio, LocalDate dataFim,
+                                  OutputStream saida) {
+        Map<String, Object> variaveis = Map.of(
+                "resumos", resumos,
+                "dataInicio", dataInicio,
+                "dataFim", dataFim,
+                "dataGeracao", LocalDateTime.now());
+        renderizador.renderizar(RenderizadorPdf.TEMPLATE_RESUMO_MENSAL, variaveis, saida);
+    }
+
+    /**
+     * Submete a renderização ao executor de PDF. Com o executor saturado a
+     * renderização roda na própria thread do job, que já não é de requisição.
+     */
+    private <T> CompletableFuture<T> renderizarEmParalelo(Supplier<T> renderizacao) {
+        try {
+            return CompletableFuture.supplyAsync(renderizacao, renderizacaoPdfExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(renderizacao.get());
+        }
+    }
+
+    // ==========================================
+    // MÉTODOS AUXILIARES
+    // ==========================================
+
+    private static YearMonth mesDaLinha(Object[] linha) {
+        return YearMonth.of(((Number) linha[0]).intValue(), ((Number) linha[1]).intValue());
+    }
+
+    private static <T> BigDecimal somar(List<T> itens, Function<T, BigDecimal> valor) {
+        return itens.stream()
+                .map(valor)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static String nomeArquivoExtrato(ExtratoDespesaDTO extrato) {
+        // Protocolo tem barra (43022.000001/2025-07), inválida em nome de arquivo
+        return "extrato-" + extrato.getNumeroProtocolo().replace('/', '-') + ".pdf";
+    }
+}
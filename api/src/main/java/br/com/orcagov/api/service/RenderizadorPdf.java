@@ -0,0 +1,136 @@
+package br.com.orcagov.api.service;
+
+import com.openhtmltopdf.extend.FSCacheEx;
+import com.openhtmltopdf.extend.FSCacheValue;
+import com.openhtmltopdf.extend.impl.FSDefaultCacheStore;
+import com.openhtmltopdf.outputdevice.helper.BaseRendererBuilder.FontStyle;
+import com.openhtmltopdf.pdfboxout.PDFontSupplier;
+import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
+import com.openhtmltopdf.slf4j.Slf4jLogger;
+import com.openhtmltopdf.util.XRLog;
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Renderização de relatórios PDF a partir de templates Thymeleaf (XHTML).
+ *
+ * Uma instância é compartilhada entre threads: os templates são analisados uma
+ * única vez e mantidos no cache do Thymeleaf, os arquivos de fonte são lidos do
+ * classpath apenas na construção e as métricas das fontes ficam em um cache
+ * comum a todas as renderizações.
+ *
+ * Analisar o TrueType a cada documento custava cerca de um terço do tempo de
+ * renderização. A fonte analisada não pode ser compartilhada entre threads, então
+ * cada thread de renderização analisa a sua uma vez e a reaproveita em todos os
+ * documentos que gerar.
+ */
+public class RenderizadorPdf {
+
+    public static final String TEMPLATE_EXTRATO_DESPESA = "extrato-despesa";
+    public static final String TEMPLATE_RESUMO_MENSAL = "resumo-mensal";
+
+    public static final String FAMILIA_FONTE = "DejaVu Sans";
+
+    private static final String PASTA_TEMPLATES = "templates/relatorios/";
+    private static final Locale LOCALE = new Locale("pt", "BR");
+
+    private final TemplateEngine templateEngine;
+    private final byte[] fonteRegular;
+    private final byte[] fonteNegrito;
+    private final FSCacheEx<String, FSCacheValue> cacheFontes = new FSDefaultCacheStore();
+    private final ThreadLocal<FontesAnalisadas> fontesDaThread = ThreadLocal.withInitial(this::analisarFontes);
+
+    static {
+        // Logs do renderizador passam pelo SLF4J e respeitam logging.level.com.openhtmltopdf
+        XRLog.setLoggerImpl(new Slf4jLogger());
+    }
+
+    public RenderizadorPdf() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix(PASTA_TEMPLATES);
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        // Sem TTL: o template analisado vale até a aplicação parar
+        resolver.setCacheable(true);
+        resolver.setCacheTTLMs(null);
+
+        this.templateEngine = new TemplateEngine();
+        this.templateEngine.setTemplateResolver(resolver);
+
+        this.fonteRegular = lerRecurso("fonts/DejaVuSans.ttf");
+        this.fonteNegrito = lerRecurso("fonts/DejaVuSans-Bold.ttf");
+    }
+
+    /**
+     * Renderiza o template com as variáveis informadas e retorna o PDF
+     */
+    public byte[] renderizar(String template, Map<String, Object> variaveis) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(32 * 1024);
+        renderizar(template, variaveis, saida);
+        return saida.toByteArray();
+    }
+
+    /**
+     * Renderiza o template com as variáveis informadas direto no stream de saída
+     */
+    public void renderizar(String template, Map<String, Object> variaveis, OutputStream saida) {
+        String html = templateEngine.process(template, new Context(LOCALE, variaveis));
+        FontesAnalisadas fontes = fontesDaThread.get();
+
+        try (PDDocument documento = new PDDocument()) {
+            PdfRendererBuilder builder = new PdfRendererBuilder();
+            builder.usePDDocument(documento);
+            builder.useCacheStore(PdfRendererBuilder.CacheStore.PDF_FONT_METRICS, cacheFontes);
+            builder.useFont(new PDFontSupplier(PDType0Font.load(documento, fontes.regular(), true)),
+                    FAMILIA_FONTE, 400, FontStyle.NORMAL, true);
+            builder.useFont(new PDFontSupplier(PDType0Font.load(documento, fontes.negrito(), true)),
+                    FAMILIA_FONTE, 700, FontStyle.NORMAL, true);
+            builder.withHtmlContent(html, null);
+            builder.toStream(saida);
+            builder.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao renderizar o PDF " + template, e);
+        }
+    }
+
+    private FontesAnalisadas analisarFontes() {
+        try {
+            return new FontesAnalisadas(
+                    new TTFParser().parse(new RandomAccessReadBuffer(fonteRegular)),
+                    new TTFParser().parse(new RandomAccessReadBuffer(fonteNegrito)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao analisar as fontes dos relatórios", e);
+        }
+    }
+
+    private record FontesAnalisadas(TrueTypeFont regular, TrueTypeFont negrito) {
+    }
+
+    private static byte[] lerRecurso(String caminho) {
+        try (InputStream entrada = RenderizadorPdf.class.getClassLoader().getResourceAsStream(caminho)) {
+            if (entrada == null) {
+                throw new IllegalStateException("Recurso não encontrado no classpath: " + caminho);
+            }
+            return entrada.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler o recurso " + caminho, e);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package br.com.orcagov.api.service;
+
+import br.com.orcagov.api.exception.ServiceUnavailableException;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Hash e verificação de senhas com BCrypt. O hash gravado leva o prefixo do algoritmo
+ * ("{bcrypt}..."), e senhas gravadas em texto puro, de antes da adoção do hash, ainda
+ * são aceitas: o login bem-sucedido devolve o hash novo para substituí-las. O mesmo vale
+ * para hashes com custo menor que o configurado.
+ *
+ * A verificação é cara por definição e roda no pool dedicado (senhaExecutor), nunca na
+ * thread da requisição: uma rajada de logins ocupa só esse pool, e com a fila cheia o
+ * login responde 503 em vez de tomar os núcleos das demais rotas. Em máquinas com um
+ * ou dois núcleos uma thread do pool já é a CPU inteira; lá o orçamento de verificações
+ * por segundo (orcagov.senha.limite-por-segundo) limita a fatia do BCrypt.
+ */
+@Service
+public class SenhaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SenhaService.class);
+
+    private static final String ID_BCRYPT = "bcrypt";
+    private static final long RETRY_AFTER_SEGUNDOS = 1;
+
+    @Autowired
+    @Qualifier("senhaExecutor")
+    private ThreadPoolTaskExecutor senhaExecutor;
+
+    @Value("${orcagov.senha.bcrypt.forca:10}")
+    private int forca;
+
+    @Value("${orcagov.senha.espera-maxima:5s}")
+    private Duration esperaMaxima;
+
+    @Value("${orcagov.senha.limite-por-segundo:0}")
+    private int limitePorSegundo;
+
+    private DelegatingPasswordEncoder codificador;
+
+    // Orçamento de verificações da instância; null sem limite
+    private LimitadorTaxa orcamento;
+
+    // Comparado quando o usuário não existe, para o tempo de resposta não revelar isso
+    private String hashFicticio;
+
+    /**
+     * Resultado da verificação; novoHash preenchido quando o hash gravado deve ser trocado
+     */
+    public record Verificacao(boolean valida, String novoHash) {
+
+        private static final Verificacao INVALIDA = new Verificacao(false, null);
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        codificador = new DelegatingPasswordEncoder(ID_BCRYPT, Map.of(ID_BCRYPT, new BCryptPasswordEncoder(forca)));
+        codificador.setDefaultPasswordEncoderForMatches(new SenhaLegada());
+        hashFicticio = codificador.encode(UUID.randomUUID().toString());
+        if (limitePorSegundo > 0) {
+            orcamento = new LimitadorTaxa(limitePorSegundo, Duration.ofSeconds(1).dividedBy(limitePorSegundo));
+        }
+    }
+
+    /**
+     * Compara a senha informada com a gravada (null quando o usuário não existe) no pool
+     * de verificação
+     */
+    public Verificacao verificar(String senha, String armazenada) {
+        long espera = orcamento != null ? orcamento.consumir(ID_BCRYPT) : 0;
+        if (espera > 0) {
+            throw new ServiceUnavailableException(
+                    "Muitos logins em andamento. Tente novamente em instantes", LimitadorTaxa.segundos(espera));
+        }
+
+        Future<Verificacao> tarefa;
+        try {
+            tarefa = senhaExecutor.submit(() -> comparar(senha, armazenada));
+        } catch (TaskRejectedException e) {
+            throw new ServiceUnavailableException(
+                    "Muitos logins em andamento. Tente novamente em instantes", RETRY_AFTER_SEGUNDOS);
+        }
+
+        try {
+            return tarefa.get(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            tarefa.cancel(true);
+            throw new ServiceUnavailableException(
+                    "Muitos logins em andamento. Tente novamente em instantes", RETRY_AFTER_SEGUNDOS);
+        } catch (InterruptedException e) {
+            tarefa.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Verificação de senha interrompida", RETRY_AFTER_SEGUNDOS);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha na verificação de senha", e.getCause());
+        }
+    }
+
+    private Verificacao comparar(String senha, String armazenada) {
+        if (armazenada == null) {
+            matches(senha, hashFicticio);
+            return Verificacao.INVALIDA;
+        }
+        if (!matches(senha, armazenada)) {
+            return Verificacao.INVALIDA;
+        }
+        if (!codificador.upgradeEncoding(armazenada)) {
+            return new Verificacao(true, null);
+        }
+        try {
+            return new Verificacao(true, codificador.encode(senha));
+        } catch (IllegalArgumentException e) {
+            // Senha legada acima dos 72 bytes do BCrypt: continua como está
+            logger.warn("Senha não recodificada: {}", e.getMessage());
+            return new Verificacao(true, null);
+        }
+    }
+
+    private boolean matches(String senha, String armazenada) {
+        try {
+            return codificador.matches(senha, armazenada);
+        } catch (IllegalArgumentException e) {
+            // Senha informada acima dos 72 bytes do BCrypt
+            return false;
+        }
+    }
+
+    /**
+     * Senhas gravadas em texto puro; só compara, em tempo constante
+     */
+    private static final class SenhaLegada implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence senha) {
+            throw new UnsupportedOperationException("Senhas novas são gravadas com " + ID_BCRYPT);
+        }
+
+        @Override
+        public boolean matches(CharSequence senha, String armazenada) {
+            return MessageDigest.isEqual(senha.toString().getBytes(StandardCharsets.UTF_8),
+                    armazenada.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -2,6 +2,7 @@ package br.com.orcagov.api.service;
 
 import br.com.orcagov.api.repository.EmpenhoRepository;
 import br.com.orcagov.api.repository.PagamentoRepository;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -9,6 +10,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.Year;
 
 @Service
+@Observed(name = "orcagov.servico")
 public class SequenceGeneratorService {
     
     @Autowired
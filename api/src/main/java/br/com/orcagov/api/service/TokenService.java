@@ -0,0 +1,236 @@
+package br.com.orcagov.api.service;
+
+import br.com.orcagov.api.dto.Response.TokenResponseDTO;
+import br.com.orcagov.api.entity.Usuario;
+import br.com.orcagov.api.entity.enums.TipoUsuario;
+import br.com.orcagov.api.exception.UnauthorizedException;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Emissão e verificação dos tokens JWT (HMAC-SHA256). A verificação do token de acesso
+ * não consulta o banco: usuário e perfil vêm do próprio token. Tokens já verificados
+ * ficam num cache pequeno, e o logout revoga o token pelo jti até a sua expiração.
+ *
+ * O token de renovação só é aceito em /auth/refresh, uma única vez: cada renovação
+ * revoga o anterior e emite um par novo.
+ */
+@Service
+public class TokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenService.class);
+
+    public static final String TIPO = "Bearer";
+
+    private static final String EMISSOR = "orcagov";
+    private static final String CLAIM_PERFIL = "perfil";
+    private static final String CLAIM_USO = "uso";
+    private static final String USO_ACESSO = "acesso";
+    private static final String USO_RENOVACAO = "renovacao";
+    private static final int TAMANHO_MINIMO_SEGREDO = 32;
+
+    private static final Map<TipoUsuario, List<GrantedAuthority>> AUTORIZACOES = new EnumMap<>(TipoUsuario.class);
+
+    static {
+        for (TipoUsuario tipo : TipoUsuario.values()) {
+            AUTORIZACOES.put(tipo, List.of(new SimpleGrantedAuthority("ROLE_" + tipo.name())));
+        }
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${jwt.secret:}")
+    private String segredo;
+
+    @Value("${jwt.expiration:15m}")
+    private Duration expiracao;
+
+    @Value("${jwt.refresh-expiration:8h}")
+    private Duration expiracaoRenovacao;
+
+    @Value("${jwt.cache.tamanho:4096}")
+    private int tamanhoCache;
+
+    private Algorithm algoritmo;
+    private JWTVerifier verificadorAcesso;
+    private JWTVerifier verificadorRenovacao;
+    private CacheTokensVerificados cache;
+    private final ListaRevogacao revogados = new ListaRevogacao();
+    // jti imprevisível: é a chave da revogação
+    private final SecureRandom geradorIds = new SecureRandom();
+
+    private Counter acertosCache;
+    private Counter verificados;
+    private Counter recusados;
+
+    /**
+     * Token válido: quem é o usuário, com qual perfil e até quando (segundos desde a época)
+     */
+    public record TokenVerificado(String usuario, TipoUsuario perfil, long id, long expiraEm) {
+
+        public List<GrantedAuthority> autorizacoes() {
+            return AUTORIZACOES.get(perfil);
+        }
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        byte[] chave;
+        if (segredo == null || segredo.isBlank()) {
+            logger.warn("jwt.secret não configurado: usando um segredo aleatório, os tokens perdem a validade "
+                    + "ao reiniciar e não valem em outras instâncias");
+            chave = new byte[TAMANHO_MINIMO_SEGREDO];
+            new SecureRandom().nextBytes(chave);
+        } else {
+            chave = segredo.getBytes(StandardCharsets.UTF_8);
+            if (chave.length < TAMANHO_MINIMO_SEGREDO) {
+                throw new IllegalStateException(
+                        "jwt.secret deve ter pelo menos " + TAMANHO_MINIMO_SEGREDO + " bytes para o HMAC-SHA256");
+            }
+        }
+
+        algoritmo = Algorithm.HMAC256(chave);
+        verificadorAcesso = JWT.require(algoritmo).withIssuer(EMISSOR).withClaim(CLAIM_USO, USO_ACESSO).build();
+        verificadorRenovacao = JWT.require(algoritmo).withIssuer(EMISSOR).withClaim(CLAIM_USO, USO_RENOVACAO).build();
+        cache = new CacheTokensVerificados(tamanhoCache);
+
+        acertosCache = meterRegistry.counter("orcagov.autenticacao.tokens", "resultado", "cache");
+        verificados = meterRegistry.counter("orcagov.autenticacao.tokens", "resultado", "verificado");
+        recusados = meterRegistry.counter("orcagov.autenticacao.tokens", "resultado", "recusado");
+        meterRegistry.gauge("orcagov.autenticacao.revogados", revogados, ListaRevogacao::tamanho);
+    }
+
+    // ==========================================
+    // EMISSÃO
+    // ==========================================
+
+    /**
+     * Par de tokens de acesso e de renovação para o usuário já autenticado
+     */
+    public TokenResponseDTO emitir(Usuario usuario) {
+        Instant agora = Instant.now();
+        return TokenResponseDTO.builder()
+                .tokenAcesso(assinar(usuario, USO_ACESSO, agora, expiracao))
+                .tokenRenovacao(assinar(usuario, USO_RENOVACAO, agora, expiracaoRenovacao))
+                .tipo(TIPO)
+                .expiraEm(expiracao.toSeconds())
+                .build();
+    }
+
+    private String assinar(Usuario usuario, String uso, Instant agora, Duration validade) {
+        return JWT.create()
+                .withIssuer(EMISSOR)
+                .withSubject(usuario.getUsername())
+                .withJWTId(Long.toHexString(geradorIds.nextLong()))
+                .withClaim(CLAIM_PERFIL, usuario.getTipoUser().name())
+                .withClaim(CLAIM_USO, uso)
+                .withIssuedAt(agora)
+                .withExpiresAt(agora.plus(validade))
+                .sign(algoritmo);
+    }
+
+    // ==========================================
+    // VERIFICAÇÃO
+    // ==========================================
+
+    /**
+     * Token de acesso do cabeçalho Authorization; sem consulta ao banco
+     */
+    public TokenVerificado verificarAcesso(String token) {
+        long agora = Instant.now().getEpochSecond();
+        TokenVerificado verificado = cache.buscar(token);
+        if (verificado != null && verificado.expiraEm() > agora) {
+            acertosCache.increment();
+        } else {
+            verificado = decodificar(verificadorAcesso, token);
+            cache.guardar(token, verificado);
+            verificados.increment();
+        }
+
+        if (revogados.revogado(verificado.id())) {
+            recusados.increment();
+            throw new UnauthorizedException("Token revogado");
+        }
+        return verificado;
+    }
+
+    /**
+     * Token de renovação; não passa pelo cache, a renovação é rara
+     */
+    public TokenVerificado verificarRenovacao(String token) {
+        TokenVerificado verificado = decodificar(verificadorRenovacao, token);
+        if (revogados.revogado(verificado.id())) {
+            recusados.increment();
+            throw new UnauthorizedException("Token de renovação já utilizado ou revogado");
+        }
+        return verificado;
+    }
+
+    private TokenVerificado decodificar(JWTVerifier verificador, String token) {
+        DecodedJWT jwt;
+        try {
+            jwt = verificador.verify(token);
+        } catch (TokenExpiredException e) {
+            recusados.increment();
+            throw new UnauthorizedException("Token expirado");
+        } catch (JWTVerificationException e) {
+            recusados.increment();
+            throw new UnauthorizedException("Token inválido");
+        }
+
+        TipoUsuario perfil;
+        long id;
+        try {
+            perfil = TipoUsuario.valueOf(jwt.getClaim(CLAIM_PERFIL).asString());
+            id = Long.parseUnsignedLong(jwt.getId(), 16);
+        } catch (RuntimeException e) {
+            // Assinatura válida com conteúdo de outra versão da API
+            recusados.increment();
+            throw new UnauthorizedException("Token inválido");
+        }
+        return new TokenVerificado(jwt.getSubject(), perfil, id, jwt.getExpiresAtAsInstant().getEpochSecond());
+    }
+
+    // ==========================================
+    // REVOGAÇÃO
+    // ==========================================
+
+    /**
+     * Revoga o token até a sua expiração; falso se já estava revogado
+     */
+    public boolean revogar(TokenVerificado token) {
+        return revogados.revogar(token.id(), token.expiraEm());
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revogacao.limpeza-intervalo:PT1M}")
+    public void limparRevogados() {
+        int removidos = revogados.limpar(Instant.now().getEpochSecond());
+        if (removidos > 0) {
+            logger.debug("{} tokens revogados expiraram e saíram da lista", removidos);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.orcagov.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Login pela API nos testes de integração, para as requisições com token JWT.
+ */
+public final class AutenticacaoTeste {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private AutenticacaoTeste() {
+    }
+
+    /**
+     * Valor do cabeçalho Authorization ("Bearer ...") para um usuário do banco
+     *
+     * @param raiz endereço da API com o context path, como http://localhost:8080/api
+     */
+    public static String cabecalho(String raiz, String usuario, String senha) throws Exception {
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create(raiz + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        MAPPER.writeValueAsString(Map.of("userName", usuario, "password", senha))))
+                .build();
+        HttpResponse<String> resposta = HttpClient.newHttpClient().send(requisicao, HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, resposta.statusCode(), "Login de " + usuario + ": " + resposta.body());
+
+        JsonNode dados = MAPPER.readTree(resposta.body()).get("data");
+        return dados.get("tipo").asText() + " " + dados.get("tokenAcesso").asText();
+    }
+}
@@ -0,0 +1,183 @@
+package br.com.orcagov.api;
+
+import br.com.orcagov.api.dto.Request.DespesaRequestDTO;
+import br.com.orcagov.api.entity.Usuario;
+import br.com.orcagov.api.entity.enums.TipoDespesa;
+import br.com.orcagov.api.entity.enums.TipoUsuario;
+import br.com.orcagov.api.repository.UsuarioRepository;
+import br.com.orcagov.api.service.DespesaService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Teste de carga HTTP: latência (p50/p99/máx) e vazão por número de clientes
+ * simultâneos, consultando a listagem paginada de despesas.
+ *
+ * Para comparar threads de plataforma e virtuais, rode duas vezes e compare as
+ * tabelas (o perfil virtual só tem efeito em Java 21+):
+ * mvn test -Dtest=CargaHttpTest -Dbenchmark=true
+ * mvn test -Dtest=CargaHttpTest -Dbenchmark=true -Dspring.profiles.active=virtual
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CargaHttpTest {
+
+    private static final String USUARIO = "carga";
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private DespesaService despesaService;
+
+    @Test
+    void latenciaEVazaoPorClientesSimultaneos() throws Exception {
+        int[] clientes = Arrays.stream(System.getProperty("benchmark.clientes", "16,64,256,1024").split(","))
+                .mapToInt(Integer::parseInt).toArray();
+        Duration duracao = Duration.ofSeconds(Long.getLong("benchmark.segundos", 15));
+
+        criarDespesas(Integer.getInteger("benchmark.despesas", 2000));
+
+        HttpClient cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String autorizacao = AutenticacaoTeste.cabecalho("http://localhost:" + porta + "/api", USUARIO, "carga");
+
+        System.out.printf("%nmodo=%s java=%s%n",
+                environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+                        && Runtime.version().feature() >= 21 ? "virtual" : "plataforma",
+                Runtime.version());
+        System.out.printf("%8s %10s %9s %9s %9s %9s%n", "clientes", "req/s", "p50 ms", "p99 ms", "max ms", "erros");
+
+        // Aquecimento do JIT, do pool de conexões e dos caches do Hibernate
+        medir(cliente, autorizacao, clientes[0], Duration.ofSeconds(5));
+
+        double maiorVazao = 0;
+        for (int quantidade : clientes) {
+            Resultado resultado = medir(cliente, autorizacao, quantidade, duracao);
+            maiorVazao = Math.max(maiorVazao, resultado.vazao());
+            System.out.printf("%8d %10.0f %9.1f %9.1f %9.1f %9d%n", quantidade, resultado.vazao(),
+                    resultado.percentil(0.50), resultado.percentil(0.99), resultado.percentil(1.0), resultado.erros());
+        }
+        System.out.printf("vazão máxima: %.0f req/s%n", maiorVazao);
+
+        assertTrue(maiorVazao > 0);
+    }
+
+    private Resultado medir(HttpClient cliente, String autorizacao, int quantidade, Duration duracao) throws Exception {
+        long fim = System.nanoTime() + duracao.toNanos();
+        AtomicLong erros = new AtomicLong();
+
+        ExecutorService executor = Executors.newFixedThreadPool(quantidade);
+        try {
+            List<Future<long[]>> tarefas = new ArrayList<>();
+            for (int i = 0; i < quantidade; i++) {
+                int pagina = i % 50;
+                HttpRequest requisicao = HttpRequest.newBuilder(
+                                URI.create("http://localhost:" + porta + "/api/despesas?size=20&page=" + pagina))
+                        .header("Authorization", autorizacao)
+                        .timeout(Duration.ofSeconds(30))
+                        .build();
+
+                tarefas.add(executor.submit(() -> {
+                    long[] latencias = new long[1024];
+                    int total = 0;
+                    while (System.nanoTime() < fim) {
+                        long inicio = System.nanoTime();
+                        try {
+                            HttpResponse<Void> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                            if (resposta.statusCode() != 200) {
+                                erros.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            erros.incrementAndGet();
+                            continue;
+                        }
+                        if (total == latencias.length) {
+                            latencias = Arrays.copyOf(latencias, total * 2);
+                        }
+                        latencias[total++] = System.nanoTime() - inicio;
+                    }
+                    return Arrays.copyOf(latencias, total);
+                }));
+            }
+
+            long[] todas = new long[0];
+            for (Future<long[]> tarefa : tarefas) {
+                long[] latencias = tarefa.get();
+                int anterior = todas.length;
+                todas = Arrays.copyOf(todas, anterior + latencias.length);
+                System.arraycopy(latencias, 0, todas, anterior, latencias.length);
+            }
+            Arrays.sort(todas);
+            return new Resultado(todas, erros.get(), duracao);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void criarDespesas(int quantidade) {
+        if (!usuarioRepository.existsByUserName(USUARIO)) {
+            Usuario usuario = new Usuario();
+            usuario.setUserName(USUARIO);
+            usuario.setPassword("carga");
+            usuario.setEmail("carga@orcagov.local");
+            usuario.setTipoUser(TipoUsuario.ADMIN);
+            usuarioRepository.save(usuario);
+        }
+
+        for (int i = 0; i < quantidade; i++) {
+            DespesaRequestDTO request = new DespesaRequestDTO();
+            request.setTipoDespesa(TipoDespesa.values()[i % TipoDespesa.values().length]);
+            request.setDataVencimento(LocalDate.now().plusDays(30 + i % 300));
+            request.setCredorDespesas("Credor de carga " + (i % 97));
+            request.setDescricaoDespesas("Despesa gerada para o teste de carga " + i);
+            request.setValorDespesas(new BigDecimal(1000 + i * 7).movePointLeft(2));
+            despesaService.criarDespesa(request, USUARIO);
+        }
+    }
+
+    private record Resultado(long[] latenciasNs, long erros, Duration duracao) {
+
+        double vazao() {
+            return latenciasNs.length / (duracao.toMillis() / 1000.0);
+        }
+
+        double percentil(double percentil) {
+            if (latenciasNs.length == 0) {
+                return 0;
+            }
+            int indice = (int) Math.ceil(percentil * latenciasNs.length) - 1;
+            return latenciasNs[Math.max(0, indice)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package br.com.orcagov.api;
+
+import br.com.orcagov.api.dto.Request.DespesaRequestDTO;
+import br.com.orcagov.api.entity.Usuario;
+import br.com.orcagov.api.entity.enums.TipoDespesa;
+import br.com.orcagov.api.entity.enums.TipoUsuario;
+import br.com.orcagov.api.repository.UsuarioRepository;
+import br.com.orcagov.api.service.DespesaService;
+import br.com.orcagov.api.service.SenhaService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Rajada de logins contra a listagem de despesas: a mesma carga de consultas sozinha
+ * e junto com clientes que só fazem login, em rodadas alternadas. Mostra a vazão de
+ * logins que o pool de verificação de senha sustenta e quanto as consultas perdem
+ * enquanto isso; os logins acima da fila do pool saem como 503.
+ *
+ * Os limites por endereço e por usuário ficam altos aqui, todos os clientes vêm de
+ * localhost; o que se mede é o isolamento do BCrypt:
+ * mvn test -Dtest=CargaLoginHttpTest -Dbenchmark=true
+ * mvn test -Dtest=CargaLoginHttpTest -Dbenchmark=true -Dbenchmark.logins=64 -Dorcagov.senha.threads=1
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "orcagov.login.limite.ip.capacidade=1000000",
+        "orcagov.login.limite.usuario.capacidade=1000000"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CargaLoginHttpTest {
+
+    private static final String USUARIO = "login";
+    private static final int USUARIOS = 16;
+
+    // Posições do contador de respostas dos clientes de login
+    private static final int ACEITOS = 0;
+    private static final int RECUSADOS_503 = 1;
+    private static final int OUTROS = 2;
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private DespesaService despesaService;
+
+    @Autowired
+    private SenhaService senhaService;
+
+    @Test
+    void consultasDuranteRajadaDeLogins() throws Exception {
+        int clientes = Integer.getInteger("benchmark.clientes", 16);
+        int clientesLogin = Integer.getInteger("benchmark.logins", 16);
+        int rodadas = Integer.getInteger("benchmark.rodadas", 2);
+        Duration duracao = Duration.ofSeconds(Long.getLong("benchmark.segundos", 10));
+
+        criarUsuariosEDespesas(Integer.getInteger("benchmark.despesas", 500));
+        String raiz = "http://localhost:" + porta + "/api";
+
+        HttpClient cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest consulta = HttpRequest.newBuilder(URI.create(raiz + "/despesas?size=20"))
+                .header("Authorization", AutenticacaoTeste.cabecalho(raiz, USUARIO + 0, USUARIO))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+        List<HttpRequest> logins = new ArrayList<>();
+        for (int i = 0; i < USUARIOS; i++) {
+            logins.add(HttpRequest.newBuilder(URI.create(raiz + "/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"userName\":\"" + USUARIO + i + "\",\"password\":\"" + USUARIO + "\"}"))
+                    .timeout(Duration.ofSeconds(30))
+                    .build());
+        }
+
+        // Aquecimento do JIT e do pool de conexões, com as duas cargas
+        medir(cliente, consulta, clientes, logins, clientesLogin, Duration.ofSeconds(5), new AtomicLongArray(3));
+
+        List<long[]> sozinhas = new ArrayList<>();
+        List<long[]> comLogins = new ArrayList<>();
+        List<long[]> latenciasLogin = new ArrayList<>();
+        AtomicLongArray respostasLogin = new AtomicLongArray(3);
+        for (int i = 0; i < rodadas; i++) {
+            sozinhas.add(medir(cliente, consulta, clientes, logins, 0, duracao, respostasLogin)[0]);
+            long[][] juntas = medir(cliente, consulta, clientes, logins, clientesLogin, duracao, respostasLogin);
+            comLogins.add(juntas[0]);
+            latenciasLogin.add(juntas[1]);
+        }
+
+        Duration total = duracao.multipliedBy(rodadas);
+        Resultado semLogin = new Resultado(juntar(sozinhas), total);
+        Resultado duranteLogins = new Resultado(juntar(comLogins), total);
+        Resultado login = new Resultado(juntar(latenciasLogin), total);
+
+        System.out.printf("%nclientes=%d clientes de login=%d rodadas=%d x %ds núcleos=%d%n",
+                clientes, clientesLogin, rodadas, duracao.toSeconds(), Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-22s %10s %9s %9s%n", "carga", "req/s", "p50 ms", "p99 ms");
+        imprimir("consultas sozinhas", semLogin);
+        imprimir("consultas com logins", duranteLogins);
+        imprimir("logins aceitos", login);
+        System.out.printf("logins: %d aceitos, %d recusados com 503, %d outras respostas%n",
+                respostasLogin.get(ACEITOS), respostasLogin.get(RECUSADOS_503), respostasLogin.get(OUTROS));
+        System.out.printf("efeito da rajada nas consultas: %.1f%% na vazão, %.1f%% na p99%n",
+                100 * (1 - duranteLogins.vazao() / semLogin.vazao()),
+                100 * (duranteLogins.percentil(0.99) / semLogin.percentil(0.99) - 1));
+
+        assertTrue(semLogin.vazao() > 0 && duranteLogins.vazao() > 0);
+        assertTrue(respostasLogin.get(ACEITOS) > 0);
+    }
+
+    // ==========================================
+    // MÉTODOS AUXILIARES
+    // ==========================================
+
+    private static void imprimir(String carga, Resultado resultado) {
+        System.out.printf("%-22s %10.0f %9.2f %9.2f%n", carga, resultado.vazao(),
+                resultado.percentil(0.50), resultado.percentil(0.99));
+    }
+
+    /**
+     * Latências das consultas e dos logins aceitos, ordenadas
+     */
+    private long[][] medir(HttpClient cliente, HttpRequest consulta, int clientes, List<HttpRequest> logins,
+                           int clientesLogin, Duration duracao, AtomicLongArray respostasLogin) throws Exception {
+        long fim = System.nanoTime() + duracao.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(clientes + clientesLogin);
+        try {
+            List<Future<long[]>> consultas = new ArrayList<>();
+            for (int i = 0; i < clientes; i++) {
+                consultas.add(executor.submit(() -> repetir(cliente, List.of(consulta), fim, null)));
+            }
+            List<Future<long[]>> tentativas = new ArrayList<>();
+            for (int i = 0; i < clientesLogin; i++) {
+                tentativas.add(executor.submit(() -> repetir(cliente, logins, fim, respostasLogin)));
+            }
+            return new long[][] { juntar(resultados(consultas)), juntar(resultados(tentativas)) };
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long[] repetir(HttpClient cliente, List<HttpRequest> requisicoes, long fim,
+                                  AtomicLongArray respostas) throws Exception {
+        long[] latencias = new long[1024];
+        int total = 0;
+        for (int i = 0; System.nanoTime() < fim; i++) {
+            long inicio = System.nanoTime();
+            HttpResponse<Void> resposta = cliente.send(requisicoes.get(i % requisicoes.size()),
+                    HttpResponse.BodyHandlers.discarding());
+            if (respostas != null) {
+                respostas.incrementAndGet(resposta.statusCode() == 200 ? ACEITOS
+                        : resposta.statusCode() == 503 ? RECUSADOS_503 : OUTROS);
+            }
+            if (resposta.statusCode() != 200) {
+                continue;
+            }
+            if (total == latencias.length) {
+                latencias = Arrays.copyOf(latencias, total * 2);
+            }
+            latencias[total++] = System.nanoTime() - inicio;
+        }
+        return Arrays.copyOf(latencias, total);
+    }
+
+    private static List<long[]> resultados(List<Future<long[]>> tarefas) throws Exception {
+        List<long[]> resultados = new ArrayList<>();
+        for (Future<long[]> tarefa : tarefas) {
+            resultados.add(tarefa.get());
+        }
+        return resultados;
+    }
+
+    private static long[] juntar(List<long[]> partes) {
+        long[] todas = partes.stream().flatMapToLong(Arrays::stream).toArray();
+        Arrays.sort(todas);
+        return todas;
+    }
+
+    private void criarUsuariosEDespesas(int quantidade) {
+        // Senhas já com o hash atual (o que o login grava sobre a senha em texto puro):
+        // a rajada mede só a verificação, sem regravações
+        String hash = senhaService.verificar(USUARIO, USUARIO).novoHash();
+        for (int i = 0; i < USUARIOS; i++) {
+            if (!usuarioRepository.existsByUserName(USUARIO + i)) {
+                Usuario usuario = new Usuario();
+                usuario.setUserName(USUARIO + i);
+                usuario.setPassword(hash);
+                usuario.setEmail(USUARIO + i + "@orcagov.local");
+                usuario.setTipoUser(TipoUsuario.ADMIN);
+                usuarioRepository.save(usuario);
+            }
+        }
+        for (int i = 0; i < quantidade; i++) {
+            DespesaRequestDTO request = new DespesaRequestDTO();
+            request.setTipoDespesa(TipoDespesa.values()[i % TipoDespesa.values().length]);
+            request.setDataVencimento(LocalDate.now().plusDays(30 + i % 300));
+            request.setCredorDespesas("Credor do teste de login " + (i % 97));
+            request.setDescricaoDespesas("Despesa gerada para a rajada de logins " + i);
+            request.setValorDespesas(new BigDecimal(1000 + i * 7).movePointLeft(2));
+            despesaService.criarDespesa(request, USUARIO + 0);
+        }
+    }
+
+    private record Resultado(long[] latenciasNs, Duration duracao) {
+
+        double vazao() {
+            return latenciasNs.length / (duracao.toMillis() / 1000.0);
+        }
+
+        double percentil(double percentil) {
+            if (latenciasNs.length == 0) {
+                return 0;
+            }
+            int indice = (int) Math.ceil(percentil * latenciasNs.length) - 1;
+            return latenciasNs[Math.max(0, indice)] / 1_000_000.0;
+        }
+    }
+}
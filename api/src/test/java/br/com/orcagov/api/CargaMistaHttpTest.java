@@ -0,0 +1,565 @@
+package br.com.orcagov.api;
+
+import br.com.orcagov.api.dto.Request.DespesaRequestDTO;
+import br.com.orcagov.api.dto.Request.EmpenhoRequestDTO;
+import br.com.orcagov.api.dto.Request.PagamentoRequestDTO;
+import br.com.orcagov.api.dto.Response.CargaHistoricaResponseDTO;
+import br.com.orcagov.api.entity.Usuario;
+import br.com.orcagov.api.entity.enums.TipoDespesa;
+import br.com.orcagov.api.entity.enums.TipoUsuario;
+import br.com.orcagov.api.repository.UsuarioRepository;
+import br.com.orcagov.api.service.CargaHistoricaService;
+import br.com.orcagov.api.service.ProtocoloGeneratorService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark HTTP de ponta a ponta: sobe a aplicação contra um PostgreSQL embutido
+ * (ou o configurado em application.properties, com -Dbenchmark.banco=local), carrega
+ * uma massa de dados pela carga histórica (COPY) e dispara uma carga mista: cadeias
+ * despesa → empenho → pagamento, páginas, filtros, consultas por id e estatísticas.
+ * Cada cliente simulado é uma thread (virtual no Java 21+) que envia uma requisição
+ * por vez, sem pausa entre elas.
+ *
+ * Vazão e latência (p50/p90/p99/máx) por endpoint são gravadas em JSON em
+ * benchmarks/resultados/http, com o commit no nome do arquivo, e comparadas com o
+ * resultado anterior da mesma pasta.
+ *
+ * mvn test -Dtest=CargaMistaHttpTest -Dbenchmark=true
+ * mvn test -Dtest=CargaMistaHttpTest -Dbenchmark=true -Dbenchmark.clientes=64 -Dbenchmark.despesas=20000
+ */
+// Sem limites por cliente: todos os clientes usam o mesmo usuário e mede-se a capacidade da API
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "orcagov.limite.habilitado=false")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+// Fecha a aplicação antes de a JVM encerrar o banco embutido
+@DirtiesContext
+class CargaMistaHttpTest {
+
+    /** Anos da massa: a numeração de protocolos, empenhos e pagamentos recomeça a cada ano */
+    private static final int PRIMEIRO_ANO = 2005;
+    private static final int ANOS = 20;
+    private static final int SEQUENCIAL_MAXIMO = 9999;
+    private static final int CREDORES = 100;
+    private static final int TAMANHO_PAGINA = 20;
+
+    private static EmbeddedPostgres bancoEmbutido;
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CargaHistoricaService cargaHistoricaService;
+
+    private HttpClient cliente;
+    private String autorizacao;
+    private long[] despesas;
+
+    @DynamicPropertySource
+    static void banco(DynamicPropertyRegistry registro) throws IOException {
+        if ("local".equals(System.getProperty("benchmark.banco", "embutido"))) {
+            return;
+        }
+        if (bancoEmbutido == null) {
+            // Encerrado pelo próprio EmbeddedPostgres ao fim da JVM
+            bancoEmbutido = EmbeddedPostgres.builder().start();
+        }
+        registro.add("spring.datasource.url", () -> "jdbc:postgresql://localhost:" + bancoEmbutido.getPort() + "/postgres");
+        registro.add("spring.datasource.username", () -> "postgres");
+        registro.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @Test
+    void vazaoELatenciaPorEndpoint() throws Exception {
+        int clientes = Integer.getInteger("benchmark.clientes", 32);
+        Duration aquecimento = Duration.ofSeconds(Long.getLong("benchmark.aquecimento", 10));
+        Duration duracao = Duration.ofSeconds(Long.getLong("benchmark.segundos", 30));
+        long semente = Long.getLong("benchmark.semente", 42);
+
+        String usuario = environment.getProperty("spring.security.user.name");
+        criarUsuario(usuario);
+        CargaHistoricaResponseDTO massa = carregarMassa(Integer.getInteger("benchmark.despesas", 5000), semente, usuario);
+        despesas = jdbcTemplate.queryForList("SELECT id FROM despesas ORDER BY id", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+
+        cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        autorizacao = AutenticacaoTeste.cabecalho("http://localhost:" + porta + "/api", usuario, "benchmark");
+
+        // Aquecimento do JIT, do pool de conexões e dos caches do Hibernate
+        medir(clientes, aquecimento, semente);
+        Map<String, Medicoes> medicoes = medir(clientes, duracao, semente + 1);
+
+        List<ResultadoEndpoint> endpoints = new ArrayList<>();
+        Medicoes total = new Medicoes();
+        medicoes.forEach((endpoint, medicao) -> {
+            endpoints.add(medicao.resultado(endpoint, duracao));
+            total.juntar(medicao);
+        });
+        Relatorio relatorio = new Relatorio(commit(), Instant.now(), Runtime.version().toString(),
+                bancoEmbutido != null ? "embutido" : "local", clientes, duracao.toSeconds(),
+                new Massa(massa.getDespesasImportadas(), massa.getEmpenhosImportados(), massa.getPagamentosImportados()),
+                total.resultado("total", duracao), endpoints);
+
+        imprimir(relatorio);
+        Path pasta = Path.of(System.getProperty("benchmark.resultados", "../benchmarks/resultados/http"));
+        Optional<Path> anterior = ultimoResultado(pasta);
+        Path arquivo = gravar(pasta, relatorio);
+        System.out.printf("resultado gravado em %s%n", arquivo.toAbsolutePath().normalize());
+        if (anterior.isPresent()) {
+            comparar(objectMapper.readTree(anterior.get().toFile()), relatorio);
+        }
+
+        assertTrue(relatorio.total().requisicoes() > 0);
+    }
+
+    // ========================================
+    // CARGA
+    // ========================================
+
+    private Map<String, Medicoes> medir(int clientes, Duration duracao, long semente) throws Exception {
+        long fim = System.nanoTime() + duracao.toNanos();
+
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("carga-");
+        executor.setVirtualThreads(Runtime.version().feature() >= 21);
+
+        List<Future<Map<String, Medicoes>>> tarefas = new ArrayList<>();
+        for (int i = 0; i < clientes; i++) {
+            SplittableRandom aleatorio = new SplittableRandom(semente * 1_000 + i);
+            tarefas.add(executor.submit(() -> new Cliente(aleatorio).executar(fim)));
+        }
+
+        Map<String, Medicoes> medicoes = new TreeMap<>();
+        for (Future<Map<String, Medicoes>> tarefa : tarefas) {
+            tarefa.get().forEach((endpoint, medicao) ->
+                    medicoes.computeIfAbsent(endpoint, e -> new Medicoes()).juntar(medicao));
+        }
+        return medicoes;
+    }
+
+    /**
+     * Um cliente simulado, com as operações sorteadas pelo peso de cada uma
+     */
+    private class Cliente {
+
+        private final SplittableRandom aleatorio;
+        private final Map<String, Medicoes> medicoes = new TreeMap<>();
+
+        Cliente(SplittableRandom aleatorio) {
+            this.aleatorio = aleatorio;
+        }
+
+        Map<String, Medicoes> executar(long fim) {
+            while (System.nanoTime() < fim) {
+                int sorteio = aleatorio.nextInt(100);
+                if (sorteio < 10) {
+                    criarCadeia();
+                } else if (sorteio < 35) {
+                    obter("GET /despesas", "/despesas?size=" + TAMANHO_PAGINA + "&page=" + aleatorio.nextInt(paginas()));
+                } else if (sorteio < 55) {
+                    obter("GET /despesas/{id}", "/despesas/" + despesaAleatoria());
+                } else if (sorteio < 70) {
+                    obter("GET /despesas/buscar", "/despesas/buscar?tipoDespesa="
+                            + TipoDespesa.values()[aleatorio.nextInt(TipoDespesa.values().length)]
+                            + "&credor=" + URLEncoder.encode(credor(aleatorio.nextInt(CREDORES)), StandardCharsets.UTF_8));
+                } else if (sorteio < 80) {
+                    obter("GET /empenhos/despesa/{despesaId}", "/empenhos/despesa/" + despesaAleatoria());
+                } else if (sorteio < 90) {
+                    obter("GET /pagamentos", "/pagamentos?size=" + TAMANHO_PAGINA + "&page=" + aleatorio.nextInt(paginas()));
+                } else {
+                    String recurso = List.of("despesas", "empenhos", "pagamentos").get(aleatorio.nextInt(3));
+                    obter("GET /" + recurso + "/estatisticas", "/" + recurso + "/estatisticas");
+                }
+            }
+            return medicoes;
+        }
+
+        private void criarCadeia() {
+            long centavos = 10_000 + aleatorio.nextLong(1_000_000);
+
+            DespesaRequestDTO despesa = new DespesaRequestDTO();
+            despesa.setTipoDespesa(TipoDespesa.values()[aleatorio.nextInt(TipoDespesa.values().length)]);
+            despesa.setDataVencimento(LocalDate.now().plusDays(30 + aleatorio.nextInt(300)));
+            despesa.setCredorDespesas(credor(aleatorio.nextInt(CREDORES)));
+            despesa.setDescricaoDespesas("Despesa criada pelo benchmark HTTP");
+            despesa.setValorDespesas(BigDecimal.valueOf(centavos, 2));
+            Long despesaId = criar("POST /despesas", "/despesas", despesa);
+            if (despesaId == null) {
+                return;
+            }
+
+            EmpenhoRequestDTO empenho = new EmpenhoRequestDTO(
+                    LocalDate.now(), BigDecimal.valueOf(centavos, 2), "Empenho do benchmark HTTP", despesaId);
+            Long empenhoId = criar("POST /empenhos", "/empenhos", empenho);
+            if (empenhoId == null) {
+                return;
+            }
+
+            PagamentoRequestDTO pagamento = new PagamentoRequestDTO(
+                    LocalDate.now(), BigDecimal.valueOf(centavos / 2, 2), "Pagamento do benchmark HTTP", empenhoId);
+            criar("POST /pagamentos", "/pagamentos", pagamento);
+        }
+
+        private void obter(String endpoint, String caminho) {
+            enviar(endpoint, requisicao(caminho).GET().build(), HttpResponse.BodyHandlers.discarding());
+        }
+
+        /**
+         * Retorna o id do registro criado, ou null se a requisição falhou
+         */
+        private Long criar(String endpoint, String caminho, Object corpo) {
+            byte[] json;
+            try {
+                json = objectMapper.writeValueAsBytes(corpo);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            HttpResponse<byte[]> resposta = enviar(endpoint, requisicao(caminho)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(json))
+                    .build(), HttpResponse.BodyHandlers.ofByteArray());
+            if (resposta == null) {
+                return null;
+            }
+            try {
+                JsonNode id = objectMapper.readTree(resposta.body()).path("data").path("id");
+                return id.isNumber() ? id.asLong() : null;
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Retorna a resposta, ou null se a requisição falhou (erro de rede ou status 4xx/5xx)
+         */
+        private <T> HttpResponse<T> enviar(String endpoint, HttpRequest requisicao, HttpResponse.BodyHandler<T> leitor) {
+            Medicoes medicao = medicoes.computeIfAbsent(endpoint, e -> new Medicoes());
+            long inicio = System.nanoTime();
+            try {
+                HttpResponse<T> resposta = cliente.send(requisicao, leitor);
+                if (resposta.statusCode() >= 400) {
+                    medicao.erro("HTTP " + resposta.statusCode() + (resposta.body() instanceof byte[] corpo
+                            ? " " + new String(corpo, StandardCharsets.UTF_8) : ""));
+                    return null;
+                }
+                medicao.registrar(System.nanoTime() - inicio);
+                return resposta;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                medicao.erro(e.toString());
+                return null;
+            } catch (IOException e) {
+                medicao.erro(e.toString());
+                return null;
+            }
+        }
+
+        private HttpRequest.Builder requisicao(String caminho) {
+            return HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/api" + caminho))
+                    .header("Authorization", autorizacao)
+                    .timeout(Duration.ofSeconds(30));
+        }
+
+        private long despesaAleatoria() {
+            return despesas[aleatorio.nextInt(despesas.length)];
+        }
+
+        private int paginas() {
+            return Math.max(1, despesas.length / TAMANHO_PAGINA);
+        }
+    }
+
+    // ========================================
+    // MASSA DE DADOS
+    // ========================================
+
+    private void criarUsuario(String userName) {
+        if (!usuarioRepository.existsByUserName(userName)) {
+            Usuario usuario = new Usuario();
+            usuario.setUserName(userName);
+            usuario.setPassword("benchmark");
+            usuario.setEmail(userName + "@orcagov.local");
+            usuario.setTipoUser(TipoUsuario.ADMIN);
+            usuarioRepository.save(usuario);
+        }
+    }
+
+    /**
+     * Despesas distribuídas entre anos anteriores, com 0 a 4 empenhos cada e 0 a 4
+     * pagamentos por empenho, carregadas pela carga histórica (COPY). A numeração dos
+     * anos anteriores não interfere na dos registros criados durante a medição.
+     */
+    private CargaHistoricaResponseDTO carregarMassa(int quantidade, long semente, String usuario) {
+        SplittableRandom aleatorio = new SplittableRandom(semente);
+        StringBuilder despesasCsv = new StringBuilder(
+                "numero_protocolo,tipo_despesa,data_protocolo,data_vencimento,credor,descricao,valor\n");
+        StringBuilder empenhosCsv = new StringBuilder("numero_empenho,numero_protocolo,data_empenho,valor,observacao\n");
+        StringBuilder pagamentosCsv = new StringBuilder("numero_pagamento,numero_empenho,data_pagamento,valor,observacao\n");
+        int[] protocolos = new int[ANOS];
+        int[] empenhos = new int[ANOS];
+        int[] pagamentos = new int[ANOS];
+
+        for (int i = 0; i < quantidade; i++) {
+            int indiceAno = i % ANOS;
+            int ano = PRIMEIRO_ANO + indiceAno;
+            LocalDate data = LocalDate.of(ano, 1, 2).plusDays(aleatorio.nextInt(300));
+            int quantidadeEmpenhos = aleatorio.nextInt(5);
+            long centavosEmpenho = 10_000 + aleatorio.nextLong(1_000_000);
+
+            String numero = String.format("%06d", sequencial(protocolos, indiceAno));
+            String protocolo = "43022." + numero + "/" + ano + "-" + ReflectionTestUtils.invokeMethod(
+                    new ProtocoloGeneratorService(), "calcularDigitoVerificador", "43022" + numero + ano);
+            despesasCsv.append(protocolo).append(',')
+                    .append(TipoDespesa.values()[aleatorio.nextInt(TipoDespesa.values().length)]).append(',')
+                    .append(data).append(" 09:00,")
+                    .append(data.plusDays(30 + aleatorio.nextInt(300))).append(',')
+                    .append(credor(aleatorio.nextInt(CREDORES))).append(',')
+                    .append("Despesa da massa do benchmark HTTP ").append(i).append(',')
+                    .append(BigDecimal.valueOf(centavosEmpenho * Math.max(1, quantidadeEmpenhos), 2)).append('\n');
+
+            for (int e = 0; e < quantidadeEmpenhos; e++) {
+                String numeroEmpenho = String.format("%dNE%04d", ano, sequencial(empenhos, indiceAno));
+                LocalDate dataEmpenho = data.plusDays(aleatorio.nextInt(30));
+                empenhosCsv.append(numeroEmpenho).append(',').append(protocolo).append(',')
+                        .append(dataEmpenho).append(',')
+                        .append(BigDecimal.valueOf(centavosEmpenho, 2)).append(",Empenho da massa\n");
+
+                int quantidadePagamentos = aleatorio.nextInt(5);
+                long centavosPagamento = centavosEmpenho / Math.max(1, quantidadePagamentos);
+                for (int p = 0; p < quantidadePagamentos; p++) {
+                    pagamentosCsv.append(String.format("%dNP%04d", ano, sequencial(pagamentos, indiceAno))).append(',')
+                            .append(numeroEmpenho).append(',')
+                            .append(dataEmpenho.plusDays(p + 1L)).append(',')
+                            .append(BigDecimal.valueOf(centavosPagamento, 2)).append(",Pagamento da massa\n");
+                }
+            }
+        }
+
+        CargaHistoricaResponseDTO resultado = cargaHistoricaService.executarCarga(
+                csv("despesas", despesasCsv), csv("empenhos", empenhosCsv), csv("pagamentos", pagamentosCsv), usuario);
+        System.out.printf("%nmassa: %d despesas, %d empenhos, %d pagamentos em %d ms%n",
+                resultado.getDespesasImportadas(), resultado.getEmpenhosImportados(),
+                resultado.getPagamentosImportados(), resultado.getDuracaoMs());
+        return resultado;
+    }
+
+    private static int sequencial(int[] contadores, int indiceAno) {
+        int sequencial = ++contadores[indiceAno];
+        if (sequencial > SEQUENCIAL_MAXIMO) {
+            throw new IllegalArgumentException("Massa grande demais para a numeração de " + ANOS
+                    + " anos; reduza -Dbenchmark.despesas");
+        }
+        return sequencial;
+    }
+
+    private static MockMultipartFile csv(String nome, StringBuilder conteudo) {
+        return new MockMultipartFile(nome, nome + ".csv", "text/csv",
+                conteudo.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String credor(int indice) {
+        return String.format("Credor %03d", indice);
+    }
+
+    // ========================================
+    // RESULTADOS
+    // ========================================
+
+    private void imprimir(Relatorio relatorio) {
+        System.out.printf("%ncommit=%s java=%s banco=%s clientes=%d duração=%ds%n", relatorio.commit(),
+                relatorio.java(), relatorio.banco(), relatorio.clientes(), relatorio.segundos());
+        System.out.printf("%-34s %9s %9s %9s %9s %9s %9s %7s%n",
+                "endpoint", "req", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "erros");
+        Stream.concat(relatorio.endpoints().stream(), Stream.of(relatorio.total())).forEach(resultado ->
+                System.out.printf("%-34s %9d %9.1f %9.1f %9.1f %9.1f %9.1f %7d%n", resultado.endpoint(),
+                        resultado.requisicoes(), resultado.vazao(), resultado.p50Ms(), resultado.p90Ms(),
+                        resultado.p99Ms(), resultado.maximoMs(), resultado.erros()));
+        relatorio.endpoints().stream()
+                .filter(resultado -> resultado.primeiroErro() != null)
+                .forEach(resultado -> System.out.printf("primeiro erro em %s: %s%n",
+                        resultado.endpoint(), resultado.primeiroErro()));
+    }
+
+    private Path gravar(Path pasta, Relatorio relatorio) throws IOException {
+        Files.createDirectories(pasta);
+        String momento = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")
+                .format(LocalDateTime.ofInstant(relatorio.data(), ZoneId.systemDefault()));
+        Path arquivo = pasta.resolve(momento + "-" + relatorio.commit() + ".json");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(arquivo.toFile(), relatorio);
+        return arquivo;
+    }
+
+    private static Optional<Path> ultimoResultado(Path pasta) throws IOException {
+        if (!Files.isDirectory(pasta)) {
+            return Optional.empty();
+        }
+        try (Stream<Path> arquivos = Files.list(pasta)) {
+            return arquivos.filter(arquivo -> arquivo.getFileName().toString().endsWith(".json"))
+                    .max(Path::compareTo);
+        }
+    }
+
+    /**
+     * Variação de vazão e p99 em relação ao resultado anterior, por endpoint
+     */
+    private static void comparar(JsonNode anterior, Relatorio atual) {
+        System.out.printf("%ncomparação com %s (%s, %d clientes)%n", anterior.path("commit").asText(),
+                anterior.path("data").asText(), anterior.path("clientes").asInt());
+        System.out.printf("%-34s %19s %19s%n", "endpoint", "req/s", "p99 ms");
+
+        Map<String, JsonNode> anteriores = new TreeMap<>();
+        anterior.path("endpoints").forEach(endpoint -> anteriores.put(endpoint.path("endpoint").asText(), endpoint));
+        anteriores.put("total", anterior.path("total"));
+
+        Stream.concat(atual.endpoints().stream(), Stream.of(atual.total())).forEach(resultado -> {
+            JsonNode antes = anteriores.get(resultado.endpoint());
+            if (antes == null || antes.isMissingNode()) {
+                System.out.printf("%-34s %19s %19s%n", resultado.endpoint(), "novo", "novo");
+                return;
+            }
+            System.out.printf("%-34s %19s %19s%n", resultado.endpoint(),
+                    variacao(antes.path("vazao").asDouble(), resultado.vazao()),
+                    variacao(antes.path("p99Ms").asDouble(), resultado.p99Ms()));
+        });
+    }
+
+    private static String variacao(double antes, double depois) {
+        return antes == 0
+                ? String.format("%.1f", depois)
+                : String.format("%.1f (%+.1f%%)", depois, (depois - antes) * 100 / antes);
+    }
+
+    private static String commit() {
+        try {
+            Process git = new ProcessBuilder("git", "describe", "--always", "--dirty")
+                    .redirectErrorStream(true)
+                    .start();
+            String saida = new String(git.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            return git.waitFor() == 0 && !saida.isEmpty() ? saida : "sem-commit";
+        } catch (IOException e) {
+            return "sem-commit";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "sem-commit";
+        }
+    }
+
+    /**
+     * Latências das requisições bem-sucedidas de um endpoint, em nanossegundos
+     */
+    private static class Medicoes {
+
+        private long[] latenciasNs = new long[1024];
+        private int total;
+        private long erros;
+        private String primeiroErro;
+
+        void registrar(long latenciaNs) {
+            if (total == latenciasNs.length) {
+                latenciasNs = Arrays.copyOf(latenciasNs, total * 2);
+            }
+            latenciasNs[total++] = latenciaNs;
+        }
+
+        void erro(String descricao) {
+            if (erros++ == 0) {
+                primeiroErro = descricao.length() > 300 ? descricao.substring(0, 300) : descricao;
+            }
+        }
+
+        void juntar(Medicoes outra) {
+            if (total + outra.total > latenciasNs.length) {
+                latenciasNs = Arrays.copyOf(latenciasNs, total + outra.total);
+            }
+            System.arraycopy(outra.latenciasNs, 0, latenciasNs, total, outra.total);
+            total += outra.total;
+            if (primeiroErro == null) {
+                primeiroErro = outra.primeiroErro;
+            }
+            erros += outra.erros;
+        }
+
+        ResultadoEndpoint resultado(String endpoint, Duration duracao) {
+            long[] ordenadas = Arrays.copyOf(latenciasNs, total);
+            Arrays.sort(ordenadas);
+            return new ResultadoEndpoint(endpoint, total, erros, total / (duracao.toMillis() / 1000.0),
+                    percentil(ordenadas, 0.50), percentil(ordenadas, 0.90),
+                    percentil(ordenadas, 0.99), percentil(ordenadas, 1.0), primeiroErro);
+        }
+
+        private static double percentil(long[] ordenadas, double percentil) {
+            if (ordenadas.length == 0) {
+                return 0;
+            }
+            int indice = (int) Math.ceil(percentil * ordenadas.length) - 1;
+            return ordenadas[Math.max(0, indice)] / 1_000_000.0;
+        }
+    }
+
+    record Relatorio(String commit, Instant data, String java, String banco, int clientes, long segundos,
+                     Massa massa, ResultadoEndpoint total, List<ResultadoEndpoint> endpoints) {
+    }
+
+    record Massa(long despesas, long empenhos, long pagamentos) {
+    }
+
+    record ResultadoEndpoint(String endpoint, long requisicoes, long erros, double vazao,
+                             double p50Ms, double p90Ms, double p99Ms, double maximoMs, String primeiroErro) {
+    }
+}
@@ -0,0 +1,141 @@
+package br.com.orcagov.api;
+
+import br.com.orcagov.api.dto.Request.DespesaRequestDTO;
+import br.com.orcagov.api.dto.Request.EmpenhoRequestDTO;
+import br.com.orcagov.api.dto.Request.PagamentoRequestDTO;
+import br.com.orcagov.api.dto.Response.DespesaResponseDTO;
+import br.com.orcagov.api.dto.Response.EmpenhoResponseDTO;
+import br.com.orcagov.api.entity.Usuario;
+import br.com.orcagov.api.entity.enums.TipoDespesa;
+import br.com.orcagov.api.entity.enums.TipoUsuario;
+import br.com.orcagov.api.repository.UsuarioRepository;
+import br.com.orcagov.api.service.DespesaService;
+import br.com.orcagov.api.service.EmpenhoService;
+import br.com.orcagov.api.service.PagamentoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static br.com.orcagov.api.ConsultasSql.assertQueryCount;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Comandos SQL por requisição nos endpoints de leitura.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "orcagov.sql.contagem.cabecalho=true")
+class ConsultasPorEndpointTest {
+
+    private static final String USUARIO = "consultas";
+    private static final int PAGINA = 10;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private DespesaService despesaService;
+
+    @Autowired
+    private EmpenhoService empenhoService;
+
+    @Autowired
+    private PagamentoService pagamentoService;
+
+    private String autorizacao;
+
+    @Test
+    void comandosPorEndpoint() throws Exception {
+        DespesaResponseDTO despesa = null;
+        EmpenhoResponseDTO empenho = null;
+        criarUsuario();
+        // Login fora da contagem: as requisições com o token não consultam o usuário
+        autorizacao = AutenticacaoTeste.cabecalho(restTemplate.getRootUri(), USUARIO, USUARIO);
+        // Uma página cheia, cada despesa com um empenho e um pagamento
+        for (int i = 0; i < PAGINA; i++) {
+            despesa = criarDespesa();
+            empenho = criarEmpenho(despesa.getId());
+            criarPagamento(empenho.getId());
+        }
+
+        assertQueryCount(get("/despesas/" + despesa.getId()), 3);
+        assertQueryCount(get("/empenhos/" + empenho.getId()), 3);
+        assertQueryCount(get("/pagamentos/estatisticas"), 2);
+        // Primeira posição retida (validação do cursor) e a página
+        assertQueryCount(get("/alteracoes"), 2);
+        assertQueryCount(get("/despesas/999999999"), 1);
+
+        // Página, total e usuário criador, mais o N+1 conhecido: os conversores
+        // percorrem as coleções lazy, uma consulta por despesa (empenhos) e outra
+        // por empenho (pagamentos)
+        assertQueryCount(get("/despesas?size=" + PAGINA), 3 + 2 * PAGINA);
+        assertQueryCount(get("/empenhos?size=" + PAGINA), 3 + 2 * PAGINA);
+
+        // Sem requisição HTTP, na thread do teste
+        Long despesaId = despesa.getId();
+        assertQueryCount(3, () -> despesaService.buscarPorId(despesaId));
+    }
+
+    // ==========================================
+    // MÉTODOS AUXILIARES
+    // ==========================================
+
+    private ResponseEntity<String> get(String url) {
+        HttpHeaders cabecalhos = new HttpHeaders();
+        cabecalhos.set(HttpHeaders.AUTHORIZATION, autorizacao);
+        ResponseEntity<String> resposta = restTemplate.exchange(url, HttpMethod.GET,
+                new HttpEntity<>(cabecalhos), String.class);
+        assertEquals(url.contains("999999999") ? 404 : 200, resposta.getStatusCode().value(), url);
+        return resposta;
+    }
+
+    private void criarUsuario() {
+        if (usuarioRepository.findByUserName(USUARIO).isPresent()) {
+            return;
+        }
+        Usuario usuario = new Usuario();
+        usuario.setUserName(USUARIO);
+        usuario.setPassword("consultas");
+        usuario.setEmail("consultas@orcagov.com.br");
+        usuario.setTipoUser(TipoUsuario.ADMIN);
+        usuario.setAtivo(true);
+        usuarioRepository.save(usuario);
+    }
+
+    private DespesaResponseDTO criarDespesa() {
+        DespesaRequestDTO request = new DespesaRequestDTO();
+        request.setTipoDespesa(TipoDespesa.OUTROS);
+        request.setDataVencimento(LocalDate.now().plusDays(30));
+        request.setCredorDespesas("Credor da contagem de consultas");
+        request.setDescricaoDespesas("Despesa para contagem de consultas");
+        request.setValorDespesas(new BigDecimal("1000.00"));
+        return despesaService.criarDespesa(request, USUARIO);
+    }
+
+    private EmpenhoResponseDTO criarEmpenho(Long despesaId) {
+        EmpenhoRequestDTO request = new EmpenhoRequestDTO();
+        request.setDataEmpenho(LocalDate.now());
+        request.setValor(new BigDecimal("100.00"));
+        request.setDespesaId(despesaId);
+        request.setObservacao("Empenho para contagem de consultas");
+        return empenhoService.criarEmpenho(request, USUARIO);
+    }
+
+    private void criarPagamento(Long empenhoId) {
+        PagamentoRequestDTO request = new PagamentoRequestDTO();
+        request.setDataPagamento(LocalDate.now());
+        request.setValorPagamento(new BigDecimal("10.00"));
+        request.setEmpenhoId(empenhoId);
+        pagamentoService.criarPagamento(request, USUARIO);
+    }
+}
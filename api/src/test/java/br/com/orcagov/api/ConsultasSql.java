@@ -0,0 +1,46 @@
+package br.com.orcagov.api;
+
+import br.com.orcagov.api.config.ContagemConsultas;
+import br.com.orcagov.api.config.ContagemConsultasFilter;
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Asserções sobre o número de comandos SQL, para pegar N+1 nos testes de integração.
+ */
+public final class ConsultasSql {
+
+    private ConsultasSql() {
+    }
+
+    /**
+     * Pelo cabeçalho X-Consultas-SQL de uma resposta HTTP (orcagov.sql.contagem.cabecalho=true)
+     */
+    public static void assertQueryCount(ResponseEntity<?> resposta, int maximo) {
+        String valor = resposta.getHeaders().getFirst(ContagemConsultasFilter.CABECALHO);
+        assertNotNull(valor, "Resposta sem o cabeçalho " + ContagemConsultasFilter.CABECALHO);
+        int total = Integer.parseInt(valor);
+        assertTrue(total <= maximo, total + " comandos SQL executados; máximo esperado " + maximo);
+    }
+
+    /**
+     * Pelos comandos executados pela ação na thread atual (services, repositórios)
+     */
+    public static <T> T assertQueryCount(int maximo, Supplier<T> acao) {
+        ContagemConsultas contagem = ContagemConsultas.iniciar();
+        T resultado;
+        try {
+            resultado = acao.get();
+        } finally {
+            ContagemConsultas.encerrar();
+        }
+        assertTrue(contagem.getTotal() <= maximo, () -> contagem.getTotal()
+                + " comandos SQL executados; máximo esperado " + maximo
+                + ". Mais repetidos: " + contagem.repetidos(2));
+        return resultado;
+    }
+}
@@ -0,0 +1,218 @@
+package br.com.orcagov.api;
+
+import br.com.orcagov.api.config.AppenderAssincrono;
+import br.com.orcagov.api.config.AmostragemLogFilter;
+import br.com.orcagov.api.dto.Request.DespesaRequestDTO;
+import br.com.orcagov.api.entity.Usuario;
+import br.com.orcagov.api.entity.enums.TipoDespesa;
+import br.com.orcagov.api.entity.enums.TipoUsuario;
+import br.com.orcagov.api.repository.UsuarioRepository;
+import br.com.orcagov.api.service.DespesaService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Custo do log por requisição: a mesma carga com os níveis de desenvolvimento
+ * (SQL em DEBUG, parâmetros em TRACE, br.com.orcagov em DEBUG) e com o log
+ * desligado, em rodadas alternadas.
+ *
+ * Rode uma vez com a configuração padrão (console síncrono) e outra com o perfil
+ * de produção (JSON pela fila assíncrona) e compare a sobrecarga:
+ * mvn test -Dtest=LogSobrecargaTest -Dbenchmark=true
+ * mvn test -Dtest=LogSobrecargaTest -Dbenchmark=true -Dspring.profiles.active=producao
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.show-sql=false")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class LogSobrecargaTest {
+
+    private static final String USUARIO = "log";
+
+    /** Níveis de desenvolvimento do application.properties */
+    private static final Map<String, LogLevel> LIGADO = new LinkedHashMap<>();
+
+    static {
+        LIGADO.put(LoggingSystem.ROOT_LOGGER_NAME, LogLevel.INFO);
+        LIGADO.put("br.com.orcagov", LogLevel.DEBUG);
+        LIGADO.put("org.hibernate.SQL", LogLevel.DEBUG);
+        LIGADO.put("org.hibernate.orm.jdbc.bind", LogLevel.TRACE);
+    }
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private LoggingSystem loggingSystem;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private DespesaService despesaService;
+
+    @Test
+    void sobrecargaDoLogPorRequisicao() throws Exception {
+        int clientes = Integer.getInteger("benchmark.clientes", 32);
+        int rodadas = Integer.getInteger("benchmark.rodadas", 3);
+        Duration duracao = Duration.ofSeconds(Long.getLong("benchmark.segundos", 10));
+
+        criarDespesas(Integer.getInteger("benchmark.despesas", 500));
+
+        HttpClient cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest requisicao = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + porta + "/api/despesas?size=20"))
+                .header("Authorization", AutenticacaoTeste.cabecalho("http://localhost:" + porta + "/api", USUARIO, "log"))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+
+        // Aquecimento do JIT e do pool de conexões, com o log ligado
+        definirLog(true);
+        medir(cliente, requisicao, clientes, Duration.ofSeconds(5));
+
+        List<long[]> ligado = new ArrayList<>();
+        List<long[]> desligado = new ArrayList<>();
+        for (int i = 0; i < rodadas; i++) {
+            definirLog(false);
+            desligado.add(medir(cliente, requisicao, clientes, duracao));
+            definirLog(true);
+            ligado.add(medir(cliente, requisicao, clientes, duracao));
+        }
+        definirLog(true);
+
+        Resultado semLog = new Resultado(juntar(desligado), duracao.multipliedBy(rodadas));
+        Resultado comLog = new Resultado(juntar(ligado), duracao.multipliedBy(rodadas));
+
+        System.out.printf("%nperfil=%s clientes=%d rodadas=%d x %ds%n",
+                Arrays.asList(environment.getActiveProfiles()).contains("producao")
+                        ? "producao (JSON assíncrono)" : "padrão (console síncrono)",
+                clientes, rodadas, duracao.toSeconds());
+        System.out.printf("%10s %10s %9s %9s%n", "log", "req/s", "p50 ms", "p99 ms");
+        imprimir("desligado", semLog);
+        imprimir("ligado", comLog);
+        System.out.printf("sobrecarga do log: %.1f%% na vazão, %.1f%% na p50%n",
+                100 * (1 - comLog.vazao() / semLog.vazao()),
+                100 * (comLog.percentil(0.50) / semLog.percentil(0.50) - 1));
+        System.out.printf("eventos descartados: %d, mensagens suprimidas: %d%n",
+                AppenderAssincrono.getDescartados(), AmostragemLogFilter.getSuprimidas());
+
+        assertTrue(semLog.vazao() > 0 && comLog.vazao() > 0);
+    }
+
+    // ==========================================
+    // MÉTODOS AUXILIARES
+    // ==========================================
+
+    private static void imprimir(String log, Resultado resultado) {
+        System.out.printf("%10s %10.0f %9.2f %9.2f%n", log, resultado.vazao(),
+                resultado.percentil(0.50), resultado.percentil(0.99));
+    }
+
+    private void definirLog(boolean ligado) {
+        LIGADO.forEach((logger, nivel) -> loggingSystem.setLogLevel(logger, ligado ? nivel : LogLevel.OFF));
+    }
+
+    private long[] medir(HttpClient cliente, HttpRequest requisicao, int clientes, Duration duracao)
+            throws Exception {
+        long fim = System.nanoTime() + duracao.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(clientes);
+        try {
+            List<Future<long[]>> tarefas = new ArrayList<>();
+            for (int i = 0; i < clientes; i++) {
+                tarefas.add(executor.submit(() -> {
+                    long[] latencias = new long[1024];
+                    int total = 0;
+                    while (System.nanoTime() < fim) {
+                        long inicio = System.nanoTime();
+                        HttpResponse<Void> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                        if (resposta.statusCode() != 200) {
+                            continue;
+                        }
+                        if (total == latencias.length) {
+                            latencias = Arrays.copyOf(latencias, total * 2);
+                        }
+                        latencias[total++] = System.nanoTime() - inicio;
+                    }
+                    return Arrays.copyOf(latencias, total);
+                }));
+            }
+            List<long[]> resultados = new ArrayList<>();
+            for (Future<long[]> tarefa : tarefas) {
+                resultados.add(tarefa.get());
+            }
+            return juntar(resultados);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long[] juntar(List<long[]> partes) {
+        long[] todas = partes.stream().flatMapToLong(Arrays::stream).toArray();
+        Arrays.sort(todas);
+        return todas;
+    }
+
+    private void criarDespesas(int quantidade) {
+        if (!usuarioRepository.existsByUserName(USUARIO)) {
+            Usuario usuario = new Usuario();
+            usuario.setUserName(USUARIO);
+            usuario.setPassword("log");
+            usuario.setEmail("log@orcagov.local");
+            usuario.setTipoUser(TipoUsuario.ADMIN);
+            usuarioRepository.save(usuario);
+        }
+        for (int i = 0; i < quantidade; i++) {
+            DespesaRequestDTO request = new DespesaRequestDTO();
+            request.setTipoDespesa(TipoDespesa.values()[i % TipoDespesa.values().length]);
+            request.setDataVencimento(LocalDate.now().plusDays(30 + i % 300));
+            request.setCredorDespesas("Credor do teste de log " + (i % 97));
+            request.setDescricaoDespesas("Despesa gerada para medir o custo do log " + i);
+            request.setValorDespesas(new BigDecimal(1000 + i * 7).movePointLeft(2));
+            despesaService.criarDespesa(request, USUARIO);
+        }
+    }
+
+    private record Resultado(long[] latenciasNs, Duration duracao) {
+
+        double vazao() {
+            return latenciasNs.length / (duracao.toMillis() / 1000.0);
+        }
+
+        double percentil(double percentil) {
+            if (latenciasNs.length == 0) {
+                return 0;
+            }
+            int indice = (int) Math.ceil(percentil * latenciasNs.length) - 1;
+            return latenciasNs[Math.max(0, indice)] / 1_000_000.0;
+        }
+    }
+}
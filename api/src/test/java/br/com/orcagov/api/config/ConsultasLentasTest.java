@@ -0,0 +1,57 @@
+package br.com.orcagov.api.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConsultasLentasTest {
+
+    @Test
+    void normalizaLiteraisEListasIn() {
+        assertEquals("select d1_0.id, ? from despesas d1_0 where d1_0.valor > ? and d1_0.id in (?+)",
+                ConsultasLentas.normalizar("SELECT d1_0.id, 'it''s'\n  FROM despesas d1_0 /* comentário */\n"
+                        + " WHERE d1_0.valor > 10.50 AND d1_0.id IN (1, 2,3)"));
+        assertEquals(ConsultasLentas.normalizar("select * from empenhos where id in (?)"),
+                ConsultasLentas.normalizar("select * from empenhos where id in (?, ?, ?)"));
+    }
+
+    @Test
+    void agregaPorImpressaoDigital() {
+        ConsultasLentas consultas = new ConsultasLentas(Duration.ofMillis(10), 2);
+        consultas.executado(execucao("select * from despesas where id = 1", 2, 1));
+        consultas.executado(execucao("select * from despesas where id = 2", 20, 1));
+        consultas.executado(execucao("select * from empenhos", 1, 5));
+        consultas.executado(execucao("select * from pagamentos", 3, 7));
+
+        List<ConsultasLentas.Resumo> maiores = consultas.maiores(10);
+        assertEquals(3, maiores.size());
+
+        ConsultasLentas.Resumo despesas = maiores.get(0);
+        assertEquals("select * from despesas where id = ?", despesas.sql());
+        assertEquals(2, despesas.execucoes());
+        assertEquals(22.0, despesas.totalMs(), 0.001);
+        assertEquals(20.0, despesas.maximoMs(), 0.001);
+        assertEquals(2, despesas.linhas());
+        assertEquals(1, despesas.lentas());
+
+        // Acima do máximo de comandos distintos, o restante vai para "(outros)"
+        assertEquals(ConsultasLentas.OUTROS, maiores.get(1).sql());
+        assertEquals(7, maiores.get(1).linhas());
+    }
+
+    @Test
+    void formatoDosParametrosSemValores() {
+        ExecucaoSql execucao = new ExecucaoSql("select ?", 0, 0,
+                Arrays.asList("segredo", null, 10L, new byte[4], new ArrayList<>(List.of(1, 2))));
+        assertEquals("[String(7), null, Long, byte[4], ArrayList(2)]", execucao.formatoParametros());
+    }
+
+    private static ExecucaoSql execucao(String sql, long milissegundos, long linhas) {
+        return new ExecucaoSql(sql, Duration.ofMillis(milissegundos).toNanos(), linhas, List.of());
+    }
+}
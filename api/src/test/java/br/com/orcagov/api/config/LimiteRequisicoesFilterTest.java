@@ -0,0 +1,106 @@
+package br.com.orcagov.api.config;
+
+import br.com.orcagov.api.exception.ServiceUnavailableException;
+import br.com.orcagov.api.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LimiteRequisicoesFilterTest {
+
+    private final List<Exception> recusas = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void limparUsuario() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void limitaTaxaPorUsuarioNasRotasPesadas() throws Exception {
+        LimiteRequisicoesFilter filtro = criar(2, 0);
+
+        for (int i = 0; i < 3; i++) {
+            executar(filtro, "maria", "/despesas/estatisticas", (request, response) -> { });
+        }
+        executar(filtro, "joana", "/despesas/estatisticas", (request, response) -> { });
+        executar(filtro, "maria", "/despesas", (request, response) -> { });
+        executar(filtro, "maria", "/auth/refresh", (request, response) -> { });
+
+        assertEquals(1, recusas.size());
+        TooManyRequestsException recusa = assertInstanceOf(TooManyRequestsException.class, recusas.get(0));
+        assertTrue(recusa.getRetryAfterSegundos() >= 1);
+    }
+
+    @Test
+    void recusaRotaPesadaSemVagaELiberaAoTerminar() throws Exception {
+        LimiteRequisicoesFilter filtro = criar(0, 1);
+
+        executar(filtro, "maria", "/pagamentos/relatorio/detalhado", (request, response) ->
+                executar(filtro, "joana", "/empenhos/estatisticas", (interna, respostaInterna) -> { }));
+        assertEquals(1, recusas.size());
+        assertInstanceOf(ServiceUnavailableException.class, recusas.get(0));
+
+        executar(filtro, "joana", "/empenhos/estatisticas", (request, response) -> { });
+        assertEquals(1, recusas.size());
+    }
+
+    @Test
+    void respostaAssincronaSeguraAVagaAteOFim() throws Exception {
+        LimiteRequisicoesFilter filtro = criar(0, 1);
+
+        MockHttpServletRequest assincrona = requisicao("/v2/despesas/estatisticas");
+        assincrona.setAsyncSupported(true);
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("maria", null, List.of()));
+        filtro.doFilter(assincrona, new MockHttpServletResponse(),
+                (request, response) -> request.startAsync());
+
+        executar(filtro, "joana", "/despesas/estatisticas", (request, response) -> { });
+        assertEquals(1, recusas.size());
+
+        assincrona.getAsyncContext().complete();
+        executar(filtro, "joana", "/despesas/estatisticas", (request, response) -> { });
+        assertEquals(1, recusas.size());
+    }
+
+    private LimiteRequisicoesFilter criar(int capacidade, int simultaneas) {
+        List<ClasseEndpoints> classes = List.of(
+                new ClasseEndpoints("pesadas", List.of("/*/estatisticas", "/*/relatorio/**", "/v2/*/estatisticas"),
+                        capacidade, Duration.ofMinutes(1), simultaneas, meterRegistry),
+                new ClasseEndpoints("padrao", List.of(), 0, Duration.ofMinutes(1), 0, meterRegistry));
+        return new LimiteRequisicoesFilter(classes, List.of("/auth/"), 1, (request, response, handler, ex) -> {
+            recusas.add(ex);
+            return new ModelAndView();
+        });
+    }
+
+    private void executar(LimiteRequisicoesFilter filtro, String usuario, String caminho, FilterChain chain)
+            throws ServletException, IOException {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(usuario, null, List.of()));
+        filtro.doFilter(requisicao(caminho), new MockHttpServletResponse(), chain);
+    }
+
+    private static MockHttpServletRequest requisicao(String caminho) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api" + caminho);
+        request.setContextPath("/api");
+        return request;
+    }
+}
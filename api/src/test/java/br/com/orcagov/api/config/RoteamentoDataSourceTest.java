@@ -0,0 +1,83 @@
+package br.com.orcagov.api.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Roteamento entre primário e réplica. Precisa de um segundo PostgreSQL local
+ * fazendo o papel da réplica (não precisa replicar: o teste só verifica qual
+ * instância respondeu, pela porta):
+ * mvn test -Dtest=RoteamentoDataSourceTest -Dorcagov.replica.url=jdbc:postgresql://localhost:5433/orcagov
+ */
+@SpringBootTest(properties = "orcagov.replica.janela-leitura-propria=1s")
+@EnabledIfSystemProperty(named = "orcagov.replica.url", matches = ".+")
+class RoteamentoDataSourceTest {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void limparUsuario() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void leituraVaiParaReplicaEEscritaParaPrimario() {
+        String primario = portaSemTransacao();
+
+        assertEquals(primario, porta(false));
+        assertEquals(porta(true), portaReplica());
+    }
+
+    @Test
+    void usuarioLeDoPrimarioLogoAposEscrever() throws InterruptedException {
+        String primario = portaSemTransacao();
+        String replica = portaReplica();
+
+        autenticar("fulano");
+        porta(false);
+        assertEquals(primario, porta(true));
+
+        autenticar("beltrano");
+        assertEquals(replica, porta(true));
+
+        Thread.sleep(1200);
+        autenticar("fulano");
+        assertEquals(replica, porta(true));
+    }
+
+    private String porta(boolean somenteLeitura) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(somenteLeitura);
+        return transacao.execute(status -> jdbcTemplate.queryForObject("SHOW port", String.class));
+    }
+
+    private String portaSemTransacao() {
+        return jdbcTemplate.queryForObject("SHOW port", String.class);
+    }
+
+    private String portaReplica() {
+        String url = System.getProperty("orcagov.replica.url");
+        return url.replaceAll("^jdbc:postgresql://[^:/]+:(\\d+)/.*$", "$1");
+    }
+
+    private static void autenticar(String usuario) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(usuario, null, List.of()));
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.orcagov.api.entity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MoneyTest {
+
+    @Test
+    void converteExatamente() {
+        assertEquals(1050, Money.of(new BigDecimal("10.50")).getCentavos());
+        assertEquals(1050, Money.of(new BigDecimal("10.5")).getCentavos());
+        assertEquals(1000, Money.of(new BigDecimal("10.000")).getCentavos());
+        assertEquals(new BigDecimal("10.50"), Money.centavos(1050).toBigDecimal());
+        assertSame(Money.ZERO, Money.of(new BigDecimal("0.00")));
+
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("10.001")));
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("1e20")));
+        assertThrows(ArithmeticException.class, () -> Money.centavos(Long.MAX_VALUE).plus(Money.centavos(1)));
+    }
+
+    @Test
+    void somaEComparaSemArredondar() {
+        Money a = Money.of(new BigDecimal("0.10"));
+        Money b = Money.of(new BigDecimal("0.20"));
+
+        assertEquals(Money.of(new BigDecimal("0.30")), a.plus(b));
+        assertEquals(Money.of(new BigDecimal("-0.10")), a.minus(b));
+        assertTrue(b.isMaiorQue(a));
+        assertFalse(a.isMaiorQue(a));
+        assertEquals(Money.centavos(30), Money.somar(List.of(a, b), m -> m));
+        assertEquals(Money.ZERO, Money.somar(List.<Money>of(), m -> m));
+    }
+
+    @Test
+    void conversaoReaproveitadaEnquantoOrigemNaoMuda() {
+        BigDecimal valor = new BigDecimal("12.34");
+        Money.Conversao conversao = Money.Conversao.de(null, valor);
+
+        assertSame(conversao, Money.Conversao.de(conversao, valor));
+        assertEquals(Money.centavos(1234), conversao.valor());
+        assertEquals(Money.centavos(1235), Money.Conversao.de(conversao, new BigDecimal("12.35")).valor());
+    }
+
+    @Test
+    void serializaComoNumeroDecimal() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+
+        assertEquals("12.30", mapper.writeValueAsString(Money.centavos(1230)));
+        assertEquals(Money.centavos(1230), mapper.readValue("12.3", Money.class));
+    }
+}
@@ -0,0 +1,113 @@
+package br.com.orcagov.api.service;
+
+import br.com.orcagov.api.dto.Response.AlteracaoDTO;
+import br.com.orcagov.api.dto.Response.AlteracoesResponseDTO;
+import br.com.orcagov.api.entity.enums.TipoAgregado;
+import br.com.orcagov.api.entity.enums.TipoEventoOutbox;
+import br.com.orcagov.api.exception.BusinessException;
+import br.com.orcagov.api.repository.EventoOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Feed de alterações sobre o outbox real; o publicador agendado fica parado e os lotes
+ * são publicados pelo próprio teste
+ */
+@SpringBootTest(properties = "orcagov.outbox.intervalo=1h")
+class AlteracaoServiceTest {
+
+    @Autowired
+    private AlteracaoService alteracaoService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transacao;
+
+    @BeforeEach
+    void limparOutbox() {
+        transacao = new TransactionTemplate(transactionManager);
+        eventoOutboxRepository.deleteAll();
+    }
+
+    @Test
+    void feedSegueAOrdemDeConfirmacaoComPosicoesDensas() {
+        transacao.executeWithoutResult(status -> {
+            registrar(TipoAgregado.DESPESA, 1L, TipoEventoOutbox.CRIADO);
+            registrar(TipoAgregado.EMPENHO, 1L, TipoEventoOutbox.CRIADO);
+        });
+        transacao.executeWithoutResult(status -> registrar(TipoAgregado.DESPESA, 1L, TipoEventoOutbox.ATUALIZADO));
+        transacao.executeWithoutResult(status -> registrar(TipoAgregado.DESPESA, 2L, TipoEventoOutbox.CRIADO));
+        publicar();
+
+        AlteracoesResponseDTO tudo = alteracaoService.buscar(null, 10, false, Duration.ZERO).join();
+        List<AlteracaoDTO> alteracoes = tudo.getAlteracoes();
+        assertEquals(List.of(1L, 2L, 3L, 4L), alteracoes.stream().map(AlteracaoDTO::getPosicao).toList());
+        assertEquals(List.of("DESPESA:1:CRIADO", "EMPENHO:1:CRIADO", "DESPESA:1:ATUALIZADO", "DESPESA:2:CRIADO"),
+                alteracoes.stream().map(AlteracaoServiceTest::descrever).toList());
+        assertEquals(4L, tudo.getProximoCursor());
+        assertFalse(tudo.getTemMais());
+
+        AlteracoesResponseDTO pagina = alteracaoService.buscar(2L, 1, false, Duration.ZERO).join();
+        assertEquals(List.of(3L), pagina.getAlteracoes().stream().map(AlteracaoDTO::getPosicao).toList());
+        assertEquals(3L, pagina.getProximoCursor());
+        assertTrue(pagina.getTemMais());
+    }
+
+    @Test
+    void cursorAnteriorAosEventosRetidosExpira() {
+        for (long id = 1; id <= 3; id++) {
+            long agregadoId = id;
+            transacao.executeWithoutResult(status -> registrar(TipoAgregado.PAGAMENTO, agregadoId, TipoEventoOutbox.CRIADO));
+        }
+        publicar();
+
+        // Retenção vencida para todos: só o último entregue fica
+        transacao.executeWithoutResult(status ->
+                eventoOutboxRepository.deleteProcessadosAntesDe(LocalDateTime.now().plusMinutes(1)));
+
+        for (Long cursor : new Long[] {null, 0L, 1L}) {
+            BusinessException erro = assertThrows(BusinessException.class,
+                    () -> alteracaoService.buscar(cursor, 10, false, Duration.ZERO));
+            assertEquals("alteracoes.cursor-expirado", erro.getRegra());
+        }
+
+        AlteracoesResponseDTO seguinte = alteracaoService.buscar(2L, 10, false, Duration.ZERO).join();
+        assertEquals(List.of(3L), seguinte.getAlteracoes().stream().map(AlteracaoDTO::getPosicao).toList());
+        assertEquals(3L, alteracaoService.obterCursorAtual());
+    }
+
+    private void registrar(TipoAgregado tipoAgregado, Long agregadoId, TipoEventoOutbox tipoEvento) {
+        outboxService.registrar(tipoAgregado, agregadoId, tipoEvento, Map.of("id", agregadoId));
+    }
+
+    private void publicar() {
+        while (outboxService.publicarLote() > 0) {
+            // Até esvaziar a fila
+        }
+    }
+
+    private static String descrever(AlteracaoDTO alteracao) {
+        return alteracao.getTipoAgregado() + ":" + alteracao.getAgregadoId() + ":" + alteracao.getTipoEvento();
+    }
+}
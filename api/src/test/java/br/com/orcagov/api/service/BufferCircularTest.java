@@ -0,0 +1,86 @@
+package br.com.orcagov.api.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BufferCircularTest {
+
+    @Test
+    void respeitaCapacidadeEOrdem() {
+        BufferCircular<Integer> buffer = new BufferCircular<>(3);
+        assertEquals(4, buffer.capacidade());
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.oferecer(i));
+        }
+        assertFalse(buffer.oferecer(4));
+        assertEquals(4, buffer.tamanho());
+
+        assertEquals(0, buffer.retirar());
+        assertTrue(buffer.oferecer(4));
+
+        List<Integer> drenados = new ArrayList<>();
+        assertEquals(4, buffer.drenar(drenados, 10));
+        assertEquals(List.of(1, 2, 3, 4), drenados);
+        assertNull(buffer.retirar());
+    }
+
+    @Test
+    void entregaCadaElementoUmaVezComProdutoresConcorrentes() throws Exception {
+        int produtores = 4;
+        int porProdutor = 50_000;
+        BufferCircular<Integer> buffer = new BufferCircular<>(256);
+        CountDownLatch largada = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(produtores);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int p = 0; p < produtores; p++) {
+                int base = p * porProdutor;
+                tarefas.add(executor.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < porProdutor; i++) {
+                        while (!buffer.oferecer(base + i)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            largada.countDown();
+            BitSet recebidos = new BitSet(produtores * porProdutor);
+            int total = 0;
+            while (total < produtores * porProdutor) {
+                Integer valor = buffer.retirar();
+                if (valor == null) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                assertFalse(recebidos.get(valor), "Elemento entregue duas vezes: " + valor);
+                recebidos.set(valor);
+                total++;
+            }
+
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+            assertEquals(produtores * porProdutor, recebidos.cardinality());
+            assertNull(buffer.retirar());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package br.com.orcagov.api.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LimitadorTaxaTest {
+
+    private static final long SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void permiteRajadaEReporAosPoucos() {
+        AtomicLong agora = new AtomicLong(-5 * SEGUNDO);
+        LimitadorTaxa limite = new LimitadorTaxa(3, Duration.ofSeconds(2), agora::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limite.consumir("a"));
+        }
+        assertEquals(2 * SEGUNDO, limite.consumir("a"));
+        assertEquals(2, LimitadorTaxa.segundos(limite.consumir("a")));
+        assertEquals(0, limite.consumir("b"));
+
+        agora.addAndGet(SEGUNDO);
+        assertEquals(SEGUNDO, limite.consumir("a"));
+        agora.addAndGet(SEGUNDO);
+        assertEquals(0, limite.consumir("a"));
+        assertTrue(limite.consumir("a") > 0);
+    }
+
+    @Test
+    void limpaSoBaldesCheios() {
+        AtomicLong agora = new AtomicLong();
+        LimitadorTaxa limite = new LimitadorTaxa(2, Duration.ofSeconds(1), agora::get);
+        limite.consumir("a");
+        limite.consumir("b");
+        limite.consumir("b");
+
+        agora.addAndGet(SEGUNDO);
+        assertEquals(1, limite.limpar());
+        assertEquals(1, limite.tamanho());
+        assertEquals(0, limite.consumir("a"));
+        assertEquals(0, limite.consumir("a"));
+        assertTrue(limite.consumir("a") > 0);
+    }
+
+    @Test
+    void naoConcedeMaisQueACapacidadeEmConcorrencia() throws Exception {
+        LimitadorTaxa limite = new LimitadorTaxa(1000, Duration.ofHours(1));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> tarefas = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                tarefas.add(executor.submit(() -> {
+                    int concedidos = 0;
+                    for (int i = 0; i < 500; i++) {
+                        if (limite.consumir("mesma") == 0) {
+                            concedidos++;
+                        }
+                    }
+                    return concedidos;
+                }));
+            }
+            int total = 0;
+            for (Future<Integer> tarefa : tarefas) {
+                total += tarefa.get();
+            }
+            assertEquals(1000, total);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package br.com.orcagov.api.service;
+
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlanilhaExcelTest {
+
+    @Test
+    void escreveCelulasTipadasEmUmaAbaPorEntidade() throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        try (PlanilhaExcel planilha = new PlanilhaExcel(2)) {
+            planilha.novaAba("Despesas", "Protocolo", "Data do protocolo", "Vencimento", "Valor");
+            for (int i = 0; i < 5; i++) {
+                planilha.adicionarLinha("43022.00000" + i + "/2025-07",
+                        LocalDateTime.of(2025, 7, 1, 10, 30),
+                        LocalDate.of(2025, 8, 1),
+                        new BigDecimal("1234.56"));
+            }
+            planilha.novaAba("Empenhos", "Número");
+            planilha.novaAba("Pagamentos", "Número");
+            planilha.escrever(saida);
+        }
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(saida.toByteArray()))) {
+            assertEquals(3, workbook.getNumberOfSheets());
+            assertEquals("Empenhos", workbook.getSheetName(1));
+
+            Sheet despesas = workbook.getSheet("Despesas");
+            assertEquals(5, despesas.getLastRowNum());
+
+            Row linha = despesas.getRow(5);
+            assertEquals(CellType.STRING, linha.getCell(0).getCellType());
+            assertTrue(DateUtil.isCellDateFormatted(linha.getCell(1)));
+            assertEquals(LocalDate.of(2025, 8, 1), linha.getCell(2).getLocalDateTimeCellValue().toLocalDate());
+            assertEquals(1234.56, linha.getCell(3).getNumericCellValue());
+            assertTrue(linha.getCell(3).getCellStyle().getDataFormatString().contains("R$"));
+        }
+    }
+
+    @Test
+    void continuaEmNovaAbaAoAtingirOLimiteDeLinhas() throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        // Limite de 4 linhas por aba: cabeçalho e 3 pagamentos
+        try (PlanilhaExcel planilha = new PlanilhaExcel(2, 4)) {
+            planilha.novaAba("Pagamentos", "Número", "Valor");
+            for (int i = 1; i <= 7; i++) {
+                planilha.adicionarLinha("2025NP000" + i, new BigDecimal("10.00"));
+            }
+            planilha.novaAba("Resumo", "Total");
+            planilha.adicionarLinha(new BigDecimal("70.00"));
+            planilha.escrever(saida);
+        }
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(saida.toByteArray()))) {
+            assertEquals(4, workbook.getNumberOfSheets());
+            assertEquals("Pagamentos (2)", workbook.getSheetName(1));
+            assertEquals("Pagamentos (3)", workbook.getSheetName(2));
+            assertEquals("Resumo", workbook.getSheetName(3));
+
+            assertEquals(3, workbook.getSheet("Pagamentos").getLastRowNum());
+            Sheet continuacao = workbook.getSheet("Pagamentos (2)");
+            assertEquals("Número", continuacao.getRow(0).getCell(0).getStringCellValue());
+            assertEquals("2025NP0004", continuacao.getRow(1).getCell(0).getStringCellValue());
+            assertEquals("2025NP0007", workbook.getSheet("Pagamentos (3)").getRow(1).getCell(0).getStringCellValue());
+        }
+    }
+
+    /**
+     * Benchmark de geração de 500 mil linhas. Executar com heap limitado:
+     * mvn test -Dtest=PlanilhaExcelTest -Dbenchmark=true -DargLine=-Xmx64m
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkPlanilhaComQuinhentasMilLinhas() throws IOException {
+        int linhas = Integer.getInteger("benchmark.linhas", 500_000);
+        Runtime runtime = Runtime.getRuntime();
+        long heapMaximo = 0;
+        long inicio = System.nanoTime();
+
+        try (PlanilhaExcel planilha = new PlanilhaExcel()) {
+            planilha.novaAba("Pagamentos", "Número", "Data", "Valor", "Empenho", "Protocolo", "Credor");
+            for (int i = 0; i < linhas; i++) {
+                planilha.adicionarLinha(String.format("2025NP%04d", i % 10000),
+                        LocalDate.of(2025, 1, 1).plusDays(i % 365),
+                        BigDecimal.valueOf(i % 100000, 2),
+                        String.format("2025NE%04d", i % 10000),
+                        "43022.000001/2025-07",
+                        "Credor " + (i % 5000));
+                if (i % 50_000 == 0) {
+                    heapMaximo = Math.max(heapMaximo, runtime.totalMemory() - runtime.freeMemory());
+                }
+            }
+            planilha.escrever(OutputStream.nullOutputStream());
+        }
+
+        long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+        System.out.printf("PlanilhaExcel: %d linhas em %d ms (%.0f linhas/s), heap máximo observado %d MB de %d MB%n",
+                linhas, duracaoMs, linhas * 1000.0 / Math.max(duracaoMs, 1),
+                heapMaximo / (1024 * 1024), runtime.maxMemory() / (1024 * 1024));
+    }
+}
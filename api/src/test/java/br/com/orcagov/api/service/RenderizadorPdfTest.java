@@ -0,0 +1,130 @@
+package br.com.orcagov.api.service;
+
+import br.com.orcagov.api.dto.Response.ExtratoDespesaDTO;
+import br.com.orcagov.api.dto.Response.ExtratoDespesaDTO.EmpenhoExtratoDTO;
+import br.com.orcagov.api.dto.Response.PagamentoResumoDTO;
+import br.com.orcagov.api.entity.enums.StatusDespesa;
+import br.com.orcagov.api.entity.enums.TipoDespesa;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RenderizadorPdfTest {
+
+    private final RenderizadorPdf renderizador = new RenderizadorPdf();
+
+    @Test
+    void renderizaExtratoComEmpenhosEPagamentos() throws IOException {
+        byte[] pdf = renderizarExtrato(1);
+
+        try (PDDocument documento = Loader.loadPDF(pdf)) {
+            String texto = new PDFTextStripper().getText(documento);
+            assertTrue(texto.contains("43022.000001/2025-07"));
+            assertTrue(texto.contains("Obra de Edificação"));
+            assertTrue(texto.contains("2025NE0001"));
+            assertTrue(texto.contains("2025NP0002"));
+            assertTrue(texto.contains("1.500,00"));
+            assertTrue(documento.getDocumentCatalog().getPages().get(0)
+                    .getResources().getFontNames().iterator().hasNext());
+        }
+    }
+
+    /**
+     * Benchmark de vazão (relatórios/s), sequencial e com uma thread por núcleo:
+     * mvn test -Dtest=RenderizadorPdfTest -Dbenchmark=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkRenderizacaoDeExtratos() throws Exception {
+        int relatorios = Integer.getInteger("benchmark.relatorios", 500);
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        // Aquecimento do JIT e do cache de métricas das fontes
+        for (int i = 0; i < 50; i++) {
+            renderizarExtrato(i);
+        }
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < relatorios; i++) {
+            renderizarExtrato(i);
+        }
+        imprimirVazao("sequencial", relatorios, inicio);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            inicio = System.nanoTime();
+            List<Future<byte[]>> pdfs = new ArrayList<>();
+            for (int i = 0; i < relatorios; i++) {
+                int numero = i;
+                pdfs.add(executor.submit(() -> renderizarExtrato(numero)));
+            }
+            for (Future<byte[]> pdf : pdfs) {
+                pdf.get();
+            }
+            imprimirVazao(threads + " threads", relatorios, inicio);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private byte[] renderizarExtrato(int numero) {
+        List<EmpenhoExtratoDTO> empenhos = new ArrayList<>();
+        for (int e = 1; e <= 3; e++) {
+            List<PagamentoResumoDTO> pagamentos = new ArrayList<>();
+            for (int p = 1; p <= 2; p++) {
+                pagamentos.add(PagamentoResumoDTO.builder()
+                        .numeroPagamento(String.format("2025NP%04d", p))
+                        .dataPagamento(LocalDate.of(2025, 8, p))
+                        .valorPagamento(new BigDecimal("500.00"))
+                        .build());
+            }
+            empenhos.add(EmpenhoExtratoDTO.builder()
+                    .numeroEmpenho(String.format("2025NE%04d", e))
+                    .dataEmpenho(LocalDate.of(2025, 7, e))
+                    .valor(new BigDecimal("1500.00"))
+                    .valorPago(new BigDecimal("1000.00"))
+                    .observacao("Medição " + e)
+                    .pagamentos(pagamentos)
+                    .build());
+        }
+
+        ExtratoDespesaDTO extrato = ExtratoDespesaDTO.builder()
+                .numeroProtocolo(String.format("43022.%06d/2025-07", numero))
+                .tipoDespesa(TipoDespesa.OBRA_EDIFICACAO)
+                .status(StatusDespesa.PARCIALMENTE_PAGA)
+                .dataProtocolo(LocalDateTime.of(2025, 7, 1, 9, 0))
+                .dataVencimento(LocalDate.of(2025, 12, 31))
+                .credorDespesas("Construtora Exemplo Ltda")
+                .descricaoDespesas("Reforma da escola municipal")
+                .valorDespesas(new BigDecimal("10000.00"))
+                .valorTotalEmpenhado(new BigDecimal("4500.00"))
+                .valorTotalPago(new BigDecimal("3000.00"))
+                .saldoAEmpenhar(new BigDecimal("5500.00"))
+                .empenhos(empenhos)
+                .build();
+
+        return renderizador.renderizar(RenderizadorPdf.TEMPLATE_EXTRATO_DESPESA,
+                Map.of("extrato", extrato, "dataGeracao", LocalDateTime.now()));
+    }
+
+    private static void imprimirVazao(String modo, int relatorios, long inicio) {
+        long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+        System.out.printf("RenderizadorPdf (%s): %d extratos em %d ms (%.1f relatórios/s)%n",
+                modo, relatorios, duracaoMs, relatorios * 1000.0 / Math.max(duracaoMs, 1));
+    }
+}
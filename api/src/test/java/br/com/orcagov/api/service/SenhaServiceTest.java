@@ -0,0 +1,83 @@
+package br.com.orcagov.api.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SenhaServiceTest {
+
+    private ThreadPoolTaskExecutor executor;
+
+    @BeforeEach
+    void iniciar() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setQueueCapacity(4);
+        executor.initialize();
+    }
+
+    @AfterEach
+    void encerrar() {
+        executor.shutdown();
+    }
+
+    @Test
+    void aceitaHashAtualSemRegravar() {
+        SenhaService senhas = criar(4);
+        String hash = hash(senhas, "segredo");
+        assertTrue(hash.startsWith("{bcrypt}"));
+
+        SenhaService.Verificacao verificacao = senhas.verificar("segredo", hash);
+        assertTrue(verificacao.valida());
+        assertNull(verificacao.novoHash());
+        assertFalse(senhas.verificar("outra", hash).valida());
+    }
+
+    @Test
+    void regravaSenhaEmTextoPuroEHashDeCustoMenor() {
+        SenhaService senhas = criar(5);
+
+        SenhaService.Verificacao legada = senhas.verificar("segredo", "segredo");
+        assertTrue(legada.valida());
+        assertNotNull(legada.novoHash());
+        assertTrue(senhas.verificar("segredo", legada.novoHash()).valida());
+        assertFalse(senhas.verificar("segred", "segredo").valida());
+
+        SenhaService.Verificacao custoMenor = senhas.verificar("segredo", hash(criar(4), "segredo"));
+        assertTrue(custoMenor.valida());
+        assertNotNull(custoMenor.novoHash());
+    }
+
+    @Test
+    void recusaUsuarioInexistenteESenhaAcimaDoLimiteDoBcrypt() {
+        SenhaService senhas = criar(4);
+
+        assertFalse(senhas.verificar("segredo", null).valida());
+        assertFalse(senhas.verificar("x".repeat(100), hash(senhas, "segredo")).valida());
+    }
+
+    /**
+     * Hash que o primeiro login com a senha em texto puro gravaria
+     */
+    private static String hash(SenhaService senhas, String senha) {
+        return senhas.verificar(senha, senha).novoHash();
+    }
+
+    private SenhaService criar(int forca) {
+        SenhaService senhas = new SenhaService();
+        ReflectionTestUtils.setField(senhas, "senhaExecutor", executor);
+        ReflectionTestUtils.setField(senhas, "forca", forca);
+        ReflectionTestUtils.setField(senhas, "esperaMaxima", Duration.ofSeconds(5));
+        senhas.iniciar();
+        return senhas;
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.orcagov.api.service;
+
+import br.com.orcagov.api.dto.Response.TokenResponseDTO;
+import br.com.orcagov.api.entity.Usuario;
+import br.com.orcagov.api.entity.enums.TipoUsuario;
+import br.com.orcagov.api.exception.UnauthorizedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenServiceTest {
+
+    private TokenService tokenService;
+    private Usuario usuario;
+
+    @BeforeEach
+    void iniciar() {
+        tokenService = criar("segredo-de-teste-com-pelo-menos-32-bytes");
+
+        usuario = new Usuario();
+        usuario.setUserName("maria");
+        usuario.setTipoUser(TipoUsuario.ADMIN);
+    }
+
+    @Test
+    void verificaTokenDeAcessoEUsaOCache() {
+        TokenResponseDTO tokens = tokenService.emitir(usuario);
+
+        TokenService.TokenVerificado verificado = tokenService.verificarAcesso(tokens.getTokenAcesso());
+        assertEquals("maria", verificado.usuario());
+        assertEquals(TipoUsuario.ADMIN, verificado.perfil());
+        assertEquals("ROLE_ADMIN", verificado.autorizacoes().get(0).getAuthority());
+
+        assertSame(verificado, tokenService.verificarAcesso(tokens.getTokenAcesso()));
+    }
+
+    @Test
+    void recusaPayloadAlteradoComAssinaturaOriginal() {
+        String token = tokenService.emitir(usuario).getTokenAcesso();
+        tokenService.verificarAcesso(token);
+
+        String[] partes = token.split("\\.");
+        String payload = new String(Base64.getUrlDecoder().decode(partes[1]), StandardCharsets.UTF_8)
+                .replace("maria", "joana");
+        String alterado = partes[0] + "."
+                + Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8))
+                + "." + partes[2];
+
+        assertThrows(UnauthorizedException.class, () -> tokenService.verificarAcesso(alterado));
+    }
+
+    @Test
+    void separaAcessoDeRenovacao() {
+        TokenResponseDTO tokens = tokenService.emitir(usuario);
+
+        assertThrows(UnauthorizedException.class, () -> tokenService.verificarAcesso(tokens.getTokenRenovacao()));
+        assertThrows(UnauthorizedException.class, () -> tokenService.verificarRenovacao(tokens.getTokenAcesso()));
+        assertEquals("maria", tokenService.verificarRenovacao(tokens.getTokenRenovacao()).usuario());
+    }
+
+    @Test
+    void recusaTokenRevogadoMesmoEmCache() {
+        String token = tokenService.emitir(usuario).getTokenAcesso();
+        TokenService.TokenVerificado verificado = tokenService.verificarAcesso(token);
+
+        assertTrue(tokenService.revogar(verificado));
+        assertFalse(tokenService.revogar(verificado));
+        assertThrows(UnauthorizedException.class, () -> tokenService.verificarAcesso(token));
+    }
+
+    @Test
+    void recusaTokenDeOutroSegredo() {
+        String token = criar("outro-segredo-de-teste-com-mais-de-32-bytes").emitir(usuario).getTokenAcesso();
+
+        assertThrows(UnauthorizedException.class, () -> tokenService.verificarAcesso(token));
+    }
+
+    @Test
+    void exigeSegredoDeTamanhoMinimo() {
+        assertThrows(IllegalStateException.class, () -> criar("curto"));
+    }
+
+    private static TokenService criar(String segredo) {
+        TokenService servico = new TokenService();
+        ReflectionTestUtils.setField(servico, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(servico, "segredo", segredo);
+        ReflectionTestUtils.setField(servico, "expiracao", Duration.ofMinutes(15));
+        ReflectionTestUtils.setField(servico, "expiracaoRenovacao", Duration.ofHours(8));
+        ReflectionTestUtils.setField(servico, "tamanhoCache", 64);
+        servico.iniciar();
+        return servico;
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.orcagov.api.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Ponto de entrada do benchmarks.jar: aceita as mesmas opções do JMH
+ * (filtro por regex, -f, -wi, -i, -rf json...) e liga sempre o profiler de GC,
+ * que informa a alocação por operação (gc.alloc.rate.norm) ao lado do tempo.
+ *
+ * java -jar target/benchmarks.jar
+ * java -jar target/benchmarks.jar DespesaBenchmark -p empenhos=100 -rf json -rff resultado.json
+ */
+public final class Benchmarks {
+
+    private Benchmarks() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
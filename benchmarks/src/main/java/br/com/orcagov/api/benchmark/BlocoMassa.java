@@ -0,0 +1,399 @@
+package br.com.orcagov.api.benchmark;
+
+import br.com.orcagov.api.entity.enums.StatusDespesa;
+import br.com.orcagov.api.entity.enums.TipoDespesa;
+import br.com.orcagov.api.service.ProtocoloGeneratorService;
+
+import java.lang.invoke.MethodHandle;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * Um bloco de despesas consecutivas da massa sintética, com seus empenhos e pagamentos.
+ *
+ * A estrutura de cada despesa (ano, status, quantidade de empenhos e de pagamentos) e
+ * os valores (datas, credor, descrição, quantias) vêm de dois geradores separados,
+ * ambos derivados só da semente e do número do bloco. Assim a primeira passada conta
+ * os registros de cada bloco sem gerar as linhas, o gerador calcula ids e numeração
+ * de onde cada bloco começa, e a segunda passada refaz exatamente a mesma estrutura
+ * em qualquer thread, em qualquer ordem.
+ */
+final class BlocoMassa {
+
+    /** Despesas por bloco; faz parte da definição da massa (outro valor gera outros dados) */
+    static final int DESPESAS = 10_000;
+
+    private static final int ESTRUTURA = 1;
+    private static final int VALORES = 2;
+
+    /** Mediana do valor das despesas comuns, R$ 30.000,00; obras valem em média 8 vezes mais */
+    private static final double LOG_MEDIANA_CENTAVOS = Math.log(3_000_000);
+    private static final long VALOR_MAXIMO_CENTAVOS = 99_999_999_999L;
+
+    private static final MethodHandle DIGITO_VERIFICADOR = Dados.privado(
+            ProtocoloGeneratorService.class, "calcularDigitoVerificador", String.class, String.class);
+    private static final ProtocoloGeneratorService PROTOCOLOS = new ProtocoloGeneratorService();
+
+    private static final String[] OBRAS_EDIFICACAO = {
+            "Construção de unidade básica de saúde",
+            "Reforma e ampliação de escola municipal",
+            "Construção de creche em tempo integral",
+            "Reforma do prédio da secretaria de administração",
+            "Construção de quadra poliesportiva coberta"
+    };
+    private static final String[] OBRAS_RODOVIAS = {
+            "Pavimentação asfáltica de estrada vicinal",
+            "Recuperação do pavimento de rodovia estadual",
+            "Construção de ponte em concreto armado",
+            "Sinalização horizontal e vertical de rodovia",
+            "Drenagem e contenção de encosta às margens da rodovia"
+    };
+    private static final String[] OUTRAS = {
+            "Aquisição de material de expediente",
+            "Prestação de serviços de limpeza e conservação",
+            "Fornecimento de combustível para a frota municipal",
+            "Locação de veículos para a secretaria de saúde",
+            "Manutenção preventiva de equipamentos de informática",
+            "Aquisição de medicamentos para a farmácia básica"
+    };
+
+    private final long semente;
+    private final int numero;
+    private final int quantidade;
+    private final int primeiroAno;
+    private final int anos;
+    private final NomesCredores credores;
+
+    BlocoMassa(long semente, int numero, int quantidade, int primeiroAno, int anos, NomesCredores credores) {
+        this.semente = semente;
+        this.numero = numero;
+        this.quantidade = quantidade;
+        this.primeiroAno = primeiroAno;
+        this.anos = anos;
+        this.credores = credores;
+    }
+
+    // ========================================
+    // PRIMEIRA PASSADA: CONTAGEM
+    // ========================================
+
+    Contagem contar() {
+        SplittableRandom estrutura = gerador(ESTRUTURA);
+        Contagem contagem = new Contagem(anos);
+        for (int i = 0; i < quantidade; i++) {
+            Estrutura despesa = estrutura(estrutura);
+            contagem.despesas++;
+            contagem.porAno[0][despesa.ano()]++;
+            contagem.porStatus[despesa.status().ordinal()]++;
+            for (int pagamentos : despesa.pagamentos()) {
+                contagem.empenhos++;
+                contagem.porAno[1][despesa.ano()]++;
+                contagem.pagamentos += pagamentos;
+                contagem.porAno[2][despesa.ano()] += pagamentos;
+            }
+        }
+        return contagem;
+    }
+
+    /**
+     * Status alvo sorteado primeiro; empenhos e pagamentos são montados para que
+     * Despesa.calculateStatus() chegue nele. A maioria das despesas tem poucos
+     * empenhos, 1% tem entre 10 e 40 (contratos grandes, medições mensais).
+     */
+    private Estrutura estrutura(SplittableRandom aleatorio) {
+        int ano = aleatorio.nextInt(anos);
+        int sorteio = aleatorio.nextInt(100);
+        StatusDespesa status = sorteio < 15 ? StatusDespesa.AGUARDANDO_EMPENHO
+                : sorteio < 30 ? StatusDespesa.PARCIALMENTE_EMPENHADA
+                : sorteio < 50 ? StatusDespesa.AGUARDANDO_PAGAMENTO
+                : sorteio < 75 ? StatusDespesa.PARCIALMENTE_PAGA
+                : StatusDespesa.PAGA;
+        if (status == StatusDespesa.AGUARDANDO_EMPENHO) {
+            return new Estrutura(ano, status, new int[0]);
+        }
+
+        int empenhos = aleatorio.nextInt(100) == 0 ? 10 + aleatorio.nextInt(31) : 1 + geometrica(aleatorio, 0.55, 8);
+        int[] pagamentos = new int[empenhos];
+        int total = 0;
+        for (int i = 0; i < empenhos; i++) {
+            pagamentos[i] = switch (status) {
+                case AGUARDANDO_PAGAMENTO -> 0;
+                case PAGA -> 1 + geometrica(aleatorio, 0.5, 11);
+                default -> geometrica(aleatorio, 0.5, 12);
+            };
+            total += pagamentos[i];
+        }
+        if (status == StatusDespesa.PARCIALMENTE_PAGA && total == 0) {
+            pagamentos[0] = 1;
+        }
+        return new Estrutura(ano, status, pagamentos);
+    }
+
+    /**
+     * Quantidade de fracassos antes do primeiro sucesso, limitada ao máximo
+     */
+    private static int geometrica(SplittableRandom aleatorio, double sucesso, int maximo) {
+        int quantidade = 0;
+        while (quantidade < maximo && aleatorio.nextDouble() >= sucesso) {
+            quantidade++;
+        }
+        return quantidade;
+    }
+
+    // ========================================
+    // SEGUNDA PASSADA: LINHAS
+    // ========================================
+
+    /**
+     * Gera as linhas do bloco a partir dos ids e sequenciais informados.
+     *
+     * @param tabelas true para as colunas das tabelas (com ids, status e usuário, para o COPY
+     *                direto); false para o layout dos arquivos da carga histórica
+     */
+    Linhas gerar(Inicio inicio, boolean tabelas, long usuarioId) {
+        SplittableRandom estrutura = gerador(ESTRUTURA);
+        SplittableRandom aleatorio = gerador(VALORES);
+        long despesaId = inicio.despesaId();
+        long empenhoId = inicio.empenhoId();
+        long pagamentoId = inicio.pagamentoId();
+        long[][] sequenciais = {
+                inicio.sequenciais()[0].clone(), inicio.sequenciais()[1].clone(), inicio.sequenciais()[2].clone()
+        };
+
+        StringBuilder despesas = new StringBuilder(quantidade * 200);
+        StringBuilder empenhos = new StringBuilder(quantidade * 150);
+        StringBuilder pagamentos = new StringBuilder(quantidade * 250);
+
+        for (int i = 0; i < quantidade; i++) {
+            Estrutura despesa = estrutura(estrutura);
+            int ano = primeiroAno + despesa.ano();
+            LocalDate fimAno = LocalDate.of(ano, 12, 31);
+
+            TipoDespesa tipo = tipo(aleatorio);
+            int quantidadePagamentos = 0;
+            for (int pagamentosEmpenho : despesa.pagamentos()) {
+                quantidadePagamentos += pagamentosEmpenho;
+            }
+            long valor = valorDespesa(aleatorio, tipo, despesa.pagamentos().length + quantidadePagamentos + 1);
+            LocalDate dataProtocolo = LocalDate.ofYearDay(ano, 1 + aleatorio.nextInt(335));
+            String horaProtocolo = String.format(" %02d:%02d:00", 8 + aleatorio.nextInt(10), aleatorio.nextInt(60));
+            LocalDate ultimaAtualizacao = dataProtocolo;
+
+            String protocolo = protocolo(sequenciais[0][despesa.ano()]++, ano);
+            long id = despesaId++;
+
+            long empenhado = despesa.status() == StatusDespesa.PARCIALMENTE_EMPENHADA
+                    ? Math.max(despesa.pagamentos().length, valor * (20 + aleatorio.nextInt(76)) / 100)
+                    : valor;
+            long[] valoresEmpenhos = dividir(aleatorio, empenhado, despesa.pagamentos().length);
+
+            for (int e = 0; e < valoresEmpenhos.length; e++) {
+                StringBuilder numeroEmpenho = preencher(new StringBuilder(12).append(ano).append("NE"),
+                        sequenciais[1][despesa.ano()]++, 4);
+                LocalDate dataEmpenho = minimo(dataProtocolo.plusDays(aleatorio.nextInt(46)), fimAno);
+                long empenhoAtual = empenhoId++;
+                int parcelas = despesa.pagamentos()[e];
+
+                if (tabelas) {
+                    empenhos.append(empenhoAtual).append(',').append(numeroEmpenho).append(',').append(dataEmpenho).append(',');
+                    centavos(empenhos, valoresEmpenhos[e]).append(",Nota de empenho ").append(e + 1).append(" do exercício ")
+                            .append(ano).append(',').append(id).append(',').append(usuarioId).append(',')
+                            .append(dataEmpenho).append(" 10:00:00,").append(dataEmpenho).append(" 10:00:00\n");
+                } else {
+                    empenhos.append(numeroEmpenho).append(',').append(protocolo).append(',').append(dataEmpenho).append(',');
+                    centavos(empenhos, valoresEmpenhos[e]).append(",Nota de empenho ").append(e + 1).append(" do exercício ")
+                            .append(ano).append('\n');
+                }
+                ultimaAtualizacao = maximo(ultimaAtualizacao, dataEmpenho);
+
+                if (parcelas == 0) {
+                    continue;
+                }
+                long pago = despesa.status() == StatusDespesa.PAGA
+                        ? valoresEmpenhos[e]
+                        : Math.min(valoresEmpenhos[e] - 1,
+                                Math.max(parcelas, valoresEmpenhos[e] * (10 + aleatorio.nextInt(86)) / 100));
+                long[] valoresPagamentos = dividir(aleatorio, pago, parcelas);
+                LocalDate dataPagamento = dataEmpenho;
+                for (int p = 0; p < parcelas; p++) {
+                    StringBuilder numeroPagamento = preencher(new StringBuilder(12).append(ano).append("NP"),
+                            sequenciais[2][despesa.ano()]++, 4);
+                    dataPagamento = minimo(dataPagamento.plusDays(1 + aleatorio.nextInt(60)), fimAno);
+
+                    if (tabelas) {
+                        pagamentos.append(pagamentoId++).append(',').append(numeroPagamento).append(',')
+                                .append(dataPagamento).append(',');
+                        centavos(pagamentos, valoresPagamentos[p]).append(",Pagamento da parcela ").append(p + 1)
+                                .append(" de ").append(parcelas).append(',').append(empenhoAtual).append(',')
+                                .append(usuarioId).append(',').append(dataPagamento).append(" 15:00:00,")
+                                .append(dataPagamento).append(" 15:00:00\n");
+                    } else {
+                        pagamentos.append(numeroPagamento).append(',').append(numeroEmpenho).append(',')
+                                .append(dataPagamento).append(',');
+                        centavos(pagamentos, valoresPagamentos[p]).append(",Pagamento da parcela ").append(p + 1)
+                                .append(" de ").append(parcelas).append('\n');
+                    }
+                }
+                ultimaAtualizacao = maximo(ultimaAtualizacao, dataPagamento);
+            }
+
+            if (tabelas) {
+                despesas.append(id).append(',');
+            }
+            despesas.append(protocolo).append(',').append(tipo.name()).append(',')
+                    .append(dataProtocolo).append(horaProtocolo).append(',')
+                    .append(dataProtocolo.plusDays(15 + aleatorio.nextInt(1081))).append(',')
+                    .append(credores.sortear(aleatorio)).append(',')
+                    .append(descricao(aleatorio, tipo)).append(" - exercício ").append(ano).append(',');
+            centavos(despesas, valor);
+            if (tabelas) {
+                despesas.append(',').append(despesa.status().name()).append(',').append(usuarioId).append(',')
+                        .append(dataProtocolo).append(horaProtocolo).append(',')
+                        .append(ultimaAtualizacao).append(" 18:00:00");
+            }
+            despesas.append('\n');
+        }
+
+        return new Linhas(numero, quantidade,
+                despesas.toString().getBytes(StandardCharsets.UTF_8),
+                empenhos.toString().getBytes(StandardCharsets.UTF_8),
+                pagamentos.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static TipoDespesa tipo(SplittableRandom aleatorio) {
+        int sorteio = aleatorio.nextInt(100);
+        return sorteio < 60 ? TipoDespesa.OUTROS
+                : sorteio < 85 ? TipoDespesa.OBRA_EDIFICACAO
+                : TipoDespesa.OBRA_RODOVIAS;
+    }
+
+    private static String descricao(SplittableRandom aleatorio, TipoDespesa tipo) {
+        String[] opcoes = switch (tipo) {
+            case OBRA_EDIFICACAO -> OBRAS_EDIFICACAO;
+            case OBRA_RODOVIAS -> OBRAS_RODOVIAS;
+            default -> OUTRAS;
+        };
+        return opcoes[aleatorio.nextInt(opcoes.length)];
+    }
+
+    /**
+     * Valor log-normal (muitas despesas pequenas, poucas muito grandes), com um mínimo
+     * que deixa pelo menos R$ 500,00 para cada empenho e pagamento da despesa
+     */
+    private static long valorDespesa(SplittableRandom aleatorio, TipoDespesa tipo, int registros) {
+        double logMediana = tipo == TipoDespesa.OUTROS ? LOG_MEDIANA_CENTAVOS : LOG_MEDIANA_CENTAVOS + Math.log(8);
+        long valor = (long) Math.exp(logMediana + 1.4 * aleatorio.nextGaussian());
+        return Math.min(VALOR_MAXIMO_CENTAVOS, Math.max(50_000L * registros, valor));
+    }
+
+    /**
+     * Divide o total em partes positivas de tamanhos variados que somam exatamente o total
+     */
+    private static long[] dividir(SplittableRandom aleatorio, long total, int partes) {
+        long[] valores = new long[partes];
+        if (partes == 0) {
+            return valores;
+        }
+        double[] pesos = new double[partes];
+        double soma = 0;
+        for (int i = 0; i < partes; i++) {
+            pesos[i] = 0.5 + aleatorio.nextDouble();
+            soma += pesos[i];
+        }
+        long restante = total;
+        for (int i = 0; i < partes - 1; i++) {
+            valores[i] = Math.max(1, (long) (total * pesos[i] / soma));
+            restante -= valores[i];
+        }
+        valores[partes - 1] = restante;
+        return valores;
+    }
+
+    private static String protocolo(long sequencial, int ano) {
+        String numero = String.format("%06d", sequencial);
+        try {
+            String digito = (String) DIGITO_VERIFICADOR.invokeExact(PROTOCOLOS, "43022" + numero + ano);
+            return "43022." + numero + "/" + ano + "-" + digito;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Sequencial com zeros à esquerda até a largura mínima; acima dela cresce como o do SequenceGeneratorService
+     */
+    private static StringBuilder preencher(StringBuilder destino, long valor, int largura) {
+        String digitos = Long.toString(valor);
+        for (int i = digitos.length(); i < largura; i++) {
+            destino.append('0');
+        }
+        return destino.append(digitos);
+    }
+
+    private static StringBuilder centavos(StringBuilder destino, long centavos) {
+        long resto = centavos % 100;
+        return destino.append(centavos / 100).append(resto < 10 ? ".0" : ".").append(resto);
+    }
+
+    private static LocalDate minimo(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? b : a;
+    }
+
+    private static LocalDate maximo(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private SplittableRandom gerador(int fluxo) {
+        // Mistura de bits (finalizador do MurmurHash3) para que blocos vizinhos não tenham sequências correlacionadas
+        long h = semente * 0x9E3779B97F4A7C15L + numero * 0xBF58476D1CE4E5B9L + fluxo;
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return new SplittableRandom(h ^ (h >>> 33));
+    }
+
+    private record Estrutura(int ano, StatusDespesa status, int[] pagamentos) {
+    }
+
+    /**
+     * Registros de um bloco, no total e por ano (despesas, empenhos e pagamentos), e despesas por status
+     */
+    static final class Contagem {
+
+        long despesas;
+        long empenhos;
+        long pagamentos;
+        final long[][] porAno;
+        final long[] porStatus = new long[StatusDespesa.values().length];
+
+        Contagem(int anos) {
+            porAno = new long[3][anos];
+        }
+
+        void somar(Contagem outra) {
+            despesas += outra.despesas;
+            empenhos += outra.empenhos;
+            pagamentos += outra.pagamentos;
+            for (int tabela = 0; tabela < 3; tabela++) {
+                for (int ano = 0; ano < porAno[tabela].length; ano++) {
+                    porAno[tabela][ano] += outra.porAno[tabela][ano];
+                }
+            }
+            for (int status = 0; status < porStatus.length; status++) {
+                porStatus[status] += outra.porStatus[status];
+            }
+        }
+    }
+
+    /**
+     * Primeiro id de cada tabela e primeiro sequencial por ano (protocolo, empenho, pagamento) do bloco
+     */
+    record Inicio(long despesaId, long empenhoId, long pagamentoId, long[][] sequenciais) {
+    }
+
+    /**
+     * Linhas CSV do bloco, sem cabeçalho
+     */
+    record Linhas(int bloco, int despesas, byte[] despesasCsv, byte[] empenhosCsv, byte[] pagamentosCsv) {
+    }
+}
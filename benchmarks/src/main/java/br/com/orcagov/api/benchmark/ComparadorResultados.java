@@ -0,0 +1,390 @@
+package br.com.orcagov.api.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Gate de regressão: compara o resultado JMH (-rf json) do código atual com o do
+ * commit ancestral mais próximo que já foi medido e termina com código 1 se algum
+ * benchmark ficou mais lento ou passou a alocar mais além da tolerância.
+ *
+ * Uma variação só conta como regressão quando passa da tolerância do benchmark
+ * (tolerancias.properties) e o teste t de Welch sobre as iterações indica que não
+ * é ruído. O resultado atual fica guardado em resultados/jmh/<commit>.json para as
+ * próximas comparações; com alterações não commitadas, em <commit>-dirty.json, que
+ * nunca é usado como base.
+ *
+ * A base pode ser também um arquivo JSON fora do histórico (--base=<arquivo>), por
+ * exemplo o resultado da main baixado pelo CI. Sem base encontrada o gate falha,
+ * para que um checkout limpo não passe sem comparar nada; a primeira medição é
+ * aceita só com --inicial=true.
+ *
+ * mvn -f benchmarks verify -Pregressao
+ * java -cp benchmarks/target/benchmarks.jar br.com.orcagov.api.benchmark.ComparadorResultados \
+ *     --resultado=jmh.json [--historico=resultados/jmh] [--tolerancias=tolerancias.properties] \
+ *     [--relatorio=target/regressao.md] [--base=main | --base=base.json] [--inicial=true]
+ */
+public final class ComparadorResultados {
+
+    private static final Set<String> OPCOES = Set.of("resultado", "historico", "tolerancias", "relatorio", "base", "inicial");
+
+    private static final String ALOCACAO = "gc.alloc.rate.norm";
+
+    /** Commits percorridos atrás de um resultado anterior */
+    private static final int MAXIMO_ANCESTRAIS = 1000;
+
+    private ComparadorResultados() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opcoes = opcoes(args);
+        if (!opcoes.containsKey("resultado")) {
+            throw new IllegalArgumentException("Informe o resultado do JMH com --resultado=<arquivo json>");
+        }
+        Path resultado = Path.of(opcoes.get("resultado"));
+        Path historico = Path.of(opcoes.getOrDefault("historico", "resultados/jmh"));
+        Path relatorio = Path.of(opcoes.getOrDefault("relatorio", "target/regressao.md"));
+        Tolerancias tolerancias = Tolerancias.carregar(Path.of(opcoes.getOrDefault("tolerancias", "tolerancias.properties")));
+
+        String commit = git("rev-parse", "--short=12", "HEAD");
+        if (commit == null) {
+            throw new IllegalStateException("Não foi possível identificar o commit atual (git rev-parse HEAD)");
+        }
+        String pendentes = git("status", "--porcelain", "--untracked-files=no");
+        boolean alterado = pendentes != null && !pendentes.isEmpty();
+        String atual = alterado ? commit + "-dirty" : commit;
+
+        Files.createDirectories(historico);
+        Files.copy(resultado, historico.resolve(atual + ".json"), StandardCopyOption.REPLACE_EXISTING);
+
+        String baseInformada = opcoes.get("base") == null || opcoes.get("base").isBlank() ? null : opcoes.get("base");
+        Path arquivoBase;
+        String base;
+        if (baseInformada != null && Files.isRegularFile(Path.of(baseInformada))) {
+            // Resultado de referência fora do histórico (commitado ou baixado pelo CI)
+            arquivoBase = Path.of(baseInformada);
+            base = arquivoBase.getFileName().toString();
+        } else {
+            base = baseInformada == null
+                    ? ancestralMedido(historico, alterado)
+                    : git("rev-parse", "--short=12", baseInformada);
+            arquivoBase = base == null ? null : historico.resolve(base + ".json");
+        }
+        if (arquivoBase == null || !Files.exists(arquivoBase)) {
+            if (baseInformada != null) {
+                throw new IllegalStateException("Sem resultado para a base " + baseInformada + " em " + historico);
+            }
+            if (!Boolean.parseBoolean(opcoes.get("inicial"))) {
+                throw new IllegalStateException("Sem resultado anterior para comparar em " + historico
+                        + ". Informe a base (--base=<commit ou arquivo .json>, ou o histórico do CI em --historico)"
+                        + " ou aceite esta medição como a primeira com --inicial=true");
+            }
+            System.out.printf("Primeira medição: %s guardado como base em %s%n", atual, historico);
+            return;
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, Medida> medidasBase = medidas(objectMapper.readTree(arquivoBase.toFile()));
+        Map<String, Medida> medidasAtuais = medidas(objectMapper.readTree(resultado.toFile()));
+
+        List<Comparacao> comparacoes = new ArrayList<>();
+        List<String> semComparacao = new ArrayList<>();
+        medidasAtuais.forEach((chave, medida) -> {
+            Medida anterior = medidasBase.get(chave);
+            if (anterior == null) {
+                semComparacao.add(chave + " (novo)");
+            } else {
+                comparacoes.addAll(Comparacao.de(anterior, medida, tolerancias));
+            }
+        });
+        medidasBase.keySet().stream()
+                .filter(chave -> !medidasAtuais.containsKey(chave))
+                .forEach(chave -> semComparacao.add(chave + " (removido)"));
+
+        String texto = relatorio(base, atual, tolerancias, comparacoes, semComparacao);
+        if (relatorio.getParent() != null) {
+            Files.createDirectories(relatorio.getParent());
+        }
+        Files.writeString(relatorio, texto, StandardCharsets.UTF_8);
+
+        List<Comparacao> regressoes = comparacoes.stream().filter(c -> c.veredito() == Veredito.REGRESSAO).toList();
+        System.out.printf("%nComparação de %s com %s: %d medidas, %d regressões, %d melhorias. Relatório em %s%n",
+                atual, base, comparacoes.size(), regressoes.size(),
+                comparacoes.stream().filter(c -> c.veredito() == Veredito.MELHORIA).count(), relatorio);
+        regressoes.forEach(c -> System.out.printf("  REGRESSÃO %s %s: %s -> %s (%+.1f%%, p=%.4f, tolerância %.0f%%)%n",
+                c.chave(), c.metrica(), c.formatar(c.base()), c.formatar(c.atual()),
+                c.variacao() * 100, c.p(), c.tolerancia() * 100));
+
+        if (!regressoes.isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    // ========================================
+    // RESULTADOS DO JMH
+    // ========================================
+
+    /**
+     * Amostras de uma execução: benchmark com os parâmetros -> tempo e alocação por iteração
+     */
+    private static Map<String, Medida> medidas(JsonNode resultado) {
+        Map<String, Medida> medidas = new LinkedHashMap<>();
+        for (JsonNode benchmark : resultado) {
+            String nome = benchmark.path("benchmark").asText();
+            // Classe.método, sem o pacote
+            String curto = nome.substring(nome.lastIndexOf('.', nome.lastIndexOf('.') - 1) + 1);
+            StringBuilder chave = new StringBuilder(curto);
+            JsonNode parametros = benchmark.path("params");
+            if (!parametros.isMissingNode() && parametros.size() > 0) {
+                List<String> valores = new ArrayList<>();
+                parametros.fields().forEachRemaining(p -> valores.add(p.getKey() + "=" + p.getValue().asText()));
+                chave.append(" (").append(String.join(", ", valores)).append(')');
+            }
+
+            JsonNode principal = benchmark.path("primaryMetric");
+            JsonNode alocacao = benchmark.path("secondaryMetrics").path(ALOCACAO);
+            medidas.put(chave.toString(), new Medida(chave.toString(), curto,
+                    "thrpt".equals(benchmark.path("mode").asText()),
+                    principal.path("scoreUnit").asText(), amostras(principal.path("rawData")),
+                    alocacao.isMissingNode() ? null : amostras(alocacao.path("rawData"))));
+        }
+        return medidas;
+    }
+
+    /** rawData: uma lista de iterações por fork */
+    private static double[] amostras(JsonNode rawData) {
+        List<Double> amostras = new ArrayList<>();
+        rawData.forEach(fork -> fork.forEach(iteracao -> amostras.add(iteracao.asDouble())));
+        return amostras.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    private record Medida(String chave, String benchmark, boolean maiorMelhor, String unidade,
+                          double[] tempo, double[] alocacao) {
+    }
+
+    // ========================================
+    // COMPARAÇÃO
+    // ========================================
+
+    private enum Veredito {
+        REGRESSAO("regressão"), MELHORIA("melhoria"), RUIDO("variação dentro do ruído"), OK("ok");
+
+        private final String descricao;
+
+        Veredito(String descricao) {
+            this.descricao = descricao;
+        }
+    }
+
+    /**
+     * Uma métrica de um benchmark; piora é a variação relativa no sentido ruim
+     * (mais tempo, menos vazão, mais bytes) e p a chance de ela ser só ruído
+     */
+    private record Comparacao(String chave, String metrica, String unidade, double base, double atual,
+                              double piora, double p, double tolerancia, Veredito veredito) {
+
+        static List<Comparacao> de(Medida anterior, Medida medida, Tolerancias tolerancias) {
+            List<Comparacao> comparacoes = new ArrayList<>(2);
+            comparacoes.add(comparar(medida.chave(), medida.maiorMelhor() ? "vazão" : "tempo", medida.unidade(),
+                    anterior.tempo(), medida.tempo(), medida.maiorMelhor(),
+                    tolerancias.de(medida.benchmark(), "tempo"), tolerancias.alfa(), 0));
+            if (anterior.alocacao() != null && medida.alocacao() != null) {
+                comparacoes.add(comparar(medida.chave(), "alocação", "B/op", anterior.alocacao(), medida.alocacao(),
+                        false, tolerancias.de(medida.benchmark(), "alocacao"), tolerancias.alfa(),
+                        tolerancias.alocacaoMinima()));
+            }
+            return comparacoes;
+        }
+
+        private static Comparacao comparar(String chave, String metrica, String unidade, double[] base, double[] atual,
+                                           boolean maiorMelhor, double tolerancia, double alfa, double variacaoMinima) {
+            double mediaBase = Estatistica.media(base);
+            double mediaAtual = Estatistica.media(atual);
+            double variacao = mediaBase == 0
+                    ? Math.signum(mediaAtual) * Double.POSITIVE_INFINITY
+                    : (mediaAtual - mediaBase) / mediaBase;
+            if (Double.isNaN(variacao)) {
+                variacao = 0;
+            }
+            double piora = maiorMelhor ? -variacao : variacao;
+            // Em vazão, piorar é diminuir: os papéis das amostras se invertem no teste
+            double pPiora = maiorMelhor ? Estatistica.pAumento(atual, base) : Estatistica.pAumento(base, atual);
+            double pMelhora = maiorMelhor ? Estatistica.pAumento(base, atual) : Estatistica.pAumento(atual, base);
+            boolean relevante = Math.abs(mediaAtual - mediaBase) >= variacaoMinima;
+
+            Veredito veredito = Veredito.OK;
+            if (relevante && piora > tolerancia) {
+                veredito = pPiora < alfa ? Veredito.REGRESSAO : Veredito.RUIDO;
+            } else if (relevante && -piora > tolerancia) {
+                veredito = pMelhora < alfa ? Veredito.MELHORIA : Veredito.RUIDO;
+            }
+            return new Comparacao(chave, metrica, unidade, mediaBase, mediaAtual, piora,
+                    piora >= 0 ? pPiora : pMelhora, tolerancia, veredito);
+        }
+
+        double variacao() {
+            return base == 0 ? 0 : (atual - base) / base;
+        }
+
+        String formatar(double valor) {
+            return String.format(Locale.ROOT, valor >= 100 ? "%.0f %s" : "%.3f %s", valor, unidade);
+        }
+
+        String linha() {
+            return String.format(Locale.ROOT, "| `%s` | %s | %s | %s | %+.1f%% | %.4f | %.0f%% | %s |%n",
+                    chave, metrica, formatar(base), formatar(atual), variacao() * 100, p, tolerancia * 100,
+                    veredito.descricao);
+        }
+    }
+
+    // ========================================
+    // RELATÓRIO
+    // ========================================
+
+    private static String relatorio(String base, String atual, Tolerancias tolerancias,
+                                    List<Comparacao> comparacoes, List<String> semComparacao) {
+        StringBuilder texto = new StringBuilder("# Comparação de desempenho\n\n");
+        texto.append(String.format(Locale.ROOT,
+                "Base `%s`, atual `%s`. Tolerância padrão: tempo %.0f%%, alocação %.0f%% (e ao menos %.0f B/op). " +
+                "Uma variação além da tolerância só é regressão com p < %s no teste t de Welch unilateral " +
+                "sobre as iterações.%n",
+                base, atual, tolerancias.padrao("tempo") * 100,
+                tolerancias.padrao("alocacao") * 100, tolerancias.alocacaoMinima(), tolerancias.alfa()));
+
+        secao(texto, "Regressões", comparacoes, Veredito.REGRESSAO);
+        secao(texto, "Melhorias", comparacoes, Veredito.MELHORIA);
+        secao(texto, "Variações dentro do ruído", comparacoes, Veredito.RUIDO);
+        secao(texto, "Todas as medidas", comparacoes, null);
+
+        if (!semComparacao.isEmpty()) {
+            texto.append("\n## Sem comparação\n\n");
+            semComparacao.forEach(chave -> texto.append("- `").append(chave).append("`\n"));
+        }
+        return texto.toString();
+    }
+
+    private static void secao(StringBuilder texto, String titulo, List<Comparacao> comparacoes, Veredito veredito) {
+        List<Comparacao> selecionadas = comparacoes.stream()
+                .filter(c -> veredito == null || c.veredito() == veredito)
+                .toList();
+        if (selecionadas.isEmpty()) {
+            return;
+        }
+        texto.append("\n## ").append(titulo).append(" (").append(selecionadas.size()).append(")\n\n")
+                .append("| Benchmark | Métrica | Base | Atual | Variação | p | Tolerância | Resultado |\n")
+                .append("|---|---|---:|---:|---:|---:|---:|---|\n");
+        selecionadas.forEach(c -> texto.append(c.linha()));
+    }
+
+    // ========================================
+    // TOLERÂNCIAS
+    // ========================================
+
+    /**
+     * Aumento máximo aceito por métrica, do mais específico ao padrão:
+     * Classe.método.tempo, Classe.tempo, tempo (idem para alocacao)
+     */
+    private record Tolerancias(Properties propriedades, double alfa, double alocacaoMinima) {
+
+        static Tolerancias carregar(Path arquivo) throws IOException {
+            Properties propriedades = new Properties();
+            if (Files.exists(arquivo)) {
+                try (InputStream entrada = Files.newInputStream(arquivo)) {
+                    propriedades.load(entrada);
+                }
+            }
+            return new Tolerancias(propriedades,
+                    Double.parseDouble(propriedades.getProperty("alfa", "0.01")),
+                    Double.parseDouble(propriedades.getProperty("alocacao.minimo", "64")));
+        }
+
+        double de(String benchmark, String metrica) {
+            String classe = benchmark.substring(0, benchmark.indexOf('.'));
+            return Stream.of(benchmark + "." + metrica, classe + "." + metrica)
+                    .map(propriedades::getProperty)
+                    .filter(valor -> valor != null)
+                    .mapToDouble(valor -> Double.parseDouble(valor.trim()))
+                    .findFirst()
+                    .orElseGet(() -> padrao(metrica));
+        }
+
+        double padrao(String metrica) {
+            return Double.parseDouble(propriedades.getProperty(metrica, "tempo".equals(metrica) ? "0.10" : "0.05").trim());
+        }
+    }
+
+    // ========================================
+    // AUXILIARES
+    // ========================================
+
+    /**
+     * Resultado guardado do commit ancestral mais próximo; o do próprio HEAD só serve
+     * de base quando há alterações ainda não commitadas
+     */
+    private static String ancestralMedido(Path historico, boolean alterado) throws IOException {
+        String ancestrais = git("rev-list", "--max-count=" + MAXIMO_ANCESTRAIS, "HEAD");
+        if (ancestrais == null) {
+            return null;
+        }
+        List<String> medidos;
+        try (Stream<Path> arquivos = Files.list(historico)) {
+            medidos = arquivos.map(arquivo -> arquivo.getFileName().toString())
+                    .filter(nome -> nome.endsWith(".json") && !nome.endsWith("-dirty.json"))
+                    .map(nome -> nome.substring(0, nome.length() - ".json".length()))
+                    .toList();
+        }
+        String[] commits = ancestrais.split("\\s+");
+        for (int i = alterado ? 0 : 1; i < commits.length; i++) {
+            String ancestral = commits[i];
+            for (String medido : medidos) {
+                if (ancestral.startsWith(medido)) {
+                    return medido;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String git(String... argumentos) {
+        List<String> comando = new ArrayList<>(List.of("git"));
+        comando.addAll(List.of(argumentos));
+        try {
+            Process git = new ProcessBuilder(comando).redirectErrorStream(true).start();
+            String saida = new String(git.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            return git.waitFor() == 0 ? saida : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static Map<String, String> opcoes(String[] args) {
+        Map<String, String> opcoes = new LinkedHashMap<>();
+        for (String argumento : args) {
+            int igual = argumento.indexOf('=');
+            String chave = argumento.startsWith("--") && igual > 2 ? argumento.substring(2, igual) : null;
+            if (chave == null || !OPCOES.contains(chave)) {
+                throw new IllegalArgumentException("Opção inválida: " + argumento + ". Opções: --" + String.join(", --", OPCOES));
+            }
+            opcoes.put(chave, argumento.substring(igual + 1));
+        }
+        return opcoes;
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.orcagov.api.benchmark;
+
+import br.com.orcagov.api.dto.Response.DespesaResponseDTO;
+import br.com.orcagov.api.dto.Response.EmpenhoResponseDTO;
+import br.com.orcagov.api.dto.Response.PagamentoResponseDTO;
+import br.com.orcagov.api.entity.Despesa;
+import br.com.orcagov.api.entity.Empenho;
+import br.com.orcagov.api.entity.Pagamento;
+import br.com.orcagov.api.mapper.DtoMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.mapstruct.factory.Mappers;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão das entidades nos DTOs de resposta pelo {@link DtoMapper} usado nos
+ * services, com as coleções já carregadas: só o custo da montagem dos objetos e dos
+ * totais calculados no caminho, sem consultas. Os métodos manual* medem os conversores
+ * escritos à mão que o mapper substituiu ({@link ConversoresManuais}); a diferença de
+ * objetos por entidade aparece no gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConversaoDtoBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int empenhos;
+
+    private final DtoMapper dtoMapper = Mappers.getMapper(DtoMapper.class);
+
+    private Despesa despesa;
+    private Empenho empenho;
+    private Pagamento pagamento;
+
+    @Setup
+    public void preparar() {
+        despesa = Dados.despesa(42, empenhos, 4);
+        // Status gravado, como vem do banco; sem ele cada resumo recalcularia os totais da despesa
+        despesa.setStatus(despesa.calculateStatus());
+        // O empenho com mais pagamentos, para que a lista de resumos não fique vazia
+        empenho = despesa.getEmpenhos().stream()
+                .max((a, b) -> Integer.compare(a.getPagamentos().size(), b.getPagamentos().size()))
+                .orElseThrow();
+        pagamento = empenho.getPagamentos().isEmpty() ? null : empenho.getPagamentos().get(0);
+        if (pagamento == null) {
+            throw new IllegalStateException("Massa de dados sem pagamentos");
+        }
+    }
+
+    @Benchmark
+    public DespesaResponseDTO converterDespesa() {
+        return dtoMapper.paraResponseDTO(despesa);
+    }
+
+    @Benchmark
+    public EmpenhoResponseDTO converterEmpenho() {
+        return dtoMapper.paraResponseDTO(empenho);
+    }
+
+    @Benchmark
+    public PagamentoResponseDTO converterPagamento() {
+        return dtoMapper.paraResponseDTO(pagamento);
+    }
+
+    @Benchmark
+    public DespesaResponseDTO manualDespesa() {
+        return ConversoresManuais.despesa(despesa);
+    }
+
+    @Benchmark
+    public EmpenhoResponseDTO manualEmpenho() {
+        return ConversoresManuais.empenho(empenho);
+    }
+
+    @Benchmark
+    public PagamentoResponseDTO manualPagamento() {
+        return ConversoresManuais.pagamento(pagamento);
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.orcagov.api.benchmark;
+
+import br.com.orcagov.api.dto.Response.DespesaResponseDTO;
+import br.com.orcagov.api.dto.Response.DespesaResumoDTO;
+import br.com.orcagov.api.dto.Response.EmpenhoResponseDTO;
+import br.com.orcagov.api.dto.Response.EmpenhoResumoDTO;
+import br.com.orcagov.api.dto.Response.PagamentoResponseDTO;
+import br.com.orcagov.api.dto.Response.PagamentoResumoDTO;
+import br.com.orcagov.api.entity.Despesa;
+import br.com.orcagov.api.entity.Empenho;
+import br.com.orcagov.api.entity.Money;
+import br.com.orcagov.api.entity.Pagamento;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Cópia dos converterParaResponseDTO que os services tinham antes do DtoMapper
+ * (builders do Lombok e streams com Collectors.toList por lista de resumos),
+ * mantida como linha de base do {@link ConversaoDtoBenchmark}.
+ */
+final class ConversoresManuais {
+
+    private ConversoresManuais() {
+    }
+
+    static DespesaResponseDTO despesa(Despesa despesa) {
+        Money valorTotalEmpenhado = despesa.totalEmpenhado();
+        return DespesaResponseDTO.builder()
+                .id(despesa.getId())
+                .numeroProtocolo(despesa.getNumeroProtocolo())
+                .tipoDespesa(despesa.getTipoDespesa())
+                .dataProtocolo(despesa.getDataProtocolo())
+                .dataVencimento(despesa.getDataVencimento())
+                .credorDespesas(despesa.getCredorDespesas())
+                .descricaoDespesas(despesa.getDescricaoDespesas())
+                .valorDespesas(despesa.getValorDespesas())
+                .status(despesa.getStatus())
+                .valorTotalEmpenhado(valorTotalEmpenhado.toBigDecimal())
+                .valorTotalPago(despesa.getValorTotalPago())
+                .valorRestante(despesa.montante().minus(valorTotalEmpenhado).toBigDecimal())
+                .vencida(despesa.getDataVencimento().isBefore(LocalDate.now()))
+                .empenhos(empenhosParaResumo(despesa))
+                .dataCriacao(despesa.getDataCriacao())
+                .dataAtualizacao(despesa.getDataAtualizacao())
+                .build();
+    }
+
+    static EmpenhoResponseDTO empenho(Empenho empenho) {
+        Money valorTotalPago = empenho.totalPago();
+        return EmpenhoResponseDTO.builder()
+                .id(empenho.getId())
+                .numeroEmpenho(empenho.getNumeroEmpenho())
+                .dataEmpenho(empenho.getDataEmpenho())
+                .valor(empenho.getValor())
+                .observacao(empenho.getObservacao())
+                .valorTotalPago(valorTotalPago.toBigDecimal())
+                .valorRestante(empenho.montante().minus(valorTotalPago).toBigDecimal())
+                .despesa(despesaParaResumo(empenho.getDespesa()))
+                .pagamentos(pagamentosParaResumo(empenho))
+                .dataCriacao(empenho.getDataCriacao())
+                .dataAtualizacao(empenho.getDataAtualizacao())
+                .build();
+    }
+
+    static PagamentoResponseDTO pagamento(Pagamento pagamento) {
+        PagamentoResponseDTO dto = new PagamentoResponseDTO();
+        dto.setId(pagamento.getId());
+        dto.setNumeroPagamento(pagamento.getNumeroPagamento());
+        dto.setDataPagamento(pagamento.getDataPagamento());
+        dto.setValorPagamento(pagamento.getValorPagamento());
+        dto.setObservacao(pagamento.getObservacao());
+        dto.setStatus(pagamento.getStatus());
+        dto.setDataCriacao(pagamento.getDataCriacao());
+        dto.setDataAtualizacao(pagamento.getDataAtualizacao());
+
+        if (pagamento.getEmpenho() != null) {
+            EmpenhoResumoDTO empenhoResumo = new EmpenhoResumoDTO();
+            empenhoResumo.setId(pagamento.getEmpenho().getId());
+            empenhoResumo.setNumeroEmpenho(pagamento.getEmpenho().getNumeroEmpenho());
+            empenhoResumo.setValor(pagamento.getEmpenho().getValor());
+            empenhoResumo.setDataEmpenho(pagamento.getEmpenho().getDataEmpenho());
+            dto.setEmpenho(empenhoResumo);
+        }
+
+        if (pagamento.getUsuarioCriador() != null) {
+            dto.setUsuarioCriador(pagamento.getUsuarioCriador().getUsername());
+        }
+
+        return dto;
+    }
+
+    private static List<EmpenhoResumoDTO> empenhosParaResumo(Despesa despesa) {
+        return despesa.getEmpenhos().stream()
+                .map(empenho -> EmpenhoResumoDTO.builder()
+                        .id(empenho.getId())
+                        .numeroEmpenho(empenho.getNumeroEmpenho())
+                        .dataEmpenho(empenho.getDataEmpenho())
+                        .valor(empenho.getValor())
+                        .valorPago(empenho.getValorTotalPago())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private static DespesaResumoDTO despesaParaResumo(Despesa despesa) {
+        return DespesaResumoDTO.builder()
+                .id(despesa.getId())
+                .numeroProtocolo(despesa.getNumeroProtocolo())
+                .tipoDespesa(despesa.getTipoDespesa())
+                .dataVencimento(despesa.getDataVencimento())
+                .credorDespesas(despesa.getCredorDespesas())
+                .valorDespesas(despesa.getValorDespesas())
+                .status(despesa.getStatus())
+                .build();
+    }
+
+    private static List<PagamentoResumoDTO> pagamentosParaResumo(Empenho empenho) {
+        return empenho.getPagamentos().stream()
+                .map(pagamento -> PagamentoResumoDTO.builder()
+                        .id(pagamento.getId())
+                        .numeroPagamento(pagamento.getNumeroPagamento())
+                        .dataPagamento(pagamento.getDataPagamento())
+                        .valorPagamento(pagamento.getValorPagamento())
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,114 @@
+package br.com.orcagov.api.benchmark;
+
+import br.com.orcagov.api.entity.Despesa;
+import br.com.orcagov.api.entity.Empenho;
+import br.com.orcagov.api.entity.Pagamento;
+import br.com.orcagov.api.entity.Usuario;
+import br.com.orcagov.api.entity.enums.TipoDespesa;
+import br.com.orcagov.api.entity.enums.TipoUsuario;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+/**
+ * Entidades montadas em memória para os benchmarks, sem banco: uma despesa com
+ * empenhos e pagamentos de valores variados, como os carregados pelo Hibernate.
+ */
+final class Dados {
+
+    private static final LocalDate HOJE = LocalDate.of(2025, 7, 15);
+
+    private Dados() {
+    }
+
+    /**
+     * Despesa com a quantidade de empenhos informada, cada um com até o dobro da
+     * média de pagamentos (a maioria dos empenhos tem poucos pagamentos, alguns têm muitos).
+     * Os valores respeitam as regras: empenhos somam até o valor da despesa, pagamentos
+     * até o valor do empenho.
+     */
+    static Despesa despesa(long semente, int empenhos, int mediaPagamentos) {
+        SplittableRandom aleatorio = new SplittableRandom(semente);
+        Usuario usuario = usuario();
+
+        Despesa despesa = new Despesa();
+        despesa.setId(semente);
+        despesa.setNumeroProtocolo(String.format("43022.%06d/2025-%02d", semente % 1_000_000, semente % 100));
+        despesa.setTipoDespesa(TipoDespesa.values()[(int) (semente % TipoDespesa.values().length)]);
+        despesa.setDataProtocolo(LocalDateTime.of(2025, 1, 2, 9, 30));
+        despesa.setDataVencimento(HOJE.plusDays(aleatorio.nextInt(-60, 300)));
+        despesa.setCredorDespesas("Credor " + aleatorio.nextInt(1_000));
+        despesa.setDescricaoDespesas("Aquisição de materiais de consumo para o exercício de 2025");
+        despesa.setUsuarioCriador(usuario);
+        despesa.setDataCriacao(LocalDateTime.of(2025, 1, 2, 9, 30));
+        despesa.setDataAtualizacao(LocalDateTime.of(2025, 1, 2, 9, 30));
+        despesa.setEmpenhos(new ArrayList<>(empenhos));
+
+        long valorEmpenhoCentavos = 10_000L + aleatorio.nextLong(5_000_000L);
+        despesa.setValorDespesas(BigDecimal.valueOf(valorEmpenhoCentavos * Math.max(empenhos, 1), 2));
+
+        int sequencialPagamento = 1;
+        for (int i = 0; i < empenhos; i++) {
+            Empenho empenho = new Empenho();
+            empenho.setId(semente * 1_000 + i);
+            empenho.setNumeroEmpenho(String.format("2025NE%04d", i + 1));
+            empenho.setDataEmpenho(HOJE.minusDays(aleatorio.nextInt(200)));
+            empenho.setValor(BigDecimal.valueOf(valorEmpenhoCentavos, 2));
+            empenho.setObservacao("Empenho " + (i + 1));
+            empenho.setDespesa(despesa);
+            empenho.setUsuarioCriador(usuario);
+            empenho.setDataCriacao(LocalDateTime.of(2025, 2, 1, 10, 0));
+            empenho.setDataAtualizacao(LocalDateTime.of(2025, 2, 1, 10, 0));
+
+            int pagamentos = mediaPagamentos == 0 ? 0 : aleatorio.nextInt(2 * mediaPagamentos + 1);
+            empenho.setPagamentos(new ArrayList<>(pagamentos));
+            long restante = valorEmpenhoCentavos;
+            for (int j = 0; j < pagamentos && restante > 0; j++) {
+                long valor = j == pagamentos - 1 ? restante : 1 + aleatorio.nextLong(restante / 2 + 1);
+                restante -= valor;
+
+                Pagamento pagamento = new Pagamento();
+                pagamento.setId(empenho.getId() * 1_000 + j);
+                pagamento.setNumeroPagamento(String.format("2025NP%04d", sequencialPagamento++ % 10_000));
+                pagamento.setDataPagamento(empenho.getDataEmpenho().plusDays(j + 1L));
+                pagamento.setValorPagamento(BigDecimal.valueOf(valor, 2));
+                pagamento.setEmpenho(empenho);
+                pagamento.setUsuarioCriador(usuario);
+                pagamento.setDataCriacao(LocalDateTime.of(2025, 3, 1, 14, 0));
+                pagamento.setDataAtualizacao(LocalDateTime.of(2025, 3, 1, 14, 0));
+                empenho.getPagamentos().add(pagamento);
+            }
+            despesa.getEmpenhos().add(empenho);
+        }
+        return despesa;
+    }
+
+    static Usuario usuario() {
+        Usuario usuario = new Usuario();
+        usuario.setId(1L);
+        usuario.setUserName("benchmark");
+        usuario.setEmail("benchmark@orcagov.local");
+        usuario.setTipoUser(TipoUsuario.ADMIN);
+        usuario.setAtivo(true);
+        return usuario;
+    }
+
+    /**
+     * Método privado de uma classe da API, para medir sem mudar a visibilidade.
+     * Guardado em campo static final, o JIT trata a chamada como direta.
+     */
+    static MethodHandle privado(Class<?> classe, String nome, Class<?> retorno, Class<?>... parametros) {
+        try {
+            return MethodHandles.privateLookupIn(classe, MethodHandles.lookup())
+                    .findVirtual(classe, nome, MethodType.methodType(retorno, parametros));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Método " + classe.getSimpleName() + "." + nome + " não encontrado", e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.orcagov.api.benchmark;
+
+import br.com.orcagov.api.entity.Despesa;
+import br.com.orcagov.api.entity.enums.StatusDespesa;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Totais e status calculados pela entidade Despesa a cada getStatus(), listagem
+ * e conversão para DTO: percorrem todos os empenhos e pagamentos, somando em
+ * centavos ({@link br.com.orcagov.api.entity.Money}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DespesaBenchmark {
+
+    /** Despesas diferentes em rodízio, para não medir sempre a mesma distribuição de valores */
+    private static final int DESPESAS = 16;
+
+    @Param({"1", "10", "100"})
+    private int empenhos;
+
+    @Param({"0", "4"})
+    private int mediaPagamentos;
+
+    private Despesa[] despesas;
+    private int proxima;
+
+    @Setup
+    public void preparar() {
+        despesas = new Despesa[DESPESAS];
+        for (int i = 0; i < DESPESAS; i++) {
+            despesas[i] = Dados.despesa(i + 1, empenhos, mediaPagamentos);
+        }
+    }
+
+    @Benchmark
+    public StatusDespesa calculateStatus() {
+        return proxima().calculateStatus();
+    }
+
+    @Benchmark
+    public BigDecimal valorTotalEmpenhado() {
+        return proxima().getValorTotalEmpenhado();
+    }
+
+    @Benchmark
+    public BigDecimal valorTotalPago() {
+        return proxima().getValorTotalPago();
+    }
+
+    private Despesa proxima() {
+        return despesas[proxima++ & (DESPESAS - 1)];
+    }
+}
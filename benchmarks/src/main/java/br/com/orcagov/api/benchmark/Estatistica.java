@@ -0,0 +1,115 @@
+package br.com.orcagov.api.benchmark;
+
+/**
+ * Teste t de Welch unilateral sobre as amostras das iterações do JMH: diz se a
+ * média atual é maior que a da base além do que o ruído entre iterações explica,
+ * sem supor variâncias iguais nos dois resultados.
+ */
+final class Estatistica {
+
+    private static final int MAXIMO_ITERACOES = 300;
+    private static final double EPSILON = 1e-14;
+    private static final double MENOR_DOUBLE = 1e-300;
+
+    private Estatistica() {
+    }
+
+    static double media(double[] amostras) {
+        double soma = 0;
+        for (double amostra : amostras) {
+            soma += amostra;
+        }
+        return soma / amostras.length;
+    }
+
+    static double variancia(double[] amostras) {
+        if (amostras.length < 2) {
+            return 0;
+        }
+        double media = media(amostras);
+        double soma = 0;
+        for (double amostra : amostras) {
+            soma += (amostra - media) * (amostra - media);
+        }
+        return soma / (amostras.length - 1);
+    }
+
+    /**
+     * Probabilidade de observar uma média atual tão maior quanto a medida se as duas
+     * amostras viessem da mesma distribuição. Amostras sem variância (a alocação por
+     * operação costuma ser exata) dão 0 se a média aumentou e 1 caso contrário.
+     */
+    static double pAumento(double[] base, double[] atual) {
+        double diferenca = media(atual) - media(base);
+        double termoBase = variancia(base) / base.length;
+        double termoAtual = variancia(atual) / atual.length;
+        double erro = termoBase + termoAtual;
+        if (erro == 0 || base.length < 2 || atual.length < 2) {
+            return diferenca > 0 ? 0 : 1;
+        }
+
+        double t = diferenca / Math.sqrt(erro);
+        // Graus de liberdade de Welch-Satterthwaite
+        double graus = erro * erro / (termoBase * termoBase / (base.length - 1)
+                + termoAtual * termoAtual / (atual.length - 1));
+        double cauda = 0.5 * betaIncompleta(graus / (graus + t * t), graus / 2, 0.5);
+        return t > 0 ? cauda : 1 - cauda;
+    }
+
+    /**
+     * Função beta incompleta regularizada I_x(a, b), pela fração contínua de Lentz
+     */
+    private static double betaIncompleta(double x, double a, double b) {
+        if (x <= 0) {
+            return 0;
+        }
+        if (x >= 1) {
+            return 1;
+        }
+        if (x > (a + 1) / (a + b + 2)) {
+            return 1 - betaIncompleta(1 - x, b, a);
+        }
+
+        double prefixo = Math.exp(logGama(a + b) - logGama(a) - logGama(b)
+                + a * Math.log(x) + b * Math.log(1 - x)) / a;
+
+        double c = 1;
+        double d = 1 - (a + b) * x / (a + 1);
+        d = 1 / (Math.abs(d) < MENOR_DOUBLE ? MENOR_DOUBLE : d);
+        double fracao = d;
+        for (int m = 1; m <= MAXIMO_ITERACOES; m++) {
+            for (int passo = 0; passo < 2; passo++) {
+                double numerador = passo == 0
+                        ? m * (b - m) * x / ((a + 2 * m - 1) * (a + 2 * m))
+                        : -(a + m) * (a + b + m) * x / ((a + 2 * m) * (a + 2 * m + 1));
+                d = 1 + numerador * d;
+                d = 1 / (Math.abs(d) < MENOR_DOUBLE ? MENOR_DOUBLE : d);
+                c = 1 + numerador / c;
+                c = Math.abs(c) < MENOR_DOUBLE ? MENOR_DOUBLE : c;
+                fracao *= d * c;
+                if (passo == 1 && Math.abs(d * c - 1) < EPSILON) {
+                    return prefixo * fracao;
+                }
+            }
+        }
+        return prefixo * fracao;
+    }
+
+    /**
+     * ln Γ(x) pela aproximação de Lanczos
+     */
+    private static double logGama(double x) {
+        double[] coeficientes = {
+                76.18009172947146, -86.50532032941677, 24.01409824083091,
+                -1.231739572450155, 0.1208650973866179e-2, -0.5395239384953e-5
+        };
+        double y = x;
+        double tmp = x + 5.5;
+        tmp -= (x + 0.5) * Math.log(tmp);
+        double serie = 1.000000000190015;
+        for (double coeficiente : coeficientes) {
+            serie += coeficiente / ++y;
+        }
+        return -tmp + Math.log(2.5066282746310005 * serie / x);
+    }
+}
@@ -0,0 +1,392 @@
+package br.com.orcagov.api.benchmark;
+
+import br.com.orcagov.api.entity.enums.StatusDespesa;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Gerador de massa sintética para testes de desempenho: milhões de despesas com
+ * empenhos e pagamentos em distribuição concentrada, credores com nomes realistas,
+ * vencimentos espalhados por vários anos e todos os tipos e status de despesa.
+ *
+ * Os dados respeitam as regras do domínio (empenhos somam até o valor da despesa,
+ * pagamentos até o valor do empenho, o status é o que Despesa.calculateStatus()
+ * calcularia) e a numeração de protocolos, empenhos e pagamentos segue a da API,
+ * sequencial por ano. A mesma semente gera sempre a mesma massa, com qualquer
+ * número de threads.
+ *
+ * Arquivos CSV no layout da carga histórica (POST /admin/carga-historica):
+ * java -cp benchmarks/target/benchmarks.jar br.com.orcagov.api.benchmark.GeradorMassa --despesas=1000000 --saida=massa
+ *
+ * Direto nas tabelas via COPY, continuando os ids e a numeração já existentes, numa única transação:
+ * java -cp benchmarks/target/benchmarks.jar br.com.orcagov.api.benchmark.GeradorMassa --despesas=5000000 \
+ *     --url=jdbc:postgresql://localhost:5432/orcagov --usuario=postgres --senha=... --criador=admin
+ *
+ * Outras opções: --semente=42, --anos=2016-2025, --threads=(processadores), --credores=10000
+ */
+public final class GeradorMassa {
+
+    private static final Set<String> OPCOES = Set.of(
+            "despesas", "semente", "anos", "threads", "credores", "saida", "url", "usuario", "senha", "criador");
+
+    private GeradorMassa() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opcoes = opcoes(args);
+        long despesas = Long.parseLong(opcoes.getOrDefault("despesas", "1000000"));
+        long semente = Long.parseLong(opcoes.getOrDefault("semente", "42"));
+        int threads = Integer.parseInt(opcoes.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        String[] anos = opcoes.getOrDefault("anos", "2016-2025").split("-");
+        int primeiroAno = Integer.parseInt(anos[0]);
+        int quantidadeAnos = Integer.parseInt(anos[anos.length - 1]) - primeiroAno + 1;
+        if (despesas <= 0 || threads <= 0 || quantidadeAnos <= 0) {
+            throw new IllegalArgumentException("Informe despesas, threads e um intervalo de anos válidos");
+        }
+
+        NomesCredores credores = new NomesCredores(semente, Integer.parseInt(opcoes.getOrDefault("credores", "10000")));
+        List<BlocoMassa> blocos = new ArrayList<>();
+        for (long inicio = 0; inicio < despesas; inicio += BlocoMassa.DESPESAS) {
+            blocos.add(new BlocoMassa(semente, blocos.size(), (int) Math.min(BlocoMassa.DESPESAS, despesas - inicio),
+                    primeiroAno, quantidadeAnos, credores));
+        }
+
+        long comeco = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (Destino destino = opcoes.containsKey("url")
+                ? new DestinoCopy(opcoes.get("url"), opcoes.getOrDefault("usuario", "postgres"),
+                        opcoes.getOrDefault("senha", ""), opcoes.getOrDefault("criador", "admin"))
+                : new DestinoCsv(Path.of(opcoes.getOrDefault("saida", "massa")))) {
+
+            // Primeira passada: quantos registros de cada tabela e ano cada bloco terá
+            List<Future<BlocoMassa.Contagem>> contagens = new ArrayList<>();
+            for (BlocoMassa bloco : blocos) {
+                contagens.add(executor.submit(bloco::contar));
+            }
+            long[] ids = destino.proximosIds();
+            long[][] sequenciais = destino.proximosSequenciais(primeiroAno, quantidadeAnos);
+            BlocoMassa.Contagem total = new BlocoMassa.Contagem(quantidadeAnos);
+            BlocoMassa.Inicio[] inicios = new BlocoMassa.Inicio[blocos.size()];
+            for (int i = 0; i < blocos.size(); i++) {
+                BlocoMassa.Contagem contagem = contagens.get(i).get();
+                inicios[i] = new BlocoMassa.Inicio(ids[0] + total.despesas, ids[1] + total.empenhos,
+                        ids[2] + total.pagamentos, somar(sequenciais, total.porAno));
+                total.somar(contagem);
+            }
+            avisarNumeracaoLonga(sequenciais, total);
+
+            // Segunda passada: linhas geradas em paralelo e gravadas na ordem dos blocos,
+            // com no máximo duas vezes o número de threads de blocos em memória
+            Deque<Future<BlocoMassa.Linhas>> janela = new ArrayDeque<>();
+            long gravadas = 0;
+            for (int i = 0; i < blocos.size(); i++) {
+                BlocoMassa bloco = blocos.get(i);
+                BlocoMassa.Inicio inicio = inicios[i];
+                janela.add(executor.submit(() -> bloco.gerar(inicio, destino.tabelas(), destino.usuarioId())));
+                if (janela.size() >= 2 * threads) {
+                    gravadas = gravar(destino, janela.removeFirst().get(), gravadas, despesas, comeco);
+                }
+            }
+            while (!janela.isEmpty()) {
+                gravadas = gravar(destino, janela.removeFirst().get(), gravadas, despesas, comeco);
+            }
+            destino.concluir();
+
+            double segundos = (System.nanoTime() - comeco) / 1e9;
+            System.out.printf("%n%d despesas, %d empenhos, %d pagamentos em %.1f s (%.0f registros/s)%n",
+                    total.despesas, total.empenhos, total.pagamentos, segundos,
+                    (total.despesas + total.empenhos + total.pagamentos) / segundos);
+            for (StatusDespesa status : StatusDespesa.values()) {
+                System.out.printf("  %-24s %10d%n", status, total.porStatus[status.ordinal()]);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long gravar(Destino destino, BlocoMassa.Linhas linhas, long gravadas, long total, long comeco)
+            throws Exception {
+        destino.escrever(linhas);
+        gravadas += linhas.despesas();
+        if (linhas.bloco() % 10 == 9 || gravadas == total) {
+            System.out.printf("%d/%d despesas (%.0f/s)%n", gravadas, total,
+                    gravadas / ((System.nanoTime() - comeco) / 1e9));
+        }
+        return gravadas;
+    }
+
+    /**
+     * Empenhos e pagamentos têm 4 dígitos de sequencial por ano (2025NE0001); acima de 9999
+     * no mesmo ano o número cresce, como no SequenceGeneratorService, mas a carga histórica
+     * e validarFormato*() o recusam
+     */
+    private static void avisarNumeracaoLonga(long[][] sequenciais, BlocoMassa.Contagem total) {
+        for (int tabela = 1; tabela < 3; tabela++) {
+            for (int ano = 0; ano < sequenciais[tabela].length; ano++) {
+                if (sequenciais[tabela][ano] + total.porAno[tabela][ano] - 1 > 9999) {
+                    System.out.printf("aviso: mais de 9999 %s num mesmo ano; os números passam de 4 dígitos e a carga " +
+                            "histórica os rejeita. Aumente o intervalo de --anos ou grave direto com --url%n",
+                            tabela == 1 ? "empenhos" : "pagamentos");
+                    return;
+                }
+            }
+        }
+    }
+
+    private static long[][] somar(long[][] base, long[][] deslocamento) {
+        long[][] resultado = new long[base.length][];
+        for (int tabela = 0; tabela < base.length; tabela++) {
+            resultado[tabela] = new long[base[tabela].length];
+            for (int ano = 0; ano < base[tabela].length; ano++) {
+                resultado[tabela][ano] = base[tabela][ano] + deslocamento[tabela][ano];
+            }
+        }
+        return resultado;
+    }
+
+    private static Map<String, String> opcoes(String[] args) {
+        Map<String, String> opcoes = new LinkedHashMap<>();
+        for (String argumento : args) {
+            int igual = argumento.indexOf('=');
+            String chave = argumento.startsWith("--") && igual > 2 ? argumento.substring(2, igual) : null;
+            if (chave == null || !OPCOES.contains(chave)) {
+                throw new IllegalArgumentException("Opção inválida: " + argumento + ". Opções: --" + String.join(", --", OPCOES));
+            }
+            opcoes.put(chave, argumento.substring(igual + 1));
+        }
+        return opcoes;
+    }
+
+    // ========================================
+    // DESTINOS
+    // ========================================
+
+    private interface Destino extends AutoCloseable {
+
+        /** Próximo id de despesas, empenhos e pagamentos */
+        long[] proximosIds() throws SQLException;
+
+        /** Próximo sequencial por ano de protocolos, empenhos e pagamentos */
+        long[][] proximosSequenciais(int primeiroAno, int anos) throws SQLException;
+
+        boolean tabelas();
+
+        long usuarioId();
+
+        void escrever(BlocoMassa.Linhas linhas) throws Exception;
+
+        void concluir() throws Exception;
+    }
+
+    /**
+     * despesas.csv, empenhos.csv e pagamentos.csv no layout da carga histórica,
+     * com a numeração começando em 1 em cada ano
+     */
+    private static final class DestinoCsv implements Destino {
+
+        private final OutputStream despesas;
+        private final OutputStream empenhos;
+        private final OutputStream pagamentos;
+
+        DestinoCsv(Path pasta) throws IOException {
+            Files.createDirectories(pasta);
+            despesas = abrir(pasta.resolve("despesas.csv"),
+                    "numero_protocolo,tipo_despesa,data_protocolo,data_vencimento,credor,descricao,valor");
+            empenhos = abrir(pasta.resolve("empenhos.csv"),
+                    "numero_empenho,numero_protocolo,data_empenho,valor,observacao");
+            pagamentos = abrir(pasta.resolve("pagamentos.csv"),
+                    "numero_pagamento,numero_empenho,data_pagamento,valor,observacao");
+            System.out.printf("gravando em %s%n", pasta.toAbsolutePath().normalize());
+        }
+
+        private static OutputStream abrir(Path arquivo, String cabecalho) throws IOException {
+            OutputStream saida = Files.newOutputStream(arquivo);
+            saida.write((cabecalho + "\n").getBytes(StandardCharsets.UTF_8));
+            return saida;
+        }
+
+        @Override
+        public long[] proximosIds() {
+            return new long[]{1, 1, 1};
+        }
+
+        @Override
+        public long[][] proximosSequenciais(int primeiroAno, int anos) {
+            long[][] sequenciais = new long[3][anos];
+            for (long[] tabela : sequenciais) {
+                Arrays.fill(tabela, 1);
+            }
+            return sequenciais;
+        }
+
+        @Override
+        public boolean tabelas() {
+            return false;
+        }
+
+        @Override
+        public long usuarioId() {
+            return 0;
+        }
+
+        @Override
+        public void escrever(BlocoMassa.Linhas linhas) throws IOException {
+            despesas.write(linhas.despesasCsv());
+            empenhos.write(linhas.empenhosCsv());
+            pagamentos.write(linhas.pagamentosCsv());
+        }
+
+        @Override
+        public void concluir() throws IOException {
+            despesas.flush();
+            empenhos.flush();
+            pagamentos.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (despesas; empenhos; pagamentos) {
+                // Só fecha os três arquivos
+            }
+        }
+    }
+
+    /**
+     * COPY direto nas tabelas, numa única transação: cada bloco grava suas despesas antes
+     * dos empenhos e pagamentos, que as referenciam. Ao final ajusta as sequências de id,
+     * confirma e atualiza as estatísticas do planejador.
+     */
+    private static final class DestinoCopy implements Destino {
+
+        private final Connection conexao;
+        private final CopyManager copia;
+        private final long usuarioId;
+
+        DestinoCopy(String url, String usuario, String senha, String criador) throws SQLException {
+            conexao = DriverManager.getConnection(url, usuario, senha);
+            conexao.setAutoCommit(false);
+            copia = conexao.unwrap(PGConnection.class).getCopyAPI();
+            try (PreparedStatement consulta = conexao.prepareStatement("SELECT id FROM usuario WHERE user_name = ?")) {
+                consulta.setString(1, criador);
+                try (ResultSet resultado = consulta.executeQuery()) {
+                    if (!resultado.next()) {
+                        throw new IllegalArgumentException("Usuário criador não encontrado: " + criador);
+                    }
+                    usuarioId = resultado.getLong(1);
+                }
+            }
+            System.out.printf("gravando em %s%n", url);
+        }
+
+        @Override
+        public long[] proximosIds() throws SQLException {
+            return new long[]{
+                    maximo("SELECT max(id) FROM despesas") + 1,
+                    maximo("SELECT max(id) FROM empenhos") + 1,
+                    maximo("SELECT max(id) FROM pagamentos") + 1
+            };
+        }
+
+        @Override
+        public long[][] proximosSequenciais(int primeiroAno, int anos) throws SQLException {
+            long[][] sequenciais = new long[3][anos];
+            preencher(sequenciais[0], primeiroAno, "SELECT substring(numero_protocolo from '/(\\d{4})-')::int, " +
+                    "max(substring(numero_protocolo from '^\\d+\\.(\\d+)/')::bigint) FROM despesas " +
+                    "WHERE numero_protocolo ~ '^\\d+\\.\\d+/\\d{4}-\\d+$' GROUP BY 1");
+            preencher(sequenciais[1], primeiroAno, "SELECT left(numero_empenho, 4)::int, " +
+                    "max(substring(numero_empenho from 7)::bigint) FROM empenhos " +
+                    "WHERE numero_empenho ~ '^\\d{4}NE\\d+$' GROUP BY 1");
+            preencher(sequenciais[2], primeiroAno, "SELECT left(numero_pagamento, 4)::int, " +
+                    "max(substring(numero_pagamento from 7)::bigint) FROM pagamentos " +
+                    "WHERE numero_pagamento ~ '^\\d{4}NP\\d+$' GROUP BY 1");
+            return sequenciais;
+        }
+
+        private void preencher(long[] sequenciais, int primeiroAno, String sql) throws SQLException {
+            Arrays.fill(sequenciais, 1);
+            try (Statement comando = conexao.createStatement(); ResultSet resultado = comando.executeQuery(sql)) {
+                while (resultado.next()) {
+                    int ano = resultado.getInt(1) - primeiroAno;
+                    if (ano >= 0 && ano < sequenciais.length) {
+                        sequenciais[ano] = resultado.getLong(2) + 1;
+                    }
+                }
+            }
+        }
+
+        private long maximo(String sql) throws SQLException {
+            try (Statement comando = conexao.createStatement(); ResultSet resultado = comando.executeQuery(sql)) {
+                resultado.next();
+                return resultado.getLong(1);
+            }
+        }
+
+        @Override
+        public boolean tabelas() {
+            return true;
+        }
+
+        @Override
+        public long usuarioId() {
+            return usuarioId;
+        }
+
+        @Override
+        public void escrever(BlocoMassa.Linhas linhas) throws Exception {
+            copia.copyIn("COPY despesas (id, numero_protocolo, tipo_despesa, data_protocolo, data_vencimento, " +
+                    "credor_despesas, descricao_despesas, valor_despesas, status, usuario_criador_id, " +
+                    "data_criacao, data_atualizacao) FROM STDIN WITH (FORMAT csv)",
+                    new ByteArrayInputStream(linhas.despesasCsv()));
+            copia.copyIn("COPY empenhos (id, numero_empenho, data_empenho, valor, observacao, despesa_id, " +
+                    "usuario_criador_id, data_criacao, data_atualizacao) FROM STDIN WITH (FORMAT csv)",
+                    new ByteArrayInputStream(linhas.empenhosCsv()));
+            copia.copyIn("COPY pagamentos (id, numero_pagamento, data_pagamento, valor_pagamento, observacao, " +
+                    "empenho_id, usuario_criador_id, data_criacao, data_atualizacao) FROM STDIN WITH (FORMAT csv)",
+                    new ByteArrayInputStream(linhas.pagamentosCsv()));
+        }
+
+        @Override
+        public void concluir() throws SQLException {
+            try (Statement comando = conexao.createStatement()) {
+                for (String tabela : List.of("despesas", "empenhos", "pagamentos")) {
+                    comando.execute("SELECT setval(pg_get_serial_sequence('" + tabela + "', 'id'), " +
+                            "(SELECT max(id) FROM " + tabela + "))");
+                }
+                conexao.commit();
+                conexao.setAutoCommit(true);
+                comando.execute("ANALYZE despesas, empenhos, pagamentos");
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            // Sem o commit de concluir(), o fechamento desfaz a carga inteira
+            conexao.close();
+        }
+    }
+}
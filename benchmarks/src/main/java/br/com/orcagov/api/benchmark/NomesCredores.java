@@ -0,0 +1,63 @@
+package br.com.orcagov.api.benchmark;
+
+import java.util.SplittableRandom;
+
+/**
+ * Cadastro fictício de credores da massa sintética, montado a partir da semente.
+ * O sorteio é concentrado: poucos credores (as grandes construtoras e fornecedores
+ * contínuos) recebem boa parte das despesas, como num órgão real.
+ *
+ * Os nomes não têm vírgulas nem aspas, para irem direto nas linhas CSV.
+ */
+final class NomesCredores {
+
+    private static final String[] ATIVIDADES = {
+            "Construtora", "Engenharia", "Comercial", "Distribuidora", "Transportes", "Serviços",
+            "Papelaria", "Auto Posto", "Laboratório", "Consultoria", "Informática", "Metalúrgica",
+            "Pavimentadora", "Farmácia", "Gráfica", "Terraplenagem", "Materiais de Construção"
+    };
+
+    private static final String[] SOBRENOMES = {
+            "Silva", "Santos", "Oliveira", "Souza", "Pereira", "Almeida", "Costa", "Rodrigues",
+            "Ferreira", "Lima", "Gomes", "Ribeiro", "Carvalho", "Martins", "Araújo", "Barbosa",
+            "Rocha", "Dias", "Teixeira", "Moreira", "Cardoso", "Nascimento", "Mendes", "Vieira", "Monteiro"
+    };
+
+    private static final String[] REGIOES = {
+            "do Norte", "Paulista", "Mineira", "Gaúcha", "Nordeste", "Central", "do Vale",
+            "Capixaba", "Baiana", "Goiana", "Litorânea", "do Planalto"
+    };
+
+    private static final String[] SUFIXOS = {"Ltda", "Ltda", "Ltda", "S.A.", "ME", "EPP", "EIRELI", "& Filhos Ltda"};
+
+    private final String[] nomes;
+
+    NomesCredores(long semente, int quantidade) {
+        SplittableRandom aleatorio = new SplittableRandom(semente);
+        nomes = new String[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            StringBuilder nome = new StringBuilder(48)
+                    .append(sortear(aleatorio, ATIVIDADES)).append(' ')
+                    .append(sortear(aleatorio, SOBRENOMES));
+            if (aleatorio.nextInt(3) == 0) {
+                nome.append(' ').append(sortear(aleatorio, SOBRENOMES));
+            }
+            if (aleatorio.nextInt(2) == 0) {
+                nome.append(' ').append(sortear(aleatorio, REGIOES));
+            }
+            nomes[i] = nome.append(' ').append(sortear(aleatorio, SUFIXOS)).toString();
+        }
+    }
+
+    /**
+     * Credor de uma despesa; o cubo do sorteio concentra as escolhas no início do cadastro
+     */
+    String sortear(SplittableRandom aleatorio) {
+        double u = aleatorio.nextDouble();
+        return nomes[(int) (nomes.length * u * u * u)];
+    }
+
+    private static String sortear(SplittableRandom aleatorio, String[] opcoes) {
+        return opcoes[aleatorio.nextInt(opcoes.length)];
+    }
+}
@@ -0,0 +1,82 @@
+package br.com.orcagov.api.benchmark;
+
+import br.com.orcagov.api.service.ProtocoloGeneratorService;
+import br.com.orcagov.api.service.SequenceGeneratorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Numeração de protocolos, empenhos e pagamentos: dígito verificador do
+ * protocolo (String.format) e validação/extração dos números NE/NP (String.matches,
+ * que compila a expressão regular a cada chamada). Os services são instanciados
+ * sem Spring: estes métodos não usam os repositórios.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NumeracaoBenchmark {
+
+    private static final MethodHandle CALCULAR_DIGITO_VERIFICADOR = Dados.privado(
+            ProtocoloGeneratorService.class, "calcularDigitoVerificador", String.class, String.class);
+
+    private final ProtocoloGeneratorService protocoloGenerator = new ProtocoloGeneratorService();
+    private final SequenceGeneratorService sequenceGenerator = new SequenceGeneratorService();
+
+    private final String baseProtocolo = "430220001232025";
+    private final String numeroEmpenho = "2025NE0042";
+    private final String numeroPagamento = "2025NP1234";
+    private final String numeroInvalido = "2025-NE-42";
+
+    @Benchmark
+    public String calcularDigitoVerificador() throws Throwable {
+        return (String) CALCULAR_DIGITO_VERIFICADOR.invokeExact(protocoloGenerator, baseProtocolo);
+    }
+
+    @Benchmark
+    public boolean validarFormatoEmpenho() {
+        return sequenceGenerator.validarFormatoEmpenho(numeroEmpenho);
+    }
+
+    @Benchmark
+    public boolean validarFormatoPagamento() {
+        return sequenceGenerator.validarFormatoPagamento(numeroPagamento);
+    }
+
+    @Benchmark
+    public boolean validarFormatoInvalido() {
+        return sequenceGenerator.validarFormatoEmpenho(numeroInvalido);
+    }
+
+    @Benchmark
+    public String extrairAnoEmpenho() {
+        return sequenceGenerator.extrairAnoEmpenho(numeroEmpenho);
+    }
+
+    @Benchmark
+    public String extrairAnoPagamento() {
+        return sequenceGenerator.extrairAnoPagamento(numeroPagamento);
+    }
+
+    @Benchmark
+    public Integer extrairSequencialEmpenho() {
+        return sequenceGenerator.extrairSequencialEmpenho(numeroEmpenho);
+    }
+
+    @Benchmark
+    public Integer extrairSequencialPagamento() {
+        return sequenceGenerator.extrairSequencialPagamento(numeroPagamento);
+    }
+}
@@ -0,0 +1,150 @@
+package br.com.orcagov.api.benchmark;
+
+import br.com.orcagov.api.dto.Request.DespesaRequestDTO;
+import br.com.orcagov.api.dto.Response.DespesaResponseDTO;
+import br.com.orcagov.api.entity.Despesa;
+import br.com.orcagov.api.entity.enums.StatusDespesa;
+import br.com.orcagov.api.service.DespesaService;
+import br.com.orcagov.api.service.EmpenhoService;
+import br.com.orcagov.api.service.PagamentoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métodos públicos dos services com os repositórios em memória (ver {@link Servicos}):
+ * buscas, listagem paginada, validações, estatísticas e a atualização de despesa,
+ * que passa pelo outbox e pela auditoria. É o conjunto usado pelo gate de regressão.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServicoBenchmark {
+
+    /** Potência de 2, para o rodízio por máscara */
+    private static final int DESPESAS = 256;
+
+    private static final PageRequest[] PAGINAS = {
+            PageRequest.of(0, 20), PageRequest.of(3, 20), PageRequest.of(7, 20), PageRequest.of(12, 20)
+    };
+
+    @Param({"1", "10"})
+    private int empenhos;
+
+    private Servicos servicos;
+    private DespesaService despesaService;
+    private EmpenhoService empenhoService;
+    private PagamentoService pagamentoService;
+
+    private long[] despesaIds;
+    private long[] empenhoIds;
+    private long[] alteraveisIds;
+    private DespesaRequestDTO[][] alteracoes;
+    private int[] versoes;
+    private int proxima;
+
+    @Setup
+    public void preparar() {
+        List<Despesa> despesas = new ArrayList<>(DESPESAS);
+        List<Long> idsEmpenhos = new ArrayList<>();
+        for (int i = 0; i < DESPESAS; i++) {
+            Despesa despesa = Dados.despesa(i + 1, empenhos, 2);
+            despesa.setStatus(despesa.calculateStatus());
+            despesa.getEmpenhos().forEach(empenho -> idsEmpenhos.add(empenho.getId()));
+            despesas.add(despesa);
+        }
+
+        servicos = new Servicos(despesas);
+        despesaService = servicos.despesaService;
+        empenhoService = servicos.empenhoService;
+        pagamentoService = servicos.pagamentoService;
+
+        despesaIds = despesas.stream().mapToLong(Despesa::getId).toArray();
+        // Mesma quantidade de empenhos no rodízio para qualquer @Param
+        empenhoIds = new long[DESPESAS];
+        for (int i = 0; i < DESPESAS; i++) {
+            empenhoIds[i] = idsEmpenhos.get(i * idsEmpenhos.size() / DESPESAS);
+        }
+
+        // Despesas pagas não aceitam alteração. Duas versões de cada uma das demais, alternadas
+        // para que toda atualização tenha diferenças a auditar; a segunda só aumenta o valor,
+        // então nenhuma passa a PAGA
+        List<Despesa> alteraveis = despesas.stream().filter(d -> d.getStatus() != StatusDespesa.PAGA).toList();
+        alteraveisIds = alteraveis.stream().mapToLong(Despesa::getId).toArray();
+        alteracoes = new DespesaRequestDTO[alteraveis.size()][2];
+        versoes = new int[alteraveis.size()];
+        for (int i = 0; i < alteraveis.size(); i++) {
+            Despesa despesa = alteraveis.get(i);
+            for (int versao = 0; versao < 2; versao++) {
+                alteracoes[i][versao] = new DespesaRequestDTO(
+                        despesa.getTipoDespesa(),
+                        despesa.getDataVencimento().plusDays(versao),
+                        despesa.getCredorDespesas() + (versao == 0 ? "" : " Ltda"),
+                        despesa.getDescricaoDespesas(),
+                        despesa.getValorDespesas().add(BigDecimal.valueOf(versao)));
+            }
+        }
+    }
+
+    @Benchmark
+    public DespesaResponseDTO despesaBuscarPorId() {
+        return despesaService.buscarPorId(despesaIds[proxima++ & (DESPESAS - 1)]);
+    }
+
+    @Benchmark
+    public Page<DespesaResponseDTO> despesaListarPagina() {
+        return despesaService.listarTodas(PAGINAS[proxima++ & (PAGINAS.length - 1)]);
+    }
+
+    @Benchmark
+    public DespesaResponseDTO despesaAtualizar() {
+        int indice = Integer.remainderUnsigned(proxima++, alteraveisIds.length);
+        DespesaResponseDTO resposta = despesaService.atualizarDespesa(alteraveisIds[indice],
+                alteracoes[indice][versoes[indice] ^= 1], "benchmark");
+        servicos.descartarAuditoria();
+        return resposta;
+    }
+
+    @Benchmark
+    public DespesaService.DespesaEstatisticasDTO despesaEstatisticas() {
+        return despesaService.obterEstatisticas();
+    }
+
+    @Benchmark
+    public EmpenhoService.ValidacaoValorDTO empenhoValidarValor() {
+        return empenhoService.validarValorEmpenho(despesaIds[proxima++ & (DESPESAS - 1)], BigDecimal.valueOf(1_000));
+    }
+
+    @Benchmark
+    public EmpenhoService.EmpenhoEstatisticasDTO empenhoEstatisticas() {
+        return empenhoService.obterEstatisticas();
+    }
+
+    @Benchmark
+    public PagamentoService.ResumoFinanceiroDTO pagamentoResumoFinanceiro() {
+        return pagamentoService.obterResumoFinanceiro(empenhoIds[proxima++ & (DESPESAS - 1)]);
+    }
+
+    @Benchmark
+    public PagamentoService.PagamentoEstatisticasDTO pagamentoEstatisticas() {
+        return pagamentoService.obterEstatisticas();
+    }
+}
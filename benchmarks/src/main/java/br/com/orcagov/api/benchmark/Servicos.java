@@ -0,0 +1,172 @@
+package br.com.orcagov.api.benchmark;
+
+import br.com.orcagov.api.entity.Despesa;
+import br.com.orcagov.api.entity.Empenho;
+import br.com.orcagov.api.entity.Pagamento;
+import br.com.orcagov.api.entity.RegistroAuditoria;
+import br.com.orcagov.api.entity.enums.TipoEventoOutbox;
+import br.com.orcagov.api.mapper.DtoMapper;
+import br.com.orcagov.api.repository.DespesaRepository;
+import br.com.orcagov.api.repository.EmpenhoRepository;
+import br.com.orcagov.api.repository.EventoOutboxRepository;
+import br.com.orcagov.api.repository.PagamentoRepository;
+import br.com.orcagov.api.service.AuditoriaService;
+import br.com.orcagov.api.service.BufferCircular;
+import br.com.orcagov.api.service.DespesaService;
+import br.com.orcagov.api.service.EmpenhoService;
+import br.com.orcagov.api.service.OutboxService;
+import br.com.orcagov.api.service.PagamentoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.mapstruct.factory.Mappers;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Services reais da API montados sem Spring, sobre repositórios em memória: mede
+ * a regra de negócio, as conversões, o outbox e a auditoria (diferenças e JSON),
+ * sem banco, transação nem proxies de AOP.
+ *
+ * Os repositórios respondem só aos métodos usados pelos benchmarks; qualquer outro
+ * falha com UnsupportedOperationException, para que um service que passe a
+ * consultar algo novo não seja medido pela metade.
+ */
+final class Servicos {
+
+    final DespesaService despesaService = new DespesaService();
+    final EmpenhoService empenhoService = new EmpenhoService();
+    final PagamentoService pagamentoService = new PagamentoService();
+
+    private final BufferCircular<RegistroAuditoria> auditoria = new BufferCircular<>(8192);
+    private final List<RegistroAuditoria> descartados = new ArrayList<>(8192);
+
+    Servicos(List<Despesa> despesas) {
+        Map<Long, Despesa> despesasPorId = new HashMap<>();
+        Map<Long, Empenho> empenhosPorId = new HashMap<>();
+        List<Empenho> empenhos = new ArrayList<>();
+        List<Pagamento> pagamentos = new ArrayList<>();
+        for (Despesa despesa : despesas) {
+            despesasPorId.put(despesa.getId(), despesa);
+            for (Empenho empenho : despesa.getEmpenhos()) {
+                empenhosPorId.put(empenho.getId(), empenho);
+                empenhos.add(empenho);
+                pagamentos.addAll(empenho.getPagamentos());
+            }
+        }
+
+        Map<String, Function<Object[], Object>> metodosDespesa = new HashMap<>();
+        metodosDespesa.put("findById/1", args -> Optional.ofNullable(despesasPorId.get((Long) args[0])));
+        metodosDespesa.put("findAll/0", args -> despesas);
+        metodosDespesa.put("findAll/1", args -> pagina(despesas, (Pageable) args[0]));
+        metodosDespesa.put("save/1", args -> args[0]);
+        DespesaRepository despesaRepository = repositorio(DespesaRepository.class, metodosDespesa);
+
+        Map<String, Function<Object[], Object>> metodosEmpenho = new HashMap<>();
+        metodosEmpenho.put("findById/1", args -> Optional.ofNullable(empenhosPorId.get((Long) args[0])));
+        metodosEmpenho.put("findAll/0", args -> empenhos);
+        EmpenhoRepository empenhoRepository = repositorio(EmpenhoRepository.class, metodosEmpenho);
+
+        Map<String, Function<Object[], Object>> metodosPagamento = new HashMap<>();
+        metodosPagamento.put("findAll/0", args -> pagamentos);
+        PagamentoRepository pagamentoRepository = repositorio(PagamentoRepository.class, metodosPagamento);
+
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        Map<String, Function<Object[], Object>> metodosEntityManager = new HashMap<>();
+        metodosEntityManager.put("flush/0", args -> null);
+        Map<String, Function<Object[], Object>> metodosOutbox = new HashMap<>();
+        metodosOutbox.put("save/1", args -> args[0]);
+
+        OutboxService outboxService = new OutboxService();
+        injetar(outboxService, "objectMapper", objectMapper);
+        injetar(outboxService, "entityManager", repositorio(EntityManager.class, metodosEntityManager));
+        injetar(outboxService, "eventoOutboxRepository", repositorio(EventoOutboxRepository.class, metodosOutbox));
+
+        // Sem o gravador: os registros ficam no buffer, esvaziado por descartarAuditoria()
+        AuditoriaService auditoriaService = new AuditoriaService();
+        injetar(auditoriaService, "objectMapper", objectMapper);
+        injetar(auditoriaService, "operacoesDuraveis", EnumSet.noneOf(TipoEventoOutbox.class));
+        injetar(auditoriaService, "tamanhoLote", 500);
+        injetar(auditoriaService, "buffer", auditoria);
+
+        DtoMapper dtoMapper = Mappers.getMapper(DtoMapper.class);
+
+        injetar(despesaService, "despesaRepository", despesaRepository);
+        injetar(despesaService, "outboxService", outboxService);
+        injetar(despesaService, "auditoriaService", auditoriaService);
+        injetar(despesaService, "dtoMapper", dtoMapper);
+
+        injetar(empenhoService, "empenhoRepository", empenhoRepository);
+        injetar(empenhoService, "despesaRepository", despesaRepository);
+        injetar(empenhoService, "despesaService", despesaService);
+        injetar(empenhoService, "outboxService", outboxService);
+        injetar(empenhoService, "auditoriaService", auditoriaService);
+        injetar(empenhoService, "dtoMapper", dtoMapper);
+
+        injetar(pagamentoService, "pagamentoRepository", pagamentoRepository);
+        injetar(pagamentoService, "empenhoRepository", empenhoRepository);
+        injetar(pagamentoService, "despesaRepository", despesaRepository);
+        injetar(pagamentoService, "despesaService", despesaService);
+        injetar(pagamentoService, "outboxService", outboxService);
+        injetar(pagamentoService, "auditoriaService", auditoriaService);
+        injetar(pagamentoService, "dtoMapper", dtoMapper);
+    }
+
+    /**
+     * Descarta os registros de auditoria enfileirados, papel do gravador na aplicação
+     */
+    void descartarAuditoria() {
+        auditoria.drenar(descartados, Integer.MAX_VALUE);
+        descartados.clear();
+    }
+
+    private static <T> PageImpl<T> pagina(List<T> registros, Pageable pageable) {
+        int inicio = (int) Math.min(pageable.getOffset(), registros.size());
+        int fim = Math.min(inicio + pageable.getPageSize(), registros.size());
+        return new PageImpl<>(registros.subList(inicio, fim), pageable, registros.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T repositorio(Class<T> tipo, Map<String, Function<Object[], Object>> metodos) {
+        return (T) Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo}, (proxy, metodo, args) -> {
+            if (metodo.getDeclaringClass() == Object.class) {
+                return switch (metodo.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> tipo.getSimpleName() + " em memória";
+                };
+            }
+            Function<Object[], Object> implementacao = metodos.get(metodo.getName() + "/" + metodo.getParameterCount());
+            if (implementacao == null) {
+                throw new UnsupportedOperationException(tipo.getSimpleName() + "." + metodo.getName()
+                        + " não é simulado nos benchmarks");
+            }
+            return implementacao.apply(args);
+        });
+    }
+
+    private static void injetar(Object alvo, String campo, Object valor) {
+        try {
+            Field field = alvo.getClass().getDeclaredField(campo);
+            field.setAccessible(true);
+            field.set(alvo, valor);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Campo " + alvo.getClass().getSimpleName() + "." + campo
+                    + " não encontrado", e);
+        }
+    }
+}
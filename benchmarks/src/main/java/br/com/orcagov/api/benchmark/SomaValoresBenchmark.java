@@ -0,0 +1,89 @@
+package br.com.orcagov.api.benchmark;
+
+import br.com.orcagov.api.entity.Money;
+import br.com.orcagov.api.entity.Pagamento;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Soma de valores monetários como nos totais e estatísticas: a redução em BigDecimal
+ * usada antes, que cria um objeto por soma, contra a soma em centavos do {@link Money}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SomaValoresBenchmark {
+
+    @Param({"1000", "1000000"})
+    private int valores;
+
+    private BigDecimal[] decimais;
+    private long[] centavos;
+    private List<Pagamento> pagamentos;
+
+    @Setup
+    public void preparar() {
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        decimais = new BigDecimal[valores];
+        centavos = new long[valores];
+        pagamentos = new ArrayList<>(valores);
+        for (int i = 0; i < valores; i++) {
+            centavos[i] = aleatorio.nextLong(1, 10_000_000);
+            decimais[i] = BigDecimal.valueOf(centavos[i], 2);
+
+            Pagamento pagamento = new Pagamento();
+            pagamento.setValorPagamento(decimais[i]);
+            pagamentos.add(pagamento);
+        }
+        // Primeira conversão fora da medição, como numa entidade já usada na requisição
+        pagamentos.forEach(Pagamento::montante);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalReduce() {
+        return pagamentos.stream()
+                .map(Pagamento::getValorPagamento)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalLaco() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal valor : decimais) {
+            total = total.add(valor);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Money moneySomar() {
+        return Money.somar(pagamentos, Pagamento::montante);
+    }
+
+    @Benchmark
+    public long longLaco() {
+        long total = 0;
+        for (long valor : centavos) {
+            total += valor;
+        }
+        return total;
+    }
+}